@@ -1,6 +1,16 @@
 import os
+import io
+import re
+import gzip
+import json
+import shutil
+import hashlib
+import threading
+import time
+from collections import OrderedDict
+from concurrent.futures import ThreadPoolExecutor, as_completed
 from dotenv import load_dotenv
-from flask import Flask, request, jsonify
+from flask import Flask, request, jsonify, Response, stream_with_context
 import urllib.parse  # 한글 경로(폴더명) 인코딩용
 
 from langchain_google_genai import ChatGoogleGenerativeAI, GoogleGenerativeAIEmbeddings
@@ -13,6 +23,11 @@ from langchain_core.runnables import RunnableParallel, RunnablePassthrough
 # --- (전역 변수 및 상수) ---
 app = Flask(__name__)
 
+# 이 크기(바이트) 이상인 JSON 응답만 gzip으로 압축
+GZIP_MIN_BYTES = 1024
+# gzip 요청 본문은 풀었을 때 이 크기(바이트)까지만 받음 (압축 폭탄 방지, 업로드 파트 최대 8MB보다 넉넉히)
+MAX_DECOMPRESSED_BYTES = 16 * 1024 * 1024
+
 # 인덱스(index.faiss)를 저장할 영구 폴더 경로
 VECTOR_STORE_DIR = r"D:\rag_storage"
 
@@ -26,11 +41,205 @@ global_general_chain = None
 # --- (전역 변수 끝) ---
 
 
+# --- (gzip 요청/응답 압축) ---
+def bounded_gunzip(raw):
+    """
+    gzip 데이터를 최대 MAX_DECOMPRESSED_BYTES + 1바이트까지만 풂 (결과가 한도보다 길면 넘친 것)
+    gzip이 아니거나 깨졌으면 OSError/EOFError
+    """
+    with gzip.GzipFile(fileobj=io.BytesIO(raw)) as decompressed:
+        return decompressed.read(MAX_DECOMPRESSED_BYTES + 1)
+
+
+class GzipRequestMiddleware:
+    """
+    앱이 'Content-Encoding: gzip'으로 압축해서 보낸 요청 본문을 풀어서 Flask에 넘겨줍니다.
+    (multipart 업로드도 압축을 푼 뒤에 파싱되어야 하므로 WSGI 단계에서 처리)
+    """
+
+    def __init__(self, wsgi_app):
+        self.wsgi_app = wsgi_app
+
+    def __call__(self, environ, start_response):
+        if environ.get('HTTP_CONTENT_ENCODING', '').lower() == 'gzip':
+            length = environ.get('CONTENT_LENGTH')
+            stream = environ['wsgi.input']
+            raw = stream.read(int(length)) if length else stream.read()
+            try:
+                body = bounded_gunzip(raw)
+            except (OSError, EOFError):
+                return self._error(environ, start_response, 400, "압축된 요청 본문을 풀 수 없습니다.")
+            if len(body) > MAX_DECOMPRESSED_BYTES:
+                return self._error(environ, start_response, 413, "요청 본문이 너무 큽니다.")
+            environ['wsgi.input'] = io.BytesIO(body)
+            environ['CONTENT_LENGTH'] = str(len(body))
+            del environ['HTTP_CONTENT_ENCODING']
+        return self.wsgi_app(environ, start_response)
+
+    @staticmethod
+    def _error(environ, start_response, status, message):
+        body = json.dumps({"error": message}, ensure_ascii=False)
+        return Response(body, status=status, mimetype='application/json')(environ, start_response)
+
+
+app.wsgi_app = GzipRequestMiddleware(app.wsgi_app)
+
+
+@app.after_request
+def gzip_response(response):
+    """ 클라이언트가 gzip을 받을 수 있으면 큰 응답을 압축합니다. (스트리밍 응답은 제외) """
+    if (response.direct_passthrough or response.is_streamed
+            or response.status_code < 200 or response.status_code >= 300
+            or 'Content-Encoding' in response.headers
+            or 'gzip' not in request.headers.get('Accept-Encoding', '').lower()):
+        return response
+    data = response.get_data()
+    if len(data) < GZIP_MIN_BYTES:
+        return response
+    response.set_data(gzip.compress(data, compresslevel=6))
+    response.headers['Content-Encoding'] = 'gzip'
+    response.vary.add('Accept-Encoding')
+    return response
+
+
+# --- (gzip 끝) ---
+
+
+# --- (CBOR 본문: 앱이 Accept로 원하면 JSON 대신 CBOR로 주고받기) ---
+# 앱의 CborWriter/CborReader와 같은 최소 구현 (dict/list/str/int/bool/None만)
+CBOR_MIMETYPE = 'application/cbor'
+
+
+def _cbor_head(major, length):
+    if length < 24:
+        return bytes([(major << 5) | length])
+    for info, size in ((24, 1), (25, 2), (26, 4), (27, 8)):
+        if length < (1 << (size * 8)):
+            return bytes([(major << 5) | info]) + length.to_bytes(size, 'big')
+    raise ValueError("CBOR 길이가 너무 큽니다.")
+
+
+def cbor_dumps(value):
+    if value is None:
+        return b'\xf6'
+    if value is True:
+        return b'\xf5'
+    if value is False:
+        return b'\xf4'
+    if isinstance(value, int):
+        return _cbor_head(0, value) if value >= 0 else _cbor_head(1, -1 - value)
+    if isinstance(value, str):
+        data = value.encode('utf-8')
+        return _cbor_head(3, len(data)) + data
+    if isinstance(value, (list, tuple)):
+        return _cbor_head(4, len(value)) + b''.join(cbor_dumps(item) for item in value)
+    if isinstance(value, dict):
+        return _cbor_head(5, len(value)) + b''.join(cbor_dumps(str(k)) + cbor_dumps(v) for k, v in value.items())
+    raise TypeError(f"CBOR로 보낼 수 없는 값: {type(value).__name__}")
+
+
+def cbor_loads(data):
+    value, end = _cbor_read(data, 0)
+    if end != len(data):
+        raise ValueError("CBOR 본문 뒤에 남은 데이터가 있습니다.")
+    return value
+
+
+def _cbor_read(data, pos):
+    initial = data[pos]
+    major, info = initial >> 5, initial & 0x1f
+    pos += 1
+    if major == 7:
+        simple = {20: False, 21: True, 22: None}
+        if info in simple:
+            return simple[info], pos
+        raise ValueError("지원하지 않는 CBOR 값입니다.")
+    if info == 31:
+        # 길이가 정해지지 않은 문자열/배열/맵 (0xff로 끝남)
+        items = []
+        while data[pos] != 0xff:
+            item, pos = _cbor_read(data, pos)
+            items.append(item)
+        pos += 1
+        if major == 3:
+            return ''.join(items), pos
+        if major == 4:
+            return items, pos
+        if major == 5:
+            return dict(zip(items[0::2], items[1::2])), pos
+        raise ValueError("지원하지 않는 CBOR 값입니다.")
+    if info < 24:
+        length = info
+    elif info <= 27:
+        size = 1 << (info - 24)
+        length = int.from_bytes(data[pos:pos + size], 'big')
+        pos += size
+    else:
+        raise ValueError("잘못된 CBOR 길이입니다.")
+    if major == 0:
+        return length, pos
+    if major == 1:
+        return -1 - length, pos
+    if major == 3:
+        return data[pos:pos + length].decode('utf-8'), pos + length
+    if major in (4, 5):
+        items = []
+        for _ in range(length * (2 if major == 5 else 1)):
+            item, pos = _cbor_read(data, pos)
+            items.append(item)
+        return (items if major == 4 else dict(zip(items[0::2], items[1::2]))), pos
+    raise ValueError("지원하지 않는 CBOR 값입니다.")
+
+
+def request_payload():
+    """ 요청 본문 (JSON 또는 CBOR, 읽을 수 없으면 None) """
+    if request.mimetype == CBOR_MIMETYPE:
+        try:
+            return cbor_loads(request.get_data())
+        except (ValueError, IndexError, UnicodeDecodeError):
+            return None
+    return request.get_json(silent=True)
+
+
+def negotiated(payload, status=200):
+    """
+    성공 응답을 Accept에 맞춰 CBOR 또는 JSON으로 만듭니다.
+    (오류 응답은 항상 JSON: 앱의 UploadException이 JSON 오류 본문을 읽음)
+    """
+    if request.accept_mimetypes.best_match(['application/json', CBOR_MIMETYPE]) == CBOR_MIMETYPE:
+        response = Response(cbor_dumps(payload), status=status, mimetype=CBOR_MIMETYPE)
+    else:
+        response = jsonify(payload)
+        response.status_code = status
+    response.vary.add('Accept')
+    return response
+
+
+# --- (CBOR 끝) ---
+
+
 @app.route('/', methods=['GET'])
 def index():
     return "RAG 챗봇 서버(다중 기업 지원/영구 저장)가 실행 중입니다."
 
 
+@app.route('/ping', methods=['GET'])
+def ping():
+    """앱이 시작할 때 연결을 미리 열어 두는 용도 (본문 없음)"""
+    return '', 204
+
+
+@app.route('/endpoints', methods=['GET'])
+def list_endpoints():
+    """
+    앱이 요청을 나눠 보낼 서버 목록 (RAG_ENDPOINTS 환경 변수, 쉼표로 구분)
+    예: RAG_ENDPOINTS="http://10.0.0.5:5000/,http://10.0.0.6:5000/"
+    비어 있으면 앱은 지금 쓰는 목록을 그대로 유지합니다.
+    """
+    endpoints = [url.strip() for url in os.environ.get('RAG_ENDPOINTS', '').split(',') if url.strip()]
+    return jsonify({"endpoints": endpoints}), 200
+
+
 # --- (★★ 신규 함수: .txt 파일로 내보내기 ★★) ---
 def export_chunks_to_txt(companyName, vector_store):
     """
@@ -101,6 +310,24 @@ def create_rag_pipeline_for_manual(manual_text, llm_model, embeddings_model):
 # --- (수정된 함수 끝) ---
 
 
+def build_rag_chain(vector_store, llm_model, k=5):
+    """ 벡터 스토어로 RAG 체인을 만듭니다. (디스크에서 로드할 때와 변경분을 적용한 뒤 사용) """
+    retriever = vector_store.as_retriever(search_kwargs={"k": k})
+
+    prompt = ChatPromptTemplate.from_template("""
+당신은 친절하고 정확한 AI 상담원입니다.
+[참고 매뉴얼]: {context}
+[질문]: {input}
+[답변]:
+""")
+    return (
+            RunnableParallel({
+                "context": retriever,
+                "input": RunnablePassthrough(),
+            }) | prompt | llm_model | StrOutputParser()
+    )
+
+
 # --- (★★ 수정된 함수: k=5) ---
 def load_rag_pipeline_from_disk(companyName, llm_model, embeddings_model):
     """
@@ -116,20 +343,7 @@ def load_rag_pipeline_from_disk(companyName, llm_model, embeddings_model):
         )
 
         # ★ k=3 에서 k=5 로 수정 (더 많은 조각 참고)
-        retriever = vector_store.as_retriever(search_kwargs={"k": 5})
-
-        prompt = ChatPromptTemplate.from_template("""
-당신은 친절하고 정확한 AI 상담원입니다.
-[참고 매뉴얼]: {context}
-[질문]: {input}
-[답변]:
-""")
-        rag_chain = (
-                RunnableParallel({
-                    "context": retriever,
-                    "input": RunnablePassthrough(),
-                }) | prompt | llm_model | StrOutputParser()
-        )
+        rag_chain = build_rag_chain(vector_store, llm_model, k=5)
         print(f"'{companyName}' 인덱스를 디스크에서 RAM으로 로드 완료 (k=5).")
         return rag_chain, vector_store
     except Exception as e:
@@ -140,6 +354,226 @@ def load_rag_pipeline_from_disk(companyName, llm_model, embeddings_model):
 # --- (수정된 함수 끝) ---
 
 
+def register_manual(companyName, manual_text):
+    """
+    매뉴얼 텍스트로 파이프라인을 만들어 RAM/디스크에 등록하고 .txt로 내보냅니다.
+    (/upload 와 분할 업로드 완료(/upload/sessions/<id>/complete)가 같이 사용)
+    """
+    global llm, embeddings, global_pipelines, global_vector_stores
+
+    # k=5가 적용된 생성 함수 호출
+    (chain, store) = create_rag_pipeline_for_manual(manual_text, llm, embeddings)
+
+    # 1. 디스크에 index.faiss 저장
+    os.makedirs(VECTOR_STORE_DIR, exist_ok=True)
+    index_path = _index_path_for(companyName)
+    store.save_local(index_path)
+
+    # 2. RAM에 저장
+    global_pipelines[companyName] = chain
+    global_vector_stores[companyName] = store
+
+    # 3. 변경분 업로드(/upload_delta)에서 비교할 매뉴얼 해시 저장
+    save_manual_hash(index_path, hashlib.sha256(manual_text.encode("utf-8")).hexdigest())
+
+    # 4. .txt 파일로 내보내기
+    export_chunks_to_txt(companyName, store)
+    return index_path
+
+
+# --- (★★ 변경분 업로드: 바뀐 조각만 다시 임베딩 ★★) ---
+# 조각 ID = sha256(조각 내용) 앞 16자리 + "#" + 같은 내용이 앞에서 나온 횟수
+# (앱의 ManualChunkSplitter가 같은 500/50 분할로 같은 ID를 계산합니다.)
+MANUAL_HASH_FILE = "manual.json"
+manual_delta_lock = threading.Lock()
+
+
+def _index_path_for(companyName):
+    safe_folder_name = urllib.parse.quote_plus(companyName)
+    return os.path.join(VECTOR_STORE_DIR, f"{safe_folder_name}_index")
+
+
+def save_manual_hash(index_path, manual_hash, updated_at=None):
+    """ 매뉴얼 해시와 등록 시각(ms)을 저장 (/companies 목록의 버전/수정 시각으로도 사용) """
+    if updated_at is None:
+        updated_at = int(time.time() * 1000)
+    with open(os.path.join(index_path, MANUAL_HASH_FILE), "w", encoding="utf-8") as f:
+        json.dump({"manualHash": manual_hash, "updatedAt": updated_at}, f)
+
+
+def load_manual_info(companyName):
+    path = os.path.join(_index_path_for(companyName), MANUAL_HASH_FILE)
+    if not os.path.exists(path):
+        return {}
+    with open(path, "r", encoding="utf-8") as f:
+        return json.load(f)
+
+
+def load_manual_hash(companyName):
+    return load_manual_info(companyName).get("manualHash")
+
+
+def chunk_content_hash(text):
+    return hashlib.sha256(text.encode("utf-8")).hexdigest()[:16]
+
+
+def _chunk_entries(vector_store):
+    """ 조각을 index 순서로 정렬해서 [(조각 ID, docstore ID, Document)] 로 돌려줍니다. """
+    items = sorted(vector_store.docstore._dict.items(),
+                   key=lambda item: item[1].metadata.get("index", 0))
+    seen = {}
+    entries = []
+    for docstore_id, doc in items:
+        content_hash = chunk_content_hash(doc.page_content)
+        occurrence = seen.get(content_hash, 0)
+        seen[content_hash] = occurrence + 1
+        entries.append((f"{content_hash}#{occurrence}", docstore_id, doc))
+    return entries
+
+
+@app.route('/manual_digest', methods=['GET'])
+def get_manual_digest():
+    """ 등록된 매뉴얼의 전체 해시와 조각 ID 목록 (앱이 바뀐 조각만 계산할 때 사용) """
+    global global_vector_stores
+    companyName = request.args.get('company')
+    if not companyName:
+        return jsonify({"error": "기업명(company) 쿼리 파라미터가 필요합니다."}), 400
+    manual_hash = load_manual_hash(companyName)
+    if companyName not in global_vector_stores or manual_hash is None:
+        return jsonify({"error": f"'{companyName}'에 해당하는 매뉴얼이 없습니다."}), 404
+
+    chunk_ids = [chunk_id for chunk_id, _, _ in _chunk_entries(global_vector_stores[companyName])]
+    return jsonify({"companyName": companyName, "manualHash": manual_hash, "chunkIds": chunk_ids}), 200
+
+
+@app.route('/upload_delta', methods=['POST'])
+def upload_manual_delta():
+    """
+    매뉴얼 변경분 적용 (새로 생긴 조각만 임베딩하고, 없어진 조각은 인덱스에서 삭제)
+    요청: {"companyName", "baseManualHash", "manualHash",
+          "chunkIds": [새 매뉴얼의 조각 ID 순서], "added": [{"id", "text"}]}
+    baseManualHash가 서버의 현재 해시와 다르면 409 → 앱이 전체 업로드로 전환
+    """
+    global llm, embeddings, global_pipelines, global_vector_stores
+    data = request.json or {}
+    companyName = data.get('companyName')
+    new_hash = data.get('manualHash')
+    chunk_ids = data.get('chunkIds') or []
+    added_list = data.get('added') or []
+
+    if not companyName or not new_hash:
+        return jsonify({"error": "companyName/manualHash가 없습니다."}), 400
+    if not isinstance(chunk_ids, list) or not all(isinstance(chunk_id, str) for chunk_id in chunk_ids):
+        return jsonify({"error": "chunkIds가 올바르지 않습니다."}), 400
+    if not isinstance(added_list, list) or not all(
+            isinstance(chunk, dict) and isinstance(chunk.get('id'), str) and isinstance(chunk.get('text'), str)
+            for chunk in added_list):
+        return jsonify({"error": "added의 각 조각에는 문자열 id/text가 있어야 합니다."}), 400
+    added = {chunk['id']: chunk['text'] for chunk in added_list}
+    if companyName == "병무청":
+        return jsonify({"error": "'병무청'은 기본값이므로 업로드할 수 없습니다."}), 400
+
+    with manual_delta_lock:
+        current_hash = load_manual_hash(companyName)
+        if companyName not in global_vector_stores or current_hash is None:
+            return jsonify({"error": "기존 매뉴얼이 없습니다. 전체 업로드가 필요합니다."}), 409
+        if current_hash == new_hash:
+            return negotiated({"message": f"{companyName} 매뉴얼 변경 없음", "companyName": companyName,
+                               "added": 0, "removed": 0})
+        if data.get('baseManualHash') != current_hash:
+            return jsonify({"error": "서버 매뉴얼이 바뀌었습니다. 전체 업로드가 필요합니다."}), 409
+
+        store = global_vector_stores[companyName]
+        existing = {chunk_id: (docstore_id, doc) for chunk_id, docstore_id, doc in _chunk_entries(store)}
+        wanted = set(chunk_ids)
+        missing = [chunk_id for chunk_id in wanted if chunk_id not in existing and chunk_id not in added]
+        if missing:
+            return jsonify({"error": "조각 내용이 빠져 있습니다.", "missingChunks": missing}), 400
+        for chunk_id, text in added.items():
+            if chunk_id.split("#")[0] != chunk_content_hash(text):
+                return jsonify({"error": f"조각 해시가 일치하지 않습니다. ({chunk_id})"}), 400
+
+        # 변경분은 복사본에 적용하고, 디스크에 저장까지 끝나면 바꿔 끼움
+        # (중간에 실패해도 RAM/디스크의 인덱스와 manual.json 해시가 어긋나지 않음)
+        index_path = _index_path_for(companyName)
+        disk_written = False
+        try:
+            working = FAISS.deserialize_from_bytes(store.serialize_to_bytes(), embeddings,
+                                                   allow_dangerous_deserialization=True)
+            working_docs = working.docstore._dict
+
+            # 1. 없어진 조각 삭제 (임베딩 비용 없음)
+            removed_ids = [docstore_id for chunk_id, (docstore_id, _) in existing.items() if chunk_id not in wanted]
+            if removed_ids:
+                working.delete(removed_ids)
+
+            # 2. 새 조각만 임베딩해서 추가
+            new_chunks = [(position, chunk_id) for position, chunk_id in enumerate(chunk_ids)
+                          if chunk_id not in existing]
+            if new_chunks:
+                working.add_texts([added[chunk_id] for _, chunk_id in new_chunks],
+                                  metadatas=[{"index": position} for position, _ in new_chunks])
+
+            # 3. 남은 조각의 순서(index)를 새 매뉴얼 기준으로 갱신
+            for position, chunk_id in enumerate(chunk_ids):
+                if chunk_id in existing:
+                    working_docs[existing[chunk_id][0]].metadata["index"] = position
+
+            disk_written = True  # 저장 도중 실패해도 되돌림
+            working.save_local(index_path)
+            save_manual_hash(index_path, new_hash)
+        except Exception as e:
+            print(f"'/upload_delta' 처리 오류: {e}")
+            if disk_written:
+                try:
+                    store.save_local(index_path)  # 디스크를 기존 인덱스로 되돌림 (manual.json은 기존 해시)
+                except Exception as restore_error:
+                    print(f"'/upload_delta' 기존 인덱스 복구 오류: {restore_error}")
+            return jsonify({"error": "변경분 적용 중 오류 발생"}), 500
+
+        global_pipelines[companyName] = build_rag_chain(working, llm)
+        global_vector_stores[companyName] = working
+        export_chunks_to_txt(companyName, working)
+
+    print(f"'{companyName}' 변경분 적용: 추가 {len(new_chunks)}개, 삭제 {len(removed_ids)}개")
+    return negotiated({"message": f"{companyName} 매뉴얼 변경분 업로드 성공", "companyName": companyName,
+                       "added": len(new_chunks), "removed": len(removed_ids)})
+
+
+# --- (변경분 업로드 끝) ---
+
+
+@app.route('/companies', methods=['GET'])
+def list_companies():
+    """
+    등록된 기업 목록 + 매뉴얼 정보 (manualVersion, chunkCount, updatedAt)
+    ETag 지원: 앱이 보낸 If-None-Match가 현재 목록과 같으면 본문 없이 304
+    """
+    global global_vector_stores
+    companies = []
+    for companyName in sorted(global_vector_stores.keys()):
+        store = global_vector_stores[companyName]
+        info = load_manual_info(companyName)
+        manual_hash = info.get("manualHash")
+        companies.append({
+            "companyName": companyName,
+            "manualVersion": manual_hash[:12] if manual_hash else None,
+            "chunkCount": len(store.docstore._dict) if hasattr(store, 'docstore') else 0,
+            "updatedAt": info.get("updatedAt", 0),
+            "isDefault": companyName == "병무청",
+        })
+    body = json.dumps({"companies": companies}, ensure_ascii=False, sort_keys=True)
+    etag = hashlib.sha256(body.encode("utf-8")).hexdigest()[:32]
+
+    if request.if_none_match.contains(etag):
+        response = Response(status=304)
+    else:
+        response = Response(body, mimetype='application/json')
+    response.set_etag(etag)
+    response.headers['Cache-Control'] = 'no-cache'
+    return response
+
+
 @app.route('/upload', methods=['POST'])
 def upload_manual():
     """
@@ -161,61 +595,498 @@ def upload_manual():
     if companyName == "병무청":
         return jsonify({"error: '병무청'은 기본값이므로 업로드할 수 없습니다."}), 400
 
+    raw = file.read()
+    # 앱이 업로드하면서 파일 파트를 gzip으로 압축한 경우 (파트 헤더 Content-Encoding: gzip)
+    if file.headers.get('Content-Encoding', '').lower() == 'gzip':
+        try:
+            raw = bounded_gunzip(raw)
+        except (OSError, EOFError):
+            return jsonify({"error": "압축된 파일을 풀 수 없습니다."}), 400
+        if len(raw) > MAX_DECOMPRESSED_BYTES:
+            return jsonify({"error": "파일이 너무 큽니다."}), 413
+
     try:
-        manual_text = file.read().decode('utf-8')
-        # k=5가 적용된 생성 함수 호출
-        (chain, store) = create_rag_pipeline_for_manual(manual_text, llm, embeddings)
+        manual_text = raw.decode('utf-8')
+        index_path = register_manual(companyName, manual_text)
 
-        # 1. 디스크에 index.faiss 저장
-        safe_folder_name = urllib.parse.quote_plus(companyName)
-        os.makedirs(VECTOR_STORE_DIR, exist_ok=True)
-        index_path = os.path.join(VECTOR_STORE_DIR, f"{safe_folder_name}_index")
-        store.save_local(index_path)
+        print(f"'{companyName}' 파이프라인 생성 및 [디스크]({index_path})에 저장 완료.")
+        return negotiated({"message": f"{companyName} 매뉴얼 업로드 성공", "companyName": companyName})
 
-        # 2. RAM에 저장
-        global_pipelines[companyName] = chain
-        global_vector_stores[companyName] = store
+    except Exception as e:
+        print(f"'/upload' 처리 오류: {e}")
+        return jsonify({"error": "파일 처리 중 오류 발생"}), 500
 
-        # 3. .txt 파일로 내보내기
-        export_chunks_to_txt(companyName, store)
 
-        print(f"'{companyName}' 파이프라인 생성 및 [디스크]({index_path})에 저장 완료.")
-        return jsonify({"message": f"{companyName} 매뉴얼 업로드 성공", "companyName": companyName}), 200
+# --- (★★ 분할 업로드: 큰 매뉴얼을 조각(part)으로 나눠 이어서 올리기 ★★) ---
+# 세션 상태와 조각 파일은 UPLOAD_SESSION_DIR/<uploadId>/ 에 저장되어 서버를 재시작해도 이어서 받을 수 있습니다.
+UPLOAD_SESSION_DIR = os.path.join(VECTOR_STORE_DIR, "_upload_sessions")
+MAX_PART_SIZE = 8 * 1024 * 1024
+# 이 시간 동안 조각이 오지 않은 세션은 버려진 것으로 보고 지움 (session.json 수정 시간 기준)
+UPLOAD_SESSION_TTL_SECONDS = 24 * 60 * 60
+upload_sessions_lock = threading.Lock()
+
+
+def _upload_session_dir(upload_id):
+    # uploadId는 sha256 기반 hex 문자열만 허용 (경로 조작 방지)
+    if not re.fullmatch(r"[0-9a-f]{32}", upload_id or ""):
+        return None
+    return os.path.join(UPLOAD_SESSION_DIR, upload_id)
+
+
+def _load_upload_session(upload_id):
+    session_dir = _upload_session_dir(upload_id)
+    if session_dir is None:
+        return None, None
+    meta_path = os.path.join(session_dir, "session.json")
+    if not os.path.exists(meta_path):
+        return None, None
+    with open(meta_path, "r", encoding="utf-8") as f:
+        return json.load(f), session_dir
+
+
+def _sweep_upload_sessions():
+    """ 오래된 세션 폴더를 지움 (upload_sessions_lock 안에서, 새 세션을 만들 때마다 호출) """
+    if not os.path.isdir(UPLOAD_SESSION_DIR):
+        return
+    now = time.time()
+    for name in os.listdir(UPLOAD_SESSION_DIR):
+        session_dir = os.path.join(UPLOAD_SESSION_DIR, name)
+        try:
+            touched_at = os.path.getmtime(os.path.join(session_dir, "session.json"))
+        except OSError:
+            touched_at = os.path.getmtime(session_dir)  # session.json을 쓰기 전에 끊긴 세션
+        if now - touched_at > UPLOAD_SESSION_TTL_SECONDS:
+            shutil.rmtree(session_dir, ignore_errors=True)
+            print(f"오래된 분할 업로드 세션 삭제: {name}")
+
+
+def _received_parts(session_dir, part_count):
+    return [n for n in range(part_count) if os.path.exists(os.path.join(session_dir, f"{n}.part"))]
+
+
+def _upload_session_json(upload_id, meta, session_dir):
+    return {
+        "uploadId": upload_id,
+        "partCount": meta["partCount"],
+        "partSize": meta["partSize"],
+        "receivedParts": _received_parts(session_dir, meta["partCount"]),
+    }
+
+
+@app.route('/upload/sessions', methods=['POST'])
+def create_upload_session():
+    """
+    분할 업로드 시작 (같은 기업 + 같은 파일 해시 + 같은 조각 크기면 기존 세션을 돌려줘서 이어 올리기)
+    요청: {"companyName", "fileName", "totalSize", "partSize", "sha256"}
+    """
+    data = request.json or {}
+    companyName = data.get('companyName')
+    sha256 = (data.get('sha256') or "").lower()
+    try:
+        total_size = int(data.get('totalSize'))
+        part_size = int(data.get('partSize'))
+    except (TypeError, ValueError):
+        return jsonify({"error": "totalSize/partSize가 올바르지 않습니다."}), 400
 
+    if not companyName:
+        return jsonify({"error": "기업명(companyName)이 없습니다."}), 400
+    if companyName == "병무청":
+        return jsonify({"error": "'병무청'은 기본값이므로 업로드할 수 없습니다."}), 400
+    if not re.fullmatch(r"[0-9a-f]{64}", sha256):
+        return jsonify({"error": "sha256이 올바르지 않습니다."}), 400
+    if total_size <= 0 or part_size <= 0 or part_size > MAX_PART_SIZE:
+        return jsonify({"error": "totalSize/partSize가 올바르지 않습니다."}), 400
+
+    key = f"{companyName}\n{sha256}\n{total_size}\n{part_size}".encode("utf-8")
+    upload_id = hashlib.sha256(key).hexdigest()[:32]
+    session_dir = _upload_session_dir(upload_id)
+    part_count = (total_size + part_size - 1) // part_size
+
+    with upload_sessions_lock:
+        _sweep_upload_sessions()
+        meta, _ = _load_upload_session(upload_id)
+        if meta is None:
+            os.makedirs(session_dir, exist_ok=True)
+            meta = {
+                "companyName": companyName,
+                "fileName": data.get('fileName'),
+                "totalSize": total_size,
+                "partSize": part_size,
+                "partCount": part_count,
+                "sha256": sha256,
+            }
+            with open(os.path.join(session_dir, "session.json"), "w", encoding="utf-8") as f:
+                json.dump(meta, f, ensure_ascii=False)
+            print(f"'{companyName}' 분할 업로드 시작: {part_count}개 조각 ({upload_id})")
+
+    return jsonify(_upload_session_json(upload_id, meta, session_dir)), 200
+
+
+@app.route('/upload/sessions/<upload_id>', methods=['GET'])
+def get_upload_session(upload_id):
+    """ 서버가 이미 받은 조각 번호 목록 조회 """
+    meta, session_dir = _load_upload_session(upload_id)
+    if meta is None:
+        return jsonify({"error": "업로드 세션이 없습니다."}), 404
+    return jsonify(_upload_session_json(upload_id, meta, session_dir)), 200
+
+
+@app.route('/upload/sessions/<upload_id>/parts/<int:part_number>', methods=['PUT'])
+def put_upload_part(upload_id, part_number):
+    """ 조각 하나 저장 (본문 = 조각 바이트, X-Part-Sha256 헤더로 무결성 확인) """
+    meta, session_dir = _load_upload_session(upload_id)
+    if meta is None:
+        return jsonify({"error": "업로드 세션이 없습니다."}), 404
+    if part_number < 0 or part_number >= meta["partCount"]:
+        return jsonify({"error": "조각 번호가 범위를 벗어났습니다."}), 400
+
+    data = request.get_data()
+    expected_size = min(meta["partSize"], meta["totalSize"] - part_number * meta["partSize"])
+    if len(data) != expected_size:
+        return jsonify({"error": f"조각 크기가 다릅니다. ({len(data)} != {expected_size})"}), 400
+    expected_hash = (request.headers.get('X-Part-Sha256') or "").lower()
+    if hashlib.sha256(data).hexdigest() != expected_hash:
+        return jsonify({"error": "조각 해시가 일치하지 않습니다."}), 400
+
+    # 임시 파일에 쓴 뒤 이름을 바꿔서, 중간에 끊겨도 반쪽짜리 조각이 '받음'으로 보이지 않게 함
+    part_path = os.path.join(session_dir, f"{part_number}.part")
+    tmp_path = part_path + ".tmp"
+    with open(tmp_path, "wb") as f:
+        f.write(data)
+    os.replace(tmp_path, part_path)
+    os.utime(os.path.join(session_dir, "session.json"))  # 올리는 중인 세션은 지우지 않도록
+    return jsonify({"partNumber": part_number, "received": True}), 200
+
+
+@app.route('/upload/sessions/<upload_id>/complete', methods=['POST'])
+def complete_upload_session(upload_id):
+    """ 모든 조각을 이어 붙여 전체 해시를 확인하고 매뉴얼로 등록 """
+    meta, session_dir = _load_upload_session(upload_id)
+    if meta is None:
+        return jsonify({"error": "업로드 세션이 없습니다."}), 404
+
+    received = _received_parts(session_dir, meta["partCount"])
+    if len(received) != meta["partCount"]:
+        missing = sorted(set(range(meta["partCount"])) - set(received))
+        return jsonify({"error": "아직 받지 못한 조각이 있습니다.", "missingParts": missing}), 409
+
+    digest = hashlib.sha256()
+    chunks = []
+    for n in range(meta["partCount"]):
+        with open(os.path.join(session_dir, f"{n}.part"), "rb") as f:
+            part = f.read()
+        digest.update(part)
+        chunks.append(part)
+    if digest.hexdigest() != meta["sha256"]:
+        shutil.rmtree(session_dir, ignore_errors=True)
+        return jsonify({"error": "전체 파일 해시가 일치하지 않습니다. 처음부터 다시 업로드하세요."}), 400
+
+    companyName = meta["companyName"]
+    try:
+        manual_text = b"".join(chunks).decode('utf-8')
+        index_path = register_manual(companyName, manual_text)
+        shutil.rmtree(session_dir, ignore_errors=True)
+        print(f"'{companyName}' 분할 업로드 완료 및 [디스크]({index_path})에 저장 완료.")
+        return negotiated({"message": f"{companyName} 매뉴얼 업로드 성공", "companyName": companyName})
     except Exception as e:
-        print(f"'/upload' 처리 오류: {e}")
+        print(f"'/upload/sessions/complete' 처리 오류: {e}")
         return jsonify({"error": "파일 처리 중 오류 발생"}), 500
 
 
+# --- (분할 업로드 끝) ---
+
+
+# --- (답변 생성 동시 실행 제한) ---
+# 넘치면 바로 503 + Retry-After → 앱의 AdmissionInterceptor가 그 시간 동안 보내지 않고 동시 요청 수를 줄임
+MAX_CONCURRENT_GENERATIONS = int(os.environ.get('MAX_CONCURRENT_GENERATIONS', '8'))
+BUSY_RETRY_AFTER_SECONDS = 2
+generation_slots = threading.BoundedSemaphore(MAX_CONCURRENT_GENERATIONS)
+
+
+def busy_response():
+    response = jsonify({"error": "요청이 많아 잠시 후 다시 시도해 주세요."})
+    response.status_code = 503
+    response.headers['Retry-After'] = str(BUSY_RETRY_AFTER_SECONDS)
+    return response
+
+
+def release_on_close(response):
+    """ 스트리밍 응답: 본문을 다 보냈거나 연결이 끊겨 응답이 닫힐 때 자리를 돌려줌 """
+    released = threading.Event()
+
+    def release():
+        if not released.is_set():
+            released.set()
+            generation_slots.release()
+
+    response.call_on_close(release)
+    return response
+
+
+# --- (동시 실행 제한 끝) ---
+
+
+# --- (대화 문맥) ---
+# 앱(ConversationContext)이 세션 ID와 최근 대화 창을 관리하고, 서버는 세션마다 같은 창을 보관합니다.
+# 서버가 창을 갖고 있으면 앱은 새 질문 + digest만 보내고, 없거나 다르면 409 → 앱이 전체 창을 담아 다시 보냄
+# 창을 자르는 규칙과 digest 계산은 앱과 같아야 함
+CONTEXT_MAX_TURNS = 6
+CONTEXT_MAX_BYTES = 4096
+CONTEXT_MAX_TEXT_CHARS = 500  # 질문/답변은 앞부분 이 글자 수(코드 포인트)까지만
+CONTEXT_TTL_SECONDS = 30 * 60
+MAX_CONTEXT_SESSIONS = 2000
+context_sessions = OrderedDict()  # { contextId: ([{"q", "a"}], 마지막 사용 시각) } (오래 안 쓴 것이 앞)
+context_lock = threading.Lock()
+
+
+def _utf8(text):
+    # 짝이 없는 서로게이트는 '?'로 (앱의 String.getBytes(UTF_8)과 같게)
+    return text.encode('utf-8', 'replace')
+
+
+def trim_context(turns):
+    """ 턴 목록을 앱과 같은 규칙으로 자름 (최근 CONTEXT_MAX_TURNS개, 합쳐서 CONTEXT_MAX_BYTES까지) """
+    window = []
+    for turn in turns:
+        if isinstance(turn, dict):
+            window.append({"q": str(turn.get('q') or '')[:CONTEXT_MAX_TEXT_CHARS],
+                           "a": str(turn.get('a') or '')[:CONTEXT_MAX_TEXT_CHARS]})
+    total = sum(len(_utf8(t['q'])) + len(_utf8(t['a'])) for t in window)
+    while window and (len(window) > CONTEXT_MAX_TURNS or total > CONTEXT_MAX_BYTES):
+        dropped = window.pop(0)
+        total -= len(_utf8(dropped['q'])) + len(_utf8(dropped['a']))
+    return window
+
+
+def context_digest(turns):
+    """ 창의 SHA-256 앞 16자리 (턴마다 질문 + 0x1F + 답변 + 0x1E) """
+    joined = "".join(t['q'] + "\x1f" + t['a'] + "\x1e" for t in turns)
+    return hashlib.sha256(_utf8(joined)).hexdigest()[:16]
+
+
+def resolve_context(data):
+    """
+    요청의 이전 대화 → (contextId, 턴 목록)
+    - contextId가 없으면 (None, []): 문맥 없이 답함
+    - 전체 창(context)이 오면 그 창, digest만 오면 저장된 창 (없거나 다르면 턴 목록이 None → 409)
+    """
+    context_id = data.get('contextId')
+    if not isinstance(context_id, str) or not context_id:
+        return None, []
+    if isinstance(data.get('context'), list):
+        return context_id, trim_context(data['context'])
+    with context_lock:
+        entry = context_sessions.get(context_id)
+    if entry is None or time.time() - entry[1] > CONTEXT_TTL_SECONDS \
+            or context_digest(entry[0]) != data.get('contextDigest'):
+        return context_id, None
+    return context_id, entry[0]
+
+
+def context_miss_response():
+    return jsonify({"error": "이전 대화가 서버에 없습니다. 전체 대화를 담아 다시 보내 주세요."}), 409
+
+
+def remember_turn(context_id, turns, user_query, answer):
+    """ 답변이 끝난 턴을 세션의 창에 붙임 (앱도 같은 턴을 붙임) """
+    if not context_id:
+        return
+    window = trim_context(turns + [{"q": user_query, "a": answer}])
+    now = time.time()
+    with context_lock:
+        context_sessions[context_id] = (window, now)
+        context_sessions.move_to_end(context_id)
+        while context_sessions:
+            oldest_id, (_, used_at) = next(iter(context_sessions.items()))
+            if len(context_sessions) <= MAX_CONTEXT_SESSIONS and now - used_at <= CONTEXT_TTL_SECONDS:
+                break
+            del context_sessions[oldest_id]
+
+
+def with_context(turns, user_query):
+    """ 이전 대화가 있으면 질문 앞에 붙여 체인에 넘김 (매뉴얼 검색도 앞 대화를 보고 후속 질문의 대상을 찾음) """
+    if not turns:
+        return user_query
+    history = "\n".join(f"사용자: {t['q']}\n상담원: {t['a']}" for t in turns)
+    return f"[이전 대화]\n{history}\n\n[현재 질문]: {user_query}"
+
+
+# --- (대화 문맥 끝) ---
+
+
 @app.route('/chat', methods=['POST'])
 def chat():
-    """ 사용자용 채팅 API (수정 없음) """
+    """ 사용자용 채팅 API (답변 전체를 한 번에, 스트리밍은 /chat_stream) """
     global global_pipelines, global_general_chain
-    data = request.json
+    data = request_payload()
     if not data or 'query' not in data:
         return jsonify({"error": "질문(query)이 누락되었습니다."}), 400
     user_query = data['query']
     companyName = data.get('companyName')
+    context_id, turns = resolve_context(data)
+    if turns is None:
+        return context_miss_response()
+    if not generation_slots.acquire(blocking=False):
+        return busy_response()
     try:
         answer = ""
         if companyName:
             rag_chain = global_pipelines.get(companyName)
             if rag_chain is None:
                 return jsonify({"error": f"'{companyName}'에 해당하는 상담원이 없습니다."}), 404
-            answer = rag_chain.invoke(user_query)
+            answer = rag_chain.invoke(with_context(turns, user_query))
         else:
             if global_general_chain is None:
                 return jsonify({"error": "일반 상담 기능이 준비되지 않았습니다."}), 500
-            answer = global_general_chain.invoke(user_query)
-        return jsonify({"answer": answer})
+            answer = global_general_chain.invoke(with_context(turns, user_query))
+        remember_turn(context_id, turns, user_query, answer)
+        return negotiated({"answer": answer})
     except Exception as e:
         print(f"'/chat' RAG 체인 실행 오류: {e}")
         return jsonify({"error": "답변 생성 중 오류가 발생했습니다."}), 500
+    finally:
+        generation_slots.release()
+
+
+@app.route('/chat_stream', methods=['POST'])
+def chat_stream():
+    """
+    사용자용 스트리밍 채팅 API (SSE)
+    답변이 생성되는 대로 'data: {"delta": "..."}' 조각을 보내고, 끝나면 'data: [DONE]'을 보냅니다.
+    """
+    global global_pipelines, global_general_chain
+    data = request_payload()
+    if not data or 'query' not in data:
+        return jsonify({"error": "질문(query)이 누락되었습니다."}), 400
+    user_query = data['query']
+    companyName = data.get('companyName')
+    context_id, turns = resolve_context(data)
+    if turns is None:
+        return context_miss_response()
+
+    if companyName:
+        chain = global_pipelines.get(companyName)
+        if chain is None:
+            return jsonify({"error": f"'{companyName}'에 해당하는 상담원이 없습니다."}), 404
+    else:
+        chain = global_general_chain
+        if chain is None:
+            return jsonify({"error": "일반 상담 기능이 준비되지 않았습니다."}), 500
+
+    def generate():
+        try:
+            answer = []
+            for delta in chain.stream(with_context(turns, user_query)):
+                if delta:
+                    answer.append(delta)
+                    yield "data: " + json.dumps({"delta": delta}, ensure_ascii=False) + "\n\n"
+            # 끝까지 보낸 답변만 창에 붙임 (중간에 끊기면 앱도 붙이지 않음)
+            remember_turn(context_id, turns, user_query, "".join(answer))
+            yield "data: [DONE]\n\n"
+        except Exception as e:
+            print(f"'/chat_stream' RAG 체인 실행 오류: {e}")
+            yield "event: error\ndata: " + json.dumps({"error": "답변 생성 중 오류가 발생했습니다."},
+                                                      ensure_ascii=False) + "\n\n"
+
+    if not generation_slots.acquire(blocking=False):
+        return busy_response()
+    # X-Accel-Buffering: 프록시가 조각을 모아서 보내지 않도록 합니다.
+    return release_on_close(Response(stream_with_context(generate()), mimetype='text/event-stream',
+                                     headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}))
+
+
+# 한 번에 받을 수 있는 질문 수 / 동시에 답변을 생성할 수 (waitress 스레드를 다 쓰지 않도록)
+MAX_BATCH_ITEMS = 16
+BATCH_WORKERS = 3
+batch_executor = ThreadPoolExecutor(max_workers=BATCH_WORKERS)
+
+
+def _answer_batch_item(item):
+    """ 배치 질문 하나 → 결과 한 줄 (예외를 밖으로 던지지 않음) """
+    item_id = item.get('id')
+    user_query = item.get('query')
+    companyName = item.get('companyName')
+    if not user_query:
+        return {"id": item_id, "status": 400, "error": "질문(query)이 누락되었습니다."}
+    if companyName:
+        chain = global_pipelines.get(companyName)
+        if chain is None:
+            return {"id": item_id, "status": 404, "error": f"'{companyName}'에 해당하는 상담원이 없습니다."}
+    else:
+        chain = global_general_chain
+        if chain is None:
+            return {"id": item_id, "status": 500, "error": "일반 상담 기능이 준비되지 않았습니다."}
+    context_id, turns = resolve_context(item)
+    if turns is None:
+        return {"id": item_id, "status": 409, "error": "이전 대화가 서버에 없습니다. 전체 대화를 담아 다시 보내 주세요."}
+    # 질문마다 자리 하나 (실제로 생성할 때만 잡으므로 다른 배치 뒤에서 기다리는 동안은 자리를 차지하지 않음)
+    if not generation_slots.acquire(blocking=False):
+        return {"id": item_id, "status": 503, "error": "요청이 많아 잠시 후 다시 시도해 주세요."}
+    try:
+        answer = chain.invoke(with_context(turns, user_query))
+        remember_turn(context_id, turns, user_query, answer)
+        return {"id": item_id, "status": 200, "answer": answer}
+    except Exception as e:
+        print(f"'/chat_batch' RAG 체인 실행 오류: {e}")
+        return {"id": item_id, "status": 500, "error": "답변 생성 중 오류가 발생했습니다."}
+    finally:
+        generation_slots.release()
+
+
+@app.route('/chat_batch', methods=['POST'])
+def chat_batch():
+    """
+    여러 질문을 한 번의 요청으로 받는 채팅 API
+    요청: {"items": [{"id", "query", "companyName", "contextId", "context"}, ...]} (이전 대화는 /chat과 같음)
+    요청 본문은 다른 채팅 API처럼 JSON 또는 CBOR
+    응답: NDJSON (application/x-ndjson), 답변이 끝나는 순서대로 한 줄씩
+          {"id", "status": 200, "answer"} 또는 {"id", "status": 4xx/5xx, "error"}
+          (/chat_stream처럼 줄 단위로 읽는 스트림이라 Accept가 CBOR여도 NDJSON)
+    """
+    data = request_payload()
+    items = data.get('items') if isinstance(data, dict) else None
+    if not isinstance(items, list) or not items or not all(isinstance(item, dict) for item in items):
+        return jsonify({"error": "질문 목록(items)이 누락되었습니다."}), 400
+    if len(items) > MAX_BATCH_ITEMS:
+        return jsonify({"error": f"한 번에 최대 {MAX_BATCH_ITEMS}개까지 보낼 수 있습니다."}), 413
+
+    # 동시 생성 수 제한은 질문마다 (_answer_batch_item), 자리가 없던 질문은 그 줄만 503
+    futures = [batch_executor.submit(_answer_batch_item, item) for item in items]
+
+    def generate():
+        for future in as_completed(futures):
+            yield json.dumps(future.result(), ensure_ascii=False) + "\n"
+
+    return Response(stream_with_context(generate()), mimetype='application/x-ndjson',
+                    headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"})
+
+
+# 정렬된 조각 목록 캐시 { 기업명: (vector_store id, 매뉴얼 해시, 조각 수, [Document]) }
+# 페이지를 요청할 때마다 docstore 전체를 정렬하지 않도록 매뉴얼이 바뀔 때만 다시 정렬
+sorted_docs_cache = {}
+MAX_INDEX_PAGE_SIZE = 500
+
+
+def _sorted_docs(companyName, vector_store):
+    manual_hash = load_manual_hash(companyName)
+    key = (id(vector_store), manual_hash, len(vector_store.docstore._dict))
+    cached = sorted_docs_cache.get(companyName)
+    if cached and cached[:3] == key:
+        return manual_hash, cached[3]
+    docs = sorted(vector_store.docstore._dict.values(),
+                  key=lambda doc: doc.metadata.get("index", 0))
+    sorted_docs_cache[companyName] = key + (docs,)
+    return manual_hash, docs
 
 
 @app.route('/manual_indexes', methods=['GET'])
 def get_manual_indexes():
-    """ 매뉴얼 조각(인덱스) 조회 API (수정 없음) """
+    """
+    매뉴얼 조각(인덱스) 조회 API
+    - offset/limit 없이 부르면 기존처럼 전체 조각 배열
+    - limit을 주면 페이지 단위: {"companyName", "manualVersion", "total", "offset", "nextOffset", "chunks"}
+      (nextOffset은 마지막 페이지면 null, manualVersion이 바뀌면 앱이 캐시를 버림)
+    """
     global global_vector_stores
     companyName = request.args.get('company')
     if not companyName:
@@ -225,16 +1096,24 @@ def get_manual_indexes():
     vector_store = global_vector_stores[companyName]
     if not hasattr(vector_store, 'docstore') or not vector_store.docstore._dict:
         return jsonify({"error": "인덱싱된 데이터가 없습니다."}), 500
-    chunks = []
     try:
-        sorted_docs = sorted(vector_store.docstore._dict.values(),
-                             key=lambda doc: doc.metadata.get("index", 0))
-        for doc in sorted_docs:
-            chunks.append({
-                "index": doc.metadata.get("index", "N/A"),
-                "text": doc.page_content
-            })
-        return jsonify(chunks)
+        manual_hash, sorted_docs = _sorted_docs(companyName, vector_store)
+        if 'limit' not in request.args:
+            return jsonify([{"index": doc.metadata.get("index", "N/A"), "text": doc.page_content}
+                            for doc in sorted_docs])
+
+        offset = max(0, request.args.get('offset', default=0, type=int))
+        limit = min(max(1, request.args.get('limit', default=100, type=int)), MAX_INDEX_PAGE_SIZE)
+        page = sorted_docs[offset:offset + limit]
+        next_offset = offset + len(page) if offset + len(page) < len(sorted_docs) else None
+        return jsonify({
+            "companyName": companyName,
+            "manualVersion": manual_hash[:12] if manual_hash else None,
+            "total": len(sorted_docs),
+            "offset": offset,
+            "nextOffset": next_offset,
+            "chunks": [{"index": doc.metadata.get("index", "N/A"), "text": doc.page_content} for doc in page],
+        })
     except Exception as e:
         print(f"'/manual_indexes' 처리 오류: {e}")
         return jsonify({"error": "인덱스 조회 중 오류 발생"}), 500
@@ -282,6 +1161,11 @@ def setup_global_models_and_default():
             store.save_local(index_path)
             print(f"기본 '병무청' 인덱스를 디스크({index_path})에 저장합니다.")
 
+        # 기업 목록(/companies)에 버전/수정 시각이 나오도록 기본 매뉴얼 해시도 저장 (수정 시각 = 파일 수정 시각)
+        os.makedirs(index_path, exist_ok=True)
+        save_manual_hash(index_path, hashlib.sha256(manual_text.encode("utf-8")).hexdigest(),
+                         int(os.path.getmtime(manual_file) * 1000))
+
         # .txt 파일로 내보내기
         export_chunks_to_txt("병무청", store)
 
@@ -0,0 +1,152 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 답변 생성 요청(/chat, /chat_stream, /chat_batch: 타임아웃 프로필 "chat")을 서버마다 AdmissionLimiter로 조절하는 인터셉터
+ * 서버의 요청 하나하나가 Gemini 호출이라, 한 사용자가 연달아 보내거나 서버가 밀릴 때 앱이 먼저 속도를 줄임
+ * EndpointRoutingInterceptor 다음, TimeoutProfileInterceptor 앞에 둡니다. (서버가 정해진 주소 + 프로필 헤더가 필요)
+ */
+public class AdmissionInterceptor implements Interceptor {
+
+    // 서버 하나에 초당 2개, 한 번에 4개까지
+    static final double RATE_PER_SECOND = 2;
+    static final int BURST = 4;
+    // 동시 요청 수: 2개에서 시작해서 서버가 잘 받으면 호스트당 연결 수(4)까지
+    static final int INITIAL_LIMIT = 2;
+    static final int MAX_LIMIT = 4;
+    // 이보다 오래 기다려야 하면 보내지 않고 거절 (화면에 안내)
+    static final long MAX_WAIT_MILLIS = 10 * 1000;
+    private static final long WAIT_SLICE_MILLIS = 200;
+
+    private final Map<String, AdmissionLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"chat".equals(request.header(TimeoutProfileInterceptor.HEADER))) {
+            return chain.proceed(request);
+        }
+
+        AdmissionLimiter limiter = limiterFor(request.url());
+        limiter.acquire(MAX_WAIT_MILLIS, chain.call()::isCanceled);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if (e instanceof SocketTimeoutException && !EndpointRoutingInterceptor.isConnectFailure(e)) {
+                limiter.onOverload(0); // 서버가 답하지 못할 만큼 밀림
+            }
+            limiter.release();
+            throw e;
+        }
+
+        int code = response.code();
+        if (code == 429 || code == 503) {
+            limiter.onOverload(retryAfterMillis(response));
+        } else if (response.isSuccessful()) {
+            limiter.onSuccess(MetricsEventListener.endpointOf(request.url()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            limiter.release();
+            return response;
+        }
+        // 스트리밍 응답은 본문을 다 읽을 때까지 서버가 답변을 생성하므로 본문을 닫을 때 자리를 돌려줌
+        return response.newBuilder().body(new ReleasingBody(body, limiter)).build();
+    }
+
+    /**
+     * 지금 새 질문을 보내면 기다려야 하는지 (MainActivity가 안내 문구를 고를 때)
+     */
+    public boolean isCongested() {
+        for (AdmissionLimiter limiter : limiters.values()) {
+            if (limiter.isCongested()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 디버그 화면용 (서버마다 한 줄)
+     */
+    public String describe() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, AdmissionLimiter> entry : limiters.entrySet()) {
+            out.append(entry.getKey()).append("  ").append(entry.getValue().describe()).append('\n');
+        }
+        return out.toString();
+    }
+
+    AdmissionLimiter limiterFor(HttpUrl url) {
+        return limiters.computeIfAbsent(url.host() + ":" + url.port(), key ->
+                new AdmissionLimiter(RATE_PER_SECOND, BURST, INITIAL_LIMIT, MAX_LIMIT, WAIT_SLICE_MILLIS));
+    }
+
+    // Retry-After: 초 또는 HTTP 날짜 (없거나 읽을 수 없으면 0)
+    static long retryAfterMillis(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+        }
+    }
+
+    private static final class ReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        ReleasingBody(ResponseBody delegate, AdmissionLimiter limiter) {
+            this.delegate = delegate;
+            AtomicBoolean released = new AtomicBoolean();
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.release();
+                    }
+                    super.close();
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 서버 하나로 보내는 답변 생성 요청의 입장 제한 (AdmissionInterceptor가 서버마다 하나씩 만듦)
+ * - 토큰 버킷: 초당 ratePerSecond개, 한 번에 최대 burst개
+ * - 동시 요청 수 한도 (AIMD): 정상 응답마다 +1/한도, 429/503/타임아웃이나 평소보다 크게 느린 응답이면 절반
+ * - Retry-After: 그 시간까지는 새 요청을 보내지 않음
+ * 자리가 없으면 maxWaitMillis까지 기다리고, 그보다 오래 걸리거나 대기열이 차 있으면 바로 거절
+ */
+public class AdmissionLimiter {
+
+    static final int MAX_QUEUE = 8;
+    static final double MIN_LIMIT = 1;
+    // 평소(엔드포인트별 EWMA)의 이 배수보다 느리면 서버가 밀리고 있다고 봄
+    // /chat_stream은 헤더가 바로 오고 /chat은 답변을 다 만든 뒤에 오므로 같은 평균으로 비교하지 않음
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final double LATENCY_ALPHA = 0.2;
+    // 실패가 몰려와도 한 번에 여러 번 절반으로 줄지 않도록
+    static final long DECREASE_COOLDOWN_MILLIS = 1000;
+
+    /**
+     * 바깥 호출이 취소됐는지 (기다리는 동안 확인)
+     */
+    public interface CancelSignal {
+        boolean isCanceled();
+    }
+
+    private final double ratePerSecond;
+    private final double burst;
+    private final double maxLimit;
+    private final long waitSliceMillis;
+
+    private double tokens;
+    private long refilledAt;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long blockedUntil;
+    private long lastDecreaseAt;
+    private final Map<String, Double> latencyEwmas = new HashMap<>();
+
+    public AdmissionLimiter(double ratePerSecond, int burst, int initialLimit, int maxLimit, long waitSliceMillis) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxLimit = maxLimit;
+        this.waitSliceMillis = waitSliceMillis;
+        tokens = burst;
+        limit = initialLimit;
+        refilledAt = now();
+        blockedUntil = refilledAt;
+        lastDecreaseAt = refilledAt - DECREASE_COOLDOWN_MILLIS;
+    }
+
+    /**
+     * 보낼 차례를 기다립니다. 성공하면 요청이 끝난 뒤(스트리밍이면 본문을 닫을 때) 반드시 release()를 불러야 함
+     */
+    public synchronized void acquire(long maxWaitMillis, CancelSignal cancel) throws IOException {
+        if (waiting >= MAX_QUEUE) {
+            throw rejected(estimateWaitMillis());
+        }
+        long deadline = now() + maxWaitMillis;
+        waiting++;
+        try {
+            while (true) {
+                refill();
+                long now = now();
+                long waitMillis;
+                if (now < blockedUntil) {
+                    waitMillis = blockedUntil - now;
+                } else if (inFlight >= (int) limit) {
+                    waitMillis = waitSliceMillis; // release()가 깨워 줌
+                } else if (tokens < 1) {
+                    waitMillis = (long) Math.ceil((1 - tokens) * 1000 / ratePerSecond);
+                } else {
+                    tokens -= 1;
+                    inFlight++;
+                    return;
+                }
+                if (now >= deadline || blockedUntil > deadline) {
+                    // Retry-After가 기다릴 수 있는 시간보다 길면 바로 거절
+                    throw rejected(Math.max(waitMillis, blockedUntil - now));
+                }
+                if (cancel.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                try {
+                    wait(Math.max(1, Math.min(Math.min(waitMillis, waitSliceMillis), deadline - now)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Canceled");
+                }
+            }
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * 정상 응답 (endpoint: URL 첫 경로, 응답 헤더까지 걸린 시간)
+     */
+    public synchronized void onSuccess(String endpoint, long latencyMillis) {
+        Double latencyEwma = latencyEwmas.get(endpoint);
+        if (latencyEwma != null && latencyMillis > latencyEwma * LATENCY_TOLERANCE) {
+            decrease();
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        latencyEwmas.put(endpoint, latencyEwma == null
+                ? latencyMillis : latencyEwma + LATENCY_ALPHA * (latencyMillis - latencyEwma));
+    }
+
+    /**
+     * 429/503/읽기 타임아웃 (retryAfterMillis: 서버가 알려 준 대기 시간, 없으면 0)
+     */
+    public synchronized void onOverload(long retryAfterMillis) {
+        decrease();
+        if (retryAfterMillis > 0) {
+            blockedUntil = Math.max(blockedUntil, now() + retryAfterMillis);
+            notifyAll(); // 기다리던 요청이 Retry-After를 보고 바로 거절되도록
+        }
+    }
+
+    /**
+     * 요청 하나가 끝나 자리를 돌려줌
+     */
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * 지금 새 요청을 보내면 기다려야 하는지 (화면 안내용)
+     */
+    public synchronized boolean isCongested() {
+        refill();
+        return waiting > 0 || now() < blockedUntil || inFlight >= (int) limit || tokens < 1;
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized String describe() {
+        refill();
+        long blocked = Math.max(0, blockedUntil - now());
+        return String.format(Locale.US, "한도 %.1f  진행 %d  대기 %d  토큰 %.1f%s",
+                limit, inFlight, waiting, tokens, blocked > 0 ? "  Retry-After " + blocked + "ms" : "");
+    }
+
+    private void decrease() {
+        long now = now();
+        if (now - lastDecreaseAt < DECREASE_COOLDOWN_MILLIS) {
+            return;
+        }
+        lastDecreaseAt = now;
+        limit = Math.max(MIN_LIMIT, limit / 2);
+    }
+
+    private void refill() {
+        long now = now();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerSecond / 1000);
+        refilledAt = now;
+    }
+
+    private long estimateWaitMillis() {
+        long blocked = blockedUntil - now();
+        long perRequest = (long) (1000 / ratePerSecond);
+        return Math.max(blocked, perRequest * (waiting + 1));
+    }
+
+    private static AdmissionRejectedException rejected(long retryAfterMillis) {
+        long seconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        return new AdmissionRejectedException(
+                "요청이 많아 잠시 후 다시 시도해 주세요. (약 " + seconds + "초)", seconds * 1000);
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+
+/**
+ * 요청이 몰려서 앱이 질문을 서버로 보내지 않음 (AdmissionInterceptor가 던짐)
+ * 서버에는 보내지 않았으므로 retryAfterMillis 뒤에 다시 보내면 됨
+ */
+public class AdmissionRejectedException extends IOException {
+    private final long retryAfterMillis;
+
+    public AdmissionRejectedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
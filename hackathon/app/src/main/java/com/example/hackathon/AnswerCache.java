@@ -0,0 +1,522 @@
+package com.example.hackathon;
+
+import android.content.Context;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (기업명, 정규화된 질문) → 답변 캐시
+ * 1단계: 메모리 LRU (최근 답변을 바로 반환)
+ * 2단계: 디스크 (앱을 다시 켜도 유지, 전체 용량 제한)
+ * 3단계: 비슷한 질문 (SimilarQuestionIndex: 조사/어미/띄어쓰기만 다른 질문의 답변을 재사용)
+ * 매뉴얼이 새로 업로드되면 invalidateCompany()로 해당 기업의 답변을 모두 지웁니다.
+ */
+public class AnswerCache {
+
+    private static final int MAX_MEMORY_ENTRIES = 200;
+    private static final long MAX_DISK_BYTES = 4L * 1024 * 1024; // 4MB
+    private static final long TTL_MILLIS = 24L * 60 * 60 * 1000; // 24시간
+
+    // 디스크 용량 초과 시 이 비율까지 오래된 파일부터 삭제
+    private static final double DISK_TRIM_RATIO = 0.9;
+
+    private static final String GENERAL_COMPANY_DIR = "_general";
+
+    // 비슷한 질문으로 볼 자카드 유사도 (setSimilarityThreshold로 조정, 1보다 크면 끔)
+    static final double DEFAULT_SIMILARITY_THRESHOLD = 0.8;
+    // 기업마다 색인에 둘 질문 수 / 색인을 둘 기업 수 (질문 문자열과 서명만 보관)
+    private static final int MAX_SIMILAR_ENTRIES = 500;
+    private static final int MAX_SIMILAR_COMPANIES = 8;
+
+    private static AnswerCache instance = null;
+
+    /**
+     * 디스크 결과를 받는 콜백 (callbackExecutor에서 호출, 캐시에 없으면 answer가 null)
+     * similarQuestion: 비슷한 질문의 답변을 가져왔으면 그 질문 (정확히 같은 질문이면 null)
+     */
+    public interface LookupCallback {
+        void onResult(String answer, String similarQuestion);
+    }
+
+    private final File dir;
+    private final int maxMemoryEntries;
+    private final long maxDiskBytes;
+    private final long ttlMillis;
+
+    // 디스크 읽기/쓰기는 이 스레드에서만 (메인 스레드 I/O 방지 + 파일 접근 직렬화)
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    private final LinkedHashMap<String, Entry> memory;
+    private long diskBytes = -1; // 처음 디스크에 접근할 때 계산
+
+    // 기업 키 → 비슷한 질문 색인 (접근 순서, 오래 안 쓴 기업의 색인부터 내림)
+    private final LinkedHashMap<String, SimilarQuestionIndex> similarIndexes =
+            new LinkedHashMap<String, SimilarQuestionIndex>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SimilarQuestionIndex> eldest) {
+                    return size() > MAX_SIMILAR_COMPANIES;
+                }
+            };
+    // 디스크에 있는 질문을 색인에 넣은 기업 (diskExecutor에서만 접근)
+    private final Map<String, SimilarQuestionIndex> loadedIndexes = new HashMap<>();
+    private volatile double similarityThreshold = DEFAULT_SIMILARITY_THRESHOLD;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong similarHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public static synchronized AnswerCache getInstance(Context context) {
+        if (instance == null) {
+            File dir = new File(context.getApplicationContext().getCacheDir(), "answer_cache");
+            instance = new AnswerCache(dir, MAX_MEMORY_ENTRIES, MAX_DISK_BYTES, TTL_MILLIS);
+            AnswerCache cache = instance;
+            ApiMetrics.getInstance().registerGauge("answer", () -> String.format(Locale.US,
+                    "%5.1f%%  (메모리 %d / 디스크 %d / 유사 %d / 실패 %d)", cache.getHitRate() * 100,
+                    cache.getMemoryHitCount(), cache.getDiskHitCount(), cache.getSimilarHitCount(),
+                    cache.getMissCount()));
+        }
+        return instance;
+    }
+
+    public AnswerCache(File dir, int maxMemoryEntries, long maxDiskBytes, long ttlMillis) {
+        this.dir = dir;
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.maxDiskBytes = maxDiskBytes;
+        this.ttlMillis = ttlMillis;
+        // accessOrder=true → 조회할 때마다 맨 뒤로 이동 (LRU)
+        this.memory = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AnswerCache.this.maxMemoryEntries;
+            }
+        };
+    }
+
+    /**
+     * 메모리 → 디스크 → 비슷한 질문 순서로 찾아서 결과를 callbackExecutor로 전달합니다.
+     * 메모리에 있으면 디스크를 건드리지 않고 바로 콜백합니다.
+     */
+    public void lookup(String companyName, String query, Executor callbackExecutor, LookupCallback callback) {
+        String normalized = normalizeQuery(query);
+        String fromMemory = getFromMemory(companyName, normalized);
+        if (fromMemory != null) {
+            memoryHits.incrementAndGet();
+            callbackExecutor.execute(() -> callback.onResult(fromMemory, null));
+            return;
+        }
+        diskExecutor.execute(() -> {
+            String fromDisk = getFromDisk(companyName, normalized);
+            if (fromDisk != null) {
+                callbackExecutor.execute(() -> callback.onResult(fromDisk, null));
+                return;
+            }
+            Entry similar = getSimilar(companyName, normalized);
+            if (similar == null) {
+                misses.incrementAndGet();
+                callbackExecutor.execute(() -> callback.onResult(null, null));
+            } else {
+                callbackExecutor.execute(() -> callback.onResult(similar.answer, similar.query));
+            }
+        });
+    }
+
+    /**
+     * 동기 조회 (백그라운드 스레드 전용 - 앞서 요청된 디스크 쓰기가 끝난 뒤에 디스크를 읽음)
+     * 비슷한 질문의 답변도 돌려줌
+     */
+    public String get(String companyName, String query) {
+        String normalized = normalizeQuery(query);
+        String fromMemory = getFromMemory(companyName, normalized);
+        if (fromMemory != null) {
+            memoryHits.incrementAndGet();
+            return fromMemory;
+        }
+        try {
+            return diskExecutor.submit(() -> {
+                String fromDisk = getFromDisk(companyName, normalized);
+                if (fromDisk != null) {
+                    return fromDisk;
+                }
+                Entry similar = getSimilar(companyName, normalized);
+                if (similar == null) {
+                    misses.incrementAndGet();
+                    return null;
+                }
+                return similar.answer;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 답변을 저장합니다. (메모리는 즉시, 디스크는 백그라운드)
+     */
+    public void put(String companyName, String query, String answer) {
+        if (answer == null || answer.isEmpty()) return;
+        String normalized = normalizeQuery(query);
+        Entry entry = new Entry(normalized, answer, now());
+        synchronized (memory) {
+            memory.put(memoryKey(companyName, normalized), entry);
+        }
+        similarIndex(companyName).add(normalized);
+        diskExecutor.execute(() -> writeToDisk(companyName, entry));
+    }
+
+    /**
+     * 비슷한 질문으로 볼 자카드 유사도 (0~1, 1보다 크면 정확히 같은 질문만)
+     */
+    public void setSimilarityThreshold(double threshold) {
+        this.similarityThreshold = threshold;
+    }
+
+    /**
+     * 기업의 매뉴얼이 바뀌었을 때 그 기업의 답변을 메모리/디스크에서 모두 지웁니다.
+     */
+    public void invalidateCompany(String companyName) {
+        String prefix = companyKey(companyName) + '\u0000';
+        synchronized (memory) {
+            Iterator<String> keys = memory.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().startsWith(prefix)) {
+                    keys.remove();
+                }
+            }
+        }
+        synchronized (similarIndexes) {
+            similarIndexes.remove(companyKey(companyName));
+        }
+        diskExecutor.execute(() -> {
+            loadedIndexes.remove(companyKey(companyName));
+            File companyDir = new File(dir, companyKey(companyName));
+            File[] files = companyDir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    deleteFromDisk(file);
+                }
+            }
+            companyDir.delete();
+        });
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getSimilarHitCount() {
+        return similarHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 전체 조회 중 캐시에서 답한 비율 (0.0 ~ 1.0)
+     */
+    public double getHitRate() {
+        long hits = memoryHits.get() + diskHits.get() + similarHits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * 띄어쓰기, 대소문자, 끝 문장부호, 유니코드 조합 방식 차이를 없앤 질문
+     * ("예비군  편성기간은?" 과 "예비군 편성기간은" 을 같은 질문으로 취급)
+     */
+    static String normalizeQuery(String query) {
+        String text = Normalizer.normalize(query, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+        int end = text.length();
+        while (end > 0 && isTrailingPunctuation(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).trim();
+    }
+
+    // 테스트에서 시간을 바꿔 TTL을 확인할 수 있도록 분리
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    // --- 내부 구현 ---
+
+    private String getFromMemory(String companyName, String normalized) {
+        synchronized (memory) {
+            String key = memoryKey(companyName, normalized);
+            Entry entry = memory.get(key);
+            if (entry == null) return null;
+            if (isExpired(entry)) {
+                memory.remove(key);
+                return null;
+            }
+            return entry.answer;
+        }
+    }
+
+    private String getFromDisk(String companyName, String normalized) {
+        File file = diskFile(companyName, normalized);
+        Entry entry = readFromDisk(file);
+        if (entry == null || !entry.query.equals(normalized)) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            deleteFromDisk(file);
+            return null;
+        }
+        diskHits.incrementAndGet();
+        file.setLastModified(now()); // 디스크 LRU 순서 갱신
+        synchronized (memory) {
+            memory.put(memoryKey(companyName, normalized), entry);
+        }
+        return entry.answer;
+    }
+
+    /**
+     * 비슷한 질문과 그 답변 (diskExecutor 전용, 없으면 null)
+     * 답변이 지워졌거나 만료된 질문은 색인에서도 뺌
+     */
+    private Entry getSimilar(String companyName, String normalized) {
+        SimilarQuestionIndex index = loadedIndex(companyName);
+        SimilarQuestionIndex.Match match;
+        while ((match = index.findBest(normalized, similarityThreshold)) != null) {
+            String answer = getFromMemory(companyName, match.getQuery());
+            Entry entry = answer != null
+                    ? new Entry(match.getQuery(), answer, now())
+                    : readFromDisk(diskFile(companyName, match.getQuery()));
+            if (entry != null && entry.query.equals(match.getQuery()) && !isExpired(entry)) {
+                similarHits.incrementAndGet();
+                return entry;
+            }
+            index.remove(match.getQuery());
+        }
+        return null;
+    }
+
+    private SimilarQuestionIndex similarIndex(String companyName) {
+        synchronized (similarIndexes) {
+            String key = companyKey(companyName);
+            SimilarQuestionIndex index = similarIndexes.get(key);
+            if (index == null) {
+                index = new SimilarQuestionIndex(MAX_SIMILAR_ENTRIES);
+                similarIndexes.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    // 기업의 색인을 처음 쓸 때 디스크에 저장된 질문을 오래된 것부터 넣음 (앱을 다시 켜도 비슷한 질문을 찾도록)
+    private SimilarQuestionIndex loadedIndex(String companyName) {
+        SimilarQuestionIndex index = similarIndex(companyName);
+        String key = companyKey(companyName);
+        if (loadedIndexes.get(key) == index) {
+            return index;
+        }
+        File[] files = new File(dir, key).listFiles();
+        if (files != null) {
+            Map<File, Long> lastModified = new HashMap<>();
+            for (File file : files) {
+                lastModified.put(file, file.lastModified());
+            }
+            Arrays.sort(files, (a, b) -> Long.compare(lastModified.get(a), lastModified.get(b)));
+            for (File file : files) {
+                String query = readQueryFromDisk(file);
+                if (query != null) {
+                    index.add(query);
+                }
+            }
+        }
+        loadedIndexes.put(key, index);
+        return index;
+    }
+
+    // 파일 앞부분의 질문만 읽음 (만료된 파일은 null)
+    private String readQueryFromDisk(File file) {
+        long length = file.length();
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            long createdAt = in.readLong();
+            return now() - createdAt > ttlMillis ? null : readString(in, length);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Entry readFromDisk(File file) {
+        if (!file.exists()) return null;
+        long length = file.length();
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            long createdAt = in.readLong();
+            String query = readString(in, length);
+            String answer = readString(in, length);
+            return new Entry(query, answer, createdAt);
+        } catch (IOException e) {
+            deleteFromDisk(file); // 손상된 파일
+            return null;
+        }
+    }
+
+    private void writeToDisk(String companyName, Entry entry) {
+        File file = diskFile(companyName, entry.query);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) return;
+
+        ensureDiskSizeLoaded();
+        long previous = file.exists() ? file.length() : 0;
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeLong(entry.createdAt);
+            writeString(out, entry.query);
+            writeString(out, entry.answer);
+        } catch (IOException e) {
+            if (file.delete()) {
+                diskBytes -= previous;
+            }
+            return;
+        }
+        diskBytes += file.length() - previous;
+        if (diskBytes > maxDiskBytes) {
+            trimDisk();
+        }
+    }
+
+    // 마지막 사용 시간이 오래된 파일부터 지워서 용량을 DISK_TRIM_RATIO까지 줄임
+    private void trimDisk() {
+        List<File> files = listDiskFiles();
+        // 정렬 중 lastModified()를 반복 호출하지 않도록 미리 읽어둠
+        Map<File, Long> lastModified = new HashMap<>();
+        for (File file : files) {
+            lastModified.put(file, file.lastModified());
+        }
+        Collections.sort(files, (a, b) -> Long.compare(lastModified.get(a), lastModified.get(b)));
+
+        long target = (long) (maxDiskBytes * DISK_TRIM_RATIO);
+        for (int i = 0; i < files.size() && diskBytes > target; i++) {
+            deleteFromDisk(files.get(i));
+        }
+    }
+
+    // 파일을 지우고 그만큼 디스크 사용량에서 뺌 (사용량을 아직 계산하지 않았으면 그대로)
+    private void deleteFromDisk(File file) {
+        long length = file.length();
+        if (file.delete() && diskBytes >= 0) {
+            diskBytes -= length;
+        }
+    }
+
+    private void ensureDiskSizeLoaded() {
+        if (diskBytes >= 0) return;
+        long total = 0;
+        for (File file : listDiskFiles()) {
+            total += file.length();
+        }
+        diskBytes = total;
+    }
+
+    private List<File> listDiskFiles() {
+        List<File> result = new ArrayList<>();
+        File[] companyDirs = dir.listFiles();
+        if (companyDirs == null) return result;
+        for (File companyDir : companyDirs) {
+            File[] files = companyDir.listFiles();
+            if (files != null) {
+                result.addAll(Arrays.asList(files));
+            }
+        }
+        return result;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return now() - entry.createdAt > ttlMillis;
+    }
+
+    private File diskFile(String companyName, String normalized) {
+        return new File(new File(dir, companyKey(companyName)), sha1Hex(normalized));
+    }
+
+    private static String memoryKey(String companyName, String normalized) {
+        return companyKey(companyName) + '\u0000' + normalized;
+    }
+
+    // 기업명은 한글이라 폴더명으로 쓰기 위해 해시로 변환 (일반 상담은 별도 폴더)
+    private static String companyKey(String companyName) {
+        return companyName == null ? GENERAL_COMPANY_DIR : sha1Hex(companyName);
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '?' || c == '!' || c == '.' || c == '~' || c == '？' || c == '！' || Character.isWhitespace(c);
+    }
+
+    // 저장된 길이가 파일보다 길거나 음수면 손상된 파일 (그대로 배열을 만들면 OOM으로 디스크 작업이 죽음)
+    private static String readString(DataInputStream in, long fileLength) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > fileLength) {
+            throw new IOException("잘못된 문자열 길이: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String sha1Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        final String query;
+        final String answer;
+        final long createdAt;
+
+        Entry(String query, String answer, long createdAt) {
+            this.query = query;
+            this.answer = answer;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API 호출 지연 시간 / 재시도 / 캐시 적중 통계 (앱 전체에서 하나, 안드로이드 의존성 없음)
+ * - 지연 시간은 MetricsEventListener가 엔드포인트별, (엔드포인트, 기업)별로 기록
+ * - 재시도 횟수와 캐시 적중은 각 기능이 recordRetry / recordCacheLookup으로 기록
+ * - 값이 이미 다른 곳에 있는 통계(AnswerCache 등)는 registerGauge로 보고서에 붙임
+ * 보고서(report)는 디버그 화면(NetworkMetricsActivity)에 표시하고 파일로 내보냄
+ */
+public class ApiMetrics {
+
+    // 단계 (MetricsEventListener 참고). 재사용된 연결이면 DNS/연결/TLS는 기록되지 않음
+    public static final int DNS = 0;
+    public static final int CONNECT = 1;
+    public static final int TLS = 2;
+    public static final int TTFB = 3;
+    public static final int TOTAL = 4;
+    static final String[] PHASE_NAMES = {"dns", "connect", "tls", "ttfb", "total"};
+
+    // 기업 이름은 사용자가 입력하므로 종류 수를 제한 (넘으면 한 칸으로 모음)
+    static final int MAX_COMPANIES = 20;
+    static final String OTHER_COMPANIES = "(기타)";
+    static final String NO_COMPANY = "-";
+
+    private static final String RETRY_PREFIX = "retry.";
+    private static final String CACHE_PREFIX = "cache.";
+    private static final String HIT_SUFFIX = ".hit";
+    private static final String MISS_SUFFIX = ".miss";
+
+    /**
+     * 보고서를 만들 때 읽는 값 (예: "적중률 93.1% (메모리 120 / 디스크 14 / 실패 10)")
+     */
+    public interface Gauge {
+        String read();
+    }
+
+    /**
+     * 엔드포인트 하나 (또는 엔드포인트 + 기업 하나)의 통계
+     */
+    public static final class CallStats {
+        private final LatencyHistogram[] phases = new LatencyHistogram[PHASE_NAMES.length];
+        private final AtomicLong failures = new AtomicLong();
+
+        CallStats() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+
+        public LatencyHistogram get(int phase) {
+            return phases[phase];
+        }
+
+        public long getCallCount() {
+            return phases[TOTAL].getCount();
+        }
+
+        public long getFailureCount() {
+            return failures.get();
+        }
+    }
+
+    private static ApiMetrics instance;
+
+    public static synchronized ApiMetrics getInstance() {
+        if (instance == null) {
+            instance = new ApiMetrics();
+        }
+        return instance;
+    }
+
+    private final ConcurrentMap<String, CallStats> byEndpoint = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CallStats> byCompany = new ConcurrentHashMap<>(); // "엔드포인트 @ 기업"
+    private final ConcurrentMap<String, Boolean> companies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    // 테스트에서는 따로 만들어 씀
+    ApiMetrics() {
+    }
+
+    /**
+     * 호출 하나의 단계별 시간 (ms, 해당 단계가 없었으면 -1)
+     */
+    public void recordCall(String endpoint, String company, long[] phaseMillis, boolean failed) {
+        CallStats total = byEndpoint.computeIfAbsent(endpoint, key -> new CallStats());
+        CallStats perCompany = byCompany.computeIfAbsent(endpoint + " @ " + companyKey(company),
+                key -> new CallStats());
+        for (int phase = 0; phase < phaseMillis.length; phase++) {
+            if (phaseMillis[phase] >= 0) {
+                total.phases[phase].record(phaseMillis[phase]);
+                perCompany.phases[phase].record(phaseMillis[phase]);
+            }
+        }
+        if (failed) {
+            total.failures.incrementAndGet();
+            perCompany.failures.incrementAndGet();
+        }
+    }
+
+    private String companyKey(String company) {
+        if (company == null || company.isEmpty()) {
+            return NO_COMPANY;
+        }
+        if (companies.containsKey(company)) {
+            return company;
+        }
+        if (companies.size() >= MAX_COMPANIES) {
+            return OTHER_COMPANIES;
+        }
+        companies.put(company, Boolean.TRUE);
+        return company;
+    }
+
+    /**
+     * 엔드포인트 전체 통계 (기록이 없으면 null)
+     */
+    public CallStats getEndpointStats(String endpoint) {
+        return byEndpoint.get(endpoint);
+    }
+
+    /**
+     * (엔드포인트, 기업) 통계 (기록이 없으면 null)
+     */
+    public CallStats getCompanyStats(String endpoint, String company) {
+        return byCompany.get(endpoint + " @ " + (company == null || company.isEmpty() ? NO_COMPANY : company));
+    }
+
+    public void increment(String counter) {
+        counters.computeIfAbsent(counter, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long getCount(String counter) {
+        AtomicLong value = counters.get(counter);
+        return value == null ? 0 : value.get();
+    }
+
+    /**
+     * 재시도 한 번 (what: "outbox", "upload_part" 등)
+     */
+    public void recordRetry(String what) {
+        increment(RETRY_PREFIX + what);
+    }
+
+    /**
+     * 캐시 조회 한 번 (cache: "manual_chunks", "companies_etag" 등)
+     */
+    public void recordCacheLookup(String cache, boolean hit) {
+        increment(CACHE_PREFIX + cache + (hit ? HIT_SUFFIX : MISS_SUFFIX));
+    }
+
+    public void registerGauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * 지금까지의 기록을 모두 지웁니다. (게이지 등록은 유지)
+     */
+    public void reset() {
+        byEndpoint.clear();
+        byCompany.clear();
+        companies.clear();
+        counters.clear();
+    }
+
+    /**
+     * 사람이 읽는 표 형태의 보고서 (디버그 화면 / 내보내기 파일 공통)
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("[엔드포인트별 지연 시간 (ms)]\n");
+        appendStats(out, byEndpoint);
+        out.append("\n[엔드포인트 @ 기업별 지연 시간 (ms)]\n");
+        appendStats(out, byCompany);
+
+        Map<String, Long> sorted = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            sorted.put(entry.getKey(), entry.getValue().get());
+        }
+
+        out.append("\n[캐시 적중률]\n");
+        List<String> caches = new ArrayList<>();
+        for (String name : sorted.keySet()) {
+            if (name.startsWith(CACHE_PREFIX)) {
+                String cache = name.substring(CACHE_PREFIX.length(), name.lastIndexOf('.'));
+                if (!caches.contains(cache)) {
+                    caches.add(cache);
+                }
+            }
+        }
+        for (String cache : caches) {
+            long hits = getCount(CACHE_PREFIX + cache + HIT_SUFFIX);
+            long misses = getCount(CACHE_PREFIX + cache + MISS_SUFFIX);
+            out.append(String.format(Locale.US, "%-24s %5.1f%%  (적중 %d / 실패 %d)\n",
+                    cache, 100.0 * hits / (hits + misses), hits, misses));
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            out.append(String.format(Locale.US, "%-24s %s\n", entry.getKey(), entry.getValue().read()));
+        }
+
+        out.append("\n[재시도 / 기타 횟수]\n");
+        for (Map.Entry<String, Long> entry : sorted.entrySet()) {
+            if (!entry.getKey().startsWith(CACHE_PREFIX)) {
+                out.append(String.format(Locale.US, "%-24s %d\n", entry.getKey(), entry.getValue()));
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendStats(StringBuilder out, Map<String, CallStats> stats) {
+        if (stats.isEmpty()) {
+            out.append("(기록 없음)\n");
+            return;
+        }
+        out.append(String.format(Locale.US, "%-8s %7s %7s %7s %7s %7s %7s\n",
+                "단계", "건수", "p50", "p95", "p99", "평균", "최대"));
+        for (Map.Entry<String, CallStats> entry : new TreeMap<>(stats).entrySet()) {
+            CallStats call = entry.getValue();
+            out.append(String.format(Locale.US, "%s  (호출 %d, 실패 %d)\n",
+                    entry.getKey(), call.getCallCount(), call.getFailureCount()));
+            for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+                LatencyHistogram histogram = call.phases[phase];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                out.append(String.format(Locale.US, "  %-6s %7d %7d %7d %7d %7.0f %7d\n",
+                        PHASE_NAMES[phase], histogram.getCount(),
+                        histogram.percentile(0.50), histogram.percentile(0.95), histogram.percentile(0.99),
+                        histogram.getMean(), histogram.getMax()));
+            }
+        }
+    }
+}
@@ -3,23 +3,107 @@ package com.example.hackathon;
 
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
 import retrofit2.http.Multipart;
 import retrofit2.http.POST;
+import retrofit2.http.PUT;
 import retrofit2.http.Part;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface ApiService {
 
     // 사용자용 채팅 API
+    // 첫 서버가 느리면 다른 서버로 한 번 더 보냄 (EndpointRoutingInterceptor 헤징)
+    @Headers({TimeoutProfileInterceptor.CHAT, EndpointRoutingInterceptor.HEDGE})
     @POST("chat")
     Call<ChatResponse> sendChat(@Body ChatRequest request);
 
+    // 사용자용 스트리밍 채팅 API (SSE, 답변 조각을 생성되는 대로 받음)
+    // 응답 본문은 ChatStreamReader로 읽습니다.
+    // 첫 조각이 평소(p95)보다 늦으면 다른 서버로 한 번 더 보냄 (EndpointRoutingInterceptor 헤징)
+    @Streaming
+    @Headers({TimeoutProfileInterceptor.CHAT, EndpointRoutingInterceptor.HEDGE})
+    @POST("chat_stream")
+    Call<ResponseBody> sendChatStream(@Body ChatRequest request);
+
+    // 여러 질문을 한 번에 (ChatBatcher가 사용). 응답은 NDJSON으로 답변이 끝나는 순서대로 한 줄씩
+    @Streaming
+    @Headers(TimeoutProfileInterceptor.CHAT)
+    @POST("chat_batch")
+    Call<ResponseBody> sendChatBatch(@Body ChatBatchRequest request);
+
     // 기업용 매뉴얼 업로드 API
     @Multipart
+    @Headers(TimeoutProfileInterceptor.UPLOAD)
     @POST("upload") // 서버에 /upload 엔드포인트가 필요합니다.
     Call<UploadResponse> uploadManual(
             @Part("companyName") RequestBody companyName,
             @Part MultipartBody.Part file
     );
+
+    // --- 분할(이어 올리기) 업로드 API (ResumableUploader가 사용) ---
+
+    // 세션 시작 (같은 파일이면 기존 세션과 이미 받은 조각 목록을 돌려줌)
+    @POST("upload/sessions")
+    Call<UploadSession> createUploadSession(@Body UploadSessionRequest request);
+
+    // 서버가 이미 받은 조각 목록 조회
+    @GET("upload/sessions/{uploadId}")
+    Call<UploadSession> getUploadSession(@Path("uploadId") String uploadId);
+
+    // 조각 하나 전송 (본문 = 조각 바이트)
+    @Headers(TimeoutProfileInterceptor.UPLOAD)
+    @PUT("upload/sessions/{uploadId}/parts/{partNumber}")
+    Call<ResponseBody> uploadPart(
+            @Path("uploadId") String uploadId,
+            @Path("partNumber") int partNumber,
+            @Header("X-Part-Sha256") String sha256,
+            @Body RequestBody part
+    );
+
+    // 모든 조각을 합쳐 매뉴얼로 등록 (서버 인덱싱이 끝날 때까지 기다림)
+    @Headers(TimeoutProfileInterceptor.UPLOAD)
+    @POST("upload/sessions/{uploadId}/complete")
+    Call<UploadResponse> completeUpload(@Path("uploadId") String uploadId);
+
+    // --- 변경분 업로드 API (ManualDeltaUploader가 사용) ---
+
+    // 등록된 매뉴얼의 해시와 조각 ID 목록 (없으면 404)
+    @GET("manual_digest")
+    Call<ManualDigest> getManualDigest(@Query("company") String companyName);
+
+    // 새로 생긴 조각만 보내서 그 조각만 임베딩 (기준 매뉴얼이 바뀌었으면 409)
+    @Headers(TimeoutProfileInterceptor.UPLOAD)
+    @POST("upload_delta")
+    Call<UploadResponse> uploadManualDelta(@Body ManualDeltaRequest request);
+
+    // --- 기업 목록 API (CompanyRegistry가 사용) ---
+
+    // 등록된 기업 + 매뉴얼 정보. etag가 서버 목록과 같으면 304 (본문 없음)
+    @GET("companies")
+    Call<CompanyListResponse> getCompanies(@Header("If-None-Match") String etag);
+
+    // --- 매뉴얼 조각 조회 API (ManualChunkRepository가 사용) ---
+
+    // offset부터 limit개 조각 (본문은 ManualChunkPageReader가 JsonReader로 조금씩 읽음)
+    @Streaming
+    @GET("manual_indexes")
+    Call<ResponseBody> getManualIndexPage(
+            @Query("company") String companyName,
+            @Query("offset") int offset,
+            @Query("limit") int limit
+    );
+
+    // --- 연결 미리 열기 (ConnectionWarmer가 사용) ---
+
+    // 본문 없는 204 응답. DNS 조회 + TCP 연결을 미리 해 두는 용도
+    @GET("ping")
+    Call<Void> ping();
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.hackathon;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 앱 시작 파이프라인 (StartSelectionActivity에서 호출)
+ * 1. 첫 화면이 그려지고 메인 스레드가 한가해진 뒤에 백그라운드에서 시작 → 첫 프레임까지의 시간은 그대로
+ * 2. RetrofitClient/Gson 초기화 + /ping으로 서버 연결 열기 → 첫 답변도 평소와 같은 지연
+ * 3. 급하지 않은 초기화(기업 목록, 대화 DB, 답변 캐시, 보관함)는 그 다음에
+ * 상담 화면의 onCreate는 같은 싱글톤을 쓰므로 이미 만들어진 것을 받기만 함
+ */
+public final class AppStartup {
+
+    // 시작 작업 전용 스레드 (순서대로 하나씩)
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private static boolean started;
+    private static ConnectionWarmer warmer;
+
+    private AppStartup() {
+    }
+
+    /**
+     * 시작 작업을 예약합니다. (두 번째부터는 무시)
+     */
+    @MainThread
+    public static void start(Context context) {
+        if (started) {
+            return;
+        }
+        started = true;
+        Context app = context.getApplicationContext();
+        // 첫 프레임을 그린 뒤 메시지 큐가 비면 한 번 실행
+        Looper.myQueue().addIdleHandler(() -> {
+            EXECUTOR.execute(() -> run(app));
+            return false;
+        });
+    }
+
+    /**
+     * 화면을 옮기기 직전에 호출 → 선택 화면에 오래 머물러 연결이 끊겼을 수 있으면 다시 엶
+     */
+    public static void rewarm(Context context) {
+        Context app = context.getApplicationContext();
+        EXECUTOR.execute(() -> {
+            if (isOnline(app)) {
+                getWarmer().warmConnection();
+            }
+        });
+    }
+
+    private static void run(Context app) {
+        // 서버 목록 (전에 서버에서 받아 둔 목록이 있으면 그것부터)
+        EndpointPool endpointPool = RetrofitClient.getEndpointPool();
+        endpointPool.load(app);
+
+        // 네트워크 계층 (첫 질문에 필요한 것)
+        ConnectionWarmer connectionWarmer = getWarmer();
+        connectionWarmer.prepare();
+        if (isOnline(app)) {
+            connectionWarmer.warmConnection();
+        }
+        // 서버 상태 탐침 (앱을 쓰는 동안만 주기적으로)
+        endpointPool.startProbing(RetrofitClient.getHttpClient());
+
+        // 급하지 않은 초기화 (상담 화면의 onCreate에서 할 일을 미리)
+        CompanyRegistry.getInstance(app).refresh(false);
+        ChatHistoryStore.getInstance(app).getReadableDatabase(); // DB 파일 열기 (처음이면 테이블 생성)
+        AnswerCache.getInstance(app);
+        OutboxManager.getInstance(app);
+    }
+
+    private static synchronized ConnectionWarmer getWarmer() {
+        if (warmer == null) {
+            warmer = new ConnectionWarmer(RetrofitClient.getApiService(), RetrofitClient.getGson());
+        }
+        return warmer;
+    }
+
+    private static boolean isOnline(Context app) {
+        ConnectivityManager connectivity =
+                (ConnectivityManager) app.getSystemService(Context.CONNECTIVITY_SERVICE);
+        return connectivity == null || connectivity.getActiveNetwork() != null;
+    }
+}
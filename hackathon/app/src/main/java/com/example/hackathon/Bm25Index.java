@@ -0,0 +1,174 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BM25 점수를 쓰는 작은 역색인 (서버 없이 기기에서 매뉴얼 검색용)
+ * 포스팅은 CSR 형태의 int 배열 세 개에 모아 두어 객체 수를 최소화합니다.
+ * termOffsets[t] ~ termOffsets[t+1] 구간이 단어 t가 나오는 문서(postingDocs)와 빈도(postingFreqs)
+ */
+public class Bm25Index {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    /**
+     * 검색 결과 한 건 (doc = 색인할 때 넘긴 문서 순서)
+     */
+    public static class Hit {
+        public final int doc;
+        public final float score;
+
+        Hit(int doc, float score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    private final Map<String, Integer> termIds;
+    private final int[] termOffsets;
+    private final int[] postingDocs;
+    private final int[] postingFreqs;
+    private final float[] idf;
+    private final float meanIdf;
+    private final int[] docLengths;
+    private final float avgDocLength;
+
+    public Bm25Index(List<List<String>> documents) {
+        int docCount = documents.size();
+        termIds = new HashMap<>();
+        docLengths = new int[docCount];
+
+        // 1) 문서별 (단어 id → 빈도) 계산 + 단어별 문서 수(df)
+        List<int[][]> docTermFreqs = new ArrayList<>(docCount);
+        List<Integer> docFreqs = new ArrayList<>();
+        long totalLength = 0;
+        for (int d = 0; d < docCount; d++) {
+            List<String> tokens = documents.get(d);
+            docLengths[d] = tokens.size();
+            totalLength += tokens.size();
+
+            Map<Integer, Integer> freqs = new HashMap<>();
+            for (String token : tokens) {
+                Integer id = termIds.get(token);
+                if (id == null) {
+                    id = termIds.size();
+                    termIds.put(token, id);
+                    docFreqs.add(0);
+                }
+                Integer old = freqs.get(id);
+                freqs.put(id, old == null ? 1 : old + 1);
+            }
+            int[][] pairs = new int[freqs.size()][];
+            int p = 0;
+            for (Map.Entry<Integer, Integer> e : freqs.entrySet()) {
+                pairs[p++] = new int[]{e.getKey(), e.getValue()};
+                docFreqs.set(e.getKey(), docFreqs.get(e.getKey()) + 1);
+            }
+            docTermFreqs.add(pairs);
+        }
+        avgDocLength = docCount == 0 ? 0f : (float) totalLength / docCount;
+
+        // 2) CSR 오프셋
+        int termCount = termIds.size();
+        termOffsets = new int[termCount + 1];
+        for (int t = 0; t < termCount; t++) {
+            termOffsets[t + 1] = termOffsets[t] + docFreqs.get(t);
+        }
+        postingDocs = new int[termOffsets[termCount]];
+        postingFreqs = new int[termOffsets[termCount]];
+
+        // 3) 문서 순서대로 채우면 각 단어의 포스팅이 문서 번호 순으로 정렬됨
+        int[] cursor = Arrays.copyOf(termOffsets, termCount);
+        for (int d = 0; d < docCount; d++) {
+            for (int[] pair : docTermFreqs.get(d)) {
+                int slot = cursor[pair[0]]++;
+                postingDocs[slot] = d;
+                postingFreqs[slot] = pair[1];
+            }
+        }
+
+        idf = new float[termCount];
+        float idfSum = 0f;
+        for (int t = 0; t < termCount; t++) {
+            int df = docFreqs.get(t);
+            idf[t] = (float) Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+            idfSum += idf[t];
+        }
+        meanIdf = termCount == 0 ? 0f : idfSum / termCount;
+    }
+
+    public int size() {
+        return docLengths.length;
+    }
+
+    /**
+     * 질문 토큰으로 점수가 높은 문서 최대 limit개를 점수 내림차순으로 반환
+     */
+    public List<Hit> search(List<String> queryTokens, int limit) {
+        float[] scores = score(queryTokens);
+        return topHits(scores, limit);
+    }
+
+    /**
+     * 모든 문서의 BM25 점수
+     */
+    public float[] score(List<String> queryTokens) {
+        float[] scores = new float[docLengths.length];
+        for (String token : queryTokens) {
+            Integer id = termIds.get(token);
+            if (id == null) continue;
+            float termIdf = idf[id];
+            for (int p = termOffsets[id]; p < termOffsets[id + 1]; p++) {
+                int doc = postingDocs[p];
+                int tf = postingFreqs[p];
+                float norm = K1 * (1 - B + B * docLengths[doc] / avgDocLength);
+                scores[doc] += termIdf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 질문 토큰 중 doc에 들어 있는 토큰의 비율 (idf 가중치, 0.0 ~ 1.0)
+     * 색인에 없는 토큰("해요" 같은 어미 등)은 평균 idf로 분모에 더합니다.
+     */
+    public float coverage(List<String> queryTokens, int doc) {
+        float total = 0f;
+        float matched = 0f;
+        for (String token : queryTokens) {
+            Integer id = termIds.get(token);
+            if (id == null) {
+                total += meanIdf;
+                continue;
+            }
+            total += idf[id];
+            if (Arrays.binarySearch(postingDocs, termOffsets[id], termOffsets[id + 1], doc) >= 0) {
+                matched += idf[id];
+            }
+        }
+        return total == 0f ? 0f : matched / total;
+    }
+
+    private static List<Hit> topHits(float[] scores, int limit) {
+        // limit이 작으므로 (보통 1~5) 단순 선택 정렬
+        List<Hit> hits = new ArrayList<>(limit);
+        boolean[] taken = new boolean[scores.length];
+        for (int k = 0; k < limit; k++) {
+            int best = -1;
+            for (int d = 0; d < scores.length; d++) {
+                if (!taken[d] && scores[d] > 0 && (best < 0 || scores[d] > scores[best])) {
+                    best = d;
+                }
+            }
+            if (best < 0) break;
+            taken[best] = true;
+            hits.add(new Hit(best, scores[best]));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.hackathon;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.example.hackathon.CborWriter.MAJOR_ARRAY;
+import static com.example.hackathon.CborWriter.MAJOR_BYTES;
+import static com.example.hackathon.CborWriter.MAJOR_MAP;
+import static com.example.hackathon.CborWriter.MAJOR_NEGATIVE;
+import static com.example.hackathon.CborWriter.MAJOR_SIMPLE;
+import static com.example.hackathon.CborWriter.MAJOR_TAG;
+import static com.example.hackathon.CborWriter.MAJOR_TEXT;
+import static com.example.hackathon.CborWriter.MAJOR_UNSIGNED;
+
+/**
+ * 최소한의 CBOR(RFC 8949) 디코더 (CborWriter의 짝)
+ * - 스트림에서 항목 하나씩 읽음 (본문 전체를 먼저 메모리에 올리지 않음)
+ * - 길이가 정해지지 않은(indefinite) 문자열/배열/맵도 읽음
+ * - 모르는 키의 값은 skip()으로 건너뜀 → 서버가 필드를 추가해도 그대로 동작
+ */
+public final class CborReader {
+
+    // 잘못된 길이 값으로 큰 배열을 만들지 않도록 (답변 하나가 이보다 클 일은 없음)
+    static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+    private static final int INDEFINITE = 31;
+    private static final int BREAK = 0xff;
+
+    private final InputStream in;
+    private int head = -1; // 읽어 둔 첫 바이트 (없으면 -1)
+
+    public CborReader(InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    }
+
+    /**
+     * 다음 항목의 주 유형 (CborWriter.MAJOR_*)
+     */
+    public int peekMajor() throws IOException {
+        return peek() >>> 5;
+    }
+
+    public boolean nextIsNull() throws IOException {
+        return peek() == CborWriter.NULL;
+    }
+
+    /**
+     * 맵의 키-값 쌍 수 (길이가 정해지지 않은 맵이면 -1 → hasNext로 끝 확인)
+     */
+    public int readMapHeader() throws IOException {
+        return readContainerHeader(MAJOR_MAP);
+    }
+
+    public int readArrayHeader() throws IOException {
+        return readContainerHeader(MAJOR_ARRAY);
+    }
+
+    /**
+     * 맵/배열의 index번째 항목이 있는지 (길이를 모르면 끝 표시를 확인하고 소비)
+     */
+    public boolean hasNext(int size, int index) throws IOException {
+        if (size >= 0) {
+            return index < size;
+        }
+        if (peek() == BREAK) {
+            head = -1;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 문자열 (null이면 null)
+     */
+    public String readString() throws IOException {
+        int initial = next();
+        if (initial == CborWriter.NULL) {
+            return null;
+        }
+        expect(initial, MAJOR_TEXT);
+        if ((initial & 0x1f) != INDEFINITE) {
+            return new String(readBytes(readLength(initial)), StandardCharsets.UTF_8);
+        }
+        // 여러 조각으로 나뉜 문자열 (조각 경계가 글자 중간일 수 있어 바이트로 모은 뒤 변환)
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        while (peek() != BREAK) {
+            int chunk = next();
+            expect(chunk, MAJOR_TEXT);
+            chunks.write(readBytes(readLength(chunk)));
+            if (chunks.size() > MAX_STRING_BYTES) {
+                throw new IOException("CBOR 문자열이 너무 깁니다.");
+            }
+        }
+        head = -1;
+        return new String(chunks.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    public long readLong() throws IOException {
+        int initial = next();
+        long value = readLength(initial);
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED:
+                return value;
+            case MAJOR_NEGATIVE:
+                return -1 - value;
+            default:
+                throw new IOException("CBOR 정수가 아닙니다: 0x" + Integer.toHexString(initial));
+        }
+    }
+
+    public boolean readBoolean() throws IOException {
+        int initial = next();
+        if (initial == CborWriter.TRUE) return true;
+        if (initial == CborWriter.FALSE) return false;
+        throw new IOException("CBOR true/false가 아닙니다: 0x" + Integer.toHexString(initial));
+    }
+
+    /**
+     * 다음 항목 하나를 (안에 든 항목까지) 건너뜁니다.
+     */
+    public void skip() throws IOException {
+        int initial = next();
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+        switch (major) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                readLength(initial);
+                break;
+            case MAJOR_BYTES:
+            case MAJOR_TEXT:
+                if (info == INDEFINITE) {
+                    while (peek() != BREAK) {
+                        skip();
+                    }
+                    head = -1;
+                } else {
+                    skipBytes(readLength(initial));
+                }
+                break;
+            case MAJOR_ARRAY:
+            case MAJOR_MAP:
+                long count = info == INDEFINITE ? -1 : readLength(initial);
+                int perEntry = major == MAJOR_MAP ? 2 : 1;
+                for (long i = 0; count < 0 ? peek() != BREAK : i < count; i++) {
+                    for (int j = 0; j < perEntry; j++) {
+                        skip();
+                    }
+                }
+                if (count < 0) {
+                    head = -1;
+                }
+                break;
+            case MAJOR_TAG:
+                readLength(initial);
+                skip();
+                break;
+            case MAJOR_SIMPLE:
+                // 25/26/27 = 반/단/배정밀도 실수, 24 = 1바이트 단순 값
+                if (info >= 24 && info <= 27) {
+                    skipBytes(1L << (info - 24));
+                }
+                break;
+            default:
+                throw new IOException("잘못된 CBOR 항목");
+        }
+    }
+
+    private int readContainerHeader(int major) throws IOException {
+        int initial = next();
+        expect(initial, major);
+        if ((initial & 0x1f) == INDEFINITE) {
+            return -1;
+        }
+        long size = readLength(initial);
+        if (size < 0 || size > Integer.MAX_VALUE) { // 8바이트 길이가 2^63 이상이면 음수로 읽힘
+            throw new IOException("CBOR 항목 수가 너무 많습니다.");
+        }
+        return (int) size;
+    }
+
+    private static void expect(int initial, int major) throws IOException {
+        if (initial >>> 5 != major) {
+            throw new IOException("CBOR 유형이 다릅니다: 0x" + Integer.toHexString(initial));
+        }
+    }
+
+    private long readLength(int initial) throws IOException {
+        int info = initial & 0x1f;
+        if (info < 24) {
+            return info;
+        }
+        if (info > 27) {
+            throw new IOException("CBOR 길이를 읽을 수 없습니다: 0x" + Integer.toHexString(initial));
+        }
+        int bytes = 1 << (info - 24);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    private byte[] readBytes(long length) throws IOException {
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("CBOR 문자열이 너무 깁니다.");
+        }
+        byte[] bytes = new byte[(int) length];
+        int read = 0;
+        while (read < bytes.length) {
+            int n = in.read(bytes, read, bytes.length - read);
+            if (n < 0) {
+                throw new EOFException("CBOR 본문이 중간에 끝났습니다.");
+            }
+            read += n;
+        }
+        return bytes;
+    }
+
+    private void skipBytes(long length) throws IOException {
+        for (long i = 0; i < length; i++) {
+            readByte();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (head < 0) {
+            head = readByte();
+        }
+        return head;
+    }
+
+    private int next() throws IOException {
+        int initial = peek();
+        head = -1;
+        return initial;
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("CBOR 본문이 중간에 끝났습니다.");
+        }
+        return b;
+    }
+}
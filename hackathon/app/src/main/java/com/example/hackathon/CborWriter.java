@@ -0,0 +1,95 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 최소한의 CBOR(RFC 8949) 인코더: 맵, 배열, 문자열, 정수, true/false/null만 (길이가 정해진 형태로만 씀)
+ * JSON보다 작음: 키/값 사이 구분 기호와 따옴표가 없고, 한국어 문자열도 이스케이프 없이 UTF-8 그대로
+ */
+public final class CborWriter {
+
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_BYTES = 2;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int MAJOR_TAG = 6;
+    static final int MAJOR_SIMPLE = 7;
+
+    static final int FALSE = 0xf4;
+    static final int TRUE = 0xf5;
+    static final int NULL = 0xf6;
+
+    private final OutputStream out;
+
+    public CborWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public CborWriter writeMapHeader(int size) throws IOException {
+        writeHeader(MAJOR_MAP, size);
+        return this;
+    }
+
+    public CborWriter writeArrayHeader(int size) throws IOException {
+        writeHeader(MAJOR_ARRAY, size);
+        return this;
+    }
+
+    public CborWriter writeString(String value) throws IOException {
+        if (value == null) {
+            return writeNull();
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeHeader(MAJOR_TEXT, bytes.length);
+        out.write(bytes);
+        return this;
+    }
+
+    public CborWriter writeLong(long value) throws IOException {
+        if (value >= 0) {
+            writeHeader(MAJOR_UNSIGNED, value);
+        } else {
+            writeHeader(MAJOR_NEGATIVE, -1 - value);
+        }
+        return this;
+    }
+
+    public CborWriter writeBoolean(boolean value) throws IOException {
+        out.write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public CborWriter writeNull() throws IOException {
+        out.write(NULL);
+        return this;
+    }
+
+    private void writeHeader(int major, long length) throws IOException {
+        int type = major << 5;
+        if (length < 24) {
+            out.write(type | (int) length);
+        } else if (length < 0x100) {
+            out.write(type | 24);
+            out.write((int) length);
+        } else if (length < 0x10000) {
+            out.write(type | 25);
+            writeBigEndian(length, 2);
+        } else if (length < 0x100000000L) {
+            out.write(type | 26);
+            writeBigEndian(length, 4);
+        } else {
+            out.write(type | 27);
+            writeBigEndian(length, 8);
+        }
+    }
+
+    private void writeBigEndian(long value, int bytes) throws IOException {
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xff);
+        }
+    }
+}
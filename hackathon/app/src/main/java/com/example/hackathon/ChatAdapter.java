@@ -1,22 +1,51 @@
 package com.example.hackathon;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView; // ImageView import
 import android.widget.TextView;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+/**
+ * 채팅 말풍선 어댑터 (ListAdapter)
+ * - 목록은 불변 ChatMessage 리스트, 바뀔 때마다 화면 줄(ChatRow) 리스트로 바꿔 submitList() → 비교(diff)는 백그라운드 스레드
+ *   (아주 긴 AI 답변은 문단 묶음마다 한 줄 → 화면 밖 문단은 재활용됨)
+ * - ChatRow.getStableId()를 stable id로 사용
+ * - 텍스트만 바뀐 말풍선은 payload로 텍스트만 다시 그림
+ * - AI 답변은 MarkdownRenderer가 백그라운드에서 만든 결과(스타일 + 미리 측정한 줄 배치)를 붙이기만 함
+ */
+public class ChatAdapter extends ListAdapter<ChatRow, RecyclerView.ViewHolder>
+        implements MarkdownRenderer.OnRenderedListener {
 
-    private static final int VIEW_TYPE_USER = 1;
-    private static final int VIEW_TYPE_AI = 2;
+    static final int VIEW_TYPE_USER = 1;
+    static final int VIEW_TYPE_AI = 2;
+    static final int VIEW_TYPE_AI_PART = 3; // 긴 답변의 이어지는 문단
 
-    private List<ChatMessage> messageList;
+    // 상담 모드가 바뀌어 AI 말풍선의 발신자/로고만 다시 그려야 함
+    private static final Object PAYLOAD_SENDER = new Object();
+    // 백그라운드 렌더링이 끝나서 스타일이 입혀진 텍스트로 바꿔야 함
+    private static final Object PAYLOAD_RENDERED = new Object();
+
+    private final ChatViewPool viewPool;
+    private final MarkdownRenderer renderer = MarkdownRenderer.getInstance();
+
+    // 메시지 → 화면 줄 (바뀌지 않은 메시지는 다시 나누지 않음)
+    private final Map<ChatMessage, List<ChatRow>> rowCache = new IdentityHashMap<>();
+
+    // 마지막으로 submitList()한 목록 (diff가 끝나기 전에도 다음 변경을 이어서 적용하기 위해 따로 보관)
+    private List<ChatMessage> messages = Collections.emptyList();
 
     // ★ 1. 현재 상담 모드를 저장할 변수 추가
     private String currentCompanyName;
@@ -24,9 +53,11 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     /**
      * 생성자
      */
-    public ChatAdapter(List<ChatMessage> messageList) {
-        this.messageList = messageList;
+    public ChatAdapter(ChatViewPool viewPool) {
+        super(new ChatRowDiffCallback());
+        this.viewPool = viewPool;
         this.currentCompanyName = null; // 기본값은 '일반 상담' (null)
+        setHasStableIds(true);
     }
 
     /**
@@ -34,13 +65,122 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
      * 상담 모드를 변경합니다.
      */
     public void setCompanyName(String companyName) {
+        if (Objects.equals(currentCompanyName, companyName)) {
+            return;
+        }
         this.currentCompanyName = companyName;
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SENDER);
+    }
+
+    /**
+     * 스트리밍 답변 조각을 id 말풍선 뒤에 이어 붙입니다. (말풍선이 없으면 false)
+     */
+    @MainThread
+    public boolean appendToMessage(long id, String delta) {
+        int position = ChatMessageLists.indexOf(messages, id);
+        if (position < 0) {
+            return false;
+        }
+        submit(ChatMessageLists.replaceAt(messages, position, messages.get(position).withAppended(delta)), null);
+        return true;
+    }
+
+    /**
+     * id 말풍선의 텍스트를 교체합니다. (안내 문구 → 첫 조각 등, 말풍선이 없으면 false)
+     */
+    @MainThread
+    public boolean replaceMessage(long id, String message) {
+        int position = ChatMessageLists.indexOf(messages, id);
+        if (position < 0) {
+            return false;
+        }
+        submit(ChatMessageLists.replaceAt(messages, position, messages.get(position).withMessage(message)), null);
+        return true;
+    }
+
+    /**
+     * 오래된 페이지를 앞에 붙입니다. maxWindow를 넘으면 최신 쪽을 잘라내고, 잘라낸 개수를 돌려줍니다.
+     */
+    @MainThread
+    public int prependPage(List<ChatMessage> page, int maxWindow, Runnable onCommitted) {
+        List<ChatMessage> updated = ChatMessageLists.prependTrimmed(page, messages, maxWindow);
+        int trimmed = page.size() + messages.size() - updated.size();
+        submit(updated, onCommitted);
+        return trimmed;
+    }
+
+    /**
+     * 새 페이지(또는 새 메시지)를 뒤에 붙입니다. maxWindow를 넘으면 오래된 쪽을 잘라내고, 잘라낸 개수를 돌려줍니다.
+     * onCommitted는 화면에 반영된 뒤 호출 (스크롤 등)
+     */
+    @MainThread
+    public int appendPage(List<ChatMessage> page, int maxWindow, Runnable onCommitted) {
+        List<ChatMessage> updated = ChatMessageLists.appendTrimmed(messages, page, maxWindow);
+        int trimmed = messages.size() + page.size() - updated.size();
+        submit(updated, onCommitted);
+        return trimmed;
+    }
+
+    // 현재 목록의 첫/마지막 메시지 id (비어 있으면 -1)
+    public long getFirstMessageId() {
+        return messages.isEmpty() ? -1 : messages.get(0).getId();
+    }
+
+    public long getLastMessageId() {
+        return messages.isEmpty() ? -1 : messages.get(messages.size() - 1).getId();
+    }
+
+    /**
+     * 대화 내용을 모두 지웁니다. (상담 세션 변경)
+     */
+    @MainThread
+    public void clear() {
+        submit(Collections.emptyList(), null);
+    }
+
+    // 이 목록(창)에 있는 말풍선인지
+    public boolean contains(long id) {
+        return ChatMessageLists.indexOf(messages, id) >= 0;
+    }
+
+    private void submit(List<ChatMessage> updated, Runnable onCommitted) {
+        messages = Collections.unmodifiableList(updated);
+        List<ChatRow> rows = ChatMessageLists.toRows(messages, rowCache);
+        // 화면에 나오기 전에 AI 답변을 미리 렌더링 (이미 최신이면 무시)
+        for (ChatRow row : rows) {
+            if (!row.isUser()) {
+                renderer.request(row.getStableId(), row.getText(), this);
+            }
+        }
+        submitList(rows, onCommitted);
+    }
+
+    /**
+     * 백그라운드 렌더링 완료 → 그 줄이 아직 목록에 있으면 텍스트만 다시 그림
+     */
+    @Override
+    public void onRendered(long key) {
+        List<ChatRow> rows = getCurrentList();
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (rows.get(i).getStableId() == key) {
+                notifyItemChanged(i, PAYLOAD_RENDERED);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getStableId();
     }
 
     @Override
     public int getItemViewType(int position) {
-        if (messageList.get(position).isUser()) {
+        ChatRow row = getItem(position);
+        if (row.isUser()) {
             return VIEW_TYPE_USER;
+        } else if (row.isContinuation()) {
+            return VIEW_TYPE_AI_PART;
         } else {
             return VIEW_TYPE_AI;
         }
@@ -49,17 +189,41 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     @NonNull
     @Override
     public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view;
+        // 미리 inflate 해둔 뷰가 있으면 재사용 (ChatViewPool.prewarm)
         if (viewType == VIEW_TYPE_USER) {
             // item_chat_user.xml 사용
-            view = LayoutInflater.from(parent.getContext())
-                    .inflate(R.layout.item_chat_user, parent, false);
-            return new UserViewHolder(view);
-        } else {
-            // item_chat_ai.xml 사용
-            view = LayoutInflater.from(parent.getContext())
-                    .inflate(R.layout.item_chat_ai, parent, false);
-            return new AiViewHolder(view);
+            return new UserViewHolder(viewPool.obtainView(R.layout.item_chat_user, parent));
+        }
+        AnswerViewHolder holder = viewType == VIEW_TYPE_AI_PART
+                ? new AnswerViewHolder(viewPool.obtainView(R.layout.item_chat_ai_part, parent)) // item_chat_ai_part.xml
+                : new AiViewHolder(viewPool.obtainView(R.layout.item_chat_ai, parent)); // item_chat_ai.xml 사용
+        // 렌더러가 말풍선과 같은 글꼴/크기로 미리 측정하도록 (처음 한 번만 반영됨)
+        renderer.setTextMetricsParams(TextViewCompat.getTextMetricsParams(holder.textAiMessage));
+        return holder;
+    }
+
+    /**
+     * payload가 있으면 바뀐 부분(텍스트/발신자)만 다시 그리고, 없으면 전체 바인딩
+     */
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        ChatRow row = getItem(position);
+        for (Object payload : payloads) {
+            if (payload == ChatRowDiffCallback.PAYLOAD_TEXT || payload == PAYLOAD_RENDERED) {
+                bindText(holder, row);
+            } else if (payload == PAYLOAD_SENDER) {
+                if (holder instanceof AiViewHolder) {
+                    ((AiViewHolder) holder).bindSender(currentCompanyName);
+                }
+            } else {
+                onBindViewHolder(holder, position);
+                return;
+            }
         }
     }
 
@@ -68,38 +232,36 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
      */
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        ChatMessage message = messageList.get(position);
+        ChatRow row = getItem(position);
+        bindText(holder, row);
+        if (holder instanceof AiViewHolder) {
+            ((AiViewHolder) holder).bindSender(currentCompanyName);
+        }
+    }
 
-        if (holder.getItemViewType() == VIEW_TYPE_USER) {
+    private void bindText(RecyclerView.ViewHolder holder, ChatRow row) {
+        if (holder instanceof UserViewHolder) {
             // [사용자 말풍선]
-            ((UserViewHolder) holder).textUserMessage.setText(message.getMessage());
-        }
-        else {
+            ((UserViewHolder) holder).textUserMessage.setText(row.getText());
+        } else {
             // [AI 말풍선]
-            // ★★★ 3. AI 말풍선 동적 변경 로직 ★★★
-            AiViewHolder aiHolder = (AiViewHolder) holder;
-            aiHolder.textAiMessage.setText(message.getMessage());
-
-            if (currentCompanyName == null) {
-                // [일반 상담 모드] (companyName이 null일 때)
-                aiHolder.textAiSender.setText("AI 상담"); // 발신자 이름을 "AI 상담"으로
-                aiHolder.imageAiProfile.setVisibility(View.GONE); // 로고 숨기기
-            }
-            else {
-                // [기업 상담 모드] (companyName이 "병무청" 등일 때)
-                aiHolder.textAiSender.setText(currentCompanyName); // 발신자 이름을 기업명으로
-                aiHolder.imageAiProfile.setVisibility(View.VISIBLE); // 로고 보이기
-
-                // (참고) 지금은 로고가 R.drawable.logo_mma 하나뿐이므로
-                // 어떤 기업이든 이 로고가 나옵니다.
-                aiHolder.imageAiProfile.setImageResource(R.drawable.logo_mma);
-            }
+            bindAnswer(((AnswerViewHolder) holder).textAiMessage, row);
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return messageList.size();
+    // 렌더링 결과가 있으면 붙이기만 하고, 아직이면 원문을 보여준 뒤 결과가 오면 다시 그림 (onRendered)
+    private void bindAnswer(TextView textView, ChatRow row) {
+        CharSequence rendered = renderer.get(row.getStableId(), row.getText());
+        if (rendered instanceof PrecomputedTextCompat) {
+            try {
+                TextViewCompat.setPrecomputedText(textView, (PrecomputedTextCompat) rendered);
+            } catch (IllegalArgumentException e) {
+                textView.setText(rendered); // 글꼴 설정이 다른 말풍선 → 측정 결과 없이 스타일만
+            }
+        } else {
+            textView.setText(rendered != null ? rendered : row.getText());
+        }
+        renderer.request(row.getStableId(), row.getText(), this);
     }
 
     /**
@@ -113,21 +275,59 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         }
     }
 
+    /**
+     * AI 답변 말풍선 (긴 답변의 이어지는 문단은 말풍선만 있는 이 ViewHolder)
+     */
+    static class AnswerViewHolder extends RecyclerView.ViewHolder {
+        TextView textAiMessage;
+
+        AnswerViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textAiMessage = itemView.findViewById(R.id.textAiMessage);
+        }
+    }
+
     /**
      * ★ 4. AI 말풍선 ViewHolder (수정) ★
      * (발신자 이름, 로고 이미지를 제어하기 위해 뷰 추가)
      */
-    static class AiViewHolder extends RecyclerView.ViewHolder {
-        TextView textAiMessage;
+    static class AiViewHolder extends AnswerViewHolder {
         TextView textAiSender;     // ★ 로고 이름을 제어하기 위해 추가
         ImageView imageAiProfile;  // ★ 로고 이미지를 제어하기 위해 추가
 
+        // 이 말풍선에 마지막으로 그린 상담 모드 (같으면 발신자/로고를 다시 설정하지 않음)
+        private boolean senderBound;
+        private String boundCompanyName;
+
         AiViewHolder(@NonNull View itemView) {
             super(itemView);
-            // item_chat_ai.xml에 정의된 ID를 찾아 연결
-            textAiMessage = itemView.findViewById(R.id.textAiMessage);
+            // item_chat_ai.xml에 정의된 ID를 찾아 연결 (textAiMessage는 AnswerViewHolder에서)
             textAiSender = itemView.findViewById(R.id.textAiSender);
             imageAiProfile = itemView.findViewById(R.id.imageAiProfile);
         }
+
+        // ★★★ 3. AI 말풍선 동적 변경 로직 ★★★
+        void bindSender(String companyName) {
+            if (senderBound && Objects.equals(boundCompanyName, companyName)) {
+                return;
+            }
+            senderBound = true;
+            boundCompanyName = companyName;
+
+            if (companyName == null) {
+                // [일반 상담 모드] (companyName이 null일 때)
+                textAiSender.setText("AI 상담"); // 발신자 이름을 "AI 상담"으로
+                imageAiProfile.setVisibility(View.GONE); // 로고 숨기기
+            }
+            else {
+                // [기업 상담 모드] (companyName이 "병무청" 등일 때)
+                textAiSender.setText(companyName); // 발신자 이름을 기업명으로
+                imageAiProfile.setVisibility(View.VISIBLE); // 로고 보이기
+
+                // (참고) 지금은 로고가 R.drawable.logo_mma 하나뿐이므로
+                // 어떤 기업이든 이 로고가 나옵니다.
+                imageAiProfile.setImageResource(R.drawable.logo_mma);
+            }
+        }
     }
 }
\ No newline at end of file
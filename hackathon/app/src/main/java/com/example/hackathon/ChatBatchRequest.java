@@ -0,0 +1,55 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+// 여러 질문을 한 번에 보내는 요청 (/chat_batch)
+public class ChatBatchRequest {
+    @SerializedName("items")
+    private List<Item> items;
+
+    public ChatBatchRequest(List<Item> items) {
+        this.items = items;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public static class Item {
+        // 응답이 끝나는 순서대로 오므로 이 값으로 질문과 답을 짝지음
+        @SerializedName("id")
+        private String id;
+
+        @SerializedName("query")
+        private String query;
+
+        @SerializedName("companyName")
+        private String companyName;
+
+        // 이전 대화 (ChatRequest와 같음, 배치는 항상 전체 창을 보냄)
+        @SerializedName("contextId")
+        private String contextId;
+
+        @SerializedName("context")
+        private List<ConversationContext.Turn> context;
+
+        public Item(String id, String query, String companyName) {
+            this.id = id;
+            this.query = query;
+            this.companyName = companyName;
+        }
+
+        public Item(String id, String query, String companyName, String contextId,
+                    List<ConversationContext.Turn> context) {
+            this(id, query, companyName);
+            this.contextId = contextId;
+            this.context = context;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+// /chat_batch 응답(NDJSON)의 한 줄 = 질문 하나의 결과 (status 200이면 answer, 아니면 error)
+public class ChatBatchResult {
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("status")
+    private int status;
+
+    @SerializedName("answer")
+    private String answer;
+
+    @SerializedName("error")
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return status == 200 && answer != null;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * 짧은 시간(windowMillis) 동안 들어온 질문을 모아 /chat_batch 한 번으로 보내는 배처
+ * - maxBatch개가 모이면 기다리지 않고 바로 보냄
+ * - 답변은 서버에서 끝나는 순서대로 오며, 질문마다 콜백을 한 번씩 부름 (OkHttp 스레드)
+ * - 질문 하나가 거절되면 그 질문만 UploadException (상태 코드 포함)
+ * - 배치 요청 자체가 실패하면 (연결 실패, /chat_batch가 없는 서버 등) UploadException이 아닌 IOException
+ *   → 호출하는 쪽에서 /chat으로 하나씩 다시 보낼 수 있음
+ */
+public class ChatBatcher {
+
+    static final long DEFAULT_WINDOW_MILLIS = 50;
+    static final int DEFAULT_MAX_BATCH = 8; // 서버 MAX_BATCH_ITEMS(16)보다 작게
+
+    /**
+     * 질문 하나의 결과 (OkHttp 스레드에서 호출)
+     */
+    public interface Callback {
+        void onAnswer(String answer);
+
+        void onError(IOException e);
+    }
+
+    private static final class Pending {
+        final ChatBatchRequest.Item item;
+        final Callback callback;
+
+        Pending(ChatBatchRequest.Item item, Callback callback) {
+            this.item = item;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * NDJSON 한 줄을 읽을 때마다 호출
+     */
+    interface ResultHandler {
+        void onResult(ChatBatchResult result);
+    }
+
+    private final ApiService apiService;
+    private final Gson gson;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxBatch;
+    private final AtomicLong nextId = new AtomicLong();
+
+    // 아래 상태는 this로 보호
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public ChatBatcher(ApiService apiService) {
+        this(apiService, RetrofitClient.getGson(), Executors.newSingleThreadScheduledExecutor(),
+                DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH);
+    }
+
+    public ChatBatcher(ApiService apiService, Gson gson, ScheduledExecutorService scheduler,
+                       long windowMillis, int maxBatch) {
+        this.apiService = apiService;
+        this.gson = gson;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * 질문을 다음 배치에 넣습니다.
+     */
+    public void submit(String query, String companyName, Callback callback) {
+        submit(query, companyName, null, null, callback);
+    }
+
+    /**
+     * 이전 대화(contextId + 전체 창)와 함께 질문을 다음 배치에 넣습니다.
+     */
+    public void submit(String query, String companyName, String contextId,
+                       List<ConversationContext.Turn> context, Callback callback) {
+        ChatBatchRequest.Item item = new ChatBatchRequest.Item(
+                String.valueOf(nextId.incrementAndGet()), query, companyName, contextId, context);
+        List<Pending> full = null;
+        synchronized (this) {
+            pending.add(new Pending(item, callback));
+            if (pending.size() >= maxBatch) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+    }
+
+    /**
+     * 모인 질문을 기다리지 않고 지금 보냅니다.
+     */
+    public void flush() {
+        List<Pending> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private List<Pending> takePending() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        Map<String, Pending> byId = new HashMap<>();
+        List<ChatBatchRequest.Item> items = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            byId.put(p.item.getId(), p);
+            items.add(p.item);
+        }
+        apiService.sendChatBatch(new ChatBatchRequest(items)).enqueue(new retrofit2.Callback<ResponseBody>() {
+            @Override
+            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    failAll(byId, new IOException("배치 요청 실패", UploadException.from(response)));
+                    return;
+                }
+                try (ResponseBody body = response.body()) {
+                    readResults(body.charStream(), gson, result -> deliver(byId.remove(result.getId()), result));
+                    failAll(byId, new IOException("배치 응답에 결과가 없습니다."));
+                } catch (IOException e) {
+                    failAll(byId, e); // 중간에 끊기면 아직 답이 오지 않은 질문만 실패
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ResponseBody> call, Throwable t) {
+                failAll(byId, t instanceof IOException ? (IOException) t : new IOException(t));
+            }
+        });
+    }
+
+    private static void deliver(Pending p, ChatBatchResult result) {
+        if (p == null) {
+            return; // 모르는 id (이미 처리했거나 잘못된 줄)
+        }
+        if (result.isSuccessful()) {
+            p.callback.onAnswer(result.getAnswer());
+        } else {
+            p.callback.onError(new UploadException(result.getStatus(),
+                    result.getError() != null ? result.getError() : "답변을 받지 못했습니다."));
+        }
+    }
+
+    private static void failAll(Map<String, Pending> remaining, IOException e) {
+        for (Pending p : remaining.values()) {
+            p.callback.onError(e);
+        }
+        remaining.clear();
+    }
+
+    /**
+     * NDJSON 본문을 한 줄씩 읽어 결과로 넘깁니다. (빈 줄은 건너뜀)
+     */
+    static void readResults(Reader reader, Gson gson, ResultHandler handler) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            ChatBatchResult result;
+            try {
+                result = gson.fromJson(line, ChatBatchResult.class);
+            } catch (JsonParseException e) {
+                throw new IOException("배치 응답을 읽을 수 없습니다.", e);
+            }
+            if (result != null) {
+                handler.onResult(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hackathon;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * 저장된 대화를 스크롤에 맞춰 페이지 단위로 불러오는 도우미 (메인 스레드 전용)
+ * - 처음에는 최신 PAGE_SIZE개만 읽고, 위로 스크롤하면 더 오래된 페이지를 앞에 붙임
+ * - 어댑터에는 최대 MAX_WINDOW개만 유지 (넘치면 반대쪽을 잘라내고, 다시 스크롤하면 DB에서 읽음)
+ *   → 대화가 아무리 길어도 메모리/복원 시간이 일정
+ */
+public class ChatHistoryPager extends RecyclerView.OnScrollListener {
+
+    static final int PAGE_SIZE = 30;
+    static final int MAX_WINDOW = 120;
+
+    // 끝에서 이만큼 남았을 때 다음 페이지를 미리 읽음
+    private static final int PREFETCH_DISTANCE = 5;
+
+    /**
+     * 세션의 첫 페이지를 읽은 뒤 호출 (저장된 대화가 없으면 historyEmpty = true)
+     */
+    public interface OnOpenedListener {
+        void onOpened(boolean historyEmpty);
+    }
+
+    private final ChatHistoryStore store;
+    private final ChatAdapter adapter;
+    private final Executor mainExecutor;
+
+    private String sessionKey;
+    private int generation; // 세션이 바뀌면 증가 → 이전 세션의 늦게 도착한 페이지는 버림
+    private boolean hasOlder;
+    private boolean hasNewer; // true면 최신 메시지가 창 밖(DB)에 있음
+    private boolean loadingOlder;
+    private boolean loadingNewer;
+
+    public ChatHistoryPager(ChatHistoryStore store, ChatAdapter adapter, Executor mainExecutor) {
+        this.store = store;
+        this.adapter = adapter;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * 세션을 열고 최신 페이지를 불러옵니다. (기존 목록은 비움)
+     */
+    @MainThread
+    public void open(String sessionKey, Runnable onCommitted, OnOpenedListener listener) {
+        this.sessionKey = sessionKey;
+        int gen = ++generation;
+        adapter.clear();
+        hasOlder = false;
+        hasNewer = false;
+        loadingNewer = false;
+        loadingOlder = true;
+
+        store.loadBefore(sessionKey, Long.MAX_VALUE, PAGE_SIZE, mainExecutor, (page, hasMore) -> {
+            if (gen != generation) return;
+            loadingOlder = false;
+            hasOlder = hasMore;
+            // 읽는 사이에 추가된 메시지와 겹치지 않도록
+            prepend(page, onCommitted);
+            listener.onOpened(page.isEmpty());
+        });
+    }
+
+    /**
+     * 새 메시지를 맨 뒤에 추가합니다. (스크롤로 과거를 보고 있었다면 최신 위치로 돌아옴)
+     */
+    @MainThread
+    public void append(ChatMessage message, Runnable onCommitted) {
+        if (hasNewer) {
+            // 창이 과거에 있으면 최신 메시지부터 다시 시작 (과거는 위로 스크롤하면 다시 읽힘)
+            generation++;
+            adapter.clear();
+            hasNewer = false;
+            hasOlder = true;
+            loadingOlder = false;
+            loadingNewer = false;
+        }
+        if (adapter.appendPage(Collections.singletonList(message), MAX_WINDOW, onCommitted) > 0) {
+            hasOlder = true;
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        // 레이아웃이 바뀌어 보이는 범위가 달라졌을 때도 (dx = dy = 0) 호출됨
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(layoutManager instanceof LinearLayoutManager) || adapter.getItemCount() == 0) {
+            return;
+        }
+        LinearLayoutManager linear = (LinearLayoutManager) layoutManager;
+        if (hasOlder && !loadingOlder && linear.findFirstVisibleItemPosition() <= PREFETCH_DISTANCE) {
+            loadOlder();
+        }
+        if (hasNewer && !loadingNewer
+                && linear.findLastVisibleItemPosition() >= adapter.getItemCount() - 1 - PREFETCH_DISTANCE) {
+            loadNewer();
+        }
+    }
+
+    private void loadOlder() {
+        int gen = generation;
+        long firstId = adapter.getFirstMessageId();
+        loadingOlder = true;
+        store.loadBefore(sessionKey, firstId < 0 ? Long.MAX_VALUE : firstId, PAGE_SIZE, mainExecutor,
+                (page, hasMore) -> {
+                    if (gen != generation) return;
+                    loadingOlder = false;
+                    hasOlder = hasMore;
+                    prepend(page, null);
+                });
+    }
+
+    private void loadNewer() {
+        int gen = generation;
+        loadingNewer = true;
+        store.loadAfter(sessionKey, adapter.getLastMessageId(), PAGE_SIZE, mainExecutor, (page, hasMore) -> {
+            if (gen != generation) return;
+            loadingNewer = false;
+            hasNewer = hasMore;
+            long lastId = adapter.getLastMessageId();
+            List<ChatMessage> newer = new ArrayList<>();
+            for (ChatMessage message : page) {
+                if (message.getId() > lastId) {
+                    newer.add(message);
+                }
+            }
+            if (adapter.appendPage(newer, MAX_WINDOW, null) > 0) {
+                hasOlder = true;
+            }
+        });
+    }
+
+    // 현재 첫 메시지보다 오래된 것만 앞에 붙이고, 넘친 최신 쪽은 잘라냄
+    private void prepend(List<ChatMessage> page, Runnable onCommitted) {
+        long firstId = adapter.getFirstMessageId();
+        List<ChatMessage> older = new ArrayList<>();
+        for (ChatMessage message : page) {
+            if (firstId < 0 || message.getId() < firstId) {
+                older.add(message);
+            }
+        }
+        if (adapter.prependPage(older, MAX_WINDOW, onCommitted) > 0) {
+            hasNewer = true;
+        }
+    }
+}
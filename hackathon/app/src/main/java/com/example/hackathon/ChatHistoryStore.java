@@ -0,0 +1,283 @@
+package com.example.hackathon;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상담 대화 내용을 SQLite에 저장하는 저장소 (세션 + 기업별)
+ * - 쓰기는 메인 스레드에서 바로 하지 않고 모아 두었다가 한 트랜잭션으로 저장 (FLUSH_DELAY_MILLIS 또는 MAX_BATCH)
+ *   스트리밍 중 여러 번 바뀐 텍스트는 마지막 것만 저장됨
+ * - 읽기는 페이지 단위 (ChatHistoryPager가 스크롤에 맞춰 요청)
+ * 읽기/쓰기는 같은 스레드에서 실행되고, 읽기 전에 밀린 쓰기를 먼저 저장하므로 방금 추가한 메시지도 읽힘
+ * 메시지 id는 ChatMessage.id (시각 기반으로 증가, DB를 열 때 저장된 최대 id 뒤로 올림) → id 순서 = 대화 순서
+ * 같은 id가 이미 있으면 저장된 메시지를 덮어쓰지 않음
+ */
+public class ChatHistoryStore extends SQLiteOpenHelper {
+
+    private static final String TAG = "ChatHistoryStore";
+
+    private static final String DB_NAME = "chat_history.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE = "messages";
+    private static final String COL_ID = "id";
+    private static final String COL_SESSION = "session_key";
+    private static final String COL_COMPANY = "company";
+    private static final String COL_IS_USER = "is_user";
+    private static final String COL_MESSAGE = "message";
+    private static final String COL_CREATED_AT = "created_at";
+
+    private static final long FLUSH_DELAY_MILLIS = 300;
+    private static final int MAX_BATCH = 50;
+
+    /**
+     * 페이지 읽기 결과 (callbackExecutor에서 호출, 메시지는 오래된 것 → 최신 순)
+     */
+    public interface PageCallback {
+        void onPageLoaded(List<ChatMessage> messages, boolean hasMore);
+    }
+
+    private static ChatHistoryStore instance;
+
+    public static synchronized ChatHistoryStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new ChatHistoryStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * 상담 모드별 대화 키 (null = 일반 상담)
+     */
+    public static String sessionKeyFor(String companyName) {
+        return companyName == null ? "general" : "company:" + companyName;
+    }
+
+    // DB 작업 전용 스레드 (쓰기 모으기 타이머 겸용)
+    private final ScheduledExecutorService dbExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    // 아직 저장하지 않은 쓰기 (id → 최신 내용), this로 보호
+    private final Map<Long, PendingWrite> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private ChatHistoryStore(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COL_ID + " INTEGER PRIMARY KEY, "
+                + COL_SESSION + " TEXT NOT NULL, "
+                + COL_COMPANY + " TEXT, "
+                + COL_IS_USER + " INTEGER NOT NULL, "
+                + COL_MESSAGE + " TEXT NOT NULL, "
+                + COL_CREATED_AT + " INTEGER NOT NULL)");
+        // 세션별 페이지 조회용
+        db.execSQL("CREATE INDEX idx_messages_session ON " + TABLE + " (" + COL_SESSION + ", " + COL_ID + ")");
+    }
+
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        // 시계가 뒤로 갔어도 새 메시지 id가 저장된 메시지와 겹치지 않도록
+        try (Cursor cursor = db.rawQuery("SELECT MAX(" + COL_ID + ") FROM " + TABLE, null)) {
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                ChatMessage.reserveIdsThrough(cursor.getLong(0));
+            }
+        }
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+        onCreate(db);
+    }
+
+    /**
+     * 새 메시지 저장 예약
+     */
+    public void add(String sessionKey, String companyName, ChatMessage message) {
+        enqueue(message.getId(), new PendingWrite(sessionKey, companyName, message.isUser(),
+                message.getMessage(), System.currentTimeMillis()));
+    }
+
+    /**
+     * 메시지 텍스트 변경 예약 (스트리밍 답변 완료, 오류 문구 등)
+     */
+    public void updateText(long id, String text) {
+        enqueue(id, new PendingWrite(text));
+    }
+
+    /**
+     * 밀린 쓰기를 지금 저장 (화면을 벗어날 때)
+     */
+    public void flush() {
+        dbExecutor.execute(this::flushPending);
+    }
+
+    /**
+     * beforeId보다 오래된 메시지를 최대 limit개 읽습니다. (최신 페이지는 Long.MAX_VALUE)
+     */
+    public void loadBefore(String sessionKey, long beforeId, int limit, Executor callbackExecutor,
+                           PageCallback callback) {
+        dbExecutor.execute(() -> {
+            flushPending();
+            List<ChatMessage> page = query(COL_SESSION + " = ? AND " + COL_ID + " < ?",
+                    new String[]{sessionKey, String.valueOf(beforeId)}, COL_ID + " DESC", limit + 1);
+            boolean hasMore = page.size() > limit;
+            if (hasMore) {
+                page.remove(page.size() - 1);
+            }
+            Collections.reverse(page);
+            callbackExecutor.execute(() -> callback.onPageLoaded(page, hasMore));
+        });
+    }
+
+    /**
+     * afterId보다 새로운 메시지를 최대 limit개 읽습니다.
+     */
+    public void loadAfter(String sessionKey, long afterId, int limit, Executor callbackExecutor,
+                          PageCallback callback) {
+        dbExecutor.execute(() -> {
+            flushPending();
+            List<ChatMessage> page = query(COL_SESSION + " = ? AND " + COL_ID + " > ?",
+                    new String[]{sessionKey, String.valueOf(afterId)}, COL_ID + " ASC", limit + 1);
+            boolean hasMore = page.size() > limit;
+            if (hasMore) {
+                page.remove(page.size() - 1);
+            }
+            callbackExecutor.execute(() -> callback.onPageLoaded(page, hasMore));
+        });
+    }
+
+    /**
+     * 세션의 대화 내용을 모두 지웁니다.
+     */
+    public void clearSession(String sessionKey) {
+        dbExecutor.execute(() -> {
+            flushPending();
+            getWritableDatabase().delete(TABLE, COL_SESSION + " = ?", new String[]{sessionKey});
+        });
+    }
+
+    private void enqueue(long id, PendingWrite write) {
+        boolean flushNow;
+        synchronized (this) {
+            PendingWrite previous = pending.remove(id);
+            // 아직 저장 전인 새 메시지의 텍스트가 바뀌면 INSERT 한 번으로 합침
+            if (previous != null && previous.isInsert() && !write.isInsert()) {
+                previous.text = write.text;
+                write = previous;
+            }
+            pending.put(id, write); // 순서 유지를 위해 다시 뒤로
+            flushNow = pending.size() >= MAX_BATCH;
+            if (!flushNow && flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        if (flushNow) {
+            dbExecutor.execute(this::flushPending);
+        } else {
+            dbExecutor.schedule(this::flushPending, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // dbExecutor 스레드에서만 호출
+    private void flushPending() {
+        Map<Long, PendingWrite> batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            SQLiteStatement update = db.compileStatement(
+                    "UPDATE " + TABLE + " SET " + COL_MESSAGE + " = ? WHERE " + COL_ID + " = ?");
+            for (Map.Entry<Long, PendingWrite> entry : batch.entrySet()) {
+                PendingWrite write = entry.getValue();
+                if (write.isInsert()) {
+                    ContentValues values = new ContentValues();
+                    values.put(COL_ID, entry.getKey());
+                    values.put(COL_SESSION, write.sessionKey);
+                    values.put(COL_COMPANY, write.companyName);
+                    values.put(COL_IS_USER, write.isUser ? 1 : 0);
+                    values.put(COL_MESSAGE, write.text);
+                    values.put(COL_CREATED_AT, write.createdAt);
+                    if (db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_IGNORE) == -1) {
+                        Log.w(TAG, "이미 있는 메시지 id라 저장하지 않음: " + entry.getKey());
+                    }
+                } else {
+                    update.bindString(1, write.text);
+                    update.bindLong(2, entry.getKey());
+                    update.executeUpdateDelete();
+                }
+            }
+            db.setTransactionSuccessful();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "대화 내용 저장 실패", e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private List<ChatMessage> query(String selection, String[] args, String orderBy, int limit) {
+        List<ChatMessage> messages = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE,
+                new String[]{COL_ID, COL_IS_USER, COL_MESSAGE},
+                selection, args, null, null, orderBy, String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                messages.add(new ChatMessage(cursor.getLong(0), cursor.getString(2), cursor.getInt(1) != 0));
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "대화 내용 읽기 실패", e);
+        }
+        return messages;
+    }
+
+    // 저장 대기 중인 쓰기 (sessionKey가 null이면 텍스트만 바꾸는 UPDATE)
+    private static class PendingWrite {
+        final String sessionKey;
+        final String companyName;
+        final boolean isUser;
+        final long createdAt;
+        String text;
+
+        PendingWrite(String sessionKey, String companyName, boolean isUser, String text, long createdAt) {
+            this.sessionKey = sessionKey;
+            this.companyName = companyName;
+            this.isUser = isUser;
+            this.text = text;
+            this.createdAt = createdAt;
+        }
+
+        PendingWrite(String text) {
+            this(null, null, false, text, 0);
+        }
+
+        boolean isInsert() {
+            return sessionKey != null;
+        }
+    }
+}
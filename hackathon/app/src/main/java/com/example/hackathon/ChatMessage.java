@@ -1,14 +1,43 @@
 package com.example.hackathon;
 
-public class ChatMessage {
-    private String message;
-    private boolean isUser; // true면 사용자, false면 AI
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 말풍선 하나 (불변 객체)
+ * 텍스트가 바뀌면 같은 id로 새 객체를 만들어 ChatAdapter.submitList()로 넘깁니다.
+ * id는 RecyclerView의 stable id / DiffUtil 비교 기준
+ */
+public final class ChatMessage {
+
+    // 앱 실행마다 겹치지 않도록 현재 시각(ms) * 1000 부터 시작
+    // 시계가 뒤로 가도 저장된 대화와 겹치지 않도록 ChatHistoryStore가 DB를 열 때 저장된 최대 id 뒤로 올림
+    private static final AtomicLong NEXT_ID = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final long id;
+    private final String message;
+    private final boolean isUser; // true면 사용자, false면 AI
 
     public ChatMessage(String message, boolean isUser) {
+        this(NEXT_ID.incrementAndGet(), message, isUser);
+    }
+
+    /**
+     * 다음 새 메시지의 id가 usedId보다 크도록 (이미 크면 그대로)
+     */
+    public static void reserveIdsThrough(long usedId) {
+        NEXT_ID.accumulateAndGet(usedId, Math::max);
+    }
+
+    public ChatMessage(long id, String message, boolean isUser) {
+        this.id = id;
         this.message = message;
         this.isUser = isUser;
     }
 
+    public long getId() {
+        return id;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -16,4 +45,19 @@ public class ChatMessage {
     public boolean isUser() {
         return isUser;
     }
+
+    // 스트리밍 답변: 첫 조각이 오면 안내 문구를 답변으로 교체
+    public ChatMessage withMessage(String message) {
+        return new ChatMessage(id, message, isUser);
+    }
+
+    // 스트리밍 답변: 도착한 조각을 뒤에 이어 붙임
+    public ChatMessage withAppended(String delta) {
+        return new ChatMessage(id, message + delta, isUser);
+    }
+
+    // 같은 말풍선(id)이고 화면에 보이는 내용도 같은지
+    public boolean hasSameContent(ChatMessage other) {
+        return isUser == other.isUser && message.equals(other.message);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ChatAdapter가 쓰는 메시지 목록 연산 (원본은 바꾸지 않고 새 리스트를 돌려줌)
+ * 안드로이드 의존성이 없으므로 benchmark 모듈에서 JVM으로 측정할 수 있음
+ */
+final class ChatMessageLists {
+
+    // 이보다 긴 AI 답변은 문단 묶음으로 나눠 여러 줄로 표시
+    static final int SPLIT_THRESHOLD_CHARS = 1500;
+    static final int PART_CHARS = 800;
+
+    private ChatMessageLists() {
+    }
+
+    /**
+     * id 말풍선의 위치 (없으면 -1). 스트리밍 중인 말풍선은 보통 맨 뒤에 있으므로 뒤에서부터 찾음
+     */
+    static int indexOf(List<ChatMessage> messages, long id) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * position의 말풍선만 message로 바꾼 새 목록
+     */
+    static List<ChatMessage> replaceAt(List<ChatMessage> messages, int position, ChatMessage message) {
+        List<ChatMessage> updated = new ArrayList<>(messages);
+        updated.set(position, message);
+        return updated;
+    }
+
+    /**
+     * page + messages. maxWindow를 넘으면 최신 쪽(뒤)을 잘라냄
+     */
+    static List<ChatMessage> prependTrimmed(List<ChatMessage> page, List<ChatMessage> messages, int maxWindow) {
+        int size = Math.min(page.size() + messages.size(), maxWindow);
+        List<ChatMessage> updated = new ArrayList<>(size);
+        updated.addAll(page.subList(0, Math.min(page.size(), size)));
+        updated.addAll(messages.subList(0, size - updated.size()));
+        return updated;
+    }
+
+    /**
+     * messages + page. maxWindow를 넘으면 오래된 쪽(앞)을 잘라냄
+     */
+    static List<ChatMessage> appendTrimmed(List<ChatMessage> messages, List<ChatMessage> page, int maxWindow) {
+        int trimmed = Math.max(0, messages.size() + page.size() - maxWindow);
+        List<ChatMessage> updated = new ArrayList<>(messages.size() + page.size() - trimmed);
+        if (trimmed < messages.size()) {
+            updated.addAll(messages.subList(trimmed, messages.size()));
+            updated.addAll(page);
+        } else {
+            updated.addAll(page.subList(trimmed - messages.size(), page.size()));
+        }
+        return updated;
+    }
+
+    /**
+     * 메시지 목록 → 화면 줄 목록 (긴 AI 답변만 문단 묶음으로 나눔)
+     * cache: 지난번 결과 (ChatMessage는 불변이므로 같은 객체면 다시 나누지 않음), 이번 목록의 결과로 바뀜
+     */
+    static List<ChatRow> toRows(List<ChatMessage> messages, Map<ChatMessage, List<ChatRow>> cache) {
+        Map<ChatMessage, List<ChatRow>> next = new IdentityHashMap<>(messages.size());
+        List<ChatRow> rows = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            List<ChatRow> messageRows = cache.get(message);
+            if (messageRows == null) {
+                messageRows = split(message);
+            }
+            next.put(message, messageRows);
+            rows.addAll(messageRows);
+        }
+        cache.clear();
+        cache.putAll(next);
+        return rows;
+    }
+
+    private static List<ChatRow> split(ChatMessage message) {
+        if (message.isUser() || message.getMessage().length() <= SPLIT_THRESHOLD_CHARS) {
+            return Collections.singletonList(new ChatRow(message.getId(), 0, message.getMessage(), message.isUser()));
+        }
+        List<String> parts = MarkdownParser.splitParagraphs(message.getMessage(), PART_CHARS);
+        int count = Math.min(parts.size(), ChatRow.MAX_PARTS);
+        List<ChatRow> rows = new ArrayList<>(count);
+        for (int part = 0; part < count; part++) {
+            String text = parts.get(part);
+            if (part == count - 1 && count < parts.size()) {
+                // 줄 수 제한을 넘는 나머지는 마지막 줄에 합침
+                text = String.join("\n\n", parts.subList(part, parts.size()));
+            }
+            rows.add(new ChatRow(message.getId(), part, text, false));
+        }
+        return rows;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.hackathon;
 
 import com.google.gson.annotations.SerializedName;
 
+import java.util.List;
+
 public class ChatRequest {
     @SerializedName("query")
     private String query;
@@ -11,9 +13,47 @@ public class ChatRequest {
     @SerializedName("companyName")
     private String companyName;
 
+    // 이전 대화 (ConversationContext): 세션 ID + 서버가 가진 창의 digest 또는 전체 창 (둘 중 하나, 없으면 대화 없이 답함)
+    @SerializedName("contextId")
+    private String contextId;
+
+    @SerializedName("contextDigest")
+    private String contextDigest;
+
+    @SerializedName("context")
+    private List<ConversationContext.Turn> context;
+
     // ★ 생성자가 두 개의 파라미터를 받도록 수정되어야 합니다.
     public ChatRequest(String query, String companyName) {
         this.query = query;
         this.companyName = companyName;
     }
+
+    public ChatRequest(String query, String companyName, String contextId, String contextDigest,
+                       List<ConversationContext.Turn> context) {
+        this(query, companyName);
+        this.contextId = contextId;
+        this.contextDigest = contextDigest;
+        this.context = context;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    public String getContextDigest() {
+        return contextDigest;
+    }
+
+    public List<ConversationContext.Turn> getContext() {
+        return context;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import retrofit2.Call;
+
+/**
+ * 진행 중인 질문 요청(Call)을 세션 + 순번으로 관리
+ * - 질문마다 Ticket(세션 키, 순번, AI 말풍선 id)을 발급하고 실제 Call을 연결
+ * - 세션이 메모리에서 내려가거나 화면이 종료되면 해당 요청을 취소 (Activity를 붙잡고 있는 콜백이 바로 끝남)
+ * - 같은 세션에서 새 질문을 보내면 이전 질문을 취소할 수 있음 (supersede)
+ * 콜백에서는 ticket.isActive()로 취소된(오래된) 응답을 걸러냄
+ */
+public class ChatRequestManager {
+
+    /**
+     * 질문 하나의 요청 표
+     */
+    public static final class Ticket {
+        private final String sessionKey;
+        private final long sequence;
+        private final long messageId;
+        private volatile boolean canceled;
+        private volatile boolean finished;
+        private Call<?> call; // 지금 진행 중인 Call (스트리밍 → /chat 대체 시 바뀜)
+
+        Ticket(String sessionKey, long sequence, long messageId) {
+            this.sessionKey = sessionKey;
+            this.sequence = sequence;
+            this.messageId = messageId;
+        }
+
+        public String getSessionKey() {
+            return sessionKey;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getMessageId() {
+            return messageId;
+        }
+
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        // 취소되지도 끝나지도 않았으면 true (false면 도착한 응답은 버림)
+        public boolean isActive() {
+            return !canceled && !finished;
+        }
+    }
+
+    private final List<Ticket> active = new ArrayList<>();
+    private long nextSequence;
+
+    /**
+     * 새 질문을 등록합니다. supersede가 true면 같은 세션의 진행 중인 질문을 먼저 취소합니다.
+     */
+    public synchronized Ticket begin(String sessionKey, long messageId, boolean supersede) {
+        if (supersede) {
+            cancelWhere(sessionKey);
+        }
+        Ticket ticket = new Ticket(sessionKey, ++nextSequence, messageId);
+        active.add(ticket);
+        return ticket;
+    }
+
+    /**
+     * ticket에 Call을 연결합니다. 이미 취소된 ticket이면 Call도 바로 취소 (콜백은 실패로 호출됨)
+     */
+    public synchronized <T> Call<T> attach(Ticket ticket, Call<T> call) {
+        if (ticket.canceled) {
+            call.cancel();
+        } else {
+            ticket.call = call;
+        }
+        return call;
+    }
+
+    /**
+     * 답변 처리가 끝났을 때 호출 (성공/실패/취소 모두)
+     */
+    public synchronized void finish(Ticket ticket) {
+        ticket.finished = true;
+        ticket.call = null;
+        active.remove(ticket);
+    }
+
+    /**
+     * 세션의 진행 중인 질문을 모두 취소하고 개수를 돌려줍니다.
+     */
+    public synchronized int cancelSession(String sessionKey) {
+        return cancelWhere(sessionKey);
+    }
+
+    /**
+     * 모든 질문을 취소합니다. (화면 종료)
+     */
+    public synchronized int cancelAll() {
+        return cancelWhere(null);
+    }
+
+    public synchronized int getActiveCount() {
+        return active.size();
+    }
+
+    // sessionKey가 null이면 전부
+    private int cancelWhere(String sessionKey) {
+        int count = 0;
+        for (Iterator<Ticket> it = active.iterator(); it.hasNext(); ) {
+            Ticket ticket = it.next();
+            if (sessionKey != null && !sessionKey.equals(ticket.sessionKey)) {
+                continue;
+            }
+            ticket.canceled = true;
+            if (ticket.call != null) {
+                ticket.call.cancel();
+            }
+            it.remove();
+            count++;
+        }
+        return count;
+    }
+}
@@ -7,6 +7,14 @@ public class ChatResponse {
     @SerializedName("answer")
     private String answer;
 
+    public ChatResponse() {
+    }
+
+    // WireAdapters가 사용 (리플렉션 없이 생성)
+    ChatResponse(String answer) {
+        this.answer = answer;
+    }
+
     public String getAnswer() {
         return answer;
     }
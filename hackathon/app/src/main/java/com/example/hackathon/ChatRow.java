@@ -0,0 +1,55 @@
+package com.example.hackathon;
+
+/**
+ * 채팅 목록의 한 줄 (ChatAdapter의 항목)
+ * 보통은 말풍선 하나 = 한 줄이지만, 아주 긴 AI 답변은 문단 묶음(part)마다 한 줄로 나눠서
+ * RecyclerView가 화면 밖 부분을 재활용할 수 있게 함 (ChatMessageLists.toRows)
+ */
+public final class ChatRow {
+
+    // 답변 하나를 나눌 수 있는 최대 줄 수 (stable id = 메시지 id * MAX_PARTS + part)
+    static final int MAX_PARTS = 64;
+
+    private final long messageId;
+    private final int part;
+    private final String text;
+    private final boolean isUser;
+
+    ChatRow(long messageId, int part, String text, boolean isUser) {
+        this.messageId = messageId;
+        this.part = part;
+        this.text = text;
+        this.isUser = isUser;
+    }
+
+    public long getMessageId() {
+        return messageId;
+    }
+
+    public int getPart() {
+        return part;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isUser() {
+        return isUser;
+    }
+
+    // 앞 조각에 이어지는 줄 (발신자/로고 없이 말풍선만)
+    public boolean isContinuation() {
+        return part > 0;
+    }
+
+    // RecyclerView stable id / 렌더링 캐시 키
+    public long getStableId() {
+        return messageId * MAX_PARTS + part;
+    }
+
+    // 같은 줄이고 화면에 보이는 내용도 같은지
+    public boolean hasSameContent(ChatRow other) {
+        return isUser == other.isUser && part == other.part && text.equals(other.text);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.hackathon;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * ChatAdapter(ListAdapter)가 백그라운드 스레드에서 목록을 비교할 때 사용
+ * 텍스트만 바뀐 줄은 PAYLOAD_TEXT로 알려서 텍스트만 다시 그림
+ */
+class ChatRowDiffCallback extends DiffUtil.ItemCallback<ChatRow> {
+
+    // 말풍선 텍스트만 바뀜 (발신자/로고는 다시 그리지 않음)
+    static final Object PAYLOAD_TEXT = new Object();
+
+    @Override
+    public boolean areItemsTheSame(@NonNull ChatRow oldItem, @NonNull ChatRow newItem) {
+        return oldItem.getStableId() == newItem.getStableId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull ChatRow oldItem, @NonNull ChatRow newItem) {
+        return oldItem.hasSameContent(newItem);
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull ChatRow oldItem, @NonNull ChatRow newItem) {
+        if (oldItem.isUser() == newItem.isUser()) {
+            return PAYLOAD_TEXT;
+        }
+        return null; // 전체 다시 바인딩
+    }
+}
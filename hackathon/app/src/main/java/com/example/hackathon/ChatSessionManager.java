@@ -0,0 +1,164 @@
+package com.example.hackathon;
+
+import android.os.Parcelable;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 상담 모드(일반 / 기업)별 채팅 세션을 최근 사용한 MAX_SESSIONS개까지 메모리에 보관 (LRU)
+ * - 세션 = 어댑터(말풍선 목록) + 페이지 로더 + 스크롤 위치
+ * - 보관 중인 세션으로 돌아가면 RecyclerView의 어댑터만 바꿔 끼우므로 즉시 전환 (DB를 다시 읽거나 목록을 다시 비교하지 않음)
+ * - 오래 안 쓴 세션은 메모리에서 내림 (대화 내용은 ChatHistoryStore에 저장되어 있어서 다시 열면 DB에서 읽음)
+ */
+public class ChatSessionManager {
+
+    static final int MAX_SESSIONS = 4;
+
+    /**
+     * 세션이 메모리에서 내려갈 때 호출 (진행 중인 요청 취소 등)
+     */
+    public interface OnSessionEvictedListener {
+        void onSessionEvicted(ChatSession session);
+    }
+
+    /**
+     * 상담 모드 하나의 화면 상태
+     */
+    public static class ChatSession {
+        private final String companyName;
+        private final String sessionKey;
+        private final ChatAdapter adapter;
+        private final ChatHistoryPager pager;
+        private Parcelable scrollState; // 다른 세션으로 바꿀 때의 스크롤 위치
+        private boolean opened;         // 저장된 대화를 처음 불러왔는지
+
+        ChatSession(String companyName, ChatAdapter adapter, ChatHistoryPager pager) {
+            this.companyName = companyName;
+            this.sessionKey = ChatHistoryStore.sessionKeyFor(companyName);
+            this.adapter = adapter;
+            this.pager = pager;
+        }
+
+        public String getCompanyName() {
+            return companyName;
+        }
+
+        public String getSessionKey() {
+            return sessionKey;
+        }
+
+        public ChatAdapter getAdapter() {
+            return adapter;
+        }
+
+        public ChatHistoryPager getPager() {
+            return pager;
+        }
+
+        /**
+         * 처음 호출될 때만 true (이때 저장된 대화를 불러옴)
+         */
+        public boolean markOpened() {
+            if (opened) {
+                return false;
+            }
+            opened = true;
+            return true;
+        }
+    }
+
+    private final ChatViewPool viewPool;
+    private final ChatHistoryStore historyStore;
+    private final Executor mainExecutor;
+
+    // 접근 순서(access-order) LinkedHashMap → 가장 오래 안 쓴 세션이 맨 앞
+    private final LinkedHashMap<String, ChatSession> sessions =
+            new LinkedHashMap<String, ChatSession>(MAX_SESSIONS + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ChatSession> eldest) {
+                    if (size() <= MAX_SESSIONS) {
+                        return false;
+                    }
+                    // 밀린 쓰기를 저장해 두면 다시 열 때 DB에서 그대로 복원됨
+                    historyStore.flush();
+                    if (evictedListener != null) {
+                        evictedListener.onSessionEvicted(eldest.getValue());
+                    }
+                    return true;
+                }
+            };
+
+    private ChatSession current;
+    private OnSessionEvictedListener evictedListener;
+
+    public ChatSessionManager(ChatViewPool viewPool, ChatHistoryStore historyStore, Executor mainExecutor) {
+        this.viewPool = viewPool;
+        this.historyStore = historyStore;
+        this.mainExecutor = mainExecutor;
+    }
+
+    /**
+     * companyName(null = 일반 상담) 세션으로 전환하고 recyclerView에 연결합니다.
+     * 새로 만든 세션이면 markOpened()가 true → 호출한 쪽에서 pager.open()으로 대화를 불러옴
+     */
+    @MainThread
+    public ChatSession switchTo(String companyName, @NonNull RecyclerView recyclerView) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (current != null) {
+            if (layoutManager != null) {
+                current.scrollState = layoutManager.onSaveInstanceState();
+            }
+            recyclerView.removeOnScrollListener(current.pager);
+        }
+
+        String key = ChatHistoryStore.sessionKeyFor(companyName);
+        ChatSession session = sessions.get(key);
+        if (session == null) {
+            ChatAdapter adapter = new ChatAdapter(viewPool);
+            adapter.setCompanyName(companyName);
+            session = new ChatSession(companyName, adapter,
+                    new ChatHistoryPager(historyStore, adapter, mainExecutor));
+            sessions.put(key, session);
+        }
+
+        // 같은 ViewHolder 종류를 쓰므로 RecycledViewPool을 유지한 채 어댑터만 교체
+        if (recyclerView.getAdapter() == null) {
+            recyclerView.setAdapter(session.adapter);
+        } else if (recyclerView.getAdapter() != session.adapter) {
+            recyclerView.swapAdapter(session.adapter, true);
+        }
+        recyclerView.addOnScrollListener(session.pager);
+        if (session.scrollState != null && layoutManager != null) {
+            layoutManager.onRestoreInstanceState(session.scrollState);
+        }
+        current = session;
+        return session;
+    }
+
+    public void setOnSessionEvictedListener(OnSessionEvictedListener listener) {
+        this.evictedListener = listener;
+    }
+
+    public ChatSession getCurrent() {
+        return current;
+    }
+
+    /**
+     * id 말풍선을 보여주고 있는 세션 (답변을 기다리는 동안 다른 상담으로 바꿔도 원래 세션에 채우기 위해)
+     * 메모리에서 내려간 세션이거나 창 밖으로 잘린 말풍선이면 null
+     */
+    public ChatSession findSession(long messageId) {
+        for (ChatSession session : sessions.values()) {
+            if (session.adapter.contains(messageId)) {
+                return session;
+            }
+        }
+        return null;
+    }
+}
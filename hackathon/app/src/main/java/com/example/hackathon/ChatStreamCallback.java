@@ -0,0 +1,19 @@
+package com.example.hackathon;
+
+/**
+ * 스트리밍 채팅 결과를 받는 콜백 (ChatStreamReader가 콜백 Executor에서 호출)
+ */
+public interface ChatStreamCallback {
+
+    // 답변 조각이 도착할 때마다 호출
+    void onChunk(String delta);
+
+    // 서버가 [DONE]을 보내 답변이 끝났을 때 호출
+    void onComplete();
+
+    // 서버가 2xx가 아닌 코드로 응답했을 때 호출 (스트림 시작 전)
+    void onHttpError(int code);
+
+    // 네트워크 오류 또는 스트림 도중 서버 오류
+    void onFailure(Throwable t);
+}
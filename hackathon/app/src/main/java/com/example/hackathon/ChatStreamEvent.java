@@ -0,0 +1,20 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+// 스트리밍 채팅(/chat_stream)에서 'data:' 한 줄로 오는 답변 조각
+public class ChatStreamEvent {
+    @SerializedName("delta")
+    private String delta;
+
+    @SerializedName("error")
+    private String error;
+
+    public String getDelta() {
+        return delta;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * /chat_stream 의 SSE 응답을 줄 단위로 읽어 답변 조각을 콜백으로 넘겨주는 클래스
+ * (읽기는 백그라운드 스레드에서, 콜백은 callbackExecutor(보통 메인 스레드)에서 실행)
+ */
+public class ChatStreamReader {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String EVENT_PREFIX = "event:";
+    private static final String DONE = "[DONE]";
+
+    // 스트림 읽기 전용 스레드 (응답 본문을 메인 스레드에서 읽으면 안 됨)
+    private static final ExecutorService READ_EXECUTOR = Executors.newCachedThreadPool();
+
+    // 앱 공용 Gson (AppStartup이 ChatStreamEvent 어댑터를 미리 만들어 둠)
+    private final Gson gson = RetrofitClient.getGson();
+    private final Executor callbackExecutor;
+
+    public ChatStreamReader(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * 호출을 실행하고 스트림을 끝까지 읽습니다. call.cancel()로 중간에 멈출 수 있습니다.
+     */
+    public void read(Call<ResponseBody> call, ChatStreamCallback callback) {
+        READ_EXECUTOR.execute(() -> {
+            try {
+                Response<ResponseBody> response = call.execute();
+                if (!response.isSuccessful() || response.body() == null) {
+                    int code = response.code();
+                    callbackExecutor.execute(() -> callback.onHttpError(code));
+                    return;
+                }
+                try (ResponseBody body = response.body()) {
+                    readEvents(body.source(), callback);
+                }
+            } catch (IOException | JsonParseException e) {
+                callbackExecutor.execute(() -> callback.onFailure(e));
+            }
+        });
+    }
+
+    private void readEvents(BufferedSource source, ChatStreamCallback callback) throws IOException {
+        String eventName = null;
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (line.isEmpty()) {
+                // 빈 줄 = 이벤트 구분자
+                eventName = null;
+                continue;
+            }
+            if (line.startsWith(EVENT_PREFIX)) {
+                eventName = line.substring(EVENT_PREFIX.length()).trim();
+                continue;
+            }
+            if (!line.startsWith(DATA_PREFIX)) {
+                continue; // 주석(':') 등은 무시
+            }
+
+            String data = line.substring(DATA_PREFIX.length()).trim();
+            if (DONE.equals(data)) {
+                callbackExecutor.execute(callback::onComplete);
+                return;
+            }
+
+            ChatStreamEvent event = gson.fromJson(data, ChatStreamEvent.class);
+            if ("error".equals(eventName) || (event != null && event.getError() != null)) {
+                String error = event != null ? event.getError() : null;
+                callbackExecutor.execute(() -> callback.onFailure(new IOException(error)));
+                return;
+            }
+            if (event != null && event.getDelta() != null) {
+                String delta = event.getDelta();
+                callbackExecutor.execute(() -> callback.onChunk(delta));
+            }
+        }
+        // [DONE] 없이 스트림이 끊긴 경우
+        callbackExecutor.execute(() -> callback.onFailure(new IOException("stream closed before [DONE]")));
+    }
+}
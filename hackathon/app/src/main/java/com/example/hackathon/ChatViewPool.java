@@ -0,0 +1,80 @@
+package com.example.hackathon;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+
+/**
+ * 채팅 말풍선 뷰 재사용 (화면(Activity) 하나당 하나)
+ * - RecycledViewPool: 같은 화면의 채팅 목록(상담 세션)들이 ViewHolder를 함께 재사용
+ * - prewarm(): 첫 말풍선을 그리기 전에 item_chat_ai / item_chat_user를 백그라운드에서 미리 inflate
+ *   → onCreateViewHolder가 미리 만든 뷰를 꺼내 쓰므로 긴 대화를 처음 스크롤할 때 끊김이 줄어듦
+ */
+public class ChatViewPool {
+
+    // 한 화면에 보이는 말풍선 수보다 조금 넉넉하게
+    private static final int MAX_RECYCLED_PER_TYPE = 20;
+    private static final int PREWARM_PER_LAYOUT = 6;
+
+    private final Context context;
+    private final RecyclerView.RecycledViewPool recycledViewPool = new RecyclerView.RecycledViewPool();
+    private final SparseArray<ArrayDeque<View>> prewarmedViews = new SparseArray<>();
+
+    public ChatViewPool(@NonNull Context context) {
+        this.context = context;
+        recycledViewPool.setMaxRecycledViews(ChatAdapter.VIEW_TYPE_USER, MAX_RECYCLED_PER_TYPE);
+        recycledViewPool.setMaxRecycledViews(ChatAdapter.VIEW_TYPE_AI, MAX_RECYCLED_PER_TYPE);
+        recycledViewPool.setMaxRecycledViews(ChatAdapter.VIEW_TYPE_AI_PART, MAX_RECYCLED_PER_TYPE);
+    }
+
+    /**
+     * recyclerView가 이 풀을 쓰도록 연결하고, 말풍선 레이아웃을 미리 inflate 합니다.
+     */
+    @MainThread
+    public void attach(@NonNull RecyclerView recyclerView) {
+        recyclerView.setRecycledViewPool(recycledViewPool);
+        prewarm(recyclerView, R.layout.item_chat_ai);
+        prewarm(recyclerView, R.layout.item_chat_user);
+    }
+
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return recycledViewPool;
+    }
+
+    /**
+     * 미리 만든 뷰가 있으면 꺼내고, 없으면 지금 inflate 합니다. (onCreateViewHolder에서 호출)
+     */
+    @MainThread
+    public View obtainView(int layoutRes, @NonNull ViewGroup parent) {
+        ArrayDeque<View> views = prewarmedViews.get(layoutRes);
+        View view = views != null ? views.poll() : null;
+        if (view != null) {
+            return view;
+        }
+        return LayoutInflater.from(parent.getContext()).inflate(layoutRes, parent, false);
+    }
+
+    private void prewarm(RecyclerView parent, int layoutRes) {
+        AsyncLayoutInflater inflater = new AsyncLayoutInflater(context);
+        for (int i = 0; i < PREWARM_PER_LAYOUT; i++) {
+            // 콜백은 메인 스레드 (parent는 LayoutParams 생성용으로만 쓰이고 붙이지 않음)
+            inflater.inflate(layoutRes, parent, (view, resid, p) -> {
+                ArrayDeque<View> views = prewarmedViews.get(resid);
+                if (views == null) {
+                    views = new ArrayDeque<>();
+                    prewarmedViews.put(resid, views);
+                }
+                views.add(view);
+            });
+        }
+    }
+}
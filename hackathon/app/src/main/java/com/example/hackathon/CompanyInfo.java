@@ -0,0 +1,43 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+// 서버에 등록된 기업 하나와 매뉴얼 정보 (/companies)
+public class CompanyInfo {
+    @SerializedName("companyName")
+    private String companyName;
+
+    // 매뉴얼 해시 앞부분 (매뉴얼이 바뀌면 달라짐)
+    @SerializedName("manualVersion")
+    private String manualVersion;
+
+    @SerializedName("chunkCount")
+    private int chunkCount;
+
+    // 매뉴얼 등록/변경 시각 (ms)
+    @SerializedName("updatedAt")
+    private long updatedAt;
+
+    @SerializedName("isDefault")
+    private boolean isDefault;
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getManualVersion() {
+        return manualVersion;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isDefault() {
+        return isDefault;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// 기업 목록 응답 (/companies)
+public class CompanyListResponse {
+    @SerializedName("companies")
+    private List<CompanyInfo> companies;
+
+    public List<CompanyInfo> getCompanies() {
+        return companies != null ? companies : Collections.emptyList();
+    }
+}
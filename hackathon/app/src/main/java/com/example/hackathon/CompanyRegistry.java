@@ -0,0 +1,243 @@
+package com.example.hackathon;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * 서버와 동기화되는 기업 목록 (/companies)
+ * - 메뉴는 메모리의 스냅샷(getCompanyList)만 읽음 → 메뉴를 열 때 복사/디스크 읽기 없음
+ * - 새로 고칠 때 ETag(If-None-Match)를 보내서 바뀌지 않았으면 304 (목록을 다시 받지 않음)
+ * - 마지막으로 받은 목록은 파일에 저장 → 앱을 다시 켜면 서버 응답 전에도 다른 기기에서 올린 기업까지 표시
+ * - 이 기기에서 방금 올린 기업은 서버 목록에 나타날 때까지 따로 보관해서 함께 표시
+ */
+public class CompanyRegistry {
+
+    static final String DEFAULT_COMPANY = "병무청";
+
+    // 이 간격 안에서는 새로 고침 요청을 생략 (메뉴를 열 때마다 호출되므로)
+    private static final long MIN_REFRESH_INTERVAL_MILLIS = 60 * 1000;
+
+    private static CompanyRegistry instance;
+
+    public static synchronized CompanyRegistry getInstance(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            // 이전 버전이 SharedPreferences에 저장한, 이 기기에서 올린 기업 목록을 이어받음
+            instance = new CompanyRegistry(RetrofitClient.getApiService(),
+                    new File(app.getFilesDir(), "companies.json"),
+                    new CompanyStorage(app).getCompanyList(),
+                    Executors.newSingleThreadExecutor());
+        }
+        return instance;
+    }
+
+    private final ApiService apiService;
+    private final File file;
+    private final Executor executor; // 새로 고침 + 파일 쓰기 (한 번에 하나)
+    private final Gson gson = new Gson();
+
+    // 아래 상태는 this로 보호, 읽기용 스냅샷은 volatile
+    private String etag;
+    private List<CompanyInfo> serverCompanies = Collections.emptyList();
+    private final Set<String> pendingCompanies = new LinkedHashSet<>(); // 서버 목록에 아직 없는, 이 기기에서 올린 기업
+    private long lastRefreshAt;
+    private boolean refreshing;
+
+    private volatile List<String> companyNames = Collections.singletonList(DEFAULT_COMPANY);
+    private volatile Map<String, CompanyInfo> infoByName = Collections.emptyMap();
+
+    public CompanyRegistry(ApiService apiService, File file, Collection<String> legacyCompanies, Executor executor) {
+        this.apiService = apiService;
+        this.file = file;
+        this.executor = executor;
+        if (!load()) {
+            pendingCompanies.addAll(legacyCompanies);
+        }
+        rebuildSnapshot();
+    }
+
+    /**
+     * 메뉴에 보여줄 기업 이름 (기본 기업이 맨 앞, 변경 불가 리스트)
+     */
+    public List<String> getCompanyList() {
+        return companyNames;
+    }
+
+    /**
+     * 기업의 매뉴얼 정보 (서버 목록에 아직 없으면 null)
+     */
+    public CompanyInfo getInfo(String companyName) {
+        return infoByName.get(companyName);
+    }
+
+    /**
+     * 이 기기에서 업로드에 성공한 기업을 바로 목록에 추가하고, 서버 정보(버전/조각 수)를 다시 받아 옵니다.
+     */
+    public void addCompany(String companyName) {
+        synchronized (this) {
+            pendingCompanies.add(companyName);
+            rebuildSnapshot();
+        }
+        executor.execute(this::save);
+        refresh(true);
+    }
+
+    /**
+     * 백그라운드에서 목록을 새로 고칩니다. force가 아니면 최근에 새로 고쳤을 때 생략
+     */
+    public void refresh(boolean force) {
+        synchronized (this) {
+            if (refreshing || (!force && System.currentTimeMillis() - lastRefreshAt < MIN_REFRESH_INTERVAL_MILLIS)) {
+                return;
+            }
+            refreshing = true;
+        }
+        executor.execute(() -> {
+            try {
+                refreshNow();
+            } catch (IOException ignored) {
+                // 오프라인 등 → 저장된 목록을 그대로 사용하고 다음에 다시 시도
+            } finally {
+                synchronized (this) {
+                    refreshing = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * 서버에 조건부 요청을 보내 목록을 갱신합니다. 목록이 바뀌었으면 true (304면 false)
+     */
+    @WorkerThread
+    public boolean refreshNow() throws IOException {
+        String sentEtag;
+        synchronized (this) {
+            sentEtag = etag;
+        }
+        Response<CompanyListResponse> response = apiService.getCompanies(sentEtag).execute();
+        synchronized (this) {
+            lastRefreshAt = System.currentTimeMillis();
+        }
+        // 304 = 가지고 있던 목록을 그대로 씀 (조건부 요청 적중)
+        ApiMetrics.getInstance().recordCacheLookup("companies_etag", response.code() == 304);
+        if (response.code() == 304) {
+            return false;
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("기업 목록을 받지 못했습니다. (코드: " + response.code() + ")");
+        }
+
+        List<CompanyInfo> companies = new ArrayList<>(response.body().getCompanies());
+        synchronized (this) {
+            etag = response.headers().get("ETag");
+            serverCompanies = Collections.unmodifiableList(companies);
+            for (CompanyInfo info : companies) {
+                pendingCompanies.remove(info.getCompanyName());
+            }
+            rebuildSnapshot();
+        }
+        save();
+        return true;
+    }
+
+    String getEtag() {
+        synchronized (this) {
+            return etag;
+        }
+    }
+
+    // 서버 목록(이름 순) + 서버에 아직 없는 이 기기의 기업, 기본 기업은 항상 맨 앞
+    private synchronized void rebuildSnapshot() {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(DEFAULT_COMPANY);
+        Map<String, CompanyInfo> infos = new HashMap<>();
+        for (CompanyInfo info : serverCompanies) {
+            if (info.getCompanyName() == null) continue;
+            names.add(info.getCompanyName());
+            infos.put(info.getCompanyName(), info);
+        }
+        names.addAll(pendingCompanies);
+        companyNames = Collections.unmodifiableList(new ArrayList<>(names));
+        infoByName = Collections.unmodifiableMap(infos);
+    }
+
+    // --- 파일 저장 (마지막 서버 목록 + ETag + 보관 중인 기업) ---
+
+    private static class Saved {
+        @SerializedName("etag")
+        String etag;
+
+        @SerializedName("companies")
+        List<CompanyInfo> companies;
+
+        @SerializedName("pending")
+        List<String> pending;
+    }
+
+    private boolean load() {
+        if (!file.exists()) {
+            return false;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Saved saved = gson.fromJson(reader, Saved.class);
+            if (saved == null) {
+                return false;
+            }
+            etag = saved.etag;
+            if (saved.companies != null) {
+                serverCompanies = Collections.unmodifiableList(new ArrayList<>(saved.companies));
+            }
+            if (saved.pending != null) {
+                pendingCompanies.addAll(saved.pending);
+            }
+            return true;
+        } catch (IOException | JsonParseException e) {
+            return false; // 손상된 파일 → 서버에서 다시 받음
+        }
+    }
+
+    private void save() {
+        Saved saved = new Saved();
+        synchronized (this) {
+            saved.etag = etag;
+            saved.companies = serverCompanies;
+            saved.pending = new ArrayList<>(pendingCompanies);
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(saved, writer);
+        } catch (IOException e) {
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.util.Set;
 
 /**
  * SharedPreferences를 사용해 등록된 기업 목록을 관리하는 헬퍼 클래스
+ * (이전 버전에서 쓰던 저장소 → 지금은 CompanyRegistry가 처음 만들어질 때 목록을 한 번 이어받기만 함)
  */
 public class CompanyStorage {
 
@@ -0,0 +1,85 @@
+package com.example.hackathon;
+
+import androidx.annotation.WorkerThread;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+
+import retrofit2.Response;
+
+/**
+ * 첫 질문 전에 네트워크 계층을 미리 준비해 두는 클래스 (AppStartup이 백그라운드에서 호출)
+ * - Gson 어댑터와 Retrofit 메서드 해석(어노테이션 리플렉션)을 미리 해 둠
+ * - 가벼운 /ping 요청으로 DNS 조회 + TCP 연결을 열어 커넥션 풀에 남겨 둠 → 첫 /chat이 그 연결을 재사용
+ */
+public class ConnectionWarmer {
+
+    // 서버(waitress)가 놀고 있는 연결을 끊기 전(channel_timeout 기본 120초)에 다시 열어 둠
+    static final long REWARM_INTERVAL_MILLIS = 60 * 1000;
+
+    // 첫 요청에서 쓰는 DTO (Gson은 클래스마다 처음 한 번 리플렉션으로 어댑터를 만듦)
+    private static final Class<?>[] WARM_TYPES = {
+            ChatRequest.class, ChatResponse.class, ChatStreamEvent.class,
+            CompanyListResponse.class, UploadResponse.class
+    };
+
+    private final ApiService apiService;
+    private final Gson gson;
+    private final long rewarmIntervalMillis;
+
+    private volatile boolean prepared;
+    private long lastWarmAt; // this로 보호, 0 = 아직 연결을 연 적 없음
+
+    public ConnectionWarmer(ApiService apiService, Gson gson) {
+        this(apiService, gson, REWARM_INTERVAL_MILLIS);
+    }
+
+    ConnectionWarmer(ApiService apiService, Gson gson, long rewarmIntervalMillis) {
+        this.apiService = apiService;
+        this.gson = gson;
+        this.rewarmIntervalMillis = rewarmIntervalMillis;
+    }
+
+    /**
+     * 요청을 보내지 않고 어댑터/메서드 해석만 미리 합니다. (두 번째부터는 무시)
+     */
+    @WorkerThread
+    public void prepare() {
+        if (prepared) {
+            return;
+        }
+        for (Class<?> type : WARM_TYPES) {
+            gson.getAdapter(type);
+        }
+        // Call을 만들기만 하면 Retrofit이 메서드를 해석해서 캐시함 (실행하지 않으므로 요청은 없음)
+        ChatRequest request = new ChatRequest("", null);
+        apiService.sendChat(request);
+        apiService.sendChatStream(request);
+        apiService.getCompanies(null);
+        prepared = true;
+    }
+
+    /**
+     * /ping으로 서버 연결을 열어 둡니다. 최근에 열었으면 생략
+     *
+     * @return 이번에 연결을 열었으면 true (생략했거나 실패하면 false)
+     */
+    @WorkerThread
+    public synchronized boolean warmConnection() {
+        long now = System.currentTimeMillis();
+        if (lastWarmAt != 0 && now - lastWarmAt < rewarmIntervalMillis) {
+            return false;
+        }
+        try {
+            Response<Void> response = apiService.ping().execute();
+            if (!response.isSuccessful()) {
+                return false; // 예전 서버(/ping 없음)여도 연결 자체는 풀에 남음
+            }
+        } catch (IOException e) {
+            return false; // 오프라인 등 → 첫 요청이 직접 연결
+        }
+        lastWarmAt = now;
+        return true;
+    }
+}
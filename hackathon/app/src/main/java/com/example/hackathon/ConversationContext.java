@@ -0,0 +1,153 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 상담 세션 하나의 최근 대화 (서버가 후속 질문에 이전 대화를 참고하도록 보냄)
+ * - 최근 MAX_TURNS개, 질문+답변 합쳐 MAX_BYTES(UTF-8)까지만 보관 (넘치면 오래된 것부터 버림)
+ * - 서버가 이 대화를 이미 갖고 있으면 새 질문 + digest만 보내고,
+ *   처음이거나 서버가 모른다고 하면(409) 전체 창을 보냄 → 대화가 길어져도 요청 크기는 일정
+ * 창을 자르는 규칙과 digest 계산은 서버(app.py의 trim_context / context_digest)와 같아야 함
+ */
+public class ConversationContext {
+
+    static final int MAX_TURNS = 6;
+    static final int MAX_BYTES = 4096;
+    // 질문/답변은 앞부분 이 글자 수(코드 포인트)까지만 보관
+    static final int MAX_TEXT_CODE_POINTS = 500;
+
+    // 세션 키 → 대화 (앱이 살아 있는 동안 유지, 새로 시작하면 새 contextId)
+    private static final Map<String, ConversationContext> SESSIONS = new HashMap<>();
+
+    /**
+     * 상담 세션(ChatSessionManager의 세션 키)의 대화
+     */
+    public static synchronized ConversationContext forSession(String sessionKey) {
+        ConversationContext context = SESSIONS.get(sessionKey);
+        if (context == null) {
+            context = new ConversationContext(UUID.randomUUID().toString());
+            SESSIONS.put(sessionKey, context);
+        }
+        return context;
+    }
+
+    /**
+     * 질문 하나와 그 답변
+     */
+    public static final class Turn {
+        @SerializedName("q")
+        private final String query;
+
+        @SerializedName("a")
+        private final String answer;
+
+        public Turn(String query, String answer) {
+            this.query = query;
+            this.answer = answer;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public String getAnswer() {
+            return answer;
+        }
+
+        int byteSize() {
+            return query.getBytes(StandardCharsets.UTF_8).length + answer.getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+
+    private final String contextId;
+    private final ArrayDeque<Turn> turns = new ArrayDeque<>();
+    private int bytes;
+    private boolean serverHasWindow; // 마지막으로 서버가 답한 뒤 창이 서버와 같은지
+
+    ConversationContext(String contextId) {
+        this.contextId = contextId;
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    /**
+     * 새 질문의 요청 (서버가 창을 갖고 있으면 digest만, 아니면 전체 창)
+     */
+    public synchronized ChatRequest newRequest(String query, String companyName) {
+        if (serverHasWindow) {
+            return new ChatRequest(query, companyName, contextId, digest(turns), null);
+        }
+        return new ChatRequest(query, companyName, contextId, null, new ArrayList<>(turns));
+    }
+
+    /**
+     * 서버가 답한 질문 (서버도 같은 턴을 창에 붙였음)
+     */
+    public synchronized void onAnswered(String query, String answer) {
+        append(query, answer);
+        serverHasWindow = true;
+    }
+
+    /**
+     * 캐시/매뉴얼 FAQ로 답한 질문 (서버는 모르므로 다음 요청에 전체 창을 보냄)
+     */
+    public synchronized void addLocalTurn(String query, String answer) {
+        append(query, answer);
+        serverHasWindow = false;
+    }
+
+    /**
+     * 서버가 409로 이 대화를 모른다고 함 (재시작, 다른 서버로 감, 오래되어 지워짐)
+     */
+    public synchronized void onServerMiss() {
+        serverHasWindow = false;
+    }
+
+    public synchronized boolean isEmpty() {
+        return turns.isEmpty();
+    }
+
+    public synchronized List<Turn> getTurns() {
+        return new ArrayList<>(turns);
+    }
+
+    private void append(String query, String answer) {
+        Turn turn = new Turn(clip(query), clip(answer));
+        turns.addLast(turn);
+        bytes += turn.byteSize();
+        while (turns.size() > MAX_TURNS || bytes > MAX_BYTES) {
+            bytes -= turns.removeFirst().byteSize();
+        }
+    }
+
+    static String clip(String text) {
+        if (text == null) {
+            return "";
+        }
+        if (text.codePointCount(0, text.length()) <= MAX_TEXT_CODE_POINTS) {
+            return text;
+        }
+        return text.substring(0, text.offsetByCodePoints(0, MAX_TEXT_CODE_POINTS));
+    }
+
+    /**
+     * 창의 SHA-256 앞 16자리 (턴마다 질문 + 0x1F + 답변 + 0x1E)
+     */
+    static String digest(Iterable<Turn> turns) {
+        StringBuilder window = new StringBuilder();
+        for (Turn turn : turns) {
+            window.append(turn.query).append('\u001f').append(turn.answer).append('\u001e');
+        }
+        return ManualChunkSplitter.sha256Hex(window.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// 서버 목록 응답 (/endpoints, EndpointPool이 주기적으로 받아 옴)
+public class EndpointListResponse {
+    @SerializedName("endpoints")
+    private List<String> endpoints;
+
+    public List<String> getEndpoints() {
+        return endpoints != null ? endpoints : Collections.emptyList();
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.hackathon;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * RAG 서버 여러 대 중 요청을 보낼 곳을 고르는 풀 (EndpointRoutingInterceptor가 사용)
+ * - 백그라운드에서 PROBE_INTERVAL_MILLIS마다 각 서버에 /ping → 응답 시간 EWMA와 정상 여부 기록
+ * - candidates(): 정상 서버를 EWMA가 작은 순으로, 그 뒤에 실패한 서버 (모두 실패해도 시도는 해 봄)
+ * - 서버가 /endpoints로 목록을 알려 주면 그 목록으로 바꾸고 저장 → 서버를 늘려도 앱을 다시 배포하지 않아도 됨
+ */
+public class EndpointPool {
+
+    static final long PROBE_INTERVAL_MILLIS = 15 * 1000;
+    // 이 시간 동안 요청이 없었으면 탐침을 쉼 (배터리)
+    static final long IDLE_MILLIS = 5 * 60 * 1000;
+    static final long LIST_REFRESH_MILLIS = 10 * 60 * 1000;
+    static final double EWMA_ALPHA = 0.3;
+    // 헤징 지연(p95)을 믿기 위해 필요한 기록 수 (그 전에는 헤징하지 않음)
+    static final int MIN_HEDGE_SAMPLES = 20;
+    static final long MIN_HEDGE_DELAY_MILLIS = 1000;
+    private static final int PROBE_TIMEOUT_SECONDS = 3;
+
+    private static final String PREFS_NAME = "EndpointPrefs";
+    private static final String KEY_URLS = "urls";
+
+    /**
+     * 서버 하나의 상태
+     */
+    public static final class Endpoint {
+        private final HttpUrl url;
+        // 답변 생성 요청이 응답 헤더를 받기까지 걸린 시간 (경로별: /chat은 답변 전체, /chat_stream은 첫 조각까지라 따로)
+        private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+        private volatile boolean healthy = true;
+        private volatile double ewmaMillis = -1; // 아직 탐침 전이면 -1
+        private volatile long failedAt;
+
+        Endpoint(HttpUrl url) {
+            this.url = url;
+        }
+
+        public HttpUrl getUrl() {
+            return url;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public double getEwmaMillis() {
+            return ewmaMillis;
+        }
+
+        public LatencyHistogram getLatency(String path) {
+            return latencies.computeIfAbsent(path, key -> new LatencyHistogram());
+        }
+
+        @Override
+        public String toString() {
+            return url.host() + ":" + url.port();
+        }
+    }
+
+    private final Gson gson;
+    private volatile List<Endpoint> endpoints;
+    private volatile long lastUsedAt;
+
+    private SharedPreferences prefs;
+    private OkHttpClient probeClient;
+    private ScheduledExecutorService prober;
+    private long lastListRefreshAt; // 탐침 스레드에서만 사용
+
+    public EndpointPool(List<String> urls, Gson gson) {
+        this.gson = gson;
+        List<Endpoint> initial = build(urls, Collections.emptyList());
+        if (initial.isEmpty()) {
+            throw new IllegalArgumentException("서버 주소가 없습니다.");
+        }
+        endpoints = initial;
+    }
+
+    /**
+     * 전에 서버에서 받아 저장해 둔 목록이 있으면 그 목록을 씁니다. (AppStartup에서 한 번)
+     */
+    public synchronized void load(Context context) {
+        if (prefs != null) {
+            return;
+        }
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String saved = prefs.getString(KEY_URLS, null);
+        if (saved != null) {
+            List<String> urls = new ArrayList<>();
+            Collections.addAll(urls, saved.split("\n"));
+            setUrls(urls, false);
+        }
+    }
+
+    /**
+     * 백그라운드 탐침을 시작합니다. (두 번째부터는 무시)
+     * client의 연결 풀을 같이 쓰므로 탐침이 각 서버의 연결을 열어 두는 효과도 있음
+     */
+    public synchronized void startProbing(OkHttpClient client) {
+        if (prober != null) {
+            return;
+        }
+        probeClient = client.newBuilder()
+                .connectTimeout(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "endpoint-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(() -> {
+            if (System.currentTimeMillis() - lastUsedAt < IDLE_MILLIS) {
+                probeAll();
+            }
+        }, 0, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 요청을 보낼 순서 (첫 번째가 가장 빠른 정상 서버)
+     */
+    public List<Endpoint> candidates() {
+        lastUsedAt = System.currentTimeMillis();
+        return sorted();
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 연결 실패 / 과부하 응답 → 다음 탐침이 성공할 때까지 뒤로 보냄
+     */
+    public void markDown(Endpoint endpoint) {
+        endpoint.failedAt = System.currentTimeMillis();
+        endpoint.healthy = false;
+    }
+
+    void recordProbe(Endpoint endpoint, long millis) {
+        double ewma = endpoint.ewmaMillis;
+        endpoint.ewmaMillis = ewma < 0 ? millis : ewma + EWMA_ALPHA * (millis - ewma);
+        endpoint.healthy = true;
+    }
+
+    /**
+     * 답변 생성 요청(path: URL 첫 경로)이 응답 헤더를 받기까지 걸린 시간 (헤징 여부와 상관없이 모두 기록)
+     */
+    public void recordLatency(Endpoint endpoint, String path, long millis) {
+        endpoint.getLatency(path).record(millis);
+    }
+
+    /**
+     * 이 서버로 보낸 path 요청에 응답이 없으면 다른 서버로 한 번 더 보낼 때까지 기다릴 시간 (기록이 부족하면 -1)
+     */
+    public long hedgeDelayMillis(Endpoint endpoint, String path) {
+        LatencyHistogram latency = endpoint.getLatency(path);
+        if (latency.getCount() < MIN_HEDGE_SAMPLES) {
+            return -1;
+        }
+        return Math.max(MIN_HEDGE_DELAY_MILLIS, latency.percentile(0.95));
+    }
+
+    /**
+     * 모든 서버에 /ping을 보내고 가끔 서버 목록도 새로 받습니다. (탐침 스레드)
+     */
+    void probeAll() {
+        for (Endpoint endpoint : endpoints) {
+            probe(endpoint);
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastListRefreshAt >= LIST_REFRESH_MILLIS) {
+            lastListRefreshAt = now;
+            refreshList(sorted().get(0));
+        }
+    }
+
+    private void probe(Endpoint endpoint) {
+        Request request = new Request.Builder()
+                .url(endpoint.url.resolve("ping"))
+                .tag(Endpoint.class, endpoint)
+                .build();
+        long start = System.nanoTime();
+        try (Response response = probeClient.newCall(request).execute()) {
+            if (response.code() >= 500) {
+                markDown(endpoint);
+                return;
+            }
+            // /ping이 없는 예전 서버(404)도 살아 있는 것으로 봄
+            recordProbe(endpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            markDown(endpoint);
+        }
+    }
+
+    private void refreshList(Endpoint endpoint) {
+        Request request = new Request.Builder()
+                .url(endpoint.url.resolve("endpoints"))
+                .tag(Endpoint.class, endpoint)
+                .build();
+        try (Response response = probeClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                return; // 목록을 알려 주지 않는 서버 → 지금 목록 유지
+            }
+            EndpointListResponse list = gson.fromJson(body.charStream(), EndpointListResponse.class);
+            if (list != null) {
+                setUrls(list.getEndpoints(), true);
+            }
+        } catch (IOException | JsonParseException e) {
+            // 다음 주기에 다시
+        }
+    }
+
+    /**
+     * 서버 목록을 바꿉니다. 이미 있던 서버의 기록은 그대로 (유효한 주소가 하나도 없으면 무시)
+     */
+    synchronized void setUrls(List<String> urls, boolean persist) {
+        List<Endpoint> updated = build(urls, endpoints);
+        if (updated.isEmpty()) {
+            return;
+        }
+        endpoints = updated;
+        if (persist && prefs != null) {
+            StringBuilder joined = new StringBuilder();
+            for (Endpoint endpoint : updated) {
+                if (joined.length() > 0) joined.append('\n');
+                joined.append(endpoint.url);
+            }
+            prefs.edit().putString(KEY_URLS, joined.toString()).apply();
+        }
+    }
+
+    /**
+     * 디버그 화면용 한 줄 요약
+     */
+    public String describe() {
+        StringBuilder out = new StringBuilder();
+        for (Endpoint endpoint : sorted()) {
+            double ewma = endpoint.ewmaMillis;
+            out.append(String.format(Locale.US, "%-24s %s  ewma %s",
+                    endpoint, endpoint.healthy ? "정상" : "실패", ewma < 0 ? "-" : Math.round(ewma) + "ms"));
+            for (Map.Entry<String, LatencyHistogram> latency : endpoint.latencies.entrySet()) {
+                out.append(String.format(Locale.US, "  %s p95 %dms", latency.getKey(), latency.getValue().percentile(0.95)));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    // 정상 → EWMA 순 (탐침 전이면 설정 순서대로 그 뒤), 실패한 서버는 오래전에 실패한 것부터
+    // 정렬 중에 탐침 스레드가 값을 바꿔도 비교 결과가 흔들리지 않도록 값을 먼저 복사
+    private List<Endpoint> sorted() {
+        List<Endpoint> current = endpoints;
+        List<Snapshot> snapshots = new ArrayList<>(current.size());
+        for (Endpoint endpoint : current) {
+            snapshots.add(new Snapshot(endpoint));
+        }
+        Collections.sort(snapshots, (a, b) -> {
+            if (a.healthy != b.healthy) {
+                return a.healthy ? -1 : 1;
+            }
+            if (!a.healthy) {
+                return Long.compare(a.failedAt, b.failedAt);
+            }
+            if ((a.ewmaMillis < 0) != (b.ewmaMillis < 0)) {
+                return a.ewmaMillis < 0 ? 1 : -1;
+            }
+            return Double.compare(a.ewmaMillis, b.ewmaMillis);
+        });
+        List<Endpoint> order = new ArrayList<>(snapshots.size());
+        for (Snapshot snapshot : snapshots) {
+            order.add(snapshot.endpoint);
+        }
+        return order;
+    }
+
+    private static final class Snapshot {
+        final Endpoint endpoint;
+        final boolean healthy;
+        final double ewmaMillis;
+        final long failedAt;
+
+        Snapshot(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            healthy = endpoint.healthy;
+            ewmaMillis = endpoint.ewmaMillis;
+            failedAt = endpoint.failedAt;
+        }
+    }
+
+    private static List<Endpoint> build(List<String> urls, List<Endpoint> existing) {
+        List<Endpoint> result = new ArrayList<>();
+        for (String value : urls) {
+            HttpUrl url = HttpUrl.parse(value.trim());
+            if (url == null) {
+                continue;
+            }
+            if (!url.encodedPath().endsWith("/")) {
+                url = url.newBuilder().addPathSegment("").build();
+            }
+            Endpoint endpoint = null;
+            for (Endpoint old : existing) {
+                if (old.url.equals(url)) {
+                    endpoint = old;
+                }
+            }
+            for (Endpoint added : result) {
+                if (added.url.equals(url)) {
+                    endpoint = added; // 중복 주소
+                }
+            }
+            if (endpoint == null) {
+                endpoint = new Endpoint(url);
+            } else if (result.contains(endpoint)) {
+                continue;
+            }
+            result.add(endpoint);
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * 요청마다 EndpointPool에서 서버를 골라 주소를 바꾸는 인터셉터 (가장 먼저 실행)
+ * - 연결 자체가 안 되면 (요청이 서버에 닿지 않았으므로) 다음 서버로 다시 보냄
+ * - X-Hedge 헤더가 붙은 요청(/chat, /chat_stream)은 첫 서버가 그 서버의 같은 경로 p95 안에 응답 헤더를
+ *   주지 않으면 두 번째 서버로 같은 요청을 한 번 더 보내고 먼저 온 응답을 씀 (늦은 쪽은 취소)
+ *   /chat_stream의 응답 헤더는 첫 답변 조각과 함께 오므로 "첫 조각까지 걸린 시간"으로 헤징됨
+ * - p95는 답변 생성 요청(타임아웃 프로필 "chat")마다 경로별로 기록 (헤징하지 않는 /chat_batch도 포함)
+ * 헤더는 서버로 보내지 않고 여기서 제거합니다.
+ */
+public class EndpointRoutingInterceptor implements Interceptor {
+
+    static final String HEDGE_HEADER = "X-Hedge";
+    // ApiService의 @Headers에서 사용하는 값
+    static final String HEDGE = HEDGE_HEADER + ": on";
+
+    // 헤징 중 바깥 호출이 취소됐는지 확인하는 간격
+    private static final long CANCEL_CHECK_MILLIS = 200;
+
+    private final EndpointPool pool;
+    private final HttpUrl baseUrl;
+    // 헤징 요청은 Dispatcher 대기열을 거치지 않도록 여기서 execute() (호스트당 제한에 막혀 서로 기다리지 않게)
+    private final ExecutorService hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "hedged-call");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Call.Factory client;
+
+    /**
+     * @param baseUrl Retrofit에 설정한 기본 주소 (요청 주소에서 이 부분을 고른 서버 주소로 바꿈)
+     */
+    public EndpointRoutingInterceptor(EndpointPool pool, HttpUrl baseUrl) {
+        this.pool = pool;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 헤징 요청을 보낼 클라이언트 (이 인터셉터가 들어간 클라이언트, 연결하기 전에는 헤징하지 않음)
+     */
+    public void attach(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(EndpointPool.Endpoint.class) != null) {
+            return chain.proceed(request); // 탐침 / 헤징 요청: 서버가 이미 정해져 있음
+        }
+        boolean hedge = request.header(HEDGE_HEADER) != null;
+        if (hedge) {
+            request = request.newBuilder().removeHeader(HEDGE_HEADER).build();
+        }
+        // 답변 생성 요청이면 응답 시간을 기록할 경로 (서버 주소로 바꾸기 전 주소 기준, 아니면 null)
+        String timedPath = "chat".equals(request.header(TimeoutProfileInterceptor.HEADER))
+                ? MetricsEventListener.endpointOf(request.url()) : null;
+
+        List<EndpointPool.Endpoint> candidates = pool.candidates();
+        if (hedge && client != null && candidates.size() > 1 && candidates.get(1).isHealthy()
+                && isReplayable(request)) {
+            String path = MetricsEventListener.endpointOf(request.url());
+            long delayMillis = pool.hedgeDelayMillis(candidates.get(0), path);
+            if (delayMillis > 0) {
+                return hedged(chain.call(), request, path, candidates.get(0), candidates.get(1), delayMillis);
+            }
+        }
+
+        IOException failure = null;
+        for (EndpointPool.Endpoint endpoint : candidates) {
+            long start = System.nanoTime();
+            try {
+                Response response = chain.proceed(route(request, endpoint));
+                record(endpoint, response, timedPath, start);
+                return response;
+            } catch (IOException e) {
+                if (!isConnectFailure(e)) {
+                    throw e; // 서버에 닿았을 수 있음 → 다른 서버로 다시 보내지 않음
+                }
+                pool.markDown(endpoint);
+                failure = e;
+                if (!isReplayable(request)) {
+                    break;
+                }
+                ApiMetrics.getInstance().recordRetry("failover");
+            }
+        }
+        throw failure;
+    }
+
+    private Response hedged(Call outer, Request request, String path, EndpointPool.Endpoint first,
+                            EndpointPool.Endpoint second, long delayMillis) throws IOException {
+        Race race = new Race();
+        Call primary = start(race, request, path, first);
+        Call backup = null;
+        Response response;
+        try {
+            if (!race.await(outer, delayMillis, 1) || race.result() == null) {
+                // 첫 서버가 p95 안에 답하지 않았거나 실패함 → 두 번째 서버로
+                ApiMetrics.getInstance().increment("hedge.sent");
+                backup = start(race, request, path, second);
+                race.await(outer, Long.MAX_VALUE, 2);
+            }
+            response = race.result();
+        } catch (IOException e) {
+            race.abandon();
+            primary.cancel();
+            if (backup != null) backup.cancel();
+            throw e;
+        }
+        if (response == null) {
+            throw race.failure();
+        }
+        // 이긴 쪽을 취소하면 응답 본문도 끊기므로 진 쪽만 취소
+        Call winner = race.winner();
+        if (winner != primary) primary.cancel();
+        if (backup != null && winner != backup) backup.cancel();
+        if (winner == backup) {
+            ApiMetrics.getInstance().increment("hedge.won");
+        }
+        return response;
+    }
+
+    private Call start(Race race, Request request, String path, EndpointPool.Endpoint endpoint) {
+        Request routed = route(request, endpoint).newBuilder()
+                .tag(EndpointPool.Endpoint.class, endpoint)
+                .build();
+        Call call = client.newCall(routed);
+        long start = System.nanoTime();
+        hedgeExecutor.execute(() -> {
+            try {
+                Response response = call.execute();
+                record(endpoint, response, path, start);
+                race.finish(call, response, null);
+            } catch (IOException e) {
+                if (isConnectFailure(e)) {
+                    pool.markDown(endpoint);
+                }
+                race.finish(call, null, e);
+            }
+        });
+        return call;
+    }
+
+    private void record(EndpointPool.Endpoint endpoint, Response response, String timedPath, long startNanos) {
+        int code = response.code();
+        if (code == 502 || code == 503 || code == 504) {
+            pool.markDown(endpoint); // 프록시가 대신 답한 경우 / 과부하
+        } else if (timedPath != null) {
+            pool.recordLatency(endpoint, timedPath, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * 요청 주소에서 Retrofit 기본 주소 부분을 endpoint 주소로 바꿉니다.
+     */
+    Request route(Request request, EndpointPool.Endpoint endpoint) {
+        HttpUrl url = request.url();
+        HttpUrl target = endpoint.getUrl();
+        String path = url.encodedPath();
+        String basePath = baseUrl.encodedPath();
+        String relative = path.startsWith(basePath) ? path.substring(basePath.length()) : path.substring(1);
+        HttpUrl routed = url.newBuilder()
+                .scheme(target.scheme())
+                .host(target.host())
+                .port(target.port())
+                .encodedPath(target.encodedPath() + relative)
+                .build();
+        return request.newBuilder().url(routed).build();
+    }
+
+    private static boolean isReplayable(Request request) {
+        RequestBody body = request.body();
+        return body == null || !body.isOneShot();
+    }
+
+    static boolean isConnectFailure(IOException e) {
+        return e instanceof ConnectException
+                || e instanceof NoRouteToHostException
+                || e instanceof UnknownHostException
+                || (e instanceof SocketTimeoutException && "connect timed out".equals(e.getMessage()));
+    }
+
+    /**
+     * 헤징한 두 호출 중 먼저 성공한 쪽 (모두 실패하면 마지막 오류)
+     */
+    private static final class Race {
+        private Call winner;
+        private Response response;
+        private IOException failure;
+        private int finished;
+        private boolean abandoned;
+
+        synchronized void finish(Call call, Response result, IOException error) {
+            finished++;
+            if (result != null && response == null && !abandoned) {
+                winner = call;
+                response = result;
+            } else if (result != null) {
+                result.close(); // 늦게 왔거나 바깥 호출이 이미 끝남
+            } else {
+                failure = error;
+            }
+            notifyAll();
+        }
+
+        synchronized Response result() {
+            return response;
+        }
+
+        synchronized Call winner() {
+            return winner;
+        }
+
+        synchronized IOException failure() {
+            return failure != null ? failure : new IOException("Canceled");
+        }
+
+        // 바깥 호출이 취소됨 → 이미 받은 응답도 닫음
+        synchronized void abandon() {
+            abandoned = true;
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+        }
+
+        /**
+         * 응답이 오거나, expected개가 모두 끝나거나, timeoutMillis가 지날 때까지 기다립니다.
+         *
+         * @return 시간이 지나서 돌아왔으면 false
+         */
+        synchronized boolean await(Call outer, long timeoutMillis, int expected) throws IOException {
+            long deadline = timeoutMillis == Long.MAX_VALUE
+                    ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMillis;
+            while (response == null && finished < expected) {
+                if (outer.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    wait(Math.min(remaining, CANCEL_CHECK_MILLIS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Canceled");
+                }
+            }
+            return true;
+        }
+    }
+}
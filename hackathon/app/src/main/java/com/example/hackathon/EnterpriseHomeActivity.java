@@ -18,15 +18,16 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
+import okio.Okio;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -34,14 +35,27 @@ import retrofit2.Response;
 public class EnterpriseHomeActivity extends AppCompatActivity {
 
     private EditText editTextCompanyName;
-    private Button buttonSelectFile, buttonUpload;
+    private Button buttonSelectFile, buttonUpload, buttonViewChunks;
     private TextView textViewSelectedFile;
     private ProgressBar progressBarUpload;
 
+    // 매뉴얼(.txt)은 압축이 잘 되므로 업로드하면서 gzip으로 압축
+    private static final boolean GZIP_UPLOAD = true;
+
+    // 이보다 큰 파일은 조각으로 나눠 올림 (끊겨도 이어서 올릴 수 있도록)
+    private static final long RESUMABLE_UPLOAD_THRESHOLD = 1024 * 1024;
+
+    // 이 크기 이하의 매뉴얼은 먼저 서버와 비교해서 바뀐 조각만 올림 (파일 전체를 메모리로 읽음)
+    private static final long MAX_DELTA_UPLOAD_SIZE = 8 * 1024 * 1024;
+
     private ApiService apiService;
-    private CompanyStorage companyStorage;
+    private CompanyRegistry companyRegistry;
     private Uri selectedFileUri;
 
+    // 분할 업로드는 블로킹이므로 별도 스레드에서 실행
+    private final ExecutorService uploadExecutor = Executors.newSingleThreadExecutor();
+    private ResumableUploader resumableUploader;
+
     // 파일 선택기 런처
     private final ActivityResultLauncher<String> filePickerLauncher = registerForActivityResult(
             new ActivityResultContracts.GetContent(),
@@ -60,13 +74,14 @@ public class EnterpriseHomeActivity extends AppCompatActivity {
         setContentView(R.layout.activity_enterprise_home);
 
         apiService = RetrofitClient.getApiService(); // 고정된 5000번 포트 사용
-        companyStorage = new CompanyStorage(this);
+        companyRegistry = CompanyRegistry.getInstance(this);
 
         editTextCompanyName = findViewById(R.id.editTextCompanyName);
         buttonSelectFile = findViewById(R.id.buttonSelectFile);
         buttonUpload = findViewById(R.id.buttonUpload);
         textViewSelectedFile = findViewById(R.id.textViewSelectedFile);
         progressBarUpload = findViewById(R.id.progressBarUpload);
+        buttonViewChunks = findViewById(R.id.buttonViewChunks);
 
         // 파일 선택 버튼
         buttonSelectFile.setOnClickListener(v -> {
@@ -86,24 +101,97 @@ public class EnterpriseHomeActivity extends AppCompatActivity {
             }
             uploadFile(companyName, selectedFileUri);
         });
+
+        // 등록된 매뉴얼 조각 보기 버튼
+        buttonViewChunks.setOnClickListener(v -> {
+            String companyName = editTextCompanyName.getText().toString().trim();
+            if (companyName.isEmpty()) {
+                Toast.makeText(this, "기업명을 입력하세요.", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            Intent intent = new Intent(this, ManualChunksActivity.class);
+            intent.putExtra(ManualChunksActivity.EXTRA_COMPANY_NAME, companyName);
+            startActivity(intent);
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // 화면을 나가면 분할 업로드를 멈춤 (서버에 도착한 조각은 남아서 다음에 이어짐)
+        if (resumableUploader != null) {
+            resumableUploader.cancel();
+        }
+        uploadExecutor.shutdownNow();
     }
 
     private void uploadFile(String companyName, Uri fileUri) {
         setLoading(true);
 
-        File file = createCacheFileFromUri(fileUri, "upload_manual");
-        if (file == null) {
-            Toast.makeText(this, "파일 처리에 실패했습니다.", Toast.LENGTH_SHORT).show();
-            setLoading(false);
+        if (!OutboxManager.getInstance(this).isOnline()) {
+            queueUpload(companyName, fileUri); // 연결이 없으면 바로 보관함으로
             return;
         }
 
-        // 1. 파일(MultipartBody.Part) 생성
-        RequestBody requestFile = RequestBody.create(
-                MediaType.parse(getContentResolver().getType(fileUri)),
-                file
+        long fileSize = getFileSize(fileUri);
+        if (fileSize > 0 && fileSize <= MAX_DELTA_UPLOAD_SIZE) {
+            uploadFileDelta(companyName, fileUri, fileSize);
+        } else {
+            uploadFileFull(companyName, fileUri, fileSize);
+        }
+    }
+
+    // 이미 등록된 매뉴얼이면 바뀐 조각만 전송 (같은 파일이면 생략, 처음 등록이면 전체 업로드로 진행)
+    private void uploadFileDelta(String companyName, Uri fileUri, long fileSize) {
+        ContentResolver resolver = getContentResolver();
+        uploadExecutor.execute(() -> {
+            try {
+                byte[] manualBytes;
+                try (InputStream in = resolver.openInputStream(fileUri)) {
+                    if (in == null) {
+                        throw new IOException("파일을 열 수 없습니다.");
+                    }
+                    manualBytes = Okio.buffer(Okio.source(in)).readByteArray();
+                }
+                ManualDeltaUploader.Result result = new ManualDeltaUploader(apiService).upload(companyName, manualBytes);
+                runOnUiThread(() -> {
+                    switch (result.outcome) {
+                        case UNCHANGED:
+                            onUploadUnchanged(companyName);
+                            break;
+                        case DELTA_UPLOADED:
+                            onUploadSuccess(result.response.getCompanyName(),
+                                    result.response.getCompanyName() + " 매뉴얼 변경분 등록 성공! (추가 "
+                                            + result.addedChunks + "개, 삭제 " + result.removedChunks + "개 조각)");
+                            break;
+                        default:
+                            uploadFileFull(companyName, fileUri, fileSize);
+                            break;
+                    }
+                });
+            } catch (IOException e) {
+                runOnUiThread(() -> onUploadFailure(companyName, fileUri, e));
+            }
+        });
+    }
+
+    private void uploadFileFull(String companyName, Uri fileUri, long fileSize) {
+        if (fileSize > RESUMABLE_UPLOAD_THRESHOLD) {
+            uploadFileResumable(companyName, fileUri, fileSize);
+            return;
+        }
+
+        // 1. 파일(MultipartBody.Part) 생성 - 임시 파일 없이 ContentResolver 스트림에서 바로 전송
+        ContentResolver resolver = getContentResolver();
+        String mimeType = resolver.getType(fileUri);
+        StreamingUploadBody requestFile = new StreamingUploadBody(
+                () -> resolver.openInputStream(fileUri),
+                MediaType.parse(mimeType != null ? mimeType : "text/plain"),
+                fileSize,
+                GZIP_UPLOAD,
+                (written, total) -> runOnUiThread(() -> showUploadProgress(written, total))
         );
-        MultipartBody.Part body = MultipartBody.Part.createFormData("file", file.getName(), requestFile);
+        MultipartBody.Part body = requestFile.toFormDataPart("file", getFileName(fileUri));
 
         // 2. 기업명(RequestBody) 생성
         RequestBody companyNameBody = RequestBody.create(
@@ -115,37 +203,113 @@ public class EnterpriseHomeActivity extends AppCompatActivity {
         apiService.uploadManual(companyNameBody, body).enqueue(new Callback<UploadResponse>() {
             @Override
             public void onResponse(@NonNull Call<UploadResponse> call, @NonNull Response<UploadResponse> response) {
-                setLoading(false);
                 if (response.isSuccessful() && response.body() != null) {
                     String registeredName = response.body().getCompanyName();
-                    Toast.makeText(EnterpriseHomeActivity.this,
-                            registeredName + " 매뉴얼 등록 성공!", Toast.LENGTH_LONG).show();
-
-                    // ★ 성공 시, 기업 목록을 SharedPreferences에 저장
-                    companyStorage.addCompany(registeredName);
-
-                    // 입력 필드 초기화
-                    editTextCompanyName.setText("");
-                    textViewSelectedFile.setText("선택된 파일 없음");
-                    selectedFileUri = null;
-
+                    onUploadSuccess(registeredName, registeredName + " 매뉴얼 등록 성공!");
                 } else {
-                    Toast.makeText(EnterpriseHomeActivity.this,
-                            "업로드 실패: " + response.message(), Toast.LENGTH_SHORT).show();
+                    onUploadFailure(companyName, fileUri, UploadException.from(response));
                 }
             }
 
             @Override
             public void onFailure(@NonNull Call<UploadResponse> call, @NonNull Throwable t) {
-                setLoading(false);
-                Log.e("UploadError", "파일 업로드 실패", t);
-                Toast.makeText(EnterpriseHomeActivity.this,
-                        "네트워크 오류: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                onUploadFailure(companyName, fileUri, t);
             }
         });
     }
 
-    // --- 파일 처리 유틸리티 (getFileName, createCacheFileFromUri 등) ---
+    // 큰 파일: 조각으로 나눠 올리기 (실패 후 다시 누르면 서버에 없는 조각만 보냄)
+    private void uploadFileResumable(String companyName, Uri fileUri, long fileSize) {
+        ContentResolver resolver = getContentResolver();
+        String fileName = getFileName(fileUri);
+        ResumableUploader uploader = new ResumableUploader(apiService);
+        resumableUploader = uploader;
+
+        uploadExecutor.execute(() -> {
+            try {
+                UploadResponse result = uploader.upload(companyName, fileName,
+                        () -> resolver.openInputStream(fileUri), fileSize,
+                        (uploaded, total) -> runOnUiThread(() -> showUploadProgress(uploaded, total)));
+                runOnUiThread(() -> onUploadSuccess(result.getCompanyName(),
+                        result.getCompanyName() + " 매뉴얼 등록 성공!"));
+            } catch (CancellationException e) {
+                Log.d("UploadError", "분할 업로드 취소됨");
+            } catch (Exception e) {
+                runOnUiThread(() -> onUploadFailure(companyName, fileUri, e));
+            }
+        });
+    }
+
+    private void onUploadSuccess(String registeredName, String message) {
+        setLoading(false);
+        Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+
+        // ★ 성공 시, 기업 목록에 바로 추가 (서버 목록도 다시 받아 옴)
+        companyRegistry.addCompany(registeredName);
+
+        // 매뉴얼이 바뀌었으므로 이전 매뉴얼로 만든 캐시 답변은 버림
+        AnswerCache.getInstance(this).invalidateCompany(registeredName);
+
+        clearInputs();
+    }
+
+    // 서버 매뉴얼과 같은 파일 → 업로드/임베딩 생략 (기업 목록에는 추가)
+    private void onUploadUnchanged(String companyName) {
+        setLoading(false);
+        Toast.makeText(this, "변경된 내용이 없어 업로드를 생략했습니다.", Toast.LENGTH_SHORT).show();
+        companyRegistry.addCompany(companyName);
+        clearInputs();
+    }
+
+    // 입력 필드 초기화
+    private void clearInputs() {
+        editTextCompanyName.setText("");
+        textViewSelectedFile.setText("선택된 파일 없음");
+        selectedFileUri = null;
+    }
+
+    private void onUploadFailure(String companyName, Uri fileUri, Throwable t) {
+        Log.e("UploadError", "파일 업로드 실패", t);
+        if (t instanceof IOException && Outbox.isRetryable((IOException) t)) {
+            // 연결 문제나 서버 일시 오류 → 보관했다가 자동으로 다시 업로드
+            queueUpload(companyName, fileUri);
+            return;
+        }
+        setLoading(false);
+        if (t instanceof UploadException) {
+            Toast.makeText(this, "업로드 실패: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+        } else {
+            Toast.makeText(this, "네트워크 오류: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    // 매뉴얼을 보관함(앱 저장소)에 복사해 두고, 연결되면 OutboxManager가 다시 업로드
+    private void queueUpload(String companyName, Uri fileUri) {
+        if (uploadExecutor.isShutdown()) {
+            return; // 화면이 이미 닫힘
+        }
+        ContentResolver resolver = getContentResolver();
+        String fileName = getFileName(fileUri);
+        OutboxManager outboxManager = OutboxManager.getInstance(this);
+        uploadExecutor.execute(() -> {
+            try {
+                outboxManager.enqueueUpload(companyName, fileName, () -> resolver.openInputStream(fileUri));
+                runOnUiThread(() -> {
+                    setLoading(false);
+                    Toast.makeText(this, "네트워크 연결이 불안정해 보관했습니다. 연결되면 자동으로 업로드합니다.",
+                            Toast.LENGTH_LONG).show();
+                    clearInputs();
+                });
+            } catch (IOException e) {
+                runOnUiThread(() -> {
+                    setLoading(false);
+                    Toast.makeText(this, "네트워크 오류: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                });
+            }
+        });
+    }
+
+    // --- 파일 처리 유틸리티 (getFileName, getFileSize 등) ---
     // (이전 답변의 EnterpriseHomeActivity.java에 있던 유틸리티 함수들을 여기에 복사)
 
     // Uri에서 파일 이름 가져오기
@@ -171,42 +335,39 @@ public class EnterpriseHomeActivity extends AppCompatActivity {
         return result;
     }
 
-    // Uri를 임시 캐시 파일로 복사 (서버 전송용)
-    private File createCacheFileFromUri(Uri uri, String prefix) {
-        try {
-            InputStream inputStream = getContentResolver().openInputStream(uri);
-            if (inputStream == null) return null;
-
-            File tempFile = File.createTempFile(prefix, "." + getFileExtension(uri));
-            tempFile.deleteOnExit(); // 앱 종료 시 자동 삭제
-
-            try (OutputStream outputStream = new FileOutputStream(tempFile)) {
-                byte[] buffer = new byte[4 * 1024]; // 4K 버퍼
-                int read;
-                while ((read = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, read);
+    // Uri의 파일 크기 (알 수 없으면 -1 → 진행률을 막대 대신 회전 표시로)
+    private long getFileSize(Uri uri) {
+        if ("content".equals(uri.getScheme())) {
+            try (android.database.Cursor cursor = getContentResolver().query(uri, null, null, null, null)) {
+                if (cursor != null && cursor.moveToFirst()) {
+                    int sizeIndex = cursor.getColumnIndex(OpenableColumns.SIZE);
+                    if (sizeIndex != -1 && !cursor.isNull(sizeIndex)) {
+                        return cursor.getLong(sizeIndex);
+                    }
                 }
-                outputStream.flush();
             }
-            inputStream.close();
-            return tempFile;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
         }
+        return -1;
     }
 
-    // 파일 확장자 가져오기 (간단 버전)
-    private String getFileExtension(Uri uri) {
-        String fileName = getFileName(uri);
-        if(fileName != null && fileName.contains(".")) {
-            return fileName.substring(fileName.lastIndexOf(".") + 1);
+    // 업로드 진행률을 progressBarUpload에 표시 (메인 스레드)
+    private void showUploadProgress(long written, long total) {
+        if (total <= 0) {
+            progressBarUpload.setIndeterminate(true);
+            return;
+        }
+        progressBarUpload.setIndeterminate(false);
+        progressBarUpload.setProgress((int) (written * 100 / total));
+        if (written >= total) {
+            // 전송은 끝났고 서버가 인덱싱(임베딩) 중
+            progressBarUpload.setIndeterminate(true);
         }
-        return "txt"; // 기본값
     }
 
     private void setLoading(boolean isLoading) {
         progressBarUpload.setVisibility(isLoading ? View.VISIBLE : View.GONE);
+        progressBarUpload.setIndeterminate(true);
+        progressBarUpload.setProgress(0);
         buttonUpload.setEnabled(!isLoading);
         buttonSelectFile.setEnabled(!isLoading);
     }
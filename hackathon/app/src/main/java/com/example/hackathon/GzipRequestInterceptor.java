@@ -0,0 +1,74 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * 요청 본문을 gzip으로 압축해서 보내는 인터셉터
+ * 작은 요청(짧은 질문)은 압축 이득보다 비용이 커서 MIN_BYTES 이상일 때만 압축합니다.
+ * (서버 app.py의 GzipRequestMiddleware가 압축을 풀어줍니다.)
+ */
+public class GzipRequestInterceptor implements Interceptor {
+
+    private static final long MIN_BYTES = 1024;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        if (body == null || request.header("Content-Encoding") != null || !shouldCompress(body)) {
+            return chain.proceed(request);
+        }
+
+        Request compressed = request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), gzip(body))
+                .build();
+        return chain.proceed(compressed);
+    }
+
+    private boolean shouldCompress(RequestBody body) throws IOException {
+        // multipart 업로드는 파일 파트가 직접 압축함 (StreamingUploadBody 참고)
+        MediaType type = body.contentType();
+        if (type != null && "multipart".equals(type.type())) {
+            return false;
+        }
+        long length = body.contentLength();
+        // 길이를 모르는 본문(스트리밍)도 압축 대상
+        return length == -1 || length >= MIN_BYTES;
+    }
+
+    private RequestBody gzip(RequestBody body) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1; // 압축 후 길이는 미리 알 수 없음 (chunked 전송)
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+                body.writeTo(gzipSink);
+                gzipSink.close();
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return body.isOneShot();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hackathon;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 한국어 검색용 토크나이저 (형태소 분석기 없이 글자 2-gram 사용)
+ * "편성기간은" → [편성, 성기, 기간, 간은]
+ * 조사/어미가 붙어도 앞쪽 2-gram이 겹치므로 "편성기간이"와도 잘 매칭됩니다.
+ * 한 글자 단어("암", "병")는 그대로 토큰으로 씁니다.
+ */
+public class KoreanTokenizer {
+
+    private KoreanTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int wordStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean inWord = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (inWord && wordStart < 0) {
+                wordStart = i;
+            } else if (!inWord && wordStart >= 0) {
+                addWordGrams(normalized, wordStart, i, tokens);
+                wordStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWordGrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+}
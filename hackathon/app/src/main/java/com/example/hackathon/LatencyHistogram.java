@@ -0,0 +1,99 @@
+package com.example.hackathon;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 구간 지연 시간 히스토그램 (ms)
+ * - 구간 경계가 미리 정해져 있어 기록은 배열 칸 하나를 atomic으로 올리는 것뿐 (할당/잠금 없음)
+ * - 백분위수는 해당 구간 안에서 선형 보간한 근사값
+ */
+public final class LatencyHistogram {
+
+    // 각 구간의 상한 (ms). 마지막 칸은 그보다 큰 값 전부
+    static final long[] BOUNDS = {
+            1, 2, 5, 10, 20, 35, 50, 75, 100, 150, 200, 300, 500, 750,
+            1_000, 1_500, 2_000, 3_000, 5_000, 7_500, 10_000, 15_000, 20_000, 30_000, 60_000, 120_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long millis) {
+        long value = Math.max(millis, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // 다른 스레드가 먼저 바꿨으면 다시 비교
+        }
+    }
+
+    static int bucketOf(long millis) {
+        int low = 0;
+        int high = BOUNDS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BOUNDS[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * quantile(0~1) 위치의 근사값 (기록이 없으면 0)
+     */
+    public long percentile(double quantile) {
+        long[] snapshot = new long[BOUNDS.length + 1];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] == 0 || seen + snapshot[i] < rank) {
+                seen += snapshot[i];
+                continue;
+            }
+            long lower = i == 0 ? 0 : BOUNDS[i - 1];
+            // 마지막 칸은 상한이 없으므로 지금까지의 최댓값을 상한으로
+            long upper = i < BOUNDS.length ? BOUNDS[i] : Math.max(max.get(), lower);
+            double fraction = (double) (rank - seen) / snapshot[i];
+            return Math.min(lower + Math.round((upper - lower) * fraction), Math.max(max.get(), lower));
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기기 안에서 매뉴얼로 바로 답하는 검색 엔진 (기업 하나당 하나)
+ * - findConfidentAnswer(): FAQ 질문과 거의 같은 질문이면 서버 없이 바로 답변 (빠른 경로)
+ * - findClosestEntry(): 서버에 연결할 수 없을 때 가장 가까운 항목을 보여주는 오프라인 대안
+ * - getSuggester(): 입력 중인 질문의 FAQ 자동 완성
+ */
+public class LocalAnswerEngine {
+
+    // 질문 토큰(2-gram)의 이 비율 이상이 FAQ 질문에 들어 있어야 "같은 질문"으로 판단 (idf 가중치)
+    private static final float CONFIDENT_COVERAGE = 0.7f;
+    // 1등 점수가 2등보다 이 배수 이상 높아야 함 (비슷한 FAQ가 여럿이면 서버에 맡김)
+    private static final float CONFIDENT_MARGIN = 1.25f;
+
+    private final List<ManualEntry> entries;
+    private final List<ManualEntry> faqEntries;
+    private final Bm25Index questionIndex; // FAQ 질문만 색인
+    private final Bm25Index fullIndex;     // 모든 항목의 질문 + 답변 색인
+    private final QuestionSuggester suggester;
+
+    public LocalAnswerEngine(List<ManualEntry> entries) {
+        this.entries = entries;
+        this.faqEntries = new ArrayList<>();
+        List<List<String>> questionDocs = new ArrayList<>();
+        List<List<String>> fullDocs = new ArrayList<>(entries.size());
+        for (ManualEntry entry : entries) {
+            List<String> questionTokens = KoreanTokenizer.tokenize(entry.getQuestion());
+            if (entry.isFaq()) {
+                faqEntries.add(entry);
+                questionDocs.add(questionTokens);
+            }
+            List<String> fullTokens = new ArrayList<>(questionTokens);
+            fullTokens.addAll(KoreanTokenizer.tokenize(entry.getAnswer()));
+            fullDocs.add(fullTokens);
+        }
+        questionIndex = new Bm25Index(questionDocs);
+        fullIndex = new Bm25Index(fullDocs);
+        suggester = new QuestionSuggester(entries);
+    }
+
+    public static LocalAnswerEngine fromManual(String manualText) {
+        return new LocalAnswerEngine(ManualParser.parse(manualText));
+    }
+
+    public List<ManualEntry> getEntries() {
+        return entries;
+    }
+
+    public QuestionSuggester getSuggester() {
+        return suggester;
+    }
+
+    /**
+     * FAQ 질문과 충분히 같은 질문일 때만 그 항목을 반환 (아니면 null → 서버에 질문)
+     */
+    public ManualEntry findConfidentAnswer(String query) {
+        List<String> tokens = KoreanTokenizer.tokenize(query);
+        List<Bm25Index.Hit> hits = questionIndex.search(tokens, 2);
+        if (hits.isEmpty()) return null;
+
+        Bm25Index.Hit top = hits.get(0);
+        if (questionIndex.coverage(tokens, top.doc) < CONFIDENT_COVERAGE) return null;
+        if (hits.size() > 1 && top.score < hits.get(1).score * CONFIDENT_MARGIN) return null;
+        return faqEntries.get(top.doc);
+    }
+
+    /**
+     * 질문과 가장 관련 있는 항목 (FAQ + 조문 전체에서 검색, 하나도 안 겹치면 null)
+     */
+    public ManualEntry findClosestEntry(String query) {
+        List<Bm25Index.Hit> hits = fullIndex.search(KoreanTokenizer.tokenize(query), 1);
+        return hits.isEmpty() ? null : entries.get(hits.get(0).doc);
+    }
+}
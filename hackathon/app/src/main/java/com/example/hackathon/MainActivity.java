@@ -6,7 +6,11 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -16,7 +20,6 @@ import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.Toast;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import retrofit2.Call;
@@ -28,11 +31,36 @@ public class MainActivity extends AppCompatActivity {
     private EditText editTextQuery;
     private ImageButton buttonSend;
     private RecyclerView recyclerViewChat;
-    private ChatAdapter chatAdapter;
-    private List<ChatMessage> messageList;
+    private ChatViewPool chatViewPool; // 말풍선 ViewHolder 재사용 + 미리 inflate
+    private ChatHistoryStore historyStore; // 대화 내용 저장 (SQLite)
+    private ChatSessionManager sessionManager; // 상담 모드별 어댑터/스크롤 위치 (최근 세션은 메모리에 보관)
 
     private ApiService apiService;
-    private CompanyStorage companyStorage; // 기업 목록 저장소
+    private Handler mainHandler;
+    private ChatStreamReader chatStreamReader; // 스트리밍 답변 리더 (콜백은 메인 스레드)
+    private final ChatRequestManager requestManager = new ChatRequestManager(); // 진행 중인 질문 (세션 변경/종료 시 취소)
+    private AnswerCache answerCache; // 같은 질문은 서버를 거치지 않고 바로 답변
+    private ManualIndexRepository manualIndexRepository; // 기기 안 매뉴얼 검색 (FAQ 즉답 / 오프라인 대안)
+    private CompanyRegistry companyRegistry; // 기업 목록 (서버와 동기화, 메뉴는 메모리 스냅샷만 읽음)
+    private OutboxManager outboxManager; // 보내지 못한 질문 보관함 (연결되면 다시 보냄)
+    private QuestionAutocomplete autocomplete; // 입력 중인 질문과 비슷한 매뉴얼 FAQ 질문 제안
+
+    // 보관함에서 다시 받은 답변으로 말풍선 갱신 (저장은 OutboxManager가 함)
+    private final OutboxManager.OnChatDeliveredListener outboxListener = (messageId, answer) -> {
+        ChatSessionManager.ChatSession session = sessionManager.findSession(messageId);
+        if (session != null) {
+            session.getAdapter().replaceMessage(messageId, answer);
+        }
+    };
+
+    // 첫 답변 조각이 오기 전까지 AI 말풍선에 보여줄 안내 문구
+    private static final String STREAM_PLACEHOLDER = "답변을 생성하고 있습니다...";
+    // 요청이 몰려 AdmissionInterceptor에서 차례를 기다리는 동안
+    private static final String QUEUED_PLACEHOLDER = "질문이 많아 순서를 기다리고 있습니다...";
+    private static final String BUSY_MESSAGE = "요청이 많아 잠시 후 다시 시도해 주세요.";
+
+    // 같은 상담에서 답변을 기다리는 중에 새 질문을 보내면 이전 질문은 취소
+    private static final boolean SUPERSEDE_PENDING_QUERY = true;
 
     // 현재 상담 모드를 저장하는 변수
     // null = --- 일반 상담 ---
@@ -45,7 +73,8 @@ public class MainActivity extends AppCompatActivity {
         setContentView(R.layout.activity_main); // activity_main.xml은 기존 것 사용
 
         // 1. 저장소 및 툴바 초기화
-        companyStorage = new CompanyStorage(this);
+        companyRegistry = CompanyRegistry.getInstance(this);
+        companyRegistry.refresh(false);
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
 
@@ -53,10 +82,20 @@ public class MainActivity extends AppCompatActivity {
         editTextQuery = findViewById(R.id.editTextQuery);
         buttonSend = findViewById(R.id.buttonSend);
         recyclerViewChat = findViewById(R.id.recyclerViewChat);
+        mainHandler = new Handler(Looper.getMainLooper());
         setupRecyclerView(); // (아래 정의된 함수)
 
         // 3. Retrofit 서비스 초기화
         apiService = RetrofitClient.getApiService();
+        chatStreamReader = new ChatStreamReader(mainHandler::post);
+        answerCache = AnswerCache.getInstance(this);
+        manualIndexRepository = ManualIndexRepository.getInstance(this);
+        outboxManager = OutboxManager.getInstance(this);
+        outboxManager.addOnChatDeliveredListener(outboxListener);
+        autocomplete = new QuestionAutocomplete(editTextQuery, findViewById(R.id.layoutSuggestions), () -> {
+            LocalAnswerEngine engine = manualIndexRepository.get(currentCompanyName);
+            return engine != null ? engine.getSuggester() : null;
+        });
 
         // 4. 전송 버튼 클릭 리스너
         buttonSend.setOnClickListener(new View.OnClickListener() {
@@ -66,6 +105,7 @@ public class MainActivity extends AppCompatActivity {
                 if (!query.isEmpty()) {
                     addMessage(query, true); // 사용자 메시지 UI에 추가
                     editTextQuery.setText(""); // 입력창 비우기
+                    autocomplete.hide();
 
                     // 현재 상담 모드(null 또는 "병무청") 그대로 서버에 전송
                     sendRequestToServer(query, currentCompanyName);
@@ -77,21 +117,34 @@ public class MainActivity extends AppCompatActivity {
         updateChatUIForNewSession();
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // 화면을 벗어나면 모아 둔 대화 내용을 바로 저장 (프로세스가 종료되어도 남도록)
+        historyStore.flush();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // 진행 중인 요청을 끊어 콜백이 종료된 화면을 붙잡고 있지 않도록 (취소 안내는 저장된 대화에 남음)
+        requestManager.cancelAll();
+        outboxManager.removeOnChatDeliveredListener(outboxListener);
+        autocomplete.release();
+    }
+
     /**
      * 상담 세션이 변경될 때 (메뉴 선택 시) 호출되어 UI를 초기화하는 함수
      */
     private void updateChatUIForNewSession() {
-        // 1. 기존 채팅 내역 클리어
-        if (messageList != null && chatAdapter != null) {
-            messageList.clear();
-            chatAdapter.notifyDataSetChanged();
-        }
+        // ★★★ 2. (수정) 상담 모드별 세션(어댑터)으로 전환 ★★★
+        // 전에 열었던 상담이면 목록과 스크롤 위치가 그대로 남아 있어 즉시 전환됨
+        // (각 세션의 ChatAdapter는 자기 상담 모드에 맞춰 로고를 숨기거나 표시함)
+        ChatSessionManager.ChatSession session = sessionManager.switchTo(currentCompanyName, recyclerViewChat);
 
-        // ★★★ 2. (수정) 어댑터에게 현재 상담 모드(이름)를 전달 ★★★
-        // (ChatAdapter가 이 값에 따라 로고를 숨기거나 표시함)
-        if (chatAdapter != null) {
-            chatAdapter.setCompanyName(currentCompanyName);
-        }
+        // 기기 안 매뉴얼 색인을 미리 만들어 둠 (기본 매뉴얼이 있는 기업만)
+        manualIndexRepository.preload(currentCompanyName);
+        autocomplete.hide(); // 이전 상담 기업의 제안
 
         String title;
         String welcomeMessage;
@@ -117,8 +170,15 @@ public class MainActivity extends AppCompatActivity {
             getSupportActionBar().setTitle(title);
         }
 
-        // 5. 새 환영 메시지 추가
-        addMessage(welcomeMessage, false); // AI가 말하는 것으로 추가
+        // 5. 처음 여는 세션이면 저장된 대화를 불러오고, 대화가 없으면 환영 메시지 표시 (환영 메시지는 저장하지 않음)
+        if (session.markOpened()) {
+            ChatHistoryPager pager = session.getPager();
+            pager.open(session.getSessionKey(), this::scrollToLastMessage, historyEmpty -> {
+                if (historyEmpty) {
+                    pager.append(new ChatMessage(welcomeMessage, false), this::scrollToLastMessage);
+                }
+            });
+        }
     }
 
 
@@ -128,48 +188,314 @@ public class MainActivity extends AppCompatActivity {
      * RecyclerView 초기 설정
      */
     private void setupRecyclerView() {
-        messageList = new ArrayList<>();
-        chatAdapter = new ChatAdapter(messageList); // 어댑터 생성
+        chatViewPool = new ChatViewPool(this);
+        chatViewPool.attach(recyclerViewChat); // 공유 RecycledViewPool + 말풍선 미리 inflate
         LinearLayoutManager layoutManager = new LinearLayoutManager(this);
         recyclerViewChat.setLayoutManager(layoutManager);
-        recyclerViewChat.setAdapter(chatAdapter);
+
+        // 어댑터는 상담 모드별로 세션 관리자가 만들고 바꿔 끼움 (위로 스크롤하면 이전 대화를 불러옴)
+        historyStore = ChatHistoryStore.getInstance(this);
+        sessionManager = new ChatSessionManager(chatViewPool, historyStore, mainHandler::post);
+        // 메모리에서 내려간 세션의 답변은 화면에 보일 곳이 없으므로 취소
+        sessionManager.setOnSessionEvictedListener(
+                session -> requestManager.cancelSession(session.getSessionKey()));
+    }
+
+    /**
+     * 채팅 목록에 메시지를 추가하고 화면을 갱신 (대화 내용에도 저장)
+     */
+    private ChatMessage addMessage(String message, boolean isUser) {
+        ChatSessionManager.ChatSession session = sessionManager.getCurrent();
+        ChatMessage chatMessage = new ChatMessage(message, isUser);
+        historyStore.add(session.getSessionKey(), session.getCompanyName(), chatMessage);
+        session.getPager().append(chatMessage, this::scrollToLastMessage);
+        return chatMessage;
+    }
+
+    // 항상 마지막 메시지로 스크롤
+    private void scrollToLastMessage() {
+        int count = sessionManager.getCurrent().getAdapter().getItemCount();
+        if (count > 0) {
+            recyclerViewChat.scrollToPosition(count - 1);
+        }
     }
 
     /**
-     * 채팅 목록에 메시지를 추가하고 화면을 갱신
+     * 답변 조각을 말풍선에 이어 붙임 (다른 상담으로 바꿨어도 원래 세션의 말풍선에)
+     * 지금 보고 있는 세션이면 마지막 메시지로 스크롤
      */
-    private void addMessage(String message, boolean isUser) {
-        messageList.add(new ChatMessage(message, isUser));
-        chatAdapter.notifyItemInserted(messageList.size() - 1);
-        recyclerViewChat.scrollToPosition(messageList.size() - 1); // 항상 마지막 메시지로 스크롤
+    private void appendToAiMessage(long aiMessageId, String delta, boolean replace) {
+        ChatSessionManager.ChatSession session = sessionManager.findSession(aiMessageId);
+        if (session == null) return; // 세션이 메모리에서 내려갔거나 창 밖 (저장은 완료 시 따로 함)
+
+        if (replace) {
+            session.getAdapter().replaceMessage(aiMessageId, delta);
+        } else {
+            session.getAdapter().appendToMessage(aiMessageId, delta);
+        }
+        if (session == sessionManager.getCurrent()) {
+            scrollToLastMessage();
+        }
     }
 
     /**
-     * 서버로 질문을 전송하는 함수
+     * 질문에 답하는 함수
+     * AI 말풍선을 먼저 추가하고 답변 캐시(비슷한 질문 포함) → 매뉴얼 FAQ → 서버 순서로 답을 찾습니다.
+     * 이전 대화가 있으면 (후속 질문은 앞 대화에 따라 답이 달라지므로) 캐시/FAQ 없이 서버에 바로 물어봄
      */
     private void sendRequestToServer(String query, String companyName) {
+        String sessionKey = sessionManager.getCurrent().getSessionKey();
+        long aiMessageId = addMessage(STREAM_PLACEHOLDER, false).getId();
+        ChatRequestManager.Ticket ticket = requestManager.begin(sessionKey, aiMessageId, SUPERSEDE_PENDING_QUERY);
+
+        if (!ConversationContext.forSession(sessionKey).isEmpty()) {
+            askServer(query, companyName, ticket);
+            return;
+        }
+        answerCache.lookup(companyName, query, mainHandler::post, (cachedAnswer, similarQuestion) -> {
+            if (ticket.isCanceled()) {
+                onRequestCanceled(ticket, "");
+                return;
+            }
+            if (cachedAnswer != null) {
+                requestManager.finish(ticket);
+                // 서버에 묻지 않은 답변임을 표시 (비슷한 질문이면 어떤 질문의 답변인지도)
+                updateAiMessage(aiMessageId, cachedAnswer + (similarQuestion == null
+                        ? "\n\n(저장된 답변)"
+                        : "\n\n(비슷한 질문의 저장된 답변: " + similarQuestion + ")"));
+                ConversationContext.forSession(sessionKey).addLocalTurn(query, cachedAnswer);
+                return;
+            }
+            // FAQ 질문과 거의 같은 질문이면 서버 없이 매뉴얼 답변을 바로 보여줌
+            LocalAnswerEngine engine = manualIndexRepository.get(companyName);
+            ManualEntry faq = engine != null ? engine.findConfidentAnswer(query) : null;
+            if (faq != null) {
+                requestManager.finish(ticket);
+                updateAiMessage(aiMessageId, faq.getAnswer() + "\n\n(매뉴얼 FAQ: " + faq.getQuestion() + ")");
+                ConversationContext.forSession(sessionKey).addLocalTurn(query, faq.getAnswer());
+                return;
+            }
+            askServer(query, companyName, ticket);
+        });
+    }
+
+    /**
+     * 캐시/FAQ에 없는 질문을 서버로 (연결이 없으면 보관함으로)
+     */
+    private void askServer(String query, String companyName, ChatRequestManager.Ticket ticket) {
+        if (!outboxManager.isOnline()) {
+            // 연결이 없으면 타임아웃을 기다리지 않고 바로 보관함으로
+            requestManager.finish(ticket);
+            queueForRetry(query, companyName, ticket);
+            return;
+        }
+        if (RetrofitClient.getAdmission().isCongested()) {
+            appendToAiMessage(ticket.getMessageId(), QUEUED_PLACEHOLDER, true); // 첫 조각이 오면 바뀜
+        }
+        streamAnswerFromServer(query, companyName, ticket);
+    }
+
+    /**
+     * 연결 문제로 답을 받지 못한 질문: 매뉴얼 대안을 보여주고 보관함에 넣어 연결되면 다시 물어봄
+     */
+    private void queueForRetry(String query, String companyName, ChatRequestManager.Ticket ticket) {
+        updateAiMessage(ticket.getMessageId(), offlineAnswer(query, companyName)
+                + "\n\n(연결되면 자동으로 다시 물어보고 이 답변을 바꿔 드립니다.)");
+        outboxManager.enqueueChat(companyName, ticket.getSessionKey(), query, ticket.getMessageId());
+    }
+
+    /**
+     * 요청이 몰려 보내지 못했거나 서버가 429/503으로 거절한 질문: 안내하고 보관함에 넣어 잠시 뒤 다시 물어봄
+     */
+    private void queueWhenBusy(String query, String companyName, ChatRequestManager.Ticket ticket, String reason) {
+        updateAiMessage(ticket.getMessageId(), reason
+                + "\n\n(잠시 뒤 자동으로 다시 물어보고 이 답변을 바꿔 드립니다.)");
+        outboxManager.enqueueChat(companyName, ticket.getSessionKey(), query, ticket.getMessageId());
+    }
+
+    /**
+     * 취소된 질문의 말풍선을 마무리 (받은 부분이 있으면 남기고 안내 문구를 붙임)
+     */
+    private void onRequestCanceled(ChatRequestManager.Ticket ticket, String partialAnswer) {
+        requestManager.finish(ticket);
+        String text = partialAnswer.isEmpty()
+                ? "(답변이 취소되었습니다.)"
+                : partialAnswer + "\n(답변이 취소되었습니다.)";
+        updateAiMessage(ticket.getMessageId(), text);
+    }
+
+    /**
+     * 서버에 연결할 수 없을 때 보여줄 답변 (기기 안 매뉴얼에서 가장 가까운 항목)
+     */
+    private String offlineAnswer(String query, String companyName) {
+        LocalAnswerEngine engine = manualIndexRepository.get(companyName);
+        ManualEntry closest = engine != null ? engine.findClosestEntry(query) : null;
+        if (closest == null) {
+            return "통신 실패: 서버에 연결할 수 없습니다.";
+        }
+        return "서버에 연결할 수 없어 매뉴얼에서 가장 가까운 내용을 보여드립니다.\n\n"
+                + "[" + closest.getQuestion() + "]\n" + closest.getAnswer();
+    }
+
+    /**
+     * 서버로 질문을 전송하는 함수 (스트리밍)
+     * 답변 조각이 도착할 때마다 말풍선에 이어 붙이고, 끝나면 캐시에 저장합니다.
+     * 취소된 뒤에 도착한 조각은 버림
+     * 이전 대화는 서버가 갖고 있으면 digest만 보내고, 서버가 모른다고 하면(409) 전체를 담아 다시 보냄
+     */
+    private void streamAnswerFromServer(String query, String companyName, ChatRequestManager.Ticket ticket) {
+        long aiMessageId = ticket.getMessageId();
+        ConversationContext context = ConversationContext.forSession(ticket.getSessionKey());
+        boolean standalone = context.isEmpty(); // 이전 대화 없이 나온 답변만 캐시에 저장
         // ChatRequest는 companyName이 null이어도 정상 작동
-        ChatRequest request = new ChatRequest(query, companyName);
+        ChatRequest request = context.newRequest(query, companyName);
+
+        chatStreamReader.read(requestManager.attach(ticket, apiService.sendChatStream(request)), new ChatStreamCallback() {
+            private boolean receivedAny = false;
+            private final StringBuilder answer = new StringBuilder(); // 캐시에 저장할 전체 답변
+
+            @Override
+            public void onChunk(String delta) {
+                if (!ticket.isActive()) return;
+                answer.append(delta);
+                appendToAiMessage(aiMessageId, delta, !receivedAny); // 첫 조각은 안내 문구를 교체
+                receivedAny = true;
+            }
 
-        apiService.sendChat(request).enqueue(new Callback<ChatResponse>() {
+            @Override
+            public void onComplete() {
+                if (ticket.isCanceled()) {
+                    onRequestCanceled(ticket, answer.toString());
+                    return;
+                }
+                requestManager.finish(ticket);
+                if (!receivedAny) {
+                    updateAiMessage(aiMessageId, "오류: 답변을 받지 못했습니다.");
+                    return;
+                }
+                context.onAnswered(query, answer.toString());
+                if (standalone) {
+                    answerCache.put(companyName, query, answer.toString());
+                }
+                historyStore.updateText(aiMessageId, answer.toString());
+            }
+
+            @Override
+            public void onHttpError(int code) {
+                if (ticket.isCanceled()) {
+                    onRequestCanceled(ticket, "");
+                    return;
+                }
+                if (code == 429 || code == 503) {
+                    // 서버가 밀림 → /chat으로 다시 보내면 부담만 늘어남
+                    requestManager.finish(ticket);
+                    queueWhenBusy(query, companyName, ticket, BUSY_MESSAGE);
+                    return;
+                }
+                if (code == 409) {
+                    // 서버에 이 대화가 없음 (재시작/다른 서버) → 전체 대화를 담아 다시
+                    context.onServerMiss();
+                    streamAnswerFromServer(query, companyName, ticket);
+                    return;
+                }
+                if (code == 404 || code == 405) {
+                    // /chat_stream이 없는 서버 → 기존 /chat 으로 한 번에 받기
+                    sendRequestWithoutStreaming(query, companyName, ticket);
+                    return;
+                }
+                // 그 밖의 오류는 /chat으로 다시 보내도 같으므로 바로 안내
+                requestManager.finish(ticket);
+                updateAiMessage(aiMessageId, "오류: 답변을 받지 못했습니다. (코드: " + code + ")");
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (ticket.isCanceled()) {
+                    // 직접 취소한 요청 → 오프라인 답변 대신 취소 안내
+                    onRequestCanceled(ticket, answer.toString());
+                    return;
+                }
+                requestManager.finish(ticket);
+                Log.e("NetworkError", "스트리밍 통신 실패", t);
+                if (receivedAny) {
+                    String interrupted = "\n(답변이 중간에 끊겼습니다.)";
+                    appendToAiMessage(aiMessageId, interrupted, false);
+                    historyStore.updateText(aiMessageId, answer + interrupted);
+                } else if (t instanceof AdmissionRejectedException) {
+                    queueWhenBusy(query, companyName, ticket, t.getMessage());
+                } else {
+                    queueForRetry(query, companyName, ticket);
+                }
+            }
+        });
+    }
+
+    /**
+     * 스트리밍 없이 /chat 으로 전체 답변을 받아 말풍선을 채우는 함수
+     */
+    private void sendRequestWithoutStreaming(String query, String companyName, ChatRequestManager.Ticket ticket) {
+        long aiMessageId = ticket.getMessageId();
+        ConversationContext context = ConversationContext.forSession(ticket.getSessionKey());
+        boolean standalone = context.isEmpty();
+        ChatRequest request = context.newRequest(query, companyName);
+
+        requestManager.attach(ticket, apiService.sendChat(request)).enqueue(new Callback<ChatResponse>() {
             @Override
             public void onResponse(Call<ChatResponse> call, Response<ChatResponse> response) {
+                if (ticket.isCanceled()) {
+                    onRequestCanceled(ticket, ""); // 취소 뒤에 도착한 응답은 버림
+                    return;
+                }
+                if (response.code() == 409) {
+                    context.onServerMiss(); // 서버에 이 대화가 없음 → 전체 대화를 담아 다시
+                    sendRequestWithoutStreaming(query, companyName, ticket);
+                    return;
+                }
+                requestManager.finish(ticket);
                 if (response.isSuccessful() && response.body() != null) {
                     String aiAnswer = response.body().getAnswer();
-                    addMessage(aiAnswer, false); // AI 답변을 채팅 목록에 추가
+                    updateAiMessage(aiMessageId, aiAnswer); // AI 답변으로 말풍선 교체
+                    context.onAnswered(query, aiAnswer);
+                    if (standalone) {
+                        answerCache.put(companyName, query, aiAnswer);
+                    }
+                } else if (response.code() == 429 || response.code() == 503) {
+                    queueWhenBusy(query, companyName, ticket, BUSY_MESSAGE);
+                } else if (response.code() >= 500) {
+                    queueForRetry(query, companyName, ticket); // 서버 일시 오류 → 나중에 다시
                 } else {
-                    addMessage("오류: 답변을 받지 못했습니다. (코드: " + response.code() + ")", false);
+                    updateAiMessage(aiMessageId, "오류: 답변을 받지 못했습니다. (코드: " + response.code() + ")");
                 }
             }
 
             @Override
             public void onFailure(Call<ChatResponse> call, Throwable t) {
-                addMessage("통신 실패: 서버에 연결할 수 없습니다.", false);
+                if (ticket.isCanceled()) {
+                    onRequestCanceled(ticket, "");
+                    return;
+                }
+                requestManager.finish(ticket);
+                if (t instanceof AdmissionRejectedException) {
+                    queueWhenBusy(query, companyName, ticket, t.getMessage());
+                    return;
+                }
+                queueForRetry(query, companyName, ticket);
                 Log.e("NetworkError", "통신 실패", t);
             }
         });
     }
 
+    /**
+     * AI 말풍선의 텍스트를 교체 (화면에 남아 있으면 화면도, 저장된 대화는 항상)
+     */
+    private void updateAiMessage(long aiMessageId, String text) {
+        ChatSessionManager.ChatSession session = sessionManager.findSession(aiMessageId);
+        if (session != null) {
+            session.getAdapter().replaceMessage(aiMessageId, text);
+        }
+        historyStore.updateText(aiMessageId, text);
+    }
+
     // --- (메뉴 동적 생성 및 처리) ---
 
     /**
@@ -179,20 +505,25 @@ public class MainActivity extends AppCompatActivity {
     public boolean onCreateOptionsMenu(Menu menu) {
         MenuInflater inflater = getMenuInflater();
         inflater.inflate(R.menu.main_menu, menu);
+        // 네트워크 통계 화면은 디버그 빌드에서만
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        menu.findItem(R.id.menu_network_metrics).setVisible(debuggable);
         return true;
     }
 
     /**
-     * 메뉴가 열릴 때마다 CompanyStorage에서 최신 기업 목록을 가져와 메뉴에 동적 추가
+     * 메뉴가 열릴 때마다 CompanyRegistry의 기업 목록(메모리 스냅샷)으로 메뉴에 동적 추가
+     * (목록 새로 고침은 백그라운드에서 하고, 바뀐 목록은 다음에 메뉴를 열 때 반영)
      */
     @Override
     public boolean onPrepareOptionsMenu(Menu menu) {
-        List<String> companyList = companyStorage.getCompanyList();
+        List<String> companyList = companyRegistry.getCompanyList();
+        companyRegistry.refresh(false);
 
         // 동적 그룹(R.id.menu_group_companies)을 찾아 기존 목록을 비움
         menu.removeGroup(R.id.menu_group_companies);
 
-        // CompanyStorage의 목록으로 메뉴 아이템을 동적으로 추가
+        // 기업 목록으로 메뉴 아이템을 동적으로 추가
         for (int i = 0; i < companyList.size(); i++) {
             String companyName = companyList.get(i);
             // (그룹 ID, 아이템 ID, 순서, 제목)
@@ -216,6 +547,11 @@ public class MainActivity extends AppCompatActivity {
             return true;
         }
 
+        if (id == R.id.menu_network_metrics) {
+            startActivity(new Intent(this, NetworkMetricsActivity.class));
+            return true;
+        }
+
         // 2. 동적으로 추가된 기업(병무청 등) 메뉴를 클릭했을 때 (ID 1000번 이상)
         if (id >= 1000) {
             String selectedCompany = item.getTitle().toString();
@@ -0,0 +1,20 @@
+package com.example.hackathon;
+
+// 서버에 색인된 매뉴얼 조각 하나 (/manual_indexes)
+public class ManualChunk {
+    private final int index;
+    private final String text;
+
+    public ManualChunk(int index, String text) {
+        this.index = index;
+        this.text = text;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hackathon;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 매뉴얼 조각 목록 어댑터 (페이지 단위로 필요할 때 불러옴)
+ * - 전체 조각 수만큼 자리를 만들고, 보이는 위치의 페이지가 없으면 PageLoader에 요청
+ * - 메모리에는 최근 본 MAX_PAGES_IN_MEMORY 페이지만 유지 (나머지는 디스크 캐시에서 다시 읽음)
+ */
+public class ManualChunkAdapter extends RecyclerView.Adapter<ManualChunkAdapter.ViewHolder> {
+
+    private static final int MAX_PAGES_IN_MEMORY = 5;
+
+    /**
+     * 페이지가 필요할 때 호출 (결과는 setPage로 전달)
+     */
+    public interface PageLoader {
+        void requestPage(int page);
+    }
+
+    private final PageLoader loader;
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private final LinkedHashMap<Integer, List<ManualChunk>> pages =
+            new LinkedHashMap<Integer, List<ManualChunk>>(MAX_PAGES_IN_MEMORY + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<ManualChunk>> eldest) {
+                    return size() > MAX_PAGES_IN_MEMORY;
+                }
+            };
+    private int total;
+
+    public ManualChunkAdapter(PageLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * 불러온 페이지를 반영합니다.
+     */
+    @MainThread
+    public void setPage(ManualChunkRepository.Page page) {
+        loadingPages.remove(page.page);
+        pages.put(page.page, page.chunks);
+        if (page.total != total) {
+            total = page.total;
+            notifyDataSetChanged();
+        } else {
+            notifyItemRangeChanged(page.page * ManualChunkRepository.PAGE_SIZE, page.chunks.size());
+        }
+    }
+
+    // 실패한 페이지는 다시 보이면 다시 요청
+    @MainThread
+    public void onPageFailed(int page) {
+        loadingPages.remove(page);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public int getItemCount() {
+        return total;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_manual_chunk, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        int page = position / ManualChunkRepository.PAGE_SIZE;
+        int offset = position % ManualChunkRepository.PAGE_SIZE;
+        List<ManualChunk> chunks = pages.get(page);
+        if (chunks == null || offset >= chunks.size()) {
+            holder.textChunkIndex.setText("#" + position);
+            holder.textChunkText.setText("불러오는 중...");
+            if (chunks == null && loadingPages.add(page)) {
+                loader.requestPage(page);
+            }
+            return;
+        }
+        ManualChunk chunk = chunks.get(offset);
+        holder.textChunkIndex.setText("#" + (chunk.getIndex() >= 0 ? chunk.getIndex() : position));
+        holder.textChunkText.setText(chunk.getText());
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        TextView textChunkIndex;
+        TextView textChunkText;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textChunkIndex = itemView.findViewById(R.id.textChunkIndex);
+            textChunkText = itemView.findViewById(R.id.textChunkText);
+        }
+    }
+}
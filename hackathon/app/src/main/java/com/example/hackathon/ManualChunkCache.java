@@ -0,0 +1,207 @@
+package com.example.hackathon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 서버에서 받은 매뉴얼 조각을 페이지 단위로 저장하는 디스크 캐시
+ * dir/<기업 해시>/<매뉴얼 버전>/page-<n>.bin  (+ total: 전체 조각 수)
+ * - 매뉴얼 버전이 바뀌면 이전 버전 폴더는 새 페이지를 저장할 때 삭제
+ * - 페이지 파일 = 조각 수 + (index, 텍스트 길이, 텍스트 UTF-8) 반복
+ */
+public class ManualChunkCache {
+
+    private static final String TOTAL_FILE = "total";
+
+    private final File dir;
+
+    public ManualChunkCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * 캐시된 페이지 (없거나 손상되었으면 null)
+     */
+    public synchronized List<ManualChunk> readPage(String companyName, String version, int page) {
+        File file = pageFile(companyName, version, page);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int count = in.readInt();
+            List<ManualChunk> chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = in.readInt();
+                byte[] text = new byte[in.readInt()];
+                in.readFully(text);
+                chunks.add(new ManualChunk(index, new String(text, StandardCharsets.UTF_8)));
+            }
+            return chunks;
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * 버전의 전체 조각 수 (모르면 -1)
+     */
+    public synchronized int getTotal(String companyName, String version) {
+        File file = new File(versionDir(companyName, version), TOTAL_FILE);
+        if (!file.exists()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 캐시에 남아 있는 버전 (오프라인에서 버전을 모를 때, 없으면 null)
+     */
+    public synchronized String getCachedVersion(String companyName) {
+        File[] versions = companyDir(companyName).listFiles(File::isDirectory);
+        if (versions == null) {
+            return null;
+        }
+        for (File version : versions) {
+            if (new File(version, TOTAL_FILE).exists()) {
+                return version.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 페이지 쓰기 시작 (버전은 응답을 다 읽은 뒤에 알 수 있으므로 임시 파일에 먼저 씀)
+     */
+    public PageWriter beginPage(String companyName) throws IOException {
+        File companyDir = companyDir(companyName);
+        if (!companyDir.exists() && !companyDir.mkdirs()) {
+            throw new IOException("캐시 폴더를 만들 수 없습니다.");
+        }
+        return new PageWriter(companyName, new File(companyDir, UUID.randomUUID() + ".tmp"));
+    }
+
+    public synchronized void clear(String companyName) {
+        deleteRecursively(companyDir(companyName));
+    }
+
+    /**
+     * 받는 중인 페이지 (조각을 받는 대로 파일에 씀 → 메모리에 모으지 않음)
+     */
+    public final class PageWriter implements Closeable {
+        private final String companyName;
+        private final File tmp;
+        private final DataOutputStream out;
+        private int count;
+        private boolean committed;
+
+        private PageWriter(String companyName, File tmp) throws IOException {
+            this.companyName = companyName;
+            this.tmp = tmp;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            out.writeInt(0); // 조각 수 자리 (commit 때 채움)
+        }
+
+        public void write(ManualChunk chunk) throws IOException {
+            byte[] text = chunk.getText().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(chunk.getIndex());
+            out.writeInt(text.length);
+            out.write(text);
+            count++;
+        }
+
+        /**
+         * 받은 페이지를 version 폴더에 저장합니다. (다른 버전 폴더는 삭제)
+         */
+        public void commit(String version, int page, int total) throws IOException {
+            out.close();
+            patchCount();
+            synchronized (ManualChunkCache.this) {
+                File[] others = companyDir(companyName).listFiles(File::isDirectory);
+                if (others != null) {
+                    for (File other : others) {
+                        if (!other.getName().equals(safeVersion(version))) {
+                            deleteRecursively(other);
+                        }
+                    }
+                }
+                File versionDir = versionDir(companyName, version);
+                if (!versionDir.exists() && !versionDir.mkdirs()) {
+                    throw new IOException("캐시 폴더를 만들 수 없습니다.");
+                }
+                File target = pageFile(companyName, version, page);
+                target.delete();
+                if (!tmp.renameTo(target)) {
+                    throw new IOException("캐시 파일을 저장할 수 없습니다.");
+                }
+                try (DataOutputStream totalOut = new DataOutputStream(
+                        new FileOutputStream(new File(versionDir, TOTAL_FILE)))) {
+                    totalOut.writeInt(total);
+                }
+            }
+            committed = true;
+        }
+
+        // 맨 앞의 조각 수를 실제 값으로 덮어씀
+        private void patchCount() throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(tmp, "rw")) {
+                file.writeInt(count);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!committed) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // 임시 파일은 어차피 삭제
+                }
+                tmp.delete();
+            }
+        }
+    }
+
+    private File companyDir(String companyName) {
+        return new File(dir, ManualChunkSplitter.sha256Hex(companyName.getBytes(StandardCharsets.UTF_8)).substring(0, 16));
+    }
+
+    private File versionDir(String companyName, String version) {
+        return new File(companyDir(companyName), safeVersion(version));
+    }
+
+    private File pageFile(String companyName, String version, int page) {
+        return new File(versionDir(companyName, version), "page-" + page + ".bin");
+    }
+
+    // 버전은 서버가 주는 해시 앞부분 → 파일 이름으로 쓸 수 없는 문자는 제거
+    private static String safeVersion(String version) {
+        return version.replaceAll("[^0-9A-Za-z_-]", "_");
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
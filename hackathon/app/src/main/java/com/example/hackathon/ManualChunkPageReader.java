@@ -0,0 +1,106 @@
+package com.example.hackathon;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * /manual_indexes 페이지 응답을 Gson JsonReader로 앞에서부터 읽는 파서
+ * 조각을 리스트로 모으지 않고 읽는 즉시 ChunkConsumer에 넘기므로 페이지가 커도 메모리는 조각 하나 분량
+ * (서버 JSON은 키 순서가 정해져 있지 않음 → chunks가 manualVersion보다 먼저 와도 됨)
+ */
+public final class ManualChunkPageReader {
+
+    /**
+     * 읽은 조각을 하나씩 받음 (IOException을 던지면 읽기를 멈춤)
+     */
+    public interface ChunkConsumer {
+        void accept(ManualChunk chunk) throws IOException;
+    }
+
+    /**
+     * 페이지 정보 (조각 외의 필드)
+     */
+    public static final class PageInfo {
+        public String manualVersion;
+        public int total = -1;
+        public int offset;
+        public int nextOffset = -1; // 마지막 페이지면 -1
+        public int chunkCount;
+    }
+
+    private ManualChunkPageReader() {
+    }
+
+    public static PageInfo read(Reader source, ChunkConsumer consumer) throws IOException {
+        PageInfo info = new PageInfo();
+        JsonReader reader = new JsonReader(source);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "manualVersion":
+                    info.manualVersion = nextStringOrNull(reader);
+                    break;
+                case "total":
+                    info.total = reader.nextInt();
+                    break;
+                case "offset":
+                    info.offset = reader.nextInt();
+                    break;
+                case "nextOffset":
+                    info.nextOffset = nextIntOrDefault(reader, -1);
+                    break;
+                case "chunks":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        consumer.accept(readChunk(reader));
+                        info.chunkCount++;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue(); // companyName 등
+                    break;
+            }
+        }
+        reader.endObject();
+        return info;
+    }
+
+    private static ManualChunk readChunk(JsonReader reader) throws IOException {
+        int index = -1;
+        String text = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("index".equals(name)) {
+                index = nextIntOrDefault(reader, -1); // 서버는 index가 없으면 "N/A"
+            } else if ("text".equals(name)) {
+                text = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ManualChunk(index, text != null ? text : "");
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static int nextIntOrDefault(JsonReader reader, int defaultValue) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return reader.nextInt();
+        }
+        reader.skipValue();
+        return defaultValue;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hackathon;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * 서버에 색인된 매뉴얼 조각을 페이지 단위로 읽는 저장소 (캐시 → 서버)
+ * - 같은 매뉴얼 버전이면 디스크 캐시(ManualChunkCache)에서 바로 읽고 다시 받지 않음
+ * - 서버 응답은 ManualChunkPageReader로 스트리밍하면서 캐시 파일에 바로 씀
+ * 매뉴얼 버전은 CompanyRegistry의 기업 정보, 없으면 마지막으로 받은 페이지의 버전을 사용
+ */
+public class ManualChunkRepository {
+
+    static final int PAGE_SIZE = 100;
+
+    /**
+     * 페이지 하나 (chunks는 최대 PAGE_SIZE개)
+     */
+    public static final class Page {
+        public final int page;
+        public final int total;
+        public final String manualVersion;
+        public final List<ManualChunk> chunks;
+        public final boolean fromCache;
+
+        Page(int page, int total, String manualVersion, List<ManualChunk> chunks, boolean fromCache) {
+            this.page = page;
+            this.total = total;
+            this.manualVersion = manualVersion;
+            this.chunks = chunks;
+            this.fromCache = fromCache;
+        }
+    }
+
+    /**
+     * 페이지 결과 (callbackExecutor에서 호출)
+     */
+    public interface PageCallback {
+        void onPage(Page page);
+
+        void onError(IOException e);
+    }
+
+    private static ManualChunkRepository instance;
+
+    public static synchronized ManualChunkRepository getInstance(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            instance = new ManualChunkRepository(RetrofitClient.getApiService(),
+                    new ManualChunkCache(new File(app.getCacheDir(), "manual_chunks")));
+        }
+        return instance;
+    }
+
+    private final ApiService apiService;
+    private final ManualChunkCache cache;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // 이번 실행에서 서버가 알려준 기업별 매뉴얼 버전
+    private final Map<String, String> knownVersions = new ConcurrentHashMap<>();
+
+    public ManualChunkRepository(ApiService apiService, ManualChunkCache cache) {
+        this.apiService = apiService;
+        this.cache = cache;
+    }
+
+    /**
+     * 백그라운드에서 페이지를 읽습니다.
+     *
+     * @param expectedVersion 알고 있는 매뉴얼 버전 (CompanyRegistry 정보, 모르면 null)
+     */
+    public void loadPage(String companyName, int page, String expectedVersion,
+                         Executor callbackExecutor, PageCallback callback) {
+        executor.execute(() -> {
+            try {
+                Page result = loadPageBlocking(companyName, page, expectedVersion);
+                callbackExecutor.execute(() -> callback.onPage(result));
+            } catch (IOException e) {
+                callbackExecutor.execute(() -> callback.onError(e));
+            }
+        });
+    }
+
+    @WorkerThread
+    public Page loadPageBlocking(String companyName, int page, String expectedVersion) throws IOException {
+        String version = expectedVersion != null ? expectedVersion : knownVersions.get(companyName);
+        if (version != null) {
+            Page cached = readCached(companyName, page, version);
+            ApiMetrics.getInstance().recordCacheLookup("manual_chunks", cached != null);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        try {
+            return fetch(companyName, page);
+        } catch (IOException e) {
+            // 오프라인 → 버전을 확인할 수 없어도 캐시에 남은 버전이 있으면 보여줌
+            String cachedVersion = cache.getCachedVersion(companyName);
+            Page cached = cachedVersion != null ? readCached(companyName, page, cachedVersion) : null;
+            if (cached != null) {
+                return cached;
+            }
+            throw e;
+        }
+    }
+
+    private Page readCached(String companyName, int page, String version) {
+        List<ManualChunk> chunks = cache.readPage(companyName, version, page);
+        int total = cache.getTotal(companyName, version);
+        if (chunks == null || total < 0) {
+            return null;
+        }
+        return new Page(page, total, version, chunks, true);
+    }
+
+    private Page fetch(String companyName, int page) throws IOException {
+        Response<ResponseBody> response = apiService.getManualIndexPage(
+                companyName, page * PAGE_SIZE, PAGE_SIZE).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw UploadException.from(response);
+        }
+
+        List<ManualChunk> chunks = new ArrayList<>(PAGE_SIZE);
+        ManualChunkPageReader.PageInfo info;
+        try (ResponseBody body = response.body();
+             Reader reader = body.charStream();
+             ManualChunkCache.PageWriter writer = cache.beginPage(companyName)) {
+            info = ManualChunkPageReader.read(reader, chunk -> {
+                writer.write(chunk);
+                chunks.add(chunk);
+            });
+            if (info.manualVersion != null && info.total >= 0) {
+                writer.commit(info.manualVersion, page, info.total);
+            }
+        }
+        if (info.manualVersion != null) {
+            knownVersions.put(companyName, info.manualVersion);
+        }
+        return new Page(page, Math.max(info.total, chunks.size()), info.manualVersion, chunks, false);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.hackathon;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 서버(app.py)의 RecursiveCharacterTextSplitter(chunk_size=500, chunk_overlap=50)와 똑같이 매뉴얼을 조각냅니다.
+ * - 구분자 순서: "\n\n" → "\n" → " " → "" (구분자는 다음 조각의 앞에 붙음, keep_separator=True)
+ * - 길이는 파이썬 len()과 같도록 코드 포인트 기준
+ * 조각 ID(chunkIds)는 서버 /manual_digest 와 같은 규칙이라, 둘을 비교하면 바뀐 조각만 알 수 있습니다.
+ */
+public class ManualChunkSplitter {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int CHUNK_OVERLAP = 50;
+
+    private static final List<String> SEPARATORS = Arrays.asList("\n\n", "\n", " ", "");
+
+    private final int chunkSize;
+    private final int chunkOverlap;
+
+    public ManualChunkSplitter() {
+        this(CHUNK_SIZE, CHUNK_OVERLAP);
+    }
+
+    public ManualChunkSplitter(int chunkSize, int chunkOverlap) {
+        this.chunkSize = chunkSize;
+        this.chunkOverlap = chunkOverlap;
+    }
+
+    public List<String> split(String text) {
+        return splitText(text, SEPARATORS);
+    }
+
+    /**
+     * 조각 ID 목록: sha256(조각) 앞 16자리 + "#" + 같은 내용이 앞에서 나온 횟수
+     */
+    public static List<String> chunkIds(List<String> chunks) {
+        Map<String, Integer> seen = new HashMap<>();
+        List<String> ids = new ArrayList<>(chunks.size());
+        for (String chunk : chunks) {
+            String contentHash = contentHash(chunk);
+            Integer occurrence = seen.get(contentHash);
+            int n = occurrence == null ? 0 : occurrence;
+            seen.put(contentHash, n + 1);
+            ids.add(contentHash + "#" + n);
+        }
+        return ids;
+    }
+
+    static String contentHash(String chunk) {
+        return sha256Hex(chunk.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    static String sha256Hex(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM/안드로이드에 있음
+        }
+    }
+
+    private List<String> splitText(String text, List<String> separators) {
+        List<String> finalChunks = new ArrayList<>();
+
+        // 텍스트에 들어 있는 첫 번째 구분자 선택 (""는 글자 단위)
+        String separator = separators.get(separators.size() - 1);
+        List<String> nextSeparators = new ArrayList<>();
+        for (int i = 0; i < separators.size(); i++) {
+            String s = separators.get(i);
+            if (s.isEmpty()) {
+                separator = s;
+                break;
+            }
+            if (text.contains(s)) {
+                separator = s;
+                nextSeparators = separators.subList(i + 1, separators.size());
+                break;
+            }
+        }
+
+        List<String> goodSplits = new ArrayList<>();
+        for (String s : splitKeepingSeparator(text, separator)) {
+            if (length(s) < chunkSize) {
+                goodSplits.add(s);
+                continue;
+            }
+            if (!goodSplits.isEmpty()) {
+                finalChunks.addAll(mergeSplits(goodSplits));
+                goodSplits = new ArrayList<>();
+            }
+            if (nextSeparators.isEmpty()) {
+                finalChunks.add(s);
+            } else {
+                finalChunks.addAll(splitText(s, nextSeparators));
+            }
+        }
+        if (!goodSplits.isEmpty()) {
+            finalChunks.addAll(mergeSplits(goodSplits));
+        }
+        return finalChunks;
+    }
+
+    // "a\n\nb\n\nc" → ["a", "\n\nb", "\n\nc"] (빈 문자열은 버림)
+    private static List<String> splitKeepingSeparator(String text, String separator) {
+        List<String> splits = new ArrayList<>();
+        if (separator.isEmpty()) {
+            for (int i = 0; i < text.length(); ) {
+                int end = text.offsetByCodePoints(i, 1);
+                splits.add(text.substring(i, end));
+                i = end;
+            }
+            return splits;
+        }
+        int start = 0;
+        int found = text.indexOf(separator);
+        while (found != -1) {
+            if (found > start) {
+                splits.add(text.substring(start, found));
+            }
+            start = found;
+            found = text.indexOf(separator, found + separator.length());
+        }
+        if (start < text.length()) {
+            splits.add(text.substring(start));
+        }
+        return splits;
+    }
+
+    // 작은 조각들을 chunkSize 이하로 이어 붙이고, 다음 조각과 chunkOverlap 만큼 겹치게 함
+    // (구분자는 이미 조각 앞에 붙어 있으므로 ""로 이어 붙임)
+    private List<String> mergeSplits(List<String> splits) {
+        List<String> docs = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        List<Integer> currentLengths = new ArrayList<>();
+        int total = 0;
+        for (String d : splits) {
+            int len = length(d);
+            if (total + len > chunkSize) {
+                if (!current.isEmpty()) {
+                    addJoined(docs, current);
+                    while (total > chunkOverlap || (total + len > chunkSize && total > 0)) {
+                        total -= currentLengths.remove(0);
+                        current.remove(0);
+                    }
+                }
+            }
+            current.add(d);
+            currentLengths.add(len);
+            total += len;
+        }
+        addJoined(docs, current);
+        return docs;
+    }
+
+    private static void addJoined(List<String> docs, List<String> parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            sb.append(part);
+        }
+        String doc = strip(sb.toString());
+        if (!doc.isEmpty()) {
+            docs.add(doc);
+        }
+    }
+
+    // 파이썬 str.strip()과 같은 공백 기준
+    private static String strip(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && isPythonWhitespace(s.charAt(start))) {
+            start++;
+        }
+        while (end > start && isPythonWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        return s.substring(start, end);
+    }
+
+    private static boolean isPythonWhitespace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c) || c == '\u0085';
+    }
+
+    private static int length(String s) {
+        return s.codePointCount(0, s.length());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.hackathon;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.IOException;
+
+/**
+ * 기업 매뉴얼이 서버에서 어떻게 조각(인덱스)으로 나뉘었는지 보는 화면 (기업용)
+ * 조각은 스크롤에 맞춰 페이지 단위로 불러오고, 같은 매뉴얼 버전이면 디스크 캐시에서 읽음
+ */
+public class ManualChunksActivity extends AppCompatActivity {
+
+    public static final String EXTRA_COMPANY_NAME = "companyName";
+
+    private TextView textChunkSummary;
+    private ManualChunkAdapter adapter;
+    private ManualChunkRepository repository;
+    private Handler mainHandler;
+    private String companyName;
+    private String manualVersion; // 기업 목록의 매뉴얼 버전 (모르면 null)
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_manual_chunks);
+
+        companyName = getIntent().getStringExtra(EXTRA_COMPANY_NAME);
+        if (companyName == null) {
+            finish();
+            return;
+        }
+        setTitle(companyName + " 매뉴얼 조각");
+
+        mainHandler = new Handler(Looper.getMainLooper());
+        repository = ManualChunkRepository.getInstance(this);
+        CompanyInfo info = CompanyRegistry.getInstance(this).getInfo(companyName);
+        manualVersion = info != null ? info.getManualVersion() : null;
+
+        textChunkSummary = findViewById(R.id.textChunkSummary);
+        textChunkSummary.setText("불러오는 중...");
+
+        RecyclerView recyclerView = findViewById(R.id.recyclerViewChunks);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new ManualChunkAdapter(this::loadPage);
+        recyclerView.setAdapter(adapter);
+
+        loadPage(0); // 첫 페이지에서 전체 조각 수를 알게 됨
+    }
+
+    private void loadPage(int page) {
+        repository.loadPage(companyName, page, manualVersion, mainHandler::post,
+                new ManualChunkRepository.PageCallback() {
+                    @Override
+                    public void onPage(ManualChunkRepository.Page result) {
+                        if (isDestroyed()) return;
+                        if (manualVersion == null) {
+                            manualVersion = result.manualVersion; // 다음 페이지부터 캐시 사용
+                        }
+                        adapter.setPage(result);
+                        textChunkSummary.setText("전체 " + result.total + "개 조각"
+                                + (result.manualVersion != null ? " · 버전 " + result.manualVersion : ""));
+                    }
+
+                    @Override
+                    public void onError(IOException e) {
+                        if (isDestroyed()) return;
+                        adapter.onPageFailed(page);
+                        if (adapter.getTotal() == 0) {
+                            textChunkSummary.setText("조각을 불러오지 못했습니다: " + e.getMessage());
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+// 매뉴얼 변경분 업로드 요청 (/upload_delta) - 새로 생긴 조각의 내용만 보냄
+public class ManualDeltaRequest {
+    @SerializedName("companyName")
+    private String companyName;
+
+    // 비교 기준이 된 서버 매뉴얼 해시 (그 사이 서버 매뉴얼이 바뀌었으면 409)
+    @SerializedName("baseManualHash")
+    private String baseManualHash;
+
+    @SerializedName("manualHash")
+    private String manualHash;
+
+    // 새 매뉴얼의 조각 ID 순서 (여기 없는 서버 조각은 삭제됨)
+    @SerializedName("chunkIds")
+    private List<String> chunkIds;
+
+    @SerializedName("added")
+    private List<Chunk> added;
+
+    public ManualDeltaRequest(String companyName, String baseManualHash, String manualHash,
+                              List<String> chunkIds, List<Chunk> added) {
+        this.companyName = companyName;
+        this.baseManualHash = baseManualHash;
+        this.manualHash = manualHash;
+        this.chunkIds = chunkIds;
+        this.added = added;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public static class Chunk {
+        @SerializedName("id")
+        private String id;
+
+        @SerializedName("text")
+        private String text;
+
+        public Chunk(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+}
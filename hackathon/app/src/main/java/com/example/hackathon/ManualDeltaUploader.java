@@ -0,0 +1,104 @@
+package com.example.hackathon;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Response;
+
+/**
+ * 이미 등록된 매뉴얼을 다시 올릴 때 바뀐 조각만 보내는 업로더
+ * 1. 서버의 매뉴얼 해시/조각 ID(/manual_digest)를 받아옴
+ * 2. 파일 해시가 같으면 업로드 생략 (UNCHANGED)
+ * 3. 서버와 같은 500/50 분할(ManualChunkSplitter)로 조각 ID를 계산해서 새로 생긴 조각만 /upload_delta로 전송
+ *    → 서버는 새 조각만 임베딩하고 없어진 조각은 인덱스에서 지움
+ * 등록된 매뉴얼이 없거나 변경이 너무 크면 FULL_UPLOAD_REQUIRED (전체 업로드로 진행)
+ */
+public class ManualDeltaUploader {
+
+    // 새 조각이 이 비율을 넘으면 어차피 거의 다 다시 임베딩하므로 전체 업로드가 나음
+    static final float MAX_ADDED_RATIO = 0.5f;
+
+    public enum Outcome {
+        UNCHANGED,
+        DELTA_UPLOADED,
+        FULL_UPLOAD_REQUIRED
+    }
+
+    public static class Result {
+        public final Outcome outcome;
+        public final UploadResponse response; // DELTA_UPLOADED일 때만
+        public final int addedChunks;
+        public final int removedChunks;
+
+        Result(Outcome outcome, UploadResponse response, int addedChunks, int removedChunks) {
+            this.outcome = outcome;
+            this.response = response;
+            this.addedChunks = addedChunks;
+            this.removedChunks = removedChunks;
+        }
+    }
+
+    private final ApiService apiService;
+    private final ManualChunkSplitter splitter = new ManualChunkSplitter();
+
+    public ManualDeltaUploader(ApiService apiService) {
+        this.apiService = apiService;
+    }
+
+    /**
+     * @param manualBytes 매뉴얼 파일 원본 (UTF-8, 서버와 같은 해시를 위해 그대로 전달)
+     */
+    @WorkerThread
+    public Result upload(String companyName, byte[] manualBytes) throws IOException {
+        String manualHash = ManualChunkSplitter.sha256Hex(manualBytes);
+
+        Response<ManualDigest> digestResponse = apiService.getManualDigest(companyName).execute();
+        if (digestResponse.code() == 404) {
+            return fullUpload(); // 처음 등록하는 기업
+        }
+        if (!digestResponse.isSuccessful() || digestResponse.body() == null) {
+            throw UploadException.from(digestResponse);
+        }
+        ManualDigest digest = digestResponse.body();
+        if (manualHash.equals(digest.getManualHash())) {
+            return new Result(Outcome.UNCHANGED, null, 0, 0);
+        }
+
+        // 서버와 같은 규칙으로 조각내고 비교
+        List<String> chunks = splitter.split(new String(manualBytes, StandardCharsets.UTF_8));
+        List<String> chunkIds = ManualChunkSplitter.chunkIds(chunks);
+        Set<String> serverIds = new HashSet<>(digest.getChunkIds());
+
+        List<ManualDeltaRequest.Chunk> added = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!serverIds.contains(chunkIds.get(i))) {
+                added.add(new ManualDeltaRequest.Chunk(chunkIds.get(i), chunks.get(i)));
+            }
+        }
+        serverIds.removeAll(chunkIds);
+        int removed = serverIds.size();
+        if (chunks.isEmpty() || added.size() > chunks.size() * MAX_ADDED_RATIO) {
+            return fullUpload();
+        }
+
+        Response<UploadResponse> response = apiService.uploadManualDelta(new ManualDeltaRequest(
+                companyName, digest.getManualHash(), manualHash, chunkIds, added)).execute();
+        if (response.code() == 409) {
+            return fullUpload(); // 그 사이 서버 매뉴얼이 바뀜
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            throw UploadException.from(response);
+        }
+        return new Result(Outcome.DELTA_UPLOADED, response.body(), added.size(), removed);
+    }
+
+    private static Result fullUpload() {
+        return new Result(Outcome.FULL_UPLOAD_REQUIRED, null, 0, 0);
+    }
+}
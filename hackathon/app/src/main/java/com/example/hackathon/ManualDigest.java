@@ -0,0 +1,30 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// 서버에 등록된 매뉴얼의 전체 해시와 조각 ID 목록 (/manual_digest)
+public class ManualDigest {
+    @SerializedName("companyName")
+    private String companyName;
+
+    @SerializedName("manualHash")
+    private String manualHash;
+
+    @SerializedName("chunkIds")
+    private List<String> chunkIds;
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getManualHash() {
+        return manualHash;
+    }
+
+    public List<String> getChunkIds() {
+        return chunkIds != null ? chunkIds : Collections.emptyList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hackathon;
+
+/**
+ * 매뉴얼에서 파싱한 항목 하나
+ * FAQ: "1. 질문" + "A) 답변" 쌍
+ * 조문: "제3조(예비군 편성기준) ..." (question에 규정 이름과 조문 제목이 들어감)
+ */
+public class ManualEntry {
+    private final String question;
+    private final String answer;
+    private final boolean faq;
+
+    public ManualEntry(String question, String answer, boolean faq) {
+        this.question = question;
+        this.answer = answer;
+        this.faq = faq;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public boolean isFaq() {
+        return faq;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.hackathon;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 기업별 LocalAnswerEngine을 백그라운드에서 만들어 보관하는 저장소 (앱 전체에서 하나)
+ * 지금은 앱에 포함된 기본 매뉴얼(assets/manuals)만 색인합니다.
+ */
+public class ManualIndexRepository {
+
+    // 기업명 → assets 안의 매뉴얼 파일 (서버의 기본 매뉴얼 '예비군편성.txt'와 같은 내용)
+    private static final Map<String, String> BUNDLED_MANUALS;
+
+    static {
+        Map<String, String> manuals = new HashMap<>();
+        manuals.put("병무청", "manuals/reserve_forces.txt");
+        BUNDLED_MANUALS = Collections.unmodifiableMap(manuals);
+    }
+
+    private static ManualIndexRepository instance = null;
+
+    private final AssetManager assets;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Map<String, LocalAnswerEngine> engines = new ConcurrentHashMap<>();
+    private final Set<String> requested = Collections.synchronizedSet(new HashSet<>());
+
+    public static synchronized ManualIndexRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new ManualIndexRepository(context.getApplicationContext().getAssets());
+        }
+        return instance;
+    }
+
+    private ManualIndexRepository(AssetManager assets) {
+        this.assets = assets;
+    }
+
+    /**
+     * 기업의 매뉴얼 색인을 백그라운드에서 미리 만들어 둡니다. (이미 요청했으면 무시)
+     */
+    public void preload(String companyName) {
+        if (companyName == null || !BUNDLED_MANUALS.containsKey(companyName)) return;
+        if (!requested.add(companyName)) return;
+
+        executor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                String text = readAsset(BUNDLED_MANUALS.get(companyName));
+                LocalAnswerEngine engine = LocalAnswerEngine.fromManual(text);
+                engines.put(companyName, engine);
+                Log.d("ManualIndex", companyName + " 색인 완료: " + engine.getEntries().size() + "개 항목, "
+                        + (System.currentTimeMillis() - start) + "ms");
+            } catch (IOException e) {
+                requested.remove(companyName);
+                Log.e("ManualIndex", companyName + " 매뉴얼 읽기 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 색인이 준비된 경우에만 반환 (아직이거나 매뉴얼이 없으면 null)
+     */
+    public LocalAnswerEngine get(String companyName) {
+        return companyName == null ? null : engines.get(companyName);
+    }
+
+    private String readAsset(String path) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(assets.open(path), StandardCharsets.UTF_8))) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 기업 매뉴얼(.txt)을 ManualEntry 목록으로 나누는 파서
+ * (예비군편성.txt 형식: 앞부분은 번호가 붙은 FAQ, 뒷부분은 '-----'로 구분된 규정 조문)
+ */
+public class ManualParser {
+
+    // "1. 질문" 또는 "11 질문" (바로 다음 줄이 "A)"로 시작해야 FAQ 질문으로 인정)
+    private static final Pattern QUESTION = Pattern.compile("^(\\d{1,3})\\.?\\s+(.+)$");
+    private static final String ANSWER_PREFIX = "A)";
+
+    // "제3조(예비군 편성기준) 본문" / "제5조의2(...) 본문"
+    private static final Pattern ARTICLE = Pattern.compile("^(제\\d+조(?:의\\d+)?)\\(([^)]+)\\)\\s*(.*)$");
+
+    // FAQ 페이지에서 복사하면 답변 끝에 붙어 오는 링크 문구
+    private static final String TOC_LINK = "목차이동";
+
+    private ManualParser() {
+    }
+
+    public static List<ManualEntry> parse(String text) {
+        String[] lines = text.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        List<ManualEntry> entries = new ArrayList<>();
+
+        String documentTitle = null;   // 구분선 다음 줄 (규정 이름)
+        boolean expectTitle = false;
+
+        String question = null;
+        boolean faq = false;
+        StringBuilder answer = new StringBuilder();
+        int blankRun = 0;
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+
+            if (isSeparator(line)) {
+                flush(entries, question, answer, faq);
+                question = null;
+                expectTitle = true;
+                continue;
+            }
+            if (line.isEmpty()) {
+                blankRun++;
+                if (blankRun >= 2 && faq) {
+                    // FAQ 답변은 빈 줄 두 개에서 끝남
+                    flush(entries, question, answer, true);
+                    question = null;
+                }
+                continue;
+            }
+            blankRun = 0;
+
+            if (expectTitle) {
+                documentTitle = line;
+                expectTitle = false;
+                continue;
+            }
+
+            Matcher questionMatcher = QUESTION.matcher(line);
+            if (questionMatcher.matches() && nextNonEmptyStartsWithAnswer(lines, i + 1)) {
+                flush(entries, question, answer, faq);
+                question = questionMatcher.group(2).trim();
+                faq = true;
+                continue;
+            }
+
+            Matcher articleMatcher = ARTICLE.matcher(line);
+            if (articleMatcher.matches()) {
+                flush(entries, question, answer, faq);
+                String heading = articleMatcher.group(1) + "(" + articleMatcher.group(2) + ")";
+                question = documentTitle != null ? documentTitle + " " + heading : heading;
+                faq = false;
+                answer.append(articleMatcher.group(3));
+                continue;
+            }
+
+            if (question == null) {
+                continue; // 항목에 속하지 않는 머리말/소제목
+            }
+
+            if (faq && line.startsWith(ANSWER_PREFIX) && answer.length() == 0) {
+                line = line.substring(ANSWER_PREFIX.length()).trim();
+            }
+            boolean endsFaq = faq && line.endsWith(TOC_LINK);
+            if (endsFaq) {
+                line = line.substring(0, line.length() - TOC_LINK.length()).trim();
+            }
+            if (!line.isEmpty()) {
+                if (answer.length() > 0) answer.append('\n');
+                answer.append(line);
+            }
+            if (endsFaq) {
+                flush(entries, question, answer, true);
+                question = null;
+            }
+        }
+        flush(entries, question, answer, faq);
+        return entries;
+    }
+
+    private static void flush(List<ManualEntry> entries, String question, StringBuilder answer, boolean faq) {
+        if (question != null && answer.length() > 0) {
+            entries.add(new ManualEntry(question, answer.toString(), faq));
+        }
+        answer.setLength(0);
+    }
+
+    private static boolean nextNonEmptyStartsWithAnswer(String[] lines, int from) {
+        for (int i = from; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (!line.isEmpty()) {
+                return line.startsWith(ANSWER_PREFIX);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSeparator(String line) {
+        if (line.length() < 10) return false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) != '-') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gemini 답변(Markdown)을 표시용 텍스트 + 스타일 구간으로 바꾸는 파서 (안드로이드 의존성 없음)
+ * 지원: 제목(#), 목록(-, *, +, 1.), 인용(>), 코드 블록(```), **굵게**, *기울임*, `코드`, [링크](주소)
+ * 스타일을 실제 Span으로 바꾸는 것은 MarkdownRenderer (백그라운드 스레드)
+ */
+public final class MarkdownParser {
+
+    public static final int BOLD = 1;
+    public static final int ITALIC = 2;
+    public static final int CODE = 3;
+    public static final int HEADING = 4;
+    public static final int LIST_ITEM = 5;
+    public static final int QUOTE = 6;
+    public static final int CODE_BLOCK = 7;
+
+    private static final Pattern HEADING_LINE = Pattern.compile("^(#{1,6})\\s+(.*)$");
+    private static final Pattern BULLET_LINE = Pattern.compile("^(\\s*)[-*+]\\s+(.*)$");
+    private static final Pattern NUMBER_LINE = Pattern.compile("^(\\s*)(\\d{1,3})[.)]\\s+(.*)$");
+    private static final Pattern RULE_LINE = Pattern.compile("^\\s*([-*_])(\\s*\\1){2,}\\s*$");
+    private static final String FENCE = "```";
+
+    /**
+     * 스타일 구간 [start, end) (level: 제목 단계 또는 목록 들여쓰기 단계)
+     */
+    public static final class Style {
+        public final int type;
+        public final int start;
+        public final int end;
+        public final int level;
+
+        Style(int type, int start, int end, int level) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.level = level;
+        }
+    }
+
+    public static final class Result {
+        public final String text;
+        public final List<Style> styles;
+
+        Result(String text, List<Style> styles) {
+            this.text = text;
+            this.styles = styles;
+        }
+    }
+
+    private MarkdownParser() {
+    }
+
+    public static Result parse(String markdown) {
+        StringBuilder out = new StringBuilder(markdown.length());
+        List<Style> styles = new ArrayList<>();
+        String[] lines = markdown.replace("\r\n", "\n").split("\n", -1);
+
+        int codeBlockStart = -1;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (i > 0) {
+                out.append('\n');
+            }
+            int lineStart = out.length();
+
+            if (line.trim().startsWith(FENCE)) {
+                if (codeBlockStart < 0) {
+                    codeBlockStart = lineStart;
+                } else {
+                    addStyle(styles, CODE_BLOCK, codeBlockStart, trimNewline(out, lineStart), 0);
+                    codeBlockStart = -1;
+                }
+                continue; // 울타리 줄 자체는 표시하지 않음
+            }
+            if (codeBlockStart >= 0) {
+                out.append(line); // 코드 블록 안은 그대로
+                continue;
+            }
+
+            Matcher m;
+            if ((m = HEADING_LINE.matcher(line)).matches()) {
+                parseInline(m.group(2), out, styles);
+                addStyle(styles, HEADING, lineStart, out.length(), m.group(1).length());
+            } else if (RULE_LINE.matcher(line).matches()) {
+                // 구분선은 빈 줄로
+            } else if ((m = BULLET_LINE.matcher(line)).matches()) {
+                out.append("• ");
+                parseInline(m.group(2), out, styles);
+                addStyle(styles, LIST_ITEM, lineStart, out.length(), indentLevel(m.group(1)));
+            } else if ((m = NUMBER_LINE.matcher(line)).matches()) {
+                out.append(m.group(2)).append(". ");
+                parseInline(m.group(3), out, styles);
+                addStyle(styles, LIST_ITEM, lineStart, out.length(), indentLevel(m.group(1)));
+            } else if (line.startsWith(">")) {
+                parseInline(line.substring(line.startsWith("> ") ? 2 : 1), out, styles);
+                addStyle(styles, QUOTE, lineStart, out.length(), 0);
+            } else {
+                parseInline(line, out, styles);
+            }
+        }
+        if (codeBlockStart >= 0) {
+            // 닫히지 않은 코드 블록 (스트리밍 중) → 끝까지 코드로
+            addStyle(styles, CODE_BLOCK, codeBlockStart, out.length(), 0);
+        }
+        return new Result(out.toString(), Collections.unmodifiableList(styles));
+    }
+
+    /**
+     * 긴 답변을 문단 경계(빈 줄, 코드 블록 밖)에서 나눠 한 조각이 maxChars를 넘지 않도록 묶습니다.
+     * 문단 하나가 maxChars보다 길면 그 문단은 나누지 않음. 앞쪽 조각은 뒤에 글이 이어 붙어도 바뀌지 않음 (스트리밍)
+     */
+    public static List<String> splitParagraphs(String markdown, int maxChars) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        StringBuilder paragraph = new StringBuilder();
+        boolean inCode = false;
+        for (String line : markdown.replace("\r\n", "\n").split("\n", -1)) {
+            if (line.trim().startsWith(FENCE)) {
+                inCode = !inCode;
+            }
+            if (!inCode && line.trim().isEmpty()) {
+                addParagraph(parts, part, paragraph, maxChars);
+                continue;
+            }
+            if (paragraph.length() > 0) {
+                paragraph.append('\n');
+            }
+            paragraph.append(line);
+        }
+        addParagraph(parts, part, paragraph, maxChars);
+        if (part.length() > 0 || parts.isEmpty()) {
+            parts.add(part.toString());
+        }
+        return parts;
+    }
+
+    private static void addParagraph(List<String> parts, StringBuilder part, StringBuilder paragraph, int maxChars) {
+        if (paragraph.length() == 0) {
+            return;
+        }
+        if (part.length() > 0 && part.length() + 2 + paragraph.length() > maxChars) {
+            parts.add(part.toString());
+            part.setLength(0);
+        }
+        if (part.length() > 0) {
+            part.append("\n\n");
+        }
+        part.append(paragraph);
+        paragraph.setLength(0);
+    }
+
+    // 한 줄 안의 강조/코드/링크 (짝이 없는 기호는 그대로 표시)
+    private static void parseInline(String text, StringBuilder out, List<Style> styles) {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                out.append(text.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (c == '`') {
+                int close = text.indexOf('`', i + 1);
+                if (close > i + 1) {
+                    int start = out.length();
+                    out.append(text, i + 1, close);
+                    addStyle(styles, CODE, start, out.length(), 0);
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if ((c == '*' || c == '_') && text.startsWith(c == '*' ? "**" : "__", i)) {
+                int close = text.indexOf(c == '*' ? "**" : "__", i + 2);
+                if (close > i + 2) {
+                    int start = out.length();
+                    parseInline(text.substring(i + 2, close), out, styles);
+                    addStyle(styles, BOLD, start, out.length(), 0);
+                    i = close + 2;
+                    continue;
+                }
+            }
+            if (c == '*' && i + 1 < text.length() && !Character.isWhitespace(text.charAt(i + 1))) {
+                int close = findSingle(text, '*', i + 1);
+                if (close > i + 1) {
+                    int start = out.length();
+                    parseInline(text.substring(i + 1, close), out, styles);
+                    addStyle(styles, ITALIC, start, out.length(), 0);
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if (c == '[') {
+                int closeText = text.indexOf("](", i + 1);
+                int closeUrl = closeText < 0 ? -1 : text.indexOf(')', closeText + 2);
+                if (closeText > i + 1 && closeUrl > 0) {
+                    parseInline(text.substring(i + 1, closeText), out, styles); // 주소는 표시하지 않음
+                    i = closeUrl + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+    }
+
+    // "**"의 일부가 아닌 단일 기호 위치 (없으면 -1)
+    private static int findSingle(String text, char marker, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) != marker) continue;
+            if (i + 1 < text.length() && text.charAt(i + 1) == marker) {
+                i++;
+                continue;
+            }
+            return Character.isWhitespace(text.charAt(i - 1)) ? -1 : i;
+        }
+        return -1;
+    }
+
+    private static int indentLevel(String indent) {
+        int spaces = 0;
+        for (int i = 0; i < indent.length(); i++) {
+            spaces += indent.charAt(i) == '\t' ? 4 : 1;
+        }
+        return spaces / 2;
+    }
+
+    // 코드 블록 끝의 줄바꿈은 스타일에서 제외
+    private static int trimNewline(StringBuilder out, int end) {
+        return end > 0 && out.charAt(end - 1) == '\n' ? end - 1 : end;
+    }
+
+    private static void addStyle(List<Style> styles, int type, int start, int end, int level) {
+        if (end > start) {
+            styles.add(new Style(type, start, end, level));
+        }
+    }
+}
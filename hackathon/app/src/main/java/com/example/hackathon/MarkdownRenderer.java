@@ -0,0 +1,181 @@
+package com.example.hackathon;
+
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.LeadingMarginSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StyleSpan;
+import android.text.style.TypefaceSpan;
+
+import androidx.annotation.MainThread;
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AI 답변 Markdown → 스타일이 입혀진 텍스트 (앱 전체에서 하나)
+ * - 파싱(MarkdownParser) + Span 만들기 + 줄 배치 측정(PrecomputedTextCompat)을 모두 백그라운드 스레드에서 함
+ * - 결과는 줄(ChatRow stable id)마다 캐시 → 스크롤 중 바인딩은 캐시에서 꺼내 붙이기만 함
+ * - 스트리밍 중에는 같은 줄의 요청을 하나로 합치고, 새 결과가 올 때까지 직전 결과를 보여줌
+ */
+public class MarkdownRenderer {
+
+    /**
+     * 렌더링이 끝남 (메인 스레드)
+     */
+    public interface OnRenderedListener {
+        void onRendered(long key);
+    }
+
+    private static final int MAX_CACHED = 300;
+
+    // 스타일 값 (px가 아닌 글자 크기 배수 / 고정 색은 말풍선 배경 위에서 보이도록)
+    private static final float[] HEADING_SIZES = {1.3f, 1.2f, 1.1f};
+    private static final int LIST_INDENT_PX = 36;
+    private static final int CODE_BACKGROUND = 0x14000000;
+
+    private static MarkdownRenderer instance;
+
+    public static synchronized MarkdownRenderer getInstance() {
+        if (instance == null) {
+            instance = new MarkdownRenderer();
+        }
+        return instance;
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 아래 상태는 this로 보호
+    private final LinkedHashMap<Long, Rendered> cache = new LinkedHashMap<Long, Rendered>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Rendered> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+    private final Map<Long, String> pending = new HashMap<>(); // 렌더링을 기다리는 최신 원문
+    private PrecomputedTextCompat.Params params;
+
+    private static final class Rendered {
+        final String source;
+        final CharSequence text;
+        final boolean precomputed;
+
+        Rendered(String source, CharSequence text, boolean precomputed) {
+            this.source = source;
+            this.text = text;
+            this.precomputed = precomputed;
+        }
+    }
+
+    private MarkdownRenderer() {
+    }
+
+    /**
+     * 말풍선 TextView의 글꼴/크기 정보 (처음 만든 AI 말풍선에서 가져옴, 그 전에는 측정 없이 Span만 만듦)
+     */
+    @MainThread
+    public synchronized void setTextMetricsParams(PrecomputedTextCompat.Params params) {
+        if (this.params == null) {
+            this.params = params;
+        }
+    }
+
+    /**
+     * 캐시된 결과 (원문이 같거나, 스트리밍으로 뒤에 글이 붙기 전의 결과). 없으면 null
+     */
+    public synchronized CharSequence get(long key, String source) {
+        Rendered rendered = cache.get(key);
+        if (rendered == null) {
+            return null;
+        }
+        return source.startsWith(rendered.source) ? rendered.text : null;
+    }
+
+    /**
+     * 최신 결과가 없으면 백그라운드에서 렌더링합니다. (이미 있거나 기다리는 중이면 원문만 바꿈)
+     */
+    public void request(long key, String source, OnRenderedListener listener) {
+        synchronized (this) {
+            Rendered rendered = cache.get(key);
+            if (rendered != null && rendered.source.equals(source) && (rendered.precomputed || params == null)) {
+                return;
+            }
+            boolean queued = pending.containsKey(key);
+            pending.put(key, source);
+            if (queued) {
+                return;
+            }
+        }
+        executor.execute(() -> renderLatest(key, listener));
+    }
+
+    // 기다리는 동안 원문이 또 바뀌었으면 (스트리밍) 최신 원문으로 다시
+    private void renderLatest(long key, OnRenderedListener listener) {
+        while (true) {
+            String source;
+            PrecomputedTextCompat.Params metrics;
+            synchronized (this) {
+                source = pending.get(key);
+                metrics = params;
+            }
+            Spanned spanned = toSpanned(MarkdownParser.parse(source));
+            CharSequence text = metrics != null ? PrecomputedTextCompat.create(spanned, metrics) : spanned;
+            boolean done;
+            synchronized (this) {
+                cache.put(key, new Rendered(source, text, metrics != null));
+                done = pending.get(key) == source;
+                if (done) {
+                    pending.remove(key);
+                }
+            }
+            mainHandler.post(() -> listener.onRendered(key));
+            if (done) {
+                return;
+            }
+        }
+    }
+
+    static Spanned toSpanned(MarkdownParser.Result result) {
+        SpannableStringBuilder text = new SpannableStringBuilder(result.text);
+        for (MarkdownParser.Style style : result.styles) {
+            int flags = Spanned.SPAN_EXCLUSIVE_EXCLUSIVE;
+            switch (style.type) {
+                case MarkdownParser.BOLD:
+                    text.setSpan(new StyleSpan(Typeface.BOLD), style.start, style.end, flags);
+                    break;
+                case MarkdownParser.ITALIC:
+                case MarkdownParser.QUOTE:
+                    text.setSpan(new StyleSpan(Typeface.ITALIC), style.start, style.end, flags);
+                    break;
+                case MarkdownParser.CODE:
+                case MarkdownParser.CODE_BLOCK:
+                    text.setSpan(new TypefaceSpan("monospace"), style.start, style.end, flags);
+                    text.setSpan(new BackgroundColorSpan(CODE_BACKGROUND), style.start, style.end, flags);
+                    break;
+                case MarkdownParser.HEADING:
+                    float size = HEADING_SIZES[Math.min(style.level, HEADING_SIZES.length) - 1];
+                    text.setSpan(new StyleSpan(Typeface.BOLD), style.start, style.end, flags);
+                    text.setSpan(new RelativeSizeSpan(size), style.start, style.end, flags);
+                    break;
+                case MarkdownParser.LIST_ITEM:
+                    // 줄이 넘어가면 글머리표 뒤에 맞춰 들여씀 (문단 스타일이라 줄 끝까지)
+                    int first = style.level * LIST_INDENT_PX;
+                    text.setSpan(new LeadingMarginSpan.Standard(first, first + LIST_INDENT_PX),
+                            style.start, style.end, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * OkHttp 호출 하나의 단계별 시간을 재서 ApiMetrics에 기록하는 EventListener (호출마다 새로 만듦)
+ * - dns / connect(TCP + TLS) / tls: 새 연결을 열 때만
+ * - ttfb: 호출 시작 → 응답 헤더 도착
+ * - total: 호출 시작 → 끝 (스트리밍 응답은 본문을 다 읽고 닫을 때까지)
+ * 엔드포인트는 URL 경로의 첫 부분(chat, chat_stream, upload ...), 기업은 요청 본문/쿼리에서 꺼냄
+ */
+public class MetricsEventListener extends EventListener {
+
+    /**
+     * RetrofitClient의 OkHttpClient에 등록하는 팩토리
+     */
+    public static final class Factory implements EventListener.Factory {
+        private final ApiMetrics metrics;
+
+        public Factory(ApiMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            return new MetricsEventListener(metrics);
+        }
+    }
+
+    private final ApiMetrics metrics;
+    private final long[] phaseMillis = new long[ApiMetrics.PHASE_NAMES.length];
+
+    // 한 호출의 이벤트는 순서대로 오지만 스레드가 바뀔 수 있으므로 (enqueue → 콜백) 메서드 단위로 동기화
+    private long callStart;
+    private long dnsStart;
+    private long connectStart = -1;
+    private long secureConnectStart;
+
+    MetricsEventListener(ApiMetrics metrics) {
+        this.metrics = metrics;
+        Arrays.fill(phaseMillis, -1);
+    }
+
+    @Override
+    public synchronized void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        phaseMillis[ApiMetrics.DNS] = elapsedMillis(dnsStart);
+    }
+
+    @Override
+    public synchronized void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void secureConnectEnd(Call call, Handshake handshake) {
+        phaseMillis[ApiMetrics.TLS] = elapsedMillis(secureConnectStart);
+    }
+
+    @Override
+    public synchronized void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                                        Protocol protocol) {
+        phaseMillis[ApiMetrics.CONNECT] = elapsedMillis(connectStart);
+    }
+
+    @Override
+    public synchronized void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                                           Protocol protocol, IOException ioe) {
+        // OkHttp가 다른 경로로 다시 연결을 시도할 수 있음 (retryOnConnectionFailure)
+        metrics.recordRetry("connect");
+    }
+
+    @Override
+    public synchronized void connectionAcquired(Call call, Connection connection) {
+        metrics.increment(connectStart < 0 ? "connection.reused" : "connection.new");
+    }
+
+    @Override
+    public synchronized void responseHeadersStart(Call call) {
+        if (phaseMillis[ApiMetrics.TTFB] < 0) {
+            phaseMillis[ApiMetrics.TTFB] = elapsedMillis(callStart);
+        }
+    }
+
+    @Override
+    public synchronized void responseHeadersEnd(Call call, Response response) {
+        if (response.code() >= 500) {
+            metrics.increment("http." + response.code());
+        }
+    }
+
+    @Override
+    public synchronized void callEnd(Call call) {
+        finish(call.request(), false);
+    }
+
+    @Override
+    public synchronized void callFailed(Call call, IOException ioe) {
+        finish(call.request(), true);
+    }
+
+    private void finish(Request request, boolean failed) {
+        phaseMillis[ApiMetrics.TOTAL] = elapsedMillis(callStart);
+        metrics.recordCall(endpointOf(request.url()), companyOf(request), phaseMillis, failed);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    static String endpointOf(HttpUrl url) {
+        for (String segment : url.pathSegments()) {
+            if (!segment.isEmpty()) {
+                return segment;
+            }
+        }
+        return "/";
+    }
+
+    /**
+     * 요청의 기업명 (쿼리 company 또는 Retrofit 메서드 인자의 본문 객체, 없으면 null)
+     */
+    static String companyOf(Request request) {
+        String company = request.url().queryParameter("company");
+        if (company != null) {
+            return company;
+        }
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return null;
+        }
+        for (Object argument : invocation.arguments()) {
+            if (argument instanceof ChatRequest) {
+                return ((ChatRequest) argument).getCompanyName();
+            } else if (argument instanceof UploadSessionRequest) {
+                return ((UploadSessionRequest) argument).getCompanyName();
+            } else if (argument instanceof ManualDeltaRequest) {
+                return ((ManualDeltaRequest) argument).getCompanyName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hackathon;
+
+import android.net.Uri;
+import android.os.Build;
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 네트워크 통계 디버그 화면 (디버그 빌드에서 MainActivity 메뉴로 들어옴)
+ * API 지연 시간 히스토그램(p50/p95/p99), 캐시 적중률, 재시도 횟수를 보여주고 텍스트 파일로 내보냄
+ */
+public class NetworkMetricsActivity extends AppCompatActivity {
+
+    private TextView textMetricsReport;
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor();
+
+    // 저장 위치는 사용자가 고름 (저장소 권한 불필요)
+    private final ActivityResultLauncher<String> exportLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("text/plain"),
+            uri -> {
+                if (uri != null) {
+                    export(uri, textMetricsReport.getText().toString());
+                }
+            }
+    );
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_network_metrics);
+
+        textMetricsReport = findViewById(R.id.textMetricsReport);
+        Button buttonRefresh = findViewById(R.id.buttonRefreshMetrics);
+        Button buttonReset = findViewById(R.id.buttonResetMetrics);
+        Button buttonExport = findViewById(R.id.buttonExportMetrics);
+
+        buttonRefresh.setOnClickListener(v -> refresh());
+        buttonReset.setOnClickListener(v -> {
+            ApiMetrics.getInstance().reset();
+            refresh();
+        });
+        buttonExport.setOnClickListener(v -> {
+            refresh(); // 보이는 내용과 파일 내용이 같도록
+            String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+            exportLauncher.launch("network-metrics-" + stamp + ".txt");
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refresh();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        exportExecutor.shutdown();
+    }
+
+    private void refresh() {
+        String header = "생성: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US).format(new Date())
+                + "\n기기: " + Build.MANUFACTURER + " " + Build.MODEL + " (API " + Build.VERSION.SDK_INT + ")"
+                + "\n보관함 대기: " + OutboxManager.getInstance(this).getPendingCount() + "건\n\n"
+                + "[서버]\n" + RetrofitClient.getEndpointPool().describe() + "\n"
+                + "[요청 제한]\n" + RetrofitClient.getAdmission().describe() + "\n";
+        textMetricsReport.setText(header + ApiMetrics.getInstance().report());
+    }
+
+    private void export(Uri uri, String report) {
+        exportExecutor.execute(() -> {
+            String message;
+            try (OutputStream out = getContentResolver().openOutputStream(uri)) {
+                if (out == null) {
+                    throw new IOException("파일을 열 수 없습니다.");
+                }
+                out.write(report.getBytes(StandardCharsets.UTF_8));
+                message = "통계를 저장했습니다.";
+            } catch (IOException e) {
+                message = "저장 실패: " + e.getMessage();
+            }
+            String result = message;
+            runOnUiThread(() -> Toast.makeText(this, result, Toast.LENGTH_SHORT).show());
+        });
+    }
+}
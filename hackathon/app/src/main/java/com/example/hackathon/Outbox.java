@@ -0,0 +1,315 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보내지 못한 질문/업로드를 파일에 저장해 두고 나중에 다시 보내는 보관함 (안드로이드 API 없이 동작)
+ * - 실패하면 지수 백오프 + 지터로 다시 시도 (BASE → 2배씩, 최대 MAX), MAX_ATTEMPTS번 실패하면 포기
+ * - 같은 dedupKey의 작업은 하나로 합침
+ * - 오프라인(setOnline(false)) 동안은 시도하지 않고 시도 횟수도 늘리지 않음
+ * 모든 상태는 executor 스레드 하나에서만 다룸
+ */
+public class Outbox {
+
+    static final long DEFAULT_BASE_DELAY_MILLIS = 2000;
+    static final long DEFAULT_MAX_DELAY_MILLIS = 5 * 60 * 1000;
+    static final int DEFAULT_MAX_ATTEMPTS = 8;
+
+    /**
+     * 작업을 실제로 보내는 쪽 (executor 스레드에서 호출, 블로킹)
+     * 성공하면 결과(답변, 등록된 기업명 등)를 반환하고, 실패하면 IOException
+     * 거절(UploadException, 재시도 불가 코드)이면 다시 보내지 않음
+     */
+    public interface Deliverer {
+        String deliver(OutboxItem item) throws IOException;
+
+        /**
+         * 이번에 보낼 작업 전체를 deliver 전에 한 번 알려 줌 (여러 작업을 한 요청으로 묶을 수 있도록)
+         */
+        default void prepare(List<OutboxItem> due) {
+        }
+    }
+
+    /**
+     * 작업 결과 (executor 스레드에서 호출)
+     */
+    public interface Listener {
+        void onDelivered(OutboxItem item, String result);
+
+        void onGaveUp(OutboxItem item, IOException error);
+    }
+
+    private final File file;
+    private final Deliverer deliverer;
+    private final ScheduledExecutorService executor;
+    private final Random random;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxAttempts;
+    private final Gson gson = new Gson();
+
+    private List<OutboxItem> items; // 처음 사용할 때 파일에서 읽음
+    private ScheduledFuture<?> wakeUp;
+    private volatile boolean online = true;
+    private volatile int pendingCount;
+    private volatile Listener listener;
+
+    public Outbox(File file, Deliverer deliverer, ScheduledExecutorService executor, Random random) {
+        this(file, deliverer, executor, random,
+                DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public Outbox(File file, Deliverer deliverer, ScheduledExecutorService executor, Random random,
+                  long baseDelayMillis, long maxDelayMillis, int maxAttempts) {
+        this.file = file;
+        this.deliverer = deliverer;
+        this.executor = executor;
+        this.random = random;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 저장된 작업을 읽고 보낼 때가 된 것부터 보냅니다. (앱 시작 시)
+     */
+    public void start() {
+        executor.execute(this::process);
+    }
+
+    /**
+     * 작업을 저장하고 바로 한 번 보내 봅니다. 같은 dedupKey의 작업이 있으면 합침
+     */
+    public void enqueue(OutboxItem item) {
+        executor.execute(() -> {
+            long now = now();
+            OutboxItem existing = find(item.getDedupKey());
+            if (existing != null) {
+                String obsolete = existing.coalesce(item);
+                if (obsolete != null) {
+                    new File(obsolete).delete();
+                }
+                existing.setNextAttemptAt(now);
+            } else {
+                item.setCreatedAt(now);
+                item.setNextAttemptAt(now);
+                load().add(item);
+            }
+            save();
+            process();
+        });
+    }
+
+    /**
+     * 연결 상태 변경 (다시 연결되면 기다리던 작업을 모두 바로 보냄)
+     */
+    public void setOnline(boolean online) {
+        boolean wasOnline = this.online;
+        this.online = online;
+        if (online && !wasOnline) {
+            retryNow();
+        }
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * 백오프 대기 중인 작업까지 모두 지금 보냅니다.
+     */
+    public void retryNow() {
+        executor.execute(() -> {
+            long now = now();
+            for (OutboxItem item : load()) {
+                item.setNextAttemptAt(Math.min(item.getNextAttemptAt(), now));
+            }
+            process();
+        });
+    }
+
+    // 저장된 작업 수 (파일을 읽기 전에는 0)
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * attempt번째 실패 후 기다릴 시간 (equal jitter: 상한의 절반 + 0 ~ 절반 사이 임의 값)
+     * 여러 기기가 동시에 다시 연결되어도 재시도 시각이 흩어짐
+     */
+    static long backoffDelay(int attempt, long baseDelayMillis, long maxDelayMillis, Random random) {
+        long cap = baseDelayMillis << Math.min(Math.max(attempt - 1, 0), 20);
+        cap = Math.min(cap, maxDelayMillis);
+        long half = cap / 2;
+        return half + (long) (random.nextDouble() * (cap - half));
+    }
+
+    // 재시도하면 성공할 수 있는 실패인지 (연결 실패 등은 재시도, 서버가 거절한 요청은 포기)
+    static boolean isRetryable(IOException e) {
+        return !(e instanceof UploadException) || ((UploadException) e).isRetryable();
+    }
+
+    // 테스트에서 시간을 바꿀 수 있도록 분리
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    // --- 내부 구현 (executor 스레드) ---
+
+    private void process() {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        List<OutboxItem> all = load();
+        if (!online || all.isEmpty()) {
+            return;
+        }
+
+        long now = now();
+        List<OutboxItem> due = new ArrayList<>();
+        for (OutboxItem item : all) {
+            if (item.getNextAttemptAt() <= now) {
+                due.add(item);
+            }
+        }
+        due.sort((a, b) -> Long.compare(a.getCreatedAt(), b.getCreatedAt()));
+        deliverer.prepare(due);
+
+        Long networkRetryAt = null; // 연결 자체가 실패하면 남은 작업도 같은 시각으로 미룸
+        for (OutboxItem item : due) {
+            if (networkRetryAt != null) {
+                item.setNextAttemptAt(networkRetryAt);
+                continue;
+            }
+            try {
+                String result = deliverer.deliver(item);
+                all.remove(item);
+                save();
+                notifyDelivered(item, result);
+            } catch (IOException e) {
+                int attempts = item.getAttempts() + 1;
+                if (!isRetryable(e) || attempts >= maxAttempts) {
+                    all.remove(item);
+                    save();
+                    notifyGaveUp(item, e);
+                    continue;
+                }
+                item.setAttempts(attempts);
+                ApiMetrics.getInstance().recordRetry("outbox");
+                item.setNextAttemptAt(now() + backoffDelay(attempts, baseDelayMillis, maxDelayMillis, random));
+                if (!(e instanceof UploadException)) {
+                    networkRetryAt = item.getNextAttemptAt();
+                }
+                save();
+            } catch (RuntimeException e) {
+                // 저장된 내용이 잘못된 작업 → 버림 (다른 작업을 막지 않도록)
+                all.remove(item);
+                save();
+                notifyGaveUp(item, new IOException("잘못된 작업", e));
+            }
+        }
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        if (items.isEmpty() || !online) {
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (OutboxItem item : items) {
+            next = Math.min(next, item.getNextAttemptAt());
+        }
+        long delay = Math.max(0, next - now());
+        wakeUp = executor.schedule(this::process, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private OutboxItem find(String dedupKey) {
+        for (OutboxItem item : load()) {
+            if (item.getDedupKey().equals(dedupKey)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private List<OutboxItem> load() {
+        if (items != null) {
+            return items;
+        }
+        items = new ArrayList<>();
+        if (file.exists()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                List<OutboxItem> saved = gson.fromJson(reader, new TypeToken<List<OutboxItem>>() {}.getType());
+                if (saved != null) {
+                    for (Iterator<OutboxItem> it = saved.iterator(); it.hasNext(); ) {
+                        OutboxItem item = it.next();
+                        if (item == null || item.getDedupKey() == null) {
+                            it.remove();
+                        }
+                    }
+                    items.addAll(saved);
+                }
+            } catch (IOException | JsonParseException e) {
+                // 손상된 파일 → 빈 보관함으로 시작 (다음 저장 때 덮어씀)
+            }
+        }
+        pendingCount = items.size();
+        return items;
+    }
+
+    // 임시 파일에 쓰고 교체 (쓰는 도중 종료되어도 이전 내용이 남음)
+    private void save() {
+        pendingCount = items.size();
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(items, writer);
+        } catch (IOException e) {
+            return; // 메모리에는 남아 있으므로 다음 저장 때 다시 씀
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+
+    private void notifyDelivered(OutboxItem item, String result) {
+        Listener l = listener;
+        if (l != null) {
+            l.onDelivered(item, result);
+        }
+    }
+
+    private void notifyGaveUp(OutboxItem item, IOException error) {
+        Listener l = listener;
+        if (l != null) {
+            l.onGaveUp(item, error);
+        }
+    }
+}
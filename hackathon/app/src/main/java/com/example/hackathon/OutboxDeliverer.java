@@ -0,0 +1,131 @@
+package com.example.hackathon;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Response;
+
+/**
+ * 보관함 작업을 서버로 보내는 Outbox.Deliverer (블로킹, 보관함 스레드에서 호출)
+ * - 질문: /chat 으로 전체 답변을 받아 반환 (한 번에 보낼 질문이 여러 개면 /chat_batch 한 번으로 미리 받아 둠)
+ * - 업로드: 복사해 둔 파일을 분할 업로드 (중간에 끊겨도 다음 시도에서 서버에 없는 조각만 보냄)
+ */
+public class OutboxDeliverer implements Outbox.Deliverer {
+
+    // 배치 답변을 기다리는 최대 시간 (질문마다 Gemini 생성 시간이 걸림)
+    private static final long BATCH_WAIT_SECONDS = 150;
+
+    private final ApiService apiService;
+    private final int partSize;
+    private final ChatBatcher batcher;
+
+    // prepare에서 미리 받은 결과: 답변(String) 또는 서버가 거절한 이유(UploadException). 보관함 스레드에서만 사용
+    private final Map<OutboxItem, Object> prepared = new IdentityHashMap<>();
+
+    public OutboxDeliverer(ApiService apiService) {
+        this(apiService, ResumableUploader.DEFAULT_PART_SIZE);
+    }
+
+    public OutboxDeliverer(ApiService apiService, int partSize) {
+        this(apiService, partSize, new ChatBatcher(apiService));
+    }
+
+    public OutboxDeliverer(ApiService apiService, int partSize, ChatBatcher batcher) {
+        this.apiService = apiService;
+        this.partSize = partSize;
+        this.batcher = batcher;
+    }
+
+    /**
+     * 다시 보낼 질문이 둘 이상이면 /chat_batch 한 번으로 모두 물어봄
+     * 배치가 실패한 질문(연결 실패, 배치를 모르는 서버 등)은 deliver에서 /chat으로 하나씩 보냄
+     */
+    @Override
+    public void prepare(List<OutboxItem> due) {
+        prepared.clear();
+        List<OutboxItem> chats = new ArrayList<>();
+        for (OutboxItem item : due) {
+            if (item.isChat()) {
+                chats.add(item);
+            }
+        }
+        if (chats.size() < 2) {
+            return;
+        }
+
+        Map<OutboxItem, Object> results = Collections.synchronizedMap(new IdentityHashMap<>());
+        CountDownLatch done = new CountDownLatch(chats.size());
+        for (OutboxItem item : chats) {
+            batcher.submit(item.getQuery(), item.getCompanyName(), item.getContextId(), item.getContext(),
+                    new ChatBatcher.Callback() {
+                @Override
+                public void onAnswer(String answer) {
+                    results.put(item, answer);
+                    done.countDown();
+                }
+
+                @Override
+                public void onError(IOException e) {
+                    if (e instanceof UploadException) {
+                        results.put(item, e);
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        batcher.flush();
+        try {
+            done.await(BATCH_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (results) {
+            prepared.putAll(results);
+        }
+    }
+
+    @Override
+    public String deliver(OutboxItem item) throws IOException {
+        if (item.isChat()) {
+            return deliverChat(item);
+        }
+        return deliverUpload(item);
+    }
+
+    private String deliverChat(OutboxItem item) throws IOException {
+        Object result = prepared.remove(item);
+        if (result instanceof String) {
+            return (String) result;
+        }
+        if (result instanceof UploadException) {
+            throw (UploadException) result;
+        }
+        // 서버가 그 사이 대화를 잊었을 수 있으므로 digest가 아닌 전체 창을 보냄 (409 없음)
+        Response<ChatResponse> response = apiService.sendChat(new ChatRequest(item.getQuery(),
+                item.getCompanyName(), item.getContextId(), null, item.getContext())).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            // 5xx/408/429면 다시 시도, 그 밖의 거절은 포기 (Outbox.isRetryable)
+            throw UploadException.from(response);
+        }
+        return response.body().getAnswer();
+    }
+
+    private String deliverUpload(OutboxItem item) throws IOException {
+        File file = new File(item.getFilePath());
+        if (!file.exists()) {
+            throw new UploadException(0, "업로드할 파일이 없습니다.");
+        }
+        UploadResponse response = new ResumableUploader(apiService, partSize).upload(
+                item.getCompanyName(), item.getFileName(),
+                () -> new FileInputStream(file), file.length(), null);
+        return response.getCompanyName();
+    }
+}
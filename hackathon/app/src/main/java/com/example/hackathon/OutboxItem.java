@@ -0,0 +1,192 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 보관함(Outbox)에 저장된, 나중에 다시 보낼 작업 하나 (질문 또는 매뉴얼 업로드)
+ * Gson으로 파일에 저장됨
+ */
+public class OutboxItem {
+
+    public static final String TYPE_CHAT = "chat";
+    public static final String TYPE_UPLOAD = "upload";
+
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("type")
+    private String type;
+
+    // 같은 키의 작업은 하나로 합침 (같은 세션의 같은 질문 / 같은 기업의 매뉴얼)
+    @SerializedName("dedupKey")
+    private String dedupKey;
+
+    @SerializedName("companyName")
+    private String companyName;
+
+    // --- 질문 ---
+    @SerializedName("sessionKey")
+    private String sessionKey;
+
+    @SerializedName("query")
+    private String query;
+
+    // 답변을 채울 AI 말풍선들 (같은 질문을 여러 번 보냈으면 여러 개)
+    @SerializedName("messageIds")
+    private List<Long> messageIds = new ArrayList<>();
+
+    // 보관할 때의 이전 대화 (ConversationContext, 다시 보낼 때 전체 창을 함께 보냄)
+    @SerializedName("contextId")
+    private String contextId;
+
+    @SerializedName("context")
+    private List<ConversationContext.Turn> context;
+
+    // --- 업로드 ---
+    @SerializedName("fileName")
+    private String fileName;
+
+    // 업로드할 내용을 복사해 둔 파일 (원본 Uri는 나중에 읽지 못할 수 있음)
+    @SerializedName("filePath")
+    private String filePath;
+
+    // --- 재시도 상태 ---
+    @SerializedName("attempts")
+    private int attempts;
+
+    @SerializedName("nextAttemptAt")
+    private long nextAttemptAt;
+
+    @SerializedName("createdAt")
+    private long createdAt;
+
+    // Gson용
+    OutboxItem() {
+    }
+
+    public static OutboxItem chat(String companyName, String sessionKey, String query, long messageId) {
+        return chat(companyName, sessionKey, query, messageId, null, null);
+    }
+
+    public static OutboxItem chat(String companyName, String sessionKey, String query, long messageId,
+                                  String contextId, List<ConversationContext.Turn> context) {
+        OutboxItem item = new OutboxItem();
+        item.id = UUID.randomUUID().toString();
+        item.type = TYPE_CHAT;
+        item.dedupKey = TYPE_CHAT + "|" + sessionKey + "|" + AnswerCache.normalizeQuery(query);
+        item.companyName = companyName;
+        item.sessionKey = sessionKey;
+        item.query = query;
+        item.messageIds.add(messageId);
+        item.contextId = contextId;
+        item.context = context;
+        return item;
+    }
+
+    public static OutboxItem upload(String companyName, String fileName, String filePath) {
+        OutboxItem item = new OutboxItem();
+        item.id = UUID.randomUUID().toString();
+        item.type = TYPE_UPLOAD;
+        item.dedupKey = TYPE_UPLOAD + "|" + companyName;
+        item.companyName = companyName;
+        item.fileName = fileName;
+        item.filePath = filePath;
+        return item;
+    }
+
+    /**
+     * 같은 키의 새 작업을 이 작업에 합칩니다.
+     * 질문은 말풍선만 추가하고, 업로드는 최신 파일로 교체 (더 이상 쓰지 않는 이전 파일 경로를 돌려줌)
+     */
+    String coalesce(OutboxItem newer) {
+        attempts = 0;
+        if (TYPE_CHAT.equals(type)) {
+            for (Long messageId : newer.messageIds) {
+                if (!messageIds.contains(messageId)) {
+                    messageIds.add(messageId);
+                }
+            }
+            return null;
+        }
+        String obsolete = filePath;
+        fileName = newer.fileName;
+        filePath = newer.filePath;
+        return obsolete != null && !obsolete.equals(filePath) ? obsolete : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isChat() {
+        return TYPE_CHAT.equals(type);
+    }
+
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<Long> getMessageIds() {
+        return messageIds;
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    public List<ConversationContext.Turn> getContext() {
+        return context;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    void setNextAttemptAt(long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+}
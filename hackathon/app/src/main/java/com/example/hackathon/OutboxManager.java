@@ -0,0 +1,212 @@
+package com.example.hackathon;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * 앱 전체가 공유하는 보관함 (Outbox + 연결 상태 감시 + 결과 반영)
+ * - 보내지 못한 질문은 답변이 오면 저장된 대화(ChatHistoryStore)의 말풍선을 채우고, 화면이 열려 있으면 화면도 갱신
+ * - 보내지 못한 업로드는 성공하면 기업 목록에 추가하고 알림(Toast)
+ * - 네트워크가 다시 연결되면 기다리던 작업을 바로 보냄
+ */
+public class OutboxManager {
+
+    private static final String TAG = "OutboxManager";
+
+    /**
+     * 보관함의 질문에 답변이 도착함 (메인 스레드)
+     */
+    public interface OnChatDeliveredListener {
+        void onChatDelivered(long messageId, String answer);
+    }
+
+    private static OutboxManager instance;
+
+    public static synchronized OutboxManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new OutboxManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context context;
+    private final File uploadDir;
+    private final Outbox outbox;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnChatDeliveredListener> chatListeners = new CopyOnWriteArrayList<>();
+
+    private OutboxManager(Context context) {
+        this.context = context;
+        File dir = new File(context.getFilesDir(), "outbox");
+        this.uploadDir = new File(dir, "uploads");
+        this.outbox = new Outbox(new File(dir, "outbox.json"),
+                new OutboxDeliverer(RetrofitClient.getApiService()),
+                Executors.newSingleThreadScheduledExecutor(), new Random());
+        outbox.setListener(new Outbox.Listener() {
+            @Override
+            public void onDelivered(OutboxItem item, String result) {
+                if (item.isChat()) {
+                    onChatAnswered(item, result);
+                } else {
+                    onUploadRegistered(item, result);
+                }
+            }
+
+            @Override
+            public void onGaveUp(OutboxItem item, IOException error) {
+                Log.w(TAG, "다시 보내기 포기: " + item.getType(), error);
+                if (item.isChat()) {
+                    ChatHistoryStore history = ChatHistoryStore.getInstance(context);
+                    for (long messageId : item.getMessageIds()) {
+                        history.updateText(messageId, "오류: 답변을 받지 못했습니다. (다시 보내기 실패)");
+                    }
+                } else {
+                    deleteUploadFile(item);
+                    mainHandler.post(() -> Toast.makeText(context,
+                            item.getCompanyName() + " 매뉴얼 업로드 실패: " + error.getMessage(),
+                            Toast.LENGTH_LONG).show());
+                }
+            }
+        });
+
+        watchConnectivity();
+        outbox.start();
+    }
+
+    /**
+     * 지금 네트워크에 연결되어 있는지 (연결이 없으면 요청을 보내지 않고 바로 보관함에 넣음)
+     */
+    public boolean isOnline() {
+        return outbox.isOnline();
+    }
+
+    /**
+     * 답을 받지 못한 질문을 보관 (답변은 messageId 말풍선에 채워짐)
+     * 세션의 이전 대화도 함께 보관해서 다시 보낼 때 후속 질문의 문맥이 유지됨
+     */
+    public void enqueueChat(String companyName, String sessionKey, String query, long messageId) {
+        ConversationContext conversation = ConversationContext.forSession(sessionKey);
+        outbox.enqueue(OutboxItem.chat(companyName, sessionKey, query, messageId,
+                conversation.getContextId(), conversation.getTurns()));
+    }
+
+    /**
+     * 올리지 못한 매뉴얼을 앱 저장소에 복사해서 보관 (원본 Uri는 나중에 읽지 못할 수 있음)
+     */
+    @WorkerThread
+    public void enqueueUpload(String companyName, String fileName,
+                              StreamingUploadBody.StreamOpener opener) throws IOException {
+        if (!uploadDir.exists() && !uploadDir.mkdirs()) {
+            throw new IOException("보관함 폴더를 만들 수 없습니다.");
+        }
+        File copy = new File(uploadDir, UUID.randomUUID().toString());
+        try (InputStream in = opener.open(); OutputStream out = new FileOutputStream(copy)) {
+            if (in == null) {
+                throw new IOException("파일을 열 수 없습니다.");
+            }
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            copy.delete();
+            throw e;
+        }
+        outbox.enqueue(OutboxItem.upload(companyName, fileName, copy.getPath()));
+    }
+
+    public int getPendingCount() {
+        return outbox.getPendingCount();
+    }
+
+    @MainThread
+    public void addOnChatDeliveredListener(@NonNull OnChatDeliveredListener listener) {
+        chatListeners.add(listener);
+    }
+
+    @MainThread
+    public void removeOnChatDeliveredListener(@NonNull OnChatDeliveredListener listener) {
+        chatListeners.remove(listener);
+    }
+
+    // --- 결과 반영 (보관함 스레드) ---
+
+    private void onChatAnswered(OutboxItem item, String answer) {
+        String text = answer + "\n\n(연결이 복구되어 다시 받은 답변입니다.)";
+        ChatHistoryStore history = ChatHistoryStore.getInstance(context);
+        for (long messageId : item.getMessageIds()) {
+            history.updateText(messageId, text);
+        }
+        List<ConversationContext.Turn> turns = item.getContext();
+        if (turns == null || turns.isEmpty()) {
+            AnswerCache.getInstance(context).put(item.getCompanyName(), item.getQuery(), answer); // 이전 대화 없이 나온 답변만
+        }
+        ConversationContext conversation = ConversationContext.forSession(item.getSessionKey());
+        if (conversation.getContextId().equals(item.getContextId())) {
+            // 그 사이 대화가 이어졌을 수 있으므로 서버 창과 같다고 보지 않음 (다음 질문에 전체 창을 보냄)
+            conversation.addLocalTurn(item.getQuery(), answer);
+        }
+        mainHandler.post(() -> {
+            for (long messageId : item.getMessageIds()) {
+                for (OnChatDeliveredListener listener : chatListeners) {
+                    listener.onChatDelivered(messageId, text);
+                }
+            }
+        });
+    }
+
+    private void onUploadRegistered(OutboxItem item, String registeredName) {
+        deleteUploadFile(item);
+        CompanyRegistry.getInstance(context).addCompany(registeredName);
+        AnswerCache.getInstance(context).invalidateCompany(registeredName);
+        mainHandler.post(() -> Toast.makeText(context,
+                registeredName + " 매뉴얼 등록 성공! (연결 복구 후 자동 업로드)", Toast.LENGTH_LONG).show());
+    }
+
+    private void deleteUploadFile(OutboxItem item) {
+        if (item.getFilePath() != null) {
+            new File(item.getFilePath()).delete();
+        }
+    }
+
+    private void watchConnectivity() {
+        ConnectivityManager connectivity =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivity == null) {
+            return;
+        }
+        outbox.setOnline(connectivity.getActiveNetwork() != null);
+        connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                outbox.setOnline(true);
+            }
+
+            @Override
+            public void onLost(@NonNull Network network) {
+                outbox.setOnline(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hackathon;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.MainThread;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 질문 입력창 자동 완성 (MainActivity가 사용)
+ * - 입력이 DEBOUNCE_MILLIS 동안 멈추면 백그라운드 스레드에서 QuestionSuggester로 검색
+ * - 결과는 입력창 위 제안 줄에 표시 (줄 View는 처음에 MAX_SUGGESTIONS개만 만들고 재사용)
+ * - 제안을 누르면 입력창을 그 질문으로 바꿈 (보내기는 사용자가)
+ */
+public class QuestionAutocomplete implements TextWatcher {
+
+    static final long DEBOUNCE_MILLIS = 150;
+    static final int MAX_SUGGESTIONS = 3;
+
+    /**
+     * 지금 상담 중인 기업의 자동 완성 색인 (준비되지 않았거나 매뉴얼이 없으면 null)
+     */
+    public interface SuggesterProvider {
+        QuestionSuggester get();
+    }
+
+    private final EditText input;
+    private final LinearLayout container;
+    private final SuggesterProvider provider;
+    private final TextView[] rows = new TextView[MAX_SUGGESTIONS];
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Runnable search = this::search;
+
+    private int generation; // 늦게 도착한 이전 검색 결과는 버림 (메인 스레드에서만 사용)
+    private boolean picking;
+
+    public QuestionAutocomplete(EditText input, LinearLayout container, SuggesterProvider provider) {
+        this.input = input;
+        this.container = container;
+        this.provider = provider;
+
+        LayoutInflater inflater = LayoutInflater.from(container.getContext());
+        for (int i = 0; i < rows.length; i++) {
+            TextView row = (TextView) inflater.inflate(R.layout.item_question_suggestion, container, false);
+            row.setOnClickListener(v -> pick(((TextView) v).getText().toString()));
+            container.addView(row);
+            rows[i] = row;
+        }
+        input.addTextChangedListener(this);
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        generation++;
+        mainHandler.removeCallbacks(search);
+        if (picking || s.length() < QuestionSuggester.MIN_INPUT_CHARS) {
+            hide();
+            return;
+        }
+        mainHandler.postDelayed(search, DEBOUNCE_MILLIS);
+    }
+
+    private void search() {
+        QuestionSuggester suggester = provider.get();
+        if (suggester == null) {
+            hide();
+            return;
+        }
+        String typed = input.getText().toString();
+        int requested = generation;
+        executor.execute(() -> {
+            List<ManualEntry> suggestions = suggester.suggest(typed, MAX_SUGGESTIONS);
+            mainHandler.post(() -> {
+                if (requested == generation) {
+                    show(typed, suggestions);
+                }
+            });
+        });
+    }
+
+    private void show(String typed, List<ManualEntry> suggestions) {
+        String typedKey = QuestionSuggester.normalize(typed);
+        int shown = 0;
+        for (ManualEntry entry : suggestions) {
+            // 이미 그 질문을 다 입력했으면 제안하지 않음
+            if (QuestionSuggester.normalize(entry.getQuestion()).equals(typedKey)) continue;
+            rows[shown].setText(entry.getQuestion());
+            rows[shown].setVisibility(View.VISIBLE);
+            shown++;
+        }
+        for (int i = shown; i < rows.length; i++) {
+            rows[i].setVisibility(View.GONE);
+        }
+        container.setVisibility(shown > 0 ? View.VISIBLE : View.GONE);
+    }
+
+    private void pick(String question) {
+        picking = true;
+        input.setText(question);
+        input.setSelection(question.length());
+        picking = false;
+    }
+
+    /**
+     * 제안을 숨기고 기다리던 검색을 취소합니다. (질문을 보냈거나 상담이 바뀌었을 때)
+     */
+    @MainThread
+    public void hide() {
+        generation++;
+        mainHandler.removeCallbacks(search);
+        container.setVisibility(View.GONE);
+    }
+
+    public void release() {
+        hide();
+        input.removeTextChangedListener(this);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.hackathon;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 입력 중인 질문 → 매뉴얼 FAQ 질문 자동 완성 (기업 하나당 하나, 안드로이드 의존성 없음)
+ * - 키: 질문에서 글자/숫자만 남긴 소문자 문자열 (띄어쓰기가 달라도 같은 키)
+ * - 앞부분 일치: 정렬된 키 배열에서 이진 탐색
+ * - 중간 일치: 키의 글자 2-gram → 질문 번호 목록 (정렬된 int 코드 배열 + 이진 탐색, 해시/박싱 없음)
+ * 검색 중에는 미리 만든 배열만 쓰고 입력 정규화 문자열과 결과 리스트 정도만 새로 만듦 → 글자마다 불러도 GC 부담이 적음
+ * FAQ 질문을 그대로 보내면 LocalAnswerEngine.findConfidentAnswer에서 바로 답이 나오므로 가장 빠른 경로로 안내하는 효과
+ */
+public class QuestionSuggester {
+
+    // 입력의 2-gram 중 이 비율 이상이 질문에 있어야 후보 (아직 입력 중인 마지막 글자가 틀려도 나오도록 1보다 작게)
+    static final float MIN_COVERAGE = 0.6f;
+    static final int MIN_INPUT_CHARS = 2;
+    private static final int PREFIX_SCORE = 2000;
+
+    private final List<ManualEntry> questions;
+    private final String[] keys;        // 질문 번호 순서
+    private final int[] keyOrder;       // 키 사전순 → 질문 번호
+    private final String[] sortedKeys;  // keyOrder 순서의 키
+    private final int[] gramCodes;      // 정렬된 2-gram 코드 (두 글자를 int 하나로)
+    private final int[][] postings;     // gramCodes[i]가 들어 있는 질문 번호 (중복 없음)
+
+    // 검색용 작업 배열 (한 스레드에서만 검색하도록 synchronized)
+    private final int[] matches;
+    private final int[] touched;
+
+    public QuestionSuggester(List<ManualEntry> entries) {
+        List<ManualEntry> faq = new ArrayList<>();
+        for (ManualEntry entry : entries) {
+            if (entry.isFaq()) {
+                faq.add(entry);
+            }
+        }
+        questions = Collections.unmodifiableList(faq);
+        int n = faq.size();
+        keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = normalize(faq.get(i).getQuestion());
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        keyOrder = new int[n];
+        sortedKeys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keyOrder[i] = order[i];
+            sortedKeys[i] = keys[order[i]];
+        }
+
+        // (2-gram 코드 << 32 | 질문 번호)를 정렬해서 같은 코드끼리 묶음
+        int total = 0;
+        for (String key : keys) {
+            total += Math.max(0, key.length() - 1);
+        }
+        long[] pairs = new long[total];
+        int p = 0;
+        for (int doc = 0; doc < n; doc++) {
+            String key = keys[doc];
+            for (int i = 0; i + 1 < key.length(); i++) {
+                pairs[p++] = ((long) gramCode(key, i) << 32) | doc;
+            }
+        }
+        Arrays.sort(pairs);
+        int[] codes = new int[total];
+        int[][] lists = new int[total][];
+        int groups = 0;
+        for (int i = 0; i < total; ) {
+            int code = (int) (pairs[i] >>> 32);
+            int j = i;
+            int[] docs = new int[0];
+            int count = 0;
+            while (j < total && (int) (pairs[j] >>> 32) == code) {
+                int doc = (int) pairs[j];
+                if (count == 0 || docs[count - 1] != doc) {
+                    if (count == docs.length) {
+                        docs = Arrays.copyOf(docs, Math.max(4, count * 2));
+                    }
+                    docs[count++] = doc;
+                }
+                j++;
+            }
+            codes[groups] = code;
+            lists[groups] = Arrays.copyOf(docs, count);
+            groups++;
+            i = j;
+        }
+        gramCodes = Arrays.copyOf(codes, groups);
+        postings = Arrays.copyOf(lists, groups);
+
+        matches = new int[n];
+        touched = new int[n];
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * 입력에 맞는 FAQ 질문 최대 limit개 (앞부분 일치 → 2-gram 일치 비율 → 짧은 질문 순)
+     */
+    public synchronized List<ManualEntry> suggest(String typed, int limit) {
+        String key = normalize(typed);
+        if (key.length() < MIN_INPUT_CHARS || limit <= 0 || keys.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // 점수: 앞부분 일치면 PREFIX_SCORE, 나머지는 일치한 2-gram 비율 (0~1000)
+        int[] topDocs = new int[limit];
+        int[] topScores = new int[limit];
+        int found = 0;
+
+        int from = lowerBound(key);
+        for (int i = from; i < sortedKeys.length && sortedKeys[i].startsWith(key); i++) {
+            matches[keyOrder[i]] = -1; // 앞부분 일치 표시 (2-gram 점수에서 제외)
+        }
+
+        int grams = key.length() - 1;
+        int touchedCount = 0;
+        for (int i = 0; i < grams; i++) {
+            int index = Arrays.binarySearch(gramCodes, gramCode(key, i));
+            if (index < 0) continue;
+            for (int doc : postings[index]) {
+                if (matches[doc] < 0) continue;
+                if (matches[doc]++ == 0) {
+                    touched[touchedCount++] = doc;
+                }
+            }
+        }
+
+        for (int i = from; i < sortedKeys.length && sortedKeys[i].startsWith(key); i++) {
+            int doc = keyOrder[i];
+            matches[doc] = 0;
+            found = offer(topDocs, topScores, found, doc, PREFIX_SCORE);
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            float coverage = Math.min(1f, (float) matches[doc] / grams); // 입력에 같은 2-gram이 반복될 수 있음
+            matches[doc] = 0;
+            if (coverage >= MIN_COVERAGE) {
+                found = offer(topDocs, topScores, found, doc, Math.round(coverage * 1000));
+            }
+        }
+
+        List<ManualEntry> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            result.add(questions.get(topDocs[i]));
+        }
+        return result;
+    }
+
+    // 점수 내림차순(같으면 짧은 질문 먼저)으로 상위 limit개만 유지
+    private int offer(int[] topDocs, int[] topScores, int found, int doc, int score) {
+        int limit = topDocs.length;
+        int position = found;
+        while (position > 0 && isBetter(doc, score, topDocs[position - 1], topScores[position - 1])) {
+            position--;
+        }
+        if (position >= limit) {
+            return found;
+        }
+        int last = Math.min(found, limit - 1);
+        for (int i = last; i > position; i--) {
+            topDocs[i] = topDocs[i - 1];
+            topScores[i] = topScores[i - 1];
+        }
+        topDocs[position] = doc;
+        topScores[position] = score;
+        return Math.min(found + 1, limit);
+    }
+
+    private boolean isBetter(int doc, int score, int otherDoc, int otherScore) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return keys[doc].length() < keys[otherDoc].length();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sortedKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedKeys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int gramCode(String key, int i) {
+        return (key.charAt(i) << 16) | key.charAt(i + 1);
+    }
+
+    /**
+     * 글자/숫자만 남긴 소문자 (NFC). "예비군  편성기간은?" → "예비군편성기간은"
+     */
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.hackathon;
+
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * 큰 매뉴얼을 조각(part)으로 나눠 올리는 업로더 (/upload/sessions API)
+ * - 조각마다 SHA-256을 같이 보내서 서버가 깨진 조각을 거절함
+ * - 네트워크가 끊겨도 서버가 받은 조각은 남아 있으므로, 같은 파일을 다시 올리면 빠진 조각만 보냄
+ * - 원본은 한 번 열어 앞에서부터 순서대로 읽고, 읽은 조각은 최대 PARALLEL_PARTS개까지 동시에 보냄
+ * - 실패한 조각만 백오프 후 다시 시도
+ * upload()는 블로킹이므로 백그라운드 스레드에서 호출해야 합니다.
+ */
+public class ResumableUploader {
+
+    // 조각 크기 (메모리에는 동시에 보내는 조각 수만큼만 올라감)
+    public static final int DEFAULT_PART_SIZE = 512 * 1024;
+
+    private static final int PARALLEL_PARTS = 3;
+    private static final int MAX_PART_ATTEMPTS = 4;
+    private static final long RETRY_BASE_DELAY_MILLIS = 500;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
+    /**
+     * 전송한 바이트 수 (조각 전송 스레드에서 호출됨, 이미 서버에 있던 조각도 포함)
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesUploaded, long totalBytes);
+    }
+
+    private final ApiService apiService;
+    private final int partSize;
+    private final Set<Call<?>> inFlightCalls = new HashSet<>();
+    private volatile boolean canceled;
+
+    public ResumableUploader(ApiService apiService) {
+        this(apiService, DEFAULT_PART_SIZE);
+    }
+
+    public ResumableUploader(ApiService apiService, int partSize) {
+        this.apiService = apiService;
+        this.partSize = partSize;
+    }
+
+    /**
+     * 파일 전체를 올리고 서버의 매뉴얼 등록 결과를 돌려줍니다.
+     * 실패하면 IOException (서버 거절은 UploadException), 취소되면 CancellationException
+     *
+     * @param opener 원본 스트림 (해시 계산에 한 번, 조각 전송에 한 번 열림)
+     * @param length 원본 파일 크기 (바이트, 반드시 알아야 함)
+     */
+    @WorkerThread
+    public UploadResponse upload(String companyName, String fileName,
+                                 StreamingUploadBody.StreamOpener opener, long length,
+                                 ProgressListener listener) throws IOException {
+        if (length <= 0) {
+            throw new IllegalArgumentException("파일 크기를 알아야 분할 업로드할 수 있습니다.");
+        }
+
+        // 1. 전체 해시 + 조각별 해시를 한 번에 계산
+        List<String> partHashes = new ArrayList<>();
+        String fileHash = hashFile(opener, partSize, partHashes);
+        checkCanceled();
+
+        // 2. 세션 시작 (같은 파일이면 서버가 이전에 받은 조각 목록을 돌려줌)
+        UploadSession session = execute(apiService.createUploadSession(
+                new UploadSessionRequest(companyName, fileName, length, partSize, fileHash)));
+        if (session.getPartCount() != partHashes.size() || session.getPartSize() != partSize) {
+            throw new UploadException(0, "서버 세션 정보가 파일과 맞지 않습니다.");
+        }
+
+        // 3. 빠진 조각만 전송
+        Set<Integer> received = new HashSet<>(session.getReceivedParts());
+        AtomicLong uploaded = new AtomicLong();
+        for (int part : received) {
+            uploaded.addAndGet(partLength(part, length));
+        }
+        notifyProgress(listener, uploaded.get(), length);
+
+        // 조각마다 스트림을 다시 열어 skip()하면 앞부분을 매번 다시 읽으므로, 한 번 열어 순서대로 읽음
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_PARTS);
+        Semaphore slots = new Semaphore(PARALLEL_PARTS); // 메모리에 올라가는 조각 수 제한
+        List<Future<?>> futures = new ArrayList<>();
+        try (InputStream in = opener.open()) {
+            long position = 0;
+            for (int part = 0; part < partHashes.size(); part++) {
+                if (received.contains(part)) {
+                    continue;
+                }
+                acquireSlot(slots);
+                throwIfFailed(futures);
+                long offset = (long) part * partSize;
+                skipFully(in, offset - position);
+                byte[] data = readFully(in, partLength(part, length));
+                position = offset + data.length;
+
+                final int partNumber = part;
+                futures.add(executor.submit(() -> {
+                    try {
+                        uploadPartWithRetry(session.getUploadId(), partNumber, partHashes.get(partNumber), data);
+                    } finally {
+                        slots.release();
+                    }
+                    notifyProgress(listener, uploaded.addAndGet(data.length), length);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                awaitPart(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        checkCanceled();
+
+        // 4. 조각을 합쳐 등록 (서버가 전체 해시를 다시 확인함)
+        return execute(apiService.completeUpload(session.getUploadId()));
+    }
+
+    /**
+     * 진행 중인 업로드를 멈춥니다. 서버에 도착한 조각은 남아 있어서 다음 upload()에서 이어집니다.
+     */
+    public void cancel() {
+        canceled = true;
+        synchronized (inFlightCalls) {
+            for (Call<?> call : inFlightCalls) {
+                call.cancel();
+            }
+        }
+    }
+
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    private void uploadPartWithRetry(String uploadId, int partNumber, String partHash, byte[] data)
+            throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            checkCanceled();
+            try {
+                execute(apiService.uploadPart(uploadId, partNumber, partHash,
+                        RequestBody.create(OCTET_STREAM, data)));
+                return;
+            } catch (IOException e) {
+                // 4xx(조각 크기/해시 불일치 등)는 다시 보내도 똑같으므로 바로 실패
+                boolean retryable = !(e instanceof UploadException) || ((UploadException) e).isRetryable();
+                if (!retryable || attempt >= MAX_PART_ATTEMPTS || canceled) {
+                    throw e;
+                }
+            }
+            ApiMetrics.getInstance().recordRetry("upload_part");
+            Thread.sleep(RETRY_BASE_DELAY_MILLIS << (attempt - 1)); // 0.5s, 1s, 2s
+        }
+    }
+
+    private static byte[] readFully(InputStream in, int size) throws IOException {
+        byte[] data = new byte[size];
+        int read = 0;
+        while (read < size) {
+            int n = in.read(data, read, size - read);
+            if (n == -1) {
+                throw new IOException("파일이 업로드 중에 바뀌었습니다.");
+            }
+            read += n;
+        }
+        return data;
+    }
+
+    private <T> T execute(Call<T> call) throws IOException {
+        synchronized (inFlightCalls) {
+            if (canceled) {
+                throw new CancellationException();
+            }
+            inFlightCalls.add(call);
+        }
+        try {
+            Response<T> response = call.execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                throw UploadException.from(response);
+            }
+            return response.body();
+        } catch (IOException e) {
+            if (canceled) {
+                throw new CancellationException();
+            }
+            throw e;
+        } finally {
+            synchronized (inFlightCalls) {
+                inFlightCalls.remove(call);
+            }
+        }
+    }
+
+    private void acquireSlot(Semaphore slots) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+        checkCanceled();
+    }
+
+    /**
+     * 이미 실패한 조각이 있으면 나머지를 읽지 않고 바로 그 예외를 던집니다.
+     */
+    private void throwIfFailed(List<Future<?>> futures) throws IOException {
+        for (Future<?> future : futures) {
+            if (future.isDone()) {
+                awaitPart(future);
+            }
+        }
+    }
+
+    private void awaitPart(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void checkCanceled() {
+        if (canceled) {
+            throw new CancellationException();
+        }
+    }
+
+    private int partLength(int partNumber, long length) {
+        return (int) Math.min(partSize, length - (long) partNumber * partSize);
+    }
+
+    private static void notifyProgress(ProgressListener listener, long uploaded, long total) {
+        if (listener != null) {
+            listener.onProgress(uploaded, total);
+        }
+    }
+
+    /**
+     * 파일을 한 번 읽으면서 전체 SHA-256과 조각별 SHA-256(partHashes에 추가)을 계산합니다.
+     */
+    static String hashFile(StreamingUploadBody.StreamOpener opener, int partSize, List<String> partHashes)
+            throws IOException {
+        MessageDigest whole = sha256();
+        MessageDigest part = sha256();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        long partFilled = 0;
+        try (InputStream in = opener.open()) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                whole.update(buffer, 0, n);
+                int offset = 0;
+                while (offset < n) {
+                    int take = (int) Math.min(n - offset, partSize - partFilled);
+                    part.update(buffer, offset, take);
+                    partFilled += take;
+                    offset += take;
+                    if (partFilled == partSize) {
+                        partHashes.add(toHex(part.digest()));
+                        partFilled = 0;
+                    }
+                }
+            }
+        }
+        if (partFilled > 0) {
+            partHashes.add(toHex(part.digest()));
+        }
+        return toHex(whole.digest());
+    }
+
+    static String sha256Hex(byte[] data) {
+        return toHex(sha256().digest(data));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM/안드로이드에 있음
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new IOException("파일이 업로드 중에 바뀌었습니다.");
+                }
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+}
@@ -1,27 +1,122 @@
 package com.example.hackathon;
 
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * 앱 전체가 공유하는 네트워크 계층
+ * OkHttpClient / Retrofit / ApiService를 프로세스당 하나만 만들어서
+ * 커넥션 풀(keep-alive)과 스레드를 모든 화면이 같이 씁니다.
+ */
 public class RetrofitClient {
 
     // ★ 님 서버 IP로 변경하세요 (예: "http://192.168.35.144:5000/")
-    private static final String BASE_URL = "http://192.168.35.144:5000/";
+    // 서버가 여러 대면 모두 적음 → EndpointPool이 빠르고 정상인 서버로 보냄
+    // (서버의 RAG_ENDPOINTS 환경 변수로 목록을 알려 주면 앱이 받아서 저장하므로 다시 배포하지 않아도 됨)
+    private static final String[] BASE_URLS = {"http://192.168.35.144:5000/"};
+
+    // 기본 타임아웃 (엔드포인트별 값은 TimeoutProfileInterceptor 참고)
+    private static final int CONNECT_TIMEOUT_SECONDS = 10;
+    private static final int READ_TIMEOUT_SECONDS = 30;
+    private static final int WRITE_TIMEOUT_SECONDS = 30;
+
+    // keep-alive 커넥션을 5분 동안 최대 5개까지 재사용
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final int KEEP_ALIVE_MINUTES = 5;
+
+    // 동시에 보낼 수 있는 요청 수 (서버 waitress 기본 스레드가 4개라 호스트당 4개로 제한)
+    private static final int MAX_REQUESTS = 16;
+    private static final int MAX_REQUESTS_PER_HOST = 4;
 
+    // JSON/CBOR 협상 상태 (인터셉터와 변환기가 같이 씀)
+    private static final WireCodecInterceptor wireCodec = new WireCodecInterceptor();
+    // 답변 생성 요청의 서버별 속도/동시 요청 수 제한
+    private static final AdmissionInterceptor admission = new AdmissionInterceptor();
+
+    private static EndpointPool endpointPool = null;
+    private static OkHttpClient httpClient = null;
+    private static Gson gson = null;
     private static Retrofit retrofit = null;
+    private static ApiService apiService = null;
+
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_REQUESTS);
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+            EndpointRoutingInterceptor routing =
+                    new EndpointRoutingInterceptor(getEndpointPool(), HttpUrl.get(BASE_URLS[0]));
+            httpClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(dispatcher)
+                    .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .retryOnConnectionFailure(true)
+                    // 응답 gzip 해제는 OkHttp가 자동으로 처리 (Accept-Encoding: gzip)
+                    // 서버 고르기가 가장 먼저: 다른 서버로 다시 보낼 때 나머지 인터셉터를 다시 거치도록
+                    .addInterceptor(routing)
+                    .addInterceptor(admission)
+                    .addInterceptor(new TimeoutProfileInterceptor())
+                    // gzip보다 먼저: 서버가 CBOR를 거절하면 원래 본문을 JSON으로 바꿔 다시 보냄
+                    .addInterceptor(wireCodec)
+                    .addInterceptor(new GzipRequestInterceptor())
+                    // 호출마다 DNS/연결/TLS/첫 바이트/전체 시간을 ApiMetrics에 기록
+                    .eventListenerFactory(new MetricsEventListener.Factory(ApiMetrics.getInstance()))
+                    .build();
+            routing.attach(httpClient);
+        }
+        return httpClient;
+    }
+
+    public static AdmissionInterceptor getAdmission() {
+        return admission;
+    }
+
+    public static synchronized EndpointPool getEndpointPool() {
+        if (endpointPool == null) {
+            endpointPool = new EndpointPool(Arrays.asList(BASE_URLS), getGson());
+        }
+        return endpointPool;
+    }
 
-    public static Retrofit getClient() {
+    public static synchronized Gson getGson() {
+        if (gson == null) {
+            // 자주 쓰는 DTO는 리플렉션 없는 어댑터로 (WireAdapters)
+            gson = WireAdapters.registerJson(new GsonBuilder()).create();
+        }
+        return gson;
+    }
+
+    public static synchronized Retrofit getClient() {
         if (retrofit == null) {
             retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .baseUrl(BASE_URLS[0]) // 실제 서버는 요청마다 EndpointRoutingInterceptor가 정함
+                    .client(getHttpClient())
+                    .addConverterFactory(new WireCodecConverterFactory(getGson(), wireCodec))
                     .build();
         }
         return retrofit;
     }
 
-    public static ApiService getApiService() {
-        return getClient().create(ApiService.class);
+    /**
+     * 캐시된 ApiService를 반환합니다. (Retrofit.create()는 처음 한 번만 호출)
+     */
+    public static synchronized ApiService getApiService() {
+        if (apiService == null) {
+            apiService = getClient().create(ApiService.class);
+        }
+        return apiService;
     }
 }
\ No newline at end of file
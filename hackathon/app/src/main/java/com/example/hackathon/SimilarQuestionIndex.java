@@ -0,0 +1,263 @@
+package com.example.hackathon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 표현만 다른 같은 질문을 찾는 색인 (MinHash + LSH, AnswerCache가 기업마다 하나씩 가짐)
+ * "예비군 연차 계산 어떻게 해요" ≈ "예비군 연차는 어떻게 계산하나요"
+ * - 질문 → 단어 끝 조사/어미를 뗀 뒤 글자 2-gram 집합 (KoreanTokenizer)
+ * - MinHash 서명을 BANDS개 띠로 나눠 띠 하나라도 같은 질문만 후보로 (저장된 질문 전체와 비교하지 않음)
+ * - 후보는 실제 자카드 유사도로 다시 확인하고, 질문에 든 숫자가 다르면 다른 질문으로 봄 ("1년차" ≠ "2년차")
+ * 답변은 갖고 있지 않고 정규화된 질문만 보관 (답변은 AnswerCache의 메모리/디스크에서 읽음)
+ * 최근 사용한 maxEntries개까지만 보관 (LRU)
+ */
+public class SimilarQuestionIndex {
+
+    static final int NUM_HASHES = 64;
+    static final int BANDS = 16;
+    static final int ROWS = NUM_HASHES / BANDS;
+    // 2-gram이 이보다 적은 짧은 질문은 비슷한 질문을 찾지 않음 (정확히 같은 질문만)
+    static final int MIN_SHINGLES = 3;
+
+    // 단어 끝에 붙는 조사/어미 (긴 것부터 확인, 단어마다 하나만 뗌)
+    private static final String[] ENDINGS = {
+            "하나요", "합니까", "할까요", "한가요", "인가요", "입니까", "이에요", "하는지",
+            "해요", "해야", "하면", "나요", "까요", "예요", "인지", "에서", "으로", "에게", "한테",
+            "까지", "부터", "이랑", "하고",
+            "은", "는", "이", "가", "을", "를", "에", "의", "도", "로", "와", "과", "요", "만",
+    };
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        for (int i = 0; i < NUM_HASHES; i++) {
+            SEEDS[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    /**
+     * 찾은 질문 (정규화된 질문 + 자카드 유사도)
+     */
+    public static final class Match {
+        private final String query;
+        private final double similarity;
+
+        Match(String query, double similarity) {
+            this.query = query;
+            this.similarity = similarity;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    private static final class Entry {
+        final String query;
+        final Set<String> shingles;
+        final String numbers;
+        final long[] bandKeys;
+
+        Entry(String query, Set<String> shingles, String numbers, long[] bandKeys) {
+            this.query = query;
+            this.shingles = shingles;
+            this.numbers = numbers;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    private final int maxEntries;
+    // 띠마다 (띠의 해시 → 그 띠가 같은 질문들)
+    private final List<Map<Long, List<Entry>>> buckets = new ArrayList<>(BANDS);
+    // accessOrder=true → 찾아진 질문이 맨 뒤로 (LRU)
+    private final LinkedHashMap<String, Entry> entries;
+
+    public SimilarQuestionIndex(int maxEntries) {
+        this.maxEntries = maxEntries;
+        for (int b = 0; b < BANDS; b++) {
+            buckets.add(new HashMap<>());
+        }
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= SimilarQuestionIndex.this.maxEntries) {
+                    return false;
+                }
+                unindex(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 정규화된 질문(AnswerCache.normalizeQuery)을 추가합니다. 너무 짧은 질문은 넣지 않음
+     */
+    public synchronized void add(String normalized) {
+        if (entries.containsKey(normalized)) {
+            entries.get(normalized); // 최근 사용으로
+            return;
+        }
+        Set<String> shingles = shingles(normalized);
+        if (shingles.size() < MIN_SHINGLES) {
+            return;
+        }
+        Entry entry = new Entry(normalized, shingles, numbers(normalized), bandKeys(signature(shingles)));
+        for (int b = 0; b < BANDS; b++) {
+            buckets.get(b).computeIfAbsent(entry.bandKeys[b], key -> new ArrayList<>(1)).add(entry);
+        }
+        entries.put(normalized, entry);
+    }
+
+    public synchronized void remove(String normalized) {
+        Entry entry = entries.remove(normalized);
+        if (entry != null) {
+            unindex(entry);
+        }
+    }
+
+    /**
+     * normalized와 자카드 유사도가 threshold 이상인 질문 중 가장 비슷한 것 (없으면 null)
+     */
+    public synchronized Match findBest(String normalized, double threshold) {
+        Set<String> shingles = shingles(normalized);
+        if (shingles.size() < MIN_SHINGLES) {
+            return null;
+        }
+        String numbers = numbers(normalized);
+        long[] keys = bandKeys(signature(shingles));
+        Set<Entry> seen = new HashSet<>();
+        Entry best = null;
+        double bestSimilarity = 0;
+        for (int b = 0; b < BANDS; b++) {
+            List<Entry> bucket = buckets.get(b).get(keys[b]);
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry candidate : bucket) {
+                if (!seen.add(candidate) || !candidate.numbers.equals(numbers)) {
+                    continue;
+                }
+                double similarity = jaccard(shingles, candidate.shingles);
+                if (similarity >= threshold && similarity > bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        entries.get(best.query); // 최근 사용으로
+        return new Match(best.query, bestSimilarity);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void unindex(Entry entry) {
+        for (int b = 0; b < BANDS; b++) {
+            Map<Long, List<Entry>> band = buckets.get(b);
+            List<Entry> bucket = band.get(entry.bandKeys[b]);
+            if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                band.remove(entry.bandKeys[b]);
+            }
+        }
+    }
+
+    /**
+     * 조사/어미를 뗀 단어들의 글자 2-gram ("연차는 어떻게 계산하나요" → [연차, 어떻, 떻게, 계산])
+     */
+    static Set<String> shingles(String normalized) {
+        StringBuilder stems = new StringBuilder();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            String stem = stripEnding(word);
+            if (!stem.isEmpty()) {
+                stems.append(stem).append(' ');
+            }
+        }
+        return new HashSet<>(KoreanTokenizer.tokenize(stems.toString()));
+    }
+
+    // 단어 전체가 어미면 버리고, 떼고 두 글자 이상 남을 때만 뗌 ("휴가"는 그대로)
+    private static String stripEnding(String word) {
+        for (String ending : ENDINGS) {
+            if (word.equals(ending)) {
+                return "";
+            }
+            if (word.endsWith(ending) && word.length() - ending.length() >= 2) {
+                return word.substring(0, word.length() - ending.length());
+            }
+        }
+        return word;
+    }
+
+    // 질문에 든 숫자들 (순서대로, 공백으로 구분)
+    private static String numbers(String normalized) {
+        StringBuilder out = new StringBuilder();
+        for (String part : normalized.split("[^0-9]+")) {
+            if (!part.isEmpty()) {
+                out.append(part).append(' ');
+            }
+        }
+        return out.toString();
+    }
+
+    private static long[] signature(Set<String> shingles) {
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = mix(shingle.hashCode());
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long hash = mix(base ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long[] bandKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            long key = 0;
+            for (int r = 0; r < ROWS; r++) {
+                key = key * 31 + signature[b * ROWS + r];
+            }
+            keys[b] = mix(key);
+        }
+        return keys;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String shingle : a) {
+            if (b.contains(shingle)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e53ed6d5bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
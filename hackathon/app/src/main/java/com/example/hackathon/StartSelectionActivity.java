@@ -14,6 +14,9 @@ public class StartSelectionActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_start_selection); // (activity_start_selection.xml은 그대로 사용)
 
+        // 네트워크 준비/싱글톤 초기화는 첫 화면을 그린 뒤 백그라운드에서 (AppStartup 참고)
+        AppStartup.start(this);
+
         Button buttonGoToUser = findViewById(R.id.buttonGoToUser);
         Button buttonGoToEnterprise = findViewById(R.id.buttonGoToEnterprise);
 
@@ -22,6 +25,7 @@ public class StartSelectionActivity extends AppCompatActivity {
         buttonGoToUser.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
+                AppStartup.rewarm(StartSelectionActivity.this);
                 Intent intent = new Intent(StartSelectionActivity.this, MainActivity.class);
                 startActivity(intent);
             }
@@ -32,6 +36,7 @@ public class StartSelectionActivity extends AppCompatActivity {
         buttonGoToEnterprise.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
+                AppStartup.rewarm(StartSelectionActivity.this);
                 Intent intent = new Intent(StartSelectionActivity.this, EnterpriseHomeActivity.class);
                 startActivity(intent);
             }
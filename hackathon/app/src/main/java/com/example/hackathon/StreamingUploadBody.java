@@ -0,0 +1,125 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Sink;
+
+/**
+ * 파일을 임시 파일로 복사하지 않고 원본 스트림(ContentResolver 등)에서 바로 소켓으로 보내는 RequestBody
+ * - 64KB 버퍼로 읽어서 바로 씀 (디스크 사용량 0, I/O 한 번)
+ * - 보낸 바이트 수를 ProgressListener로 알려줌
+ * - gzip=true이면 보내면서 압축 (서버 app.py가 파트의 Content-Encoding을 보고 압축을 풂)
+ */
+public class StreamingUploadBody extends RequestBody {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 진행률 콜백 최소 간격 (너무 자주 UI를 갱신하지 않도록)
+    private static final long PROGRESS_INTERVAL_MILLIS = 100;
+
+    /**
+     * 업로드할 때마다 새 스트림을 엽니다. (OkHttp가 재시도하면 처음부터 다시 읽을 수 있도록)
+     */
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * 업로드 진행률 (업로드 스레드에서 호출됨, totalBytes를 모르면 -1)
+     * gzip을 켜도 원본 기준 바이트 수를 알려줍니다.
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesWritten, long totalBytes);
+    }
+
+    private final StreamOpener opener;
+    private final MediaType mediaType;
+    private final long sourceLength;
+    private final boolean gzip;
+    private final ProgressListener progressListener;
+
+    public StreamingUploadBody(StreamOpener opener, MediaType mediaType, long sourceLength,
+                               boolean gzip, ProgressListener progressListener) {
+        this.opener = opener;
+        this.mediaType = mediaType;
+        this.sourceLength = sourceLength;
+        this.gzip = gzip;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * 이 본문을 multipart 파일 파트로 감쌉니다. (gzip이면 파트에 Content-Encoding 헤더 추가)
+     * 한글 파일명도 보낼 수 있도록 addUnsafeNonAscii 사용 (MultipartBody.Part.createFormData와 동일)
+     */
+    public MultipartBody.Part toFormDataPart(String name, String fileName) {
+        String disposition = "form-data; name=\"" + escape(name) + "\"; filename=\"" + escape(fileName) + "\"";
+        Headers.Builder headers = new Headers.Builder().addUnsafeNonAscii("Content-Disposition", disposition);
+        if (gzip) {
+            headers.add("Content-Encoding", "gzip");
+        }
+        return MultipartBody.Part.create(headers.build(), this);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+        return gzip ? -1 : sourceLength; // 압축하면 보낼 길이를 미리 알 수 없음
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        BufferedSink target = gzip ? Okio.buffer(new GzipSink(nonClosing(sink))) : sink;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        long lastReport = 0;
+
+        try (InputStream in = opener.open()) {
+            if (in == null) {
+                throw new IOException("업로드할 파일을 열 수 없습니다.");
+            }
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                target.write(buffer, 0, read);
+                written += read;
+
+                long now = System.currentTimeMillis();
+                if (progressListener != null && now - lastReport >= PROGRESS_INTERVAL_MILLIS) {
+                    lastReport = now;
+                    progressListener.onProgress(written, sourceLength);
+                }
+            }
+        }
+        if (gzip) {
+            target.close(); // gzip 트레일러까지 씀 (multipart의 나머지 파트가 이어지므로 원래 sink는 닫지 않음)
+        }
+        if (progressListener != null) {
+            progressListener.onProgress(written, sourceLength);
+        }
+    }
+
+    private static Sink nonClosing(Sink sink) {
+        return new ForwardingSink(sink) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private static String escape(String value) {
+        return value.replace("\n", "%0A").replace("\r", "%0D").replace("\"", "%22");
+    }
+}
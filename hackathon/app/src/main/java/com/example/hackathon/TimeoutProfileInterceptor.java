@@ -0,0 +1,52 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * ApiService 메서드에 붙인 X-Timeout-Profile 헤더를 보고 엔드포인트별 타임아웃을 적용하는 인터셉터
+ * (헤더는 서버로 보내지 않고 여기서 제거합니다.)
+ */
+public class TimeoutProfileInterceptor implements Interceptor {
+
+    static final String HEADER = "X-Timeout-Profile";
+
+    // ApiService의 @Headers에서 사용하는 값 (어노테이션에는 상수만 쓸 수 있음)
+    static final String CHAT = HEADER + ": chat";
+    static final String UPLOAD = HEADER + ": upload";
+
+    // /chat: RAG 검색 + Gemini 생성을 기다려야 하므로 읽기 타임아웃을 길게
+    private static final int CHAT_READ_TIMEOUT_SECONDS = 120;
+
+    // /upload: 큰 매뉴얼 전송(쓰기)과 서버 임베딩(읽기) 모두 오래 걸림
+    private static final int UPLOAD_WRITE_TIMEOUT_SECONDS = 180;
+    private static final int UPLOAD_READ_TIMEOUT_SECONDS = 180;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String profile = request.header(HEADER);
+        if (profile == null) {
+            return chain.proceed(request);
+        }
+
+        Request stripped = request.newBuilder().removeHeader(HEADER).build();
+        switch (profile) {
+            case "chat":
+                return chain
+                        .withReadTimeout(CHAT_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .proceed(stripped);
+            case "upload":
+                return chain
+                        .withWriteTimeout(UPLOAD_WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .withReadTimeout(UPLOAD_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .proceed(stripped);
+            default:
+                return chain.proceed(stripped);
+        }
+    }
+}
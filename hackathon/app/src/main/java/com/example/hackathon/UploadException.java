@@ -0,0 +1,50 @@
+package com.example.hackathon;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * 업로드 요청을 서버가 거절함 (HTTP 상태 코드 포함)
+ * ResumableUploader, ManualDeltaUploader가 사용
+ */
+public class UploadException extends IOException {
+    private final int code;
+
+    public UploadException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * 실패 응답으로 예외를 만듭니다. (서버는 {"error": "..."} 형태로 거절 사유를 보냄)
+     */
+    public static UploadException from(Response<?> response) {
+        String message = response.message();
+        ResponseBody errorBody = response.errorBody();
+        if (errorBody != null) {
+            try {
+                JsonElement json = new JsonParser().parse(errorBody.string());
+                if (json.isJsonObject() && json.getAsJsonObject().has("error")) {
+                    message = json.getAsJsonObject().get("error").getAsString();
+                }
+            } catch (IOException | RuntimeException ignored) {
+                // 상태 메시지로 대신함
+            }
+        }
+        return new UploadException(response.code(), message);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    // 5xx / 408 / 429는 잠시 후 다시 보내면 성공할 수 있음
+    public boolean isRetryable() {
+        return code >= 500 || code == 408 || code == 429;
+    }
+}
@@ -10,6 +10,15 @@ public class UploadResponse {
     @SerializedName("companyName")
     private String companyName;
 
+    public UploadResponse() {
+    }
+
+    // WireAdapters가 사용 (리플렉션 없이 생성)
+    UploadResponse(String message, String companyName) {
+        this.message = message;
+        this.companyName = companyName;
+    }
+
     public String getMessage() {
         return message;
     }
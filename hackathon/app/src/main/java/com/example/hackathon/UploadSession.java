@@ -0,0 +1,37 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// 분할 업로드 세션 상태 (서버가 이미 받은 조각 번호 포함)
+public class UploadSession {
+    @SerializedName("uploadId")
+    private String uploadId;
+
+    @SerializedName("partCount")
+    private int partCount;
+
+    @SerializedName("partSize")
+    private int partSize;
+
+    @SerializedName("receivedParts")
+    private List<Integer> receivedParts;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public int getPartCount() {
+        return partCount;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public List<Integer> getReceivedParts() {
+        return receivedParts != null ? receivedParts : Collections.emptyList();
+    }
+}
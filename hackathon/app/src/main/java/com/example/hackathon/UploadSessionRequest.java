@@ -0,0 +1,34 @@
+package com.example.hackathon;
+
+import com.google.gson.annotations.SerializedName;
+
+// 분할 업로드 시작 요청 (/upload/sessions)
+public class UploadSessionRequest {
+    @SerializedName("companyName")
+    private String companyName;
+
+    @SerializedName("fileName")
+    private String fileName;
+
+    @SerializedName("totalSize")
+    private long totalSize;
+
+    @SerializedName("partSize")
+    private int partSize;
+
+    // 전체 파일의 SHA-256 (서버가 이 값으로 같은 파일의 이전 세션을 찾아 이어 받음)
+    @SerializedName("sha256")
+    private String sha256;
+
+    public UploadSessionRequest(String companyName, String fileName, long totalSize, int partSize, String sha256) {
+        this.companyName = companyName;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.partSize = partSize;
+        this.sha256 = sha256;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.hackathon;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자주 오가는 DTO(ChatRequest, ChatResponse, UploadResponse)의 직렬화 코드 (리플렉션 없음)
+ * - JSON: Gson TypeAdapter (RetrofitClient.getGson()에 등록 → 필드 리플렉션을 건너뜀)
+ * - CBOR: WireCodecConverterFactory가 서버와 협상되면 사용
+ * 키 이름은 DTO의 @SerializedName과 같아야 함. 모르는 키는 건너뜀
+ */
+public final class WireAdapters {
+
+    /**
+     * CBOR 읽기/쓰기 (한 DTO)
+     */
+    public interface CborAdapter<T> {
+        void write(CborWriter writer, T value) throws IOException;
+
+        T read(CborReader reader) throws IOException;
+    }
+
+    static final CborAdapter<ChatRequest> CHAT_REQUEST_CBOR = new CborAdapter<ChatRequest>() {
+        @Override
+        public void write(CborWriter writer, ChatRequest value) throws IOException {
+            // null 필드는 쓰지 않음 (Gson 기본 동작과 같게)
+            List<ConversationContext.Turn> context = value.getContext();
+            int size = (value.getQuery() != null ? 1 : 0) + (value.getCompanyName() != null ? 1 : 0)
+                    + (value.getContextId() != null ? 1 : 0) + (value.getContextDigest() != null ? 1 : 0)
+                    + (context != null ? 1 : 0);
+            writer.writeMapHeader(size);
+            if (value.getQuery() != null) {
+                writer.writeString("query").writeString(value.getQuery());
+            }
+            if (value.getCompanyName() != null) {
+                writer.writeString("companyName").writeString(value.getCompanyName());
+            }
+            if (value.getContextId() != null) {
+                writer.writeString("contextId").writeString(value.getContextId());
+            }
+            if (value.getContextDigest() != null) {
+                writer.writeString("contextDigest").writeString(value.getContextDigest());
+            }
+            if (context != null) {
+                writer.writeString("context").writeArrayHeader(context.size());
+                for (ConversationContext.Turn turn : context) {
+                    writer.writeMapHeader(2)
+                            .writeString("q").writeString(turn.getQuery())
+                            .writeString("a").writeString(turn.getAnswer());
+                }
+            }
+        }
+
+        @Override
+        public ChatRequest read(CborReader reader) throws IOException {
+            String query = null;
+            String companyName = null;
+            String contextId = null;
+            String contextDigest = null;
+            List<ConversationContext.Turn> context = null;
+            int size = reader.readMapHeader();
+            for (int i = 0; reader.hasNext(size, i); i++) {
+                String key = reader.readString();
+                if ("context".equals(key) && reader.peekMajor() == CborWriter.MAJOR_ARRAY) {
+                    context = readTurns(reader);
+                } else if (reader.peekMajor() != CborWriter.MAJOR_TEXT) {
+                    reader.skip();
+                } else if ("query".equals(key)) {
+                    query = reader.readString();
+                } else if ("companyName".equals(key)) {
+                    companyName = reader.readString();
+                } else if ("contextId".equals(key)) {
+                    contextId = reader.readString();
+                } else if ("contextDigest".equals(key)) {
+                    contextDigest = reader.readString();
+                } else {
+                    reader.skip();
+                }
+            }
+            return new ChatRequest(query, companyName, contextId, contextDigest, context);
+        }
+
+        private List<ConversationContext.Turn> readTurns(CborReader reader) throws IOException {
+            List<ConversationContext.Turn> turns = new ArrayList<>();
+            int count = reader.readArrayHeader();
+            for (int i = 0; reader.hasNext(count, i); i++) {
+                String q = "";
+                String a = "";
+                int fields = reader.readMapHeader();
+                for (int j = 0; reader.hasNext(fields, j); j++) {
+                    String key = reader.readString();
+                    if (reader.peekMajor() != CborWriter.MAJOR_TEXT) {
+                        reader.skip();
+                    } else if ("q".equals(key)) {
+                        q = reader.readString();
+                    } else if ("a".equals(key)) {
+                        a = reader.readString();
+                    } else {
+                        reader.skip();
+                    }
+                }
+                turns.add(new ConversationContext.Turn(q, a));
+            }
+            return turns;
+        }
+    };
+
+    static final CborAdapter<ChatResponse> CHAT_RESPONSE_CBOR = new CborAdapter<ChatResponse>() {
+        @Override
+        public void write(CborWriter writer, ChatResponse value) throws IOException {
+            writer.writeMapHeader(1).writeString("answer").writeString(value.getAnswer());
+        }
+
+        @Override
+        public ChatResponse read(CborReader reader) throws IOException {
+            String answer = null;
+            int size = reader.readMapHeader();
+            for (int i = 0; reader.hasNext(size, i); i++) {
+                if ("answer".equals(reader.readString()) && reader.peekMajor() == CborWriter.MAJOR_TEXT) {
+                    answer = reader.readString();
+                } else {
+                    reader.skip();
+                }
+            }
+            return new ChatResponse(answer);
+        }
+    };
+
+    static final CborAdapter<UploadResponse> UPLOAD_RESPONSE_CBOR = new CborAdapter<UploadResponse>() {
+        @Override
+        public void write(CborWriter writer, UploadResponse value) throws IOException {
+            writer.writeMapHeader(2)
+                    .writeString("message").writeString(value.getMessage())
+                    .writeString("companyName").writeString(value.getCompanyName());
+        }
+
+        @Override
+        public UploadResponse read(CborReader reader) throws IOException {
+            String message = null;
+            String companyName = null;
+            int size = reader.readMapHeader();
+            for (int i = 0; reader.hasNext(size, i); i++) {
+                String key = reader.readString();
+                if (reader.peekMajor() != CborWriter.MAJOR_TEXT) {
+                    reader.skip(); // null이거나 다른 유형
+                } else if ("message".equals(key)) {
+                    message = reader.readString();
+                } else if ("companyName".equals(key)) {
+                    companyName = reader.readString();
+                } else {
+                    reader.skip();
+                }
+            }
+            return new UploadResponse(message, companyName);
+        }
+    };
+
+    private static final Map<Type, CborAdapter<?>> CBOR_ADAPTERS;
+
+    static {
+        Map<Type, CborAdapter<?>> adapters = new HashMap<>();
+        adapters.put(ChatRequest.class, CHAT_REQUEST_CBOR);
+        adapters.put(ChatResponse.class, CHAT_RESPONSE_CBOR);
+        adapters.put(UploadResponse.class, UPLOAD_RESPONSE_CBOR);
+        CBOR_ADAPTERS = Collections.unmodifiableMap(adapters);
+    }
+
+    private WireAdapters() {
+    }
+
+    /**
+     * type의 CBOR 어댑터 (지원하지 않는 타입이면 null → JSON만 사용)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CborAdapter<T> cbor(Type type) {
+        return (CborAdapter<T>) CBOR_ADAPTERS.get(type);
+    }
+
+    /**
+     * JSON 어댑터를 Gson에 등록합니다.
+     */
+    public static GsonBuilder registerJson(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(ChatRequest.class, new ChatRequestJson().nullSafe())
+                .registerTypeAdapter(ChatResponse.class, new ChatResponseJson().nullSafe())
+                .registerTypeAdapter(UploadResponse.class, new UploadResponseJson().nullSafe());
+    }
+
+    private static final class ChatRequestJson extends TypeAdapter<ChatRequest> {
+        @Override
+        public void write(JsonWriter out, ChatRequest value) throws IOException {
+            out.beginObject();
+            out.name("query").value(value.getQuery());
+            if (value.getCompanyName() != null) {
+                out.name("companyName").value(value.getCompanyName());
+            }
+            if (value.getContextId() != null) {
+                out.name("contextId").value(value.getContextId());
+            }
+            if (value.getContextDigest() != null) {
+                out.name("contextDigest").value(value.getContextDigest());
+            }
+            if (value.getContext() != null) {
+                out.name("context").beginArray();
+                for (ConversationContext.Turn turn : value.getContext()) {
+                    out.beginObject()
+                            .name("q").value(turn.getQuery())
+                            .name("a").value(turn.getAnswer())
+                            .endObject();
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ChatRequest read(JsonReader in) throws IOException {
+            String query = null;
+            String companyName = null;
+            String contextId = null;
+            String contextDigest = null;
+            List<ConversationContext.Turn> context = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("query".equals(name)) {
+                    query = nextStringOrNull(in);
+                } else if ("companyName".equals(name)) {
+                    companyName = nextStringOrNull(in);
+                } else if ("contextId".equals(name)) {
+                    contextId = nextStringOrNull(in);
+                } else if ("contextDigest".equals(name)) {
+                    contextDigest = nextStringOrNull(in);
+                } else if ("context".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    context = readTurns(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ChatRequest(query, companyName, contextId, contextDigest, context);
+        }
+
+        private List<ConversationContext.Turn> readTurns(JsonReader in) throws IOException {
+            List<ConversationContext.Turn> turns = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                String q = null;
+                String a = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if ("q".equals(name)) {
+                        q = nextStringOrNull(in);
+                    } else if ("a".equals(name)) {
+                        a = nextStringOrNull(in);
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                turns.add(new ConversationContext.Turn(q != null ? q : "", a != null ? a : ""));
+            }
+            in.endArray();
+            return turns;
+        }
+    }
+
+    private static final class ChatResponseJson extends TypeAdapter<ChatResponse> {
+        @Override
+        public void write(JsonWriter out, ChatResponse value) throws IOException {
+            out.beginObject();
+            if (value.getAnswer() != null) {
+                out.name("answer").value(value.getAnswer());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ChatResponse read(JsonReader in) throws IOException {
+            String answer = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("answer".equals(in.nextName())) {
+                    answer = nextStringOrNull(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ChatResponse(answer);
+        }
+    }
+
+    private static final class UploadResponseJson extends TypeAdapter<UploadResponse> {
+        @Override
+        public void write(JsonWriter out, UploadResponse value) throws IOException {
+            out.beginObject();
+            if (value.getMessage() != null) {
+                out.name("message").value(value.getMessage());
+            }
+            if (value.getCompanyName() != null) {
+                out.name("companyName").value(value.getCompanyName());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public UploadResponse read(JsonReader in) throws IOException {
+            String message = null;
+            String companyName = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("message".equals(name)) {
+                    message = nextStringOrNull(in);
+                } else if ("companyName".equals(name)) {
+                    companyName = nextStringOrNull(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new UploadResponse(message, companyName);
+        }
+    }
+
+    // 문자열이 아닌 값(null, 숫자 등)이 오면 건너뛰고 null
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            return in.nextString();
+        }
+        in.skipValue();
+        return null;
+    }
+}
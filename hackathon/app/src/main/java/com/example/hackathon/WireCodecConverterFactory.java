@@ -0,0 +1,106 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * 본문 형식을 고르는 Retrofit 변환기 (GsonConverterFactory를 감쌈)
+ * - 요청: WireAdapters에 CBOR 어댑터가 있는 타입이고 서버가 CBOR를 받으면 CBOR, 아니면 JSON
+ * - 응답: Content-Type이 CBOR면 byteStream()에서 바로 읽고 (본문 전체를 문자열로 만들지 않음), 아니면 JSON
+ * 협상 상태는 WireCodecInterceptor가 관리합니다.
+ */
+public class WireCodecConverterFactory extends Converter.Factory {
+
+    private final GsonConverterFactory json;
+    private final WireCodecInterceptor negotiation;
+
+    public WireCodecConverterFactory(Gson gson, WireCodecInterceptor negotiation) {
+        this.json = GsonConverterFactory.create(gson);
+        this.negotiation = negotiation;
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        WireAdapters.CborAdapter<Object> adapter = WireAdapters.cbor(type);
+        @SuppressWarnings("unchecked")
+        Converter<Object, RequestBody> jsonConverter = (Converter<Object, RequestBody>)
+                json.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+        if (adapter == null) {
+            return jsonConverter;
+        }
+        return value -> {
+            if (!negotiation.isCborAccepted()) {
+                return jsonConverter.convert(value);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            adapter.write(new CborWriter(out), value);
+            return new CborRequestBody(out.toByteArray(), () -> jsonConverter.convert(value));
+        };
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        WireAdapters.CborAdapter<Object> adapter = WireAdapters.cbor(type);
+        Converter<ResponseBody, ?> jsonConverter = json.responseBodyConverter(type, annotations, retrofit);
+        if (adapter == null) {
+            return jsonConverter;
+        }
+        return body -> {
+            if (!WireCodecInterceptor.isCbor(body.contentType())) {
+                return jsonConverter.convert(body);
+            }
+            try (ResponseBody closing = body) {
+                return adapter.read(new CborReader(closing.byteStream()));
+            }
+        };
+    }
+
+    interface JsonFallback {
+        RequestBody create() throws IOException;
+    }
+
+    /**
+     * CBOR로 인코딩한 요청 본문 (거절되면 WireCodecInterceptor가 toJson()으로 다시 보냄)
+     */
+    static final class CborRequestBody extends RequestBody {
+        private final byte[] bytes;
+        private final JsonFallback fallback;
+
+        CborRequestBody(byte[] bytes, JsonFallback fallback) {
+            this.bytes = bytes;
+            this.fallback = fallback;
+        }
+
+        RequestBody toJson() throws IOException {
+            return fallback.create();
+        }
+
+        @Override
+        public MediaType contentType() {
+            return WireCodecInterceptor.CBOR;
+        }
+
+        @Override
+        public long contentLength() {
+            return bytes.length;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hackathon;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * JSON / CBOR 본문 형식 협상 (WireCodecConverterFactory와 짝)
+ * - 모든 요청에 Accept: CBOR 우선, JSON 허용 → CBOR를 아는 서버는 CBOR로 답함
+ * - 응답이 CBOR로 오면 그 뒤 요청 본문도 CBOR로 보냄 (그 전까지는 JSON)
+ * - CBOR 요청이 400/415로 거절되면 (서버가 바뀌었거나 되돌려졌을 때) JSON으로 한 번 다시 보내고 다시 JSON만 씀
+ * GzipRequestInterceptor보다 앞에 둬야 원래 본문(WireCodecConverterFactory.CborRequestBody)을 볼 수 있습니다.
+ */
+public class WireCodecInterceptor implements Interceptor {
+
+    static final MediaType CBOR = MediaType.get("application/cbor");
+    static final String ACCEPT = "application/cbor, application/json;q=0.9";
+
+    private volatile boolean cborAccepted;
+
+    /**
+     * 서버가 CBOR 요청 본문을 받는지 (CBOR 응답을 본 적이 있으면 true)
+     */
+    public boolean isCborAccepted() {
+        return cborAccepted;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header("Accept") == null) {
+            request = request.newBuilder().header("Accept", ACCEPT).build();
+        }
+
+        Response response = chain.proceed(request);
+        if (isCbor(response.body() == null ? null : response.body().contentType())) {
+            cborAccepted = true;
+            return response;
+        }
+
+        if ((response.code() == 400 || response.code() == 415)
+                && request.body() instanceof WireCodecConverterFactory.CborRequestBody) {
+            cborAccepted = false;
+            response.close();
+            WireCodecConverterFactory.CborRequestBody body = (WireCodecConverterFactory.CborRequestBody) request.body();
+            Request json = request.newBuilder()
+                    .method(request.method(), body.toJson())
+                    .build();
+            return chain.proceed(json);
+        }
+        return response;
+    }
+
+    static boolean isCbor(MediaType type) {
+        return type != null && CBOR.type().equals(type.type()) && CBOR.subtype().equals(type.subtype());
+    }
+}
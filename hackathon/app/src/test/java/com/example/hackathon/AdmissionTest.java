@@ -0,0 +1,134 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class AdmissionTest {
+
+    private static final AdmissionLimiter.CancelSignal NOT_CANCELED = () -> false;
+
+    private MockWebServer server;
+    private AdmissionInterceptor admission;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        admission = new AdmissionInterceptor();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient.Builder()
+                        .addInterceptor(admission)
+                        .addInterceptor(new TimeoutProfileInterceptor())
+                        .build())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void tokenBucketMakesExtraRequestsWait() throws IOException {
+        AdmissionLimiter limiter = new AdmissionLimiter(10, 2, 10, 10, 50);
+        limiter.acquire(0, NOT_CANCELED);
+        limiter.acquire(0, NOT_CANCELED);
+        try {
+            limiter.acquire(0, NOT_CANCELED);
+            fail("토큰이 없으면 기다릴 수 없는 요청은 거절");
+        } catch (AdmissionRejectedException expected) {
+            assertTrue(expected.getRetryAfterMillis() > 0);
+        }
+
+        long start = System.nanoTime();
+        limiter.acquire(1000, NOT_CANCELED); // 초당 10개 → 약 100ms 뒤
+        long waited = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("waited " + waited, waited >= 50 && waited < 1000);
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    public void concurrencyLimitGrowsAdditivelyAndHalvesOnOverload() throws IOException {
+        AdmissionLimiter limiter = new AdmissionLimiter(1000, 100, 2, 4, 50);
+        limiter.acquire(0, NOT_CANCELED);
+        limiter.acquire(0, NOT_CANCELED);
+        try {
+            limiter.acquire(0, NOT_CANCELED);
+            fail("동시 요청 한도(2)를 넘으면 거절");
+        } catch (AdmissionRejectedException expected) {
+            // 한도만큼 진행 중
+        }
+
+        limiter.onSuccess("chat", 100);
+        limiter.release();
+        assertEquals(2.5, limiter.getLimit(), 1e-9);
+
+        limiter.onOverload(0);
+        assertEquals(1.25, limiter.getLimit(), 1e-9);
+        limiter.onOverload(0); // 쿨다운 안에서는 한 번만 줄어듦
+        assertEquals(1.25, limiter.getLimit(), 1e-9);
+    }
+
+    @Test
+    public void slowResponseIsComparedWithItsOwnEndpoint() throws IOException {
+        AdmissionLimiter limiter = new AdmissionLimiter(1000, 100, 2, 4, 50);
+        for (int i = 0; i < 5; i++) {
+            limiter.onSuccess("chat_stream", 50); // 스트리밍은 헤더가 바로 옴
+        }
+        double grown = limiter.getLimit();
+        limiter.onSuccess("chat", 3000); // 답변을 다 만든 뒤 오는 /chat은 느려도 밀림이 아님
+        assertTrue(limiter.getLimit() > grown);
+
+        limiter.onSuccess("chat_stream", 500); // 평소 스트리밍보다 10배 느림
+        assertTrue(limiter.getLimit() < grown);
+    }
+
+    @Test
+    public void retryAfterRejectsWithoutCallingServer() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "30")
+                .setBody("{\"error\":\"요청이 많아 잠시 후 다시 시도해 주세요.\"}"));
+
+        Response<ChatResponse> first = apiService.sendChat(new ChatRequest("질문1", null)).execute();
+        assertEquals(503, first.code());
+
+        try {
+            apiService.sendChat(new ChatRequest("질문2", null)).execute();
+            fail("Retry-After 동안은 보내지 않음");
+        } catch (AdmissionRejectedException e) {
+            assertTrue(e.getRetryAfterMillis() > AdmissionInterceptor.MAX_WAIT_MILLIS);
+        }
+        assertEquals(1, server.getRequestCount());
+
+        // 답변 생성이 아닌 요청은 제한하지 않음
+        server.enqueue(new MockResponse().setResponseCode(204));
+        assertTrue(apiService.ping().execute().isSuccessful());
+    }
+
+    @Test
+    public void streamingSlotIsHeldUntilBodyIsClosed() throws Exception {
+        server.enqueue(new MockResponse().setBody("data: [DONE]\n\n"));
+
+        Response<ResponseBody> response = apiService.sendChatStream(new ChatRequest("질문", null)).execute();
+        AdmissionLimiter limiter = admission.limiterFor(server.url("/"));
+        assertEquals(1, limiter.getInFlight());
+        response.body().close();
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.hackathon;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AnswerCacheTest {
+
+    private static final long TTL = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private long now = 1_000_000;
+
+    private AnswerCache newCache(File dir, int memoryEntries, long diskBytes) {
+        return new AnswerCache(dir, memoryEntries, diskBytes, TTL) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void normalizedQueriesShareOneEntry() {
+        AnswerCache cache = newCache(folder.getRoot(), 10, 1 << 20);
+        cache.put("병무청", "예비군  편성기간은?", "전역 후 8년");
+
+        assertEquals("전역 후 8년", cache.get("병무청", " 예비군 편성기간은 "));
+        assertNull(cache.get("삼성", "예비군 편성기간은"));
+        assertNull(cache.get(null, "예비군 편성기간은"));
+        assertEquals(1, cache.getMemoryHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void diskTierSurvivesRestart() {
+        File dir = folder.getRoot();
+        AnswerCache first = newCache(dir, 10, 1 << 20);
+        first.put("병무청", "연차 계산", "현재 연도 - 전역 연도");
+        first.get("병무청", "없는 질문"); // 디스크 쓰기가 끝날 때까지 기다리기 위한 조회
+
+        AnswerCache restarted = newCache(dir, 10, 1 << 20);
+        assertEquals("현재 연도 - 전역 연도", restarted.get("병무청", "연차 계산"));
+        assertEquals(1, restarted.getDiskHitCount());
+    }
+
+    @Test
+    public void expiredEntriesAreMisses() {
+        AnswerCache cache = newCache(folder.getRoot(), 10, 1 << 20);
+        cache.put("병무청", "질문", "답변");
+
+        now += TTL + 1;
+        assertNull(cache.get("병무청", "질문"));
+    }
+
+    @Test
+    public void invalidateCompanyRemovesOnlyThatCompany() {
+        File dir = folder.getRoot();
+        AnswerCache cache = newCache(dir, 10, 1 << 20);
+        cache.put("병무청", "질문", "병무청 답변");
+        cache.put("삼성", "질문", "삼성 답변");
+        cache.invalidateCompany("병무청");
+
+        assertNull(cache.get("병무청", "질문"));
+        assertEquals("삼성 답변", cache.get("삼성", "질문"));
+
+        AnswerCache restarted = newCache(dir, 10, 1 << 20);
+        assertNull(restarted.get("병무청", "질문"));
+        assertEquals("삼성 답변", restarted.get("삼성", "질문"));
+    }
+
+    @Test
+    public void corruptLengthIsAMissAndFileIsRemoved() throws Exception {
+        File dir = folder.getRoot();
+        AnswerCache first = newCache(dir, 10, 1 << 20);
+        first.put("병무청", "질문", "답변");
+        first.get("병무청", "없는 질문");
+        File file = dir.listFiles()[0].listFiles()[0];
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeLong(now);
+            out.writeInt(Integer.MAX_VALUE); // 파일보다 긴 길이
+        }
+
+        AnswerCache restarted = newCache(dir, 10, 1 << 20);
+        String[] result = {"콜백 안 옴"};
+        CountDownLatch done = new CountDownLatch(1);
+        restarted.lookup("병무청", "질문", Runnable::run, (answer, similarQuestion) -> {
+            result[0] = answer;
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(result[0]);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void memoryTierIsBoundedLru() {
+        AnswerCache cache = newCache(folder.getRoot(), 2, 1 << 20);
+        cache.put("병무청", "a", "1");
+        cache.put("병무청", "b", "2");
+        cache.get("병무청", "a"); // a를 최근 사용으로
+        cache.put("병무청", "c", "3"); // b가 메모리에서 밀려남
+
+        long diskHitsBefore = cache.getDiskHitCount();
+        assertEquals("2", cache.get("병무청", "b")); // 디스크에서 다시 찾음
+        assertEquals(diskHitsBefore + 1, cache.getDiskHitCount());
+    }
+
+    @Test
+    public void diskTierIsSizeCapped() {
+        File dir = folder.getRoot();
+        AnswerCache cache = newCache(dir, 1, 2_000);
+        StringBuilder answer = new StringBuilder();
+        for (int i = 0; i < 100; i++) answer.append("가");
+        for (int i = 0; i < 30; i++) {
+            now += 1000;
+            cache.put("병무청", "질문" + i, answer.toString());
+        }
+        cache.get("병무청", "없는 질문");
+
+        long total = 0;
+        for (File companyDir : dir.listFiles()) {
+            for (File file : companyDir.listFiles()) total += file.length();
+        }
+        assertTrue("disk usage " + total, total <= 2_000);
+    }
+
+    @Test
+    public void deletedExpiredFilesFreeDiskBudget() {
+        File dir = folder.getRoot();
+        AnswerCache cache = newCache(dir, 1, 2_000);
+        StringBuilder answer = new StringBuilder();
+        for (int i = 0; i < 100; i++) answer.append("가");
+        for (int i = 0; i < 5; i++) {
+            cache.put("병무청", "옛 질문" + i, answer.toString());
+        }
+        now += TTL + 1;
+        for (int i = 0; i < 5; i++) {
+            assertNull(cache.get("병무청", "옛 질문" + i)); // 만료된 파일을 지움
+        }
+        for (int i = 0; i < 5; i++) {
+            now += 1000;
+            cache.put("병무청", "새 질문" + i, answer.toString());
+        }
+        cache.get("병무청", "없는 질문");
+
+        // 지운 파일의 크기가 사용량에 남아 있으면 용량이 남는데도 새 답변이 지워짐
+        assertEquals(5, dir.listFiles()[0].listFiles().length);
+    }
+
+    @Test
+    public void paraphrasedQuestionReusesAnswerAcrossRestart() throws Exception {
+        File dir = folder.getRoot();
+        AnswerCache cache = newCache(dir, 10, 1 << 20);
+        cache.put("병무청", "예비군 연차 계산 어떻게 해요", "현재 연도 - 전역 연도");
+
+        String[] result = new String[2];
+        CountDownLatch done = new CountDownLatch(1);
+        cache.lookup("병무청", "예비군 연차는 어떻게 계산하나요?", Runnable::run, (answer, similarQuestion) -> {
+            result[0] = answer;
+            result[1] = similarQuestion;
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("현재 연도 - 전역 연도", result[0]);
+        assertEquals("예비군 연차 계산 어떻게 해요", result[1]);
+        assertEquals(1, cache.getSimilarHitCount());
+        assertEquals(0, cache.getMissCount());
+        assertNull(cache.get("삼성", "예비군 연차는 어떻게 계산하나요")); // 기업마다 따로
+
+        // 다시 켜도 디스크에 저장된 질문으로 찾음
+        AnswerCache restarted = newCache(dir, 10, 1 << 20);
+        assertEquals("현재 연도 - 전역 연도", restarted.get("병무청", "예비군 연차는 어떻게 계산해요"));
+
+        restarted.setSimilarityThreshold(1.1); // 끄면 정확히 같은 질문만
+        assertNull(restarted.get("병무청", "예비군 연차는 어떻게 계산하나요"));
+    }
+
+    @Test
+    public void similarMatchFollowsExpiryAndInvalidation() {
+        AnswerCache cache = newCache(folder.getRoot(), 10, 1 << 20);
+        cache.put("병무청", "동원훈련 연기 신청 방법", "인터넷으로 신청");
+        cache.put("삼성", "동원훈련 연기 신청 방법", "인사팀에 문의");
+        cache.invalidateCompany("병무청");
+        assertNull(cache.get("병무청", "동원훈련 연기는 신청 방법"));
+        assertEquals("인사팀에 문의", cache.get("삼성", "동원훈련 연기는 신청 방법"));
+
+        now += TTL + 1;
+        assertNull(cache.get("삼성", "동원훈련 연기는 신청 방법"));
+    }
+}
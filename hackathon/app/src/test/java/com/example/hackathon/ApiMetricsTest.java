@@ -0,0 +1,147 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ApiMetricsTest {
+
+    private MockWebServer server;
+    private ApiMetrics metrics;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        metrics = new ApiMetrics();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .eventListenerFactory(new MetricsEventListener.Factory(metrics))
+                .build();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void histogramPercentilesStayWithinBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i); // 1 ~ 100ms
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+
+        // 구간 경계 때문에 근사값이지만 실제 값이 든 구간 안이어야 함
+        assertBetween(35, 50, histogram.percentile(0.50));
+        assertBetween(75, 100, histogram.percentile(0.95));
+        assertBetween(75, 100, histogram.percentile(0.99));
+        assertTrue(histogram.percentile(0.50) <= histogram.percentile(0.95));
+
+        histogram.record(500_000); // 마지막 구간 (상한 없음) → 최댓값을 넘지 않음
+        assertEquals(500_000, histogram.percentile(1.0));
+        assertEquals(LatencyHistogram.BOUNDS.length, LatencyHistogram.bucketOf(500_000));
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(0, LatencyHistogram.bucketOf(1));
+        assertEquals(1, LatencyHistogram.bucketOf(2));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    public void callsAreRecordedPerEndpointAndCompany() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"answer\": \"답변\"}"));
+        server.enqueue(new MockResponse().setBody("{\"answer\": \"답변\"}"));
+        server.enqueue(new MockResponse().setResponseCode(204));
+
+        apiService.sendChat(new ChatRequest("질문", "병무청")).execute();
+        apiService.sendChat(new ChatRequest("질문", null)).execute();
+        apiService.ping().execute();
+
+        ApiMetrics.CallStats chat = metrics.getEndpointStats("chat");
+        assertEquals(2, chat.getCallCount());
+        assertEquals(0, chat.getFailureCount());
+        assertEquals(2, chat.get(ApiMetrics.TTFB).getCount());
+        assertEquals(1, metrics.getCompanyStats("chat", "병무청").getCallCount());
+        assertEquals(1, metrics.getCompanyStats("chat", null).getCallCount());
+        assertEquals(1, metrics.getEndpointStats("ping").getCallCount());
+
+        // 첫 호출만 새 연결 (DNS 조회 없이 IP로 연결), 나머지는 keep-alive 재사용
+        assertEquals(1, chat.get(ApiMetrics.CONNECT).getCount());
+        assertEquals(1, metrics.getCount("connection.new"));
+        assertEquals(2, metrics.getCount("connection.reused"));
+        assertEquals(0, chat.get(ApiMetrics.TLS).getCount());
+    }
+
+    @Test
+    public void failedCallsAndQueryCompanyAreRecorded() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"chunkIds\": []}"));
+        apiService.getManualDigest("병무청").execute();
+        assertEquals(1, metrics.getCompanyStats("manual_digest", "병무청").getCallCount());
+
+        server.shutdown();
+        try {
+            apiService.ping().execute();
+            fail();
+        } catch (java.io.IOException expected) {
+            // 서버가 꺼져 있음
+        }
+        assertEquals(1, metrics.getEndpointStats("ping").getFailureCount());
+    }
+
+    @Test
+    public void reportIncludesCacheRatesRetriesAndGauges() {
+        metrics.recordCall("upload", "병무청", new long[]{-1, 12, -1, 40, 90}, false);
+        metrics.recordCacheLookup("manual_chunks", true);
+        metrics.recordCacheLookup("manual_chunks", true);
+        metrics.recordCacheLookup("manual_chunks", true);
+        metrics.recordCacheLookup("manual_chunks", false);
+        metrics.recordRetry("outbox");
+        metrics.registerGauge("answer", () -> "50.0%");
+
+        String report = metrics.report();
+        assertTrue(report.contains("upload @ 병무청"));
+        assertTrue(report.contains("75.0%"));
+        assertTrue(report.contains("retry.outbox"));
+        assertTrue(report.contains("50.0%"));
+        assertFalse(report.contains("  dns ")); // 기록되지 않은 단계는 생략
+
+        metrics.reset();
+        assertNull(metrics.getEndpointStats("upload"));
+        assertEquals(0, metrics.getCount("retry.outbox"));
+        assertTrue(metrics.report().contains("50.0%")); // 게이지는 유지
+    }
+
+    @Test
+    public void companyKeysAreBounded() {
+        long[] phases = {-1, -1, -1, 10, 20};
+        for (int i = 0; i < ApiMetrics.MAX_COMPANIES + 5; i++) {
+            metrics.recordCall("chat", "기업" + i, phases, false);
+        }
+        assertEquals(5, metrics.getCompanyStats("chat", ApiMetrics.OTHER_COMPANIES).getCallCount());
+        assertEquals(ApiMetrics.MAX_COMPANIES + 5, metrics.getEndpointStats("chat").getCallCount());
+    }
+
+    private static void assertBetween(long low, long high, long actual) {
+        assertTrue(actual + " not in [" + low + ", " + high + "]", actual >= low && actual <= high);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ChatBatcherTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private ScheduledExecutorService scheduler;
+    private final Gson gson = new Gson();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ApiService.class);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void queriesInWindowShareOneRequestAndResultsMatchById() throws Exception {
+        server.enqueue(new MockResponse().setBody(
+                "{\"id\": \"3\", \"status\": 404, \"error\": \"'없는기업'에 해당하는 상담원이 없습니다.\"}\n"
+                        + "\n"
+                        + "{\"id\": \"2\", \"status\": 200, \"answer\": \"둘째 답\"}\n"
+                        + "{\"id\": \"1\", \"status\": 200, \"answer\": \"첫 답\"}\n"));
+        ChatBatcher batcher = new ChatBatcher(apiService, gson, scheduler, 100, 8);
+        Recorder recorder = new Recorder(3);
+
+        batcher.submit("첫 질문", null, recorder.callback("a"));
+        batcher.submit("둘째 질문", "병무청", recorder.callback("b"));
+        batcher.submit("셋째 질문", "없는기업", recorder.callback("c"));
+
+        assertTrue(recorder.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/chat_batch", request.getPath());
+        ChatBatchRequest sent = gson.fromJson(request.getBody().readUtf8(), ChatBatchRequest.class);
+        assertEquals(3, sent.getItems().size());
+
+        assertEquals("첫 답", recorder.answers.get("a"));
+        assertEquals("둘째 답", recorder.answers.get("b"));
+        UploadException rejected = (UploadException) recorder.errors.get("c");
+        assertEquals(404, rejected.getCode());
+        assertFalse(rejected.isRetryable());
+    }
+
+    @Test
+    public void fullBatchIsSentWithoutWaiting() throws Exception {
+        server.enqueue(new MockResponse().setBody(
+                "{\"id\": \"1\", \"status\": 200, \"answer\": \"1\"}\n{\"id\": \"2\", \"status\": 200, \"answer\": \"2\"}\n"));
+        ChatBatcher batcher = new ChatBatcher(apiService, gson, scheduler, 60_000, 2);
+        Recorder recorder = new Recorder(2);
+
+        batcher.submit("1", null, recorder.callback("1"));
+        batcher.submit("2", null, recorder.callback("2"));
+
+        assertTrue(recorder.done.await(5, TimeUnit.SECONDS));
+        assertEquals("2", recorder.answers.get("2"));
+    }
+
+    @Test
+    public void failedBatchAndMissingResultsAreNotItemRejections() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody("{\"id\": \"2\", \"status\": 200, \"answer\": \"답\"}\n")); // id는 배처마다 1부터
+        ChatBatcher batcher = new ChatBatcher(apiService, gson, scheduler, 60_000, 8);
+
+        Recorder first = new Recorder(1);
+        batcher.submit("질문", null, first.callback("a"));
+        batcher.flush();
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        assertFalse(first.errors.get("a") instanceof UploadException); // 배치 자체가 실패 → /chat으로 다시 보낼 수 있음
+
+        Recorder second = new Recorder(2);
+        batcher.submit("답이 오는 질문", null, second.callback("b"));
+        batcher.submit("답이 없는 질문", null, second.callback("c"));
+        batcher.flush();
+        assertTrue(second.done.await(5, TimeUnit.SECONDS));
+        assertEquals("답", second.answers.get("b"));
+        assertFalse(second.errors.get("c") instanceof UploadException);
+        assertNotNull(second.errors.get("c"));
+    }
+
+    @Test
+    public void malformedLineFailsTheStream() {
+        List<ChatBatchResult> results = new ArrayList<>();
+        try {
+            ChatBatcher.readResults(new StringReader("{\"id\": \"1\", \"status\": 200, \"answer\": \"답\"}\n{잘못된"),
+                    gson, results::add);
+            fail();
+        } catch (IOException expected) {
+            assertEquals(1, results.size());
+            assertTrue(results.get(0).isSuccessful());
+        }
+    }
+
+    private static class Recorder {
+        final CountDownLatch done;
+        final Map<String, String> answers = new ConcurrentHashMap<>();
+        final Map<String, IOException> errors = new ConcurrentHashMap<>();
+
+        Recorder(int expected) {
+            done = new CountDownLatch(expected);
+        }
+
+        ChatBatcher.Callback callback(String name) {
+            return new ChatBatcher.Callback() {
+                @Override
+                public void onAnswer(String answer) {
+                    answers.put(name, answer);
+                    done.countDown();
+                }
+
+                @Override
+                public void onError(IOException e) {
+                    errors.put(name, e);
+                    done.countDown();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ChatMessageTest {
+
+    private final ChatRowDiffCallback diff = new ChatRowDiffCallback();
+
+    @Test
+    public void newMessagesGetDistinctIds() {
+        ChatMessage first = new ChatMessage("안녕하세요", true);
+        ChatMessage second = new ChatMessage("안녕하세요", true);
+        assertNotEquals(first.getId(), second.getId());
+        assertFalse(diff.areItemsTheSame(row(first), row(second)));
+    }
+
+    @Test
+    public void newIdsStayAboveStoredIds() {
+        long stored = new ChatMessage("기준", true).getId() + 1_000_000; // 시계가 뒤로 간 뒤 저장된 대화
+        ChatMessage.reserveIdsThrough(stored);
+        assertTrue(new ChatMessage("새 질문", true).getId() > stored);
+
+        ChatMessage.reserveIdsThrough(0); // 더 작은 값으로는 내려가지 않음
+        assertTrue(new ChatMessage("다음 질문", true).getId() > stored);
+    }
+
+    @Test
+    public void streamingUpdatesKeepIdAndOnlyChangeText() {
+        ChatMessage placeholder = new ChatMessage("답변을 생성하고 있습니다...", false);
+        ChatMessage firstChunk = placeholder.withMessage("예비군은 ");
+        ChatMessage appended = firstChunk.withAppended("8년차까지입니다.");
+
+        assertEquals(placeholder.getId(), appended.getId());
+        assertEquals("예비군은 8년차까지입니다.", appended.getMessage());
+        assertEquals("답변을 생성하고 있습니다...", placeholder.getMessage()); // 원본은 그대로
+
+        assertTrue(diff.areItemsTheSame(row(placeholder), row(appended)));
+        assertFalse(diff.areContentsTheSame(row(placeholder), row(appended)));
+        assertSame(ChatRowDiffCallback.PAYLOAD_TEXT, diff.getChangePayload(row(placeholder), row(appended)));
+        assertTrue(diff.areContentsTheSame(row(appended), row(firstChunk.withAppended("8년차까지입니다."))));
+    }
+
+    @Test
+    public void pagesAreTrimmedToWindow() {
+        List<ChatMessage> window = messages(1, 4); // 1..4
+        List<ChatMessage> older = messages(-1, 0); // -1, 0
+        List<ChatMessage> newer = messages(5, 7); // 5..7
+
+        assertEquals(Arrays.asList(-1L, 0L, 1L, 2L), ids(ChatMessageLists.prependTrimmed(older, window, 4)));
+        assertEquals(Arrays.asList(4L, 5L, 6L, 7L), ids(ChatMessageLists.appendTrimmed(window, newer, 4)));
+        // 새 페이지가 창보다 크면 페이지 뒤쪽만 남음
+        assertEquals(Arrays.asList(6L, 7L), ids(ChatMessageLists.appendTrimmed(window, newer, 2)));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids(ChatMessageLists.appendTrimmed(window, newer, 100)));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), ids(window)); // 원본은 그대로
+    }
+
+    @Test
+    public void replaceFindsMessageById() {
+        List<ChatMessage> window = messages(1, 4);
+        int position = ChatMessageLists.indexOf(window, 3);
+        assertEquals(2, position);
+        assertEquals(-1, ChatMessageLists.indexOf(window, 99));
+
+        List<ChatMessage> updated = ChatMessageLists.replaceAt(window, position, window.get(position).withAppended("!"));
+        assertEquals("3!", updated.get(2).getMessage());
+        assertEquals("3", window.get(2).getMessage());
+    }
+
+    @Test
+    public void longAnswersAreSplitIntoParagraphRows() {
+        StringBuilder answer = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            answer.append(i).append(". ").append(repeat("예비군 편성 안내 ", 20)).append("\n\n");
+        }
+        ChatMessage question = new ChatMessage(1, repeat("긴 질문 ", 400), true);
+        ChatMessage longAnswer = new ChatMessage(2, answer.toString().trim(), false);
+        Map<ChatMessage, List<ChatRow>> cache = new IdentityHashMap<>();
+
+        List<ChatRow> rows = ChatMessageLists.toRows(Arrays.asList(question, longAnswer), cache);
+
+        assertEquals(1, rows.get(0).getMessageId()); // 사용자 메시지는 나누지 않음
+        assertTrue(rows.size() > 3);
+        assertFalse(rows.get(1).isContinuation());
+        assertTrue(rows.get(2).isContinuation());
+        for (ChatRow row : rows.subList(1, rows.size())) {
+            assertEquals(2, row.getMessageId());
+            assertTrue(row.getText().length() <= ChatMessageLists.PART_CHARS);
+        }
+        assertNotEquals(rows.get(1).getStableId(), rows.get(2).getStableId());
+
+        // 같은 메시지 객체는 다시 나누지 않고, 뒤에 글이 붙어도 앞 문단 줄은 그대로
+        assertSame(rows.get(1), ChatMessageLists.toRows(Collections.singletonList(longAnswer), cache).get(0));
+        List<ChatRow> appended = ChatMessageLists.toRows(
+                Collections.singletonList(longAnswer.withAppended("\n\n추가 안내")), cache);
+        assertTrue(diff.areContentsTheSame(rows.get(1), appended.get(0)));
+        assertTrue(appended.get(appended.size() - 1).getText().endsWith("추가 안내"));
+    }
+
+    private static ChatRow row(ChatMessage message) {
+        return ChatMessageLists.toRows(Collections.singletonList(message), new IdentityHashMap<>()).get(0);
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+
+    private static List<ChatMessage> messages(long fromId, long toId) {
+        List<ChatMessage> messages = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            messages.add(new ChatMessage(id, String.valueOf(id), id % 2 == 0));
+        }
+        return messages;
+    }
+
+    private static List<Long> ids(List<ChatMessage> messages) {
+        List<Long> ids = new ArrayList<>();
+        for (ChatMessage message : messages) {
+            ids.add(message.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ChatRequestManagerTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private ChatRequestManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        manager = new ChatRequestManager();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void ticketsGetIncreasingSequence() {
+        ChatRequestManager.Ticket first = manager.begin("general", 1, false);
+        ChatRequestManager.Ticket second = manager.begin("company:병무청", 2, false);
+        assertTrue(second.getSequence() > first.getSequence());
+        assertEquals(2, manager.getActiveCount());
+
+        manager.finish(first);
+        assertFalse(first.isActive());
+        assertFalse(first.isCanceled());
+        assertEquals(1, manager.getActiveCount());
+    }
+
+    @Test
+    public void newQueryInSameSessionSupersedesPending() {
+        ChatRequestManager.Ticket old = manager.begin("general", 1, true);
+        ChatRequestManager.Ticket other = manager.begin("company:병무청", 2, true);
+        ChatRequestManager.Ticket newer = manager.begin("general", 3, true);
+
+        assertTrue(old.isCanceled());
+        assertTrue(other.isActive()); // 다른 세션은 그대로
+        assertTrue(newer.isActive());
+    }
+
+    @Test
+    public void cancelSessionCancelsInFlightCall() throws Exception {
+        // 응답이 오지 않는 서버
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        ChatRequestManager.Ticket ticket = manager.begin("company:병무청", 1, false);
+        Call<ChatResponse> call = manager.attach(ticket, apiService.sendChat(new ChatRequest("질문", "병무청")));
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        call.enqueue(new Callback<ChatResponse>() {
+            @Override
+            public void onResponse(Call<ChatResponse> c, Response<ChatResponse> response) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call<ChatResponse> c, Throwable t) {
+                failure.set(t);
+                done.countDown();
+            }
+        });
+        server.takeRequest(5, TimeUnit.SECONDS);
+
+        assertEquals(0, manager.cancelSession("general"));
+        assertEquals(1, manager.cancelSession("company:병무청"));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(call.isCanceled());
+        assertTrue(failure.get() instanceof IOException);
+        assertTrue(ticket.isCanceled());
+        assertEquals(0, manager.getActiveCount());
+    }
+
+    @Test
+    public void callAttachedAfterCancelIsCanceledImmediately() {
+        ChatRequestManager.Ticket ticket = manager.begin("general", 1, false);
+        assertEquals(1, manager.cancelAll());
+
+        Call<ChatResponse> call = manager.attach(ticket, apiService.sendChat(new ChatRequest("질문", null)));
+        assertTrue(call.isCanceled());
+        try {
+            call.execute();
+            fail("취소된 요청이 실행됨");
+        } catch (IOException expected) {
+            // 서버까지 가지 않음
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ChatStreamReaderTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void chunksAreDeliveredInOrderUntilDone() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"delta\": \"예비군은 \"}\n\n"
+                        + ": keep-alive\n\n"
+                        + "data: {\"delta\": \"8년차까지\\n입니다.\"}\n\n"
+                        + "data: [DONE]\n\n"));
+
+        RecordingCallback callback = new RecordingCallback();
+        new ChatStreamReader(Runnable::run).read(
+                apiService.sendChatStream(new ChatRequest("편성기간?", "병무청")), callback);
+
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals("예비군은 8년차까지\n입니다.", callback.text.toString());
+        assertTrue(callback.completed);
+        assertNull(callback.failure);
+    }
+
+    @Test
+    public void errorEventIsReportedAsFailure() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody("data: {\"delta\": \"부분\"}\n\n"
+                        + "event: error\ndata: {\"error\": \"답변 생성 중 오류\"}\n\n"));
+
+        RecordingCallback callback = new RecordingCallback();
+        new ChatStreamReader(Runnable::run).read(
+                apiService.sendChatStream(new ChatRequest("질문", null)), callback);
+
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals("부분", callback.text.toString());
+        assertNotNull(callback.failure);
+        assertFalse(callback.completed);
+    }
+
+    @Test
+    public void nonSuccessCodeIsReportedBeforeStreaming() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\": \"없음\"}"));
+
+        RecordingCallback callback = new RecordingCallback();
+        new ChatStreamReader(Runnable::run).read(
+                apiService.sendChatStream(new ChatRequest("질문", "없는기업")), callback);
+
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals(404, callback.httpError);
+        assertEquals("", callback.text.toString());
+    }
+
+    private static class RecordingCallback implements ChatStreamCallback {
+        final StringBuilder text = new StringBuilder();
+        final CountDownLatch done = new CountDownLatch(1);
+        boolean completed;
+        int httpError;
+        Throwable failure;
+
+        @Override
+        public void onChunk(String delta) {
+            text.append(delta);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        @Override
+        public void onHttpError(int code) {
+            httpError = code;
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure = t;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class CompanyRegistryTest {
+
+    private static final String LIST = "{\"companies\": ["
+            + "{\"companyName\": \"가나전자\", \"manualVersion\": \"a1b2c3d4e5f6\", \"chunkCount\": 120, \"updatedAt\": 1700000000000},"
+            + "{\"companyName\": \"병무청\", \"manualVersion\": \"0f0f0f0f0f0f\", \"chunkCount\": 484, \"updatedAt\": 1600000000000, \"isDefault\": true}"
+            + "]}";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        file = new File(temp.getRoot(), "companies.json");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private CompanyRegistry newRegistry() {
+        return new CompanyRegistry(apiService, file, Collections.emptyList(), Runnable::run);
+    }
+
+    @Test
+    public void defaultCompanyIsListedBeforeFirstRefresh() {
+        assertEquals(Collections.singletonList("병무청"), newRegistry().getCompanyList());
+    }
+
+    @Test
+    public void unchangedListIsNotDownloadedAgain() throws Exception {
+        server.enqueue(new MockResponse().setBody(LIST).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        CompanyRegistry registry = newRegistry();
+        assertTrue(registry.refreshNow());
+        assertEquals(Arrays.asList("병무청", "가나전자"), registry.getCompanyList());
+        assertEquals(120, registry.getInfo("가나전자").getChunkCount());
+        assertEquals("a1b2c3d4e5f6", registry.getInfo("가나전자").getManualVersion());
+
+        assertFalse(registry.refreshNow());
+        assertEquals(Arrays.asList("병무청", "가나전자"), registry.getCompanyList());
+
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("/companies", conditional.getPath());
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void snapshotIsSharedBetweenReads() throws Exception {
+        server.enqueue(new MockResponse().setBody(LIST).setHeader("ETag", "\"v1\""));
+        CompanyRegistry registry = newRegistry();
+        registry.refreshNow();
+        // 메뉴를 열 때마다 복사하지 않음
+        assertSame(registry.getCompanyList(), registry.getCompanyList());
+    }
+
+    @Test
+    public void savedListAndEtagSurviveRestart() throws Exception {
+        server.enqueue(new MockResponse().setBody(LIST).setHeader("ETag", "\"v1\""));
+        newRegistry().refreshNow();
+
+        CompanyRegistry restarted = newRegistry();
+        assertEquals(Arrays.asList("병무청", "가나전자"), restarted.getCompanyList());
+        assertEquals("\"v1\"", restarted.getEtag());
+        assertEquals(484, restarted.getInfo("병무청").getChunkCount());
+    }
+
+    @Test
+    public void locallyUploadedCompanyStaysUntilServerListsIt() throws Exception {
+        server.enqueue(new MockResponse().setBody(LIST).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setBody(LIST.replace("]}",
+                ", {\"companyName\": \"다라물산\", \"chunkCount\": 7}]}")).setHeader("ETag", "\"v2\""));
+        CompanyRegistry registry = new CompanyRegistry(apiService, file,
+                Collections.singletonList("다라물산"), Runnable::run);
+        assertEquals(Arrays.asList("병무청", "다라물산"), registry.getCompanyList());
+
+        registry.refreshNow(); // 서버에 아직 없음 → 계속 표시
+        assertEquals(Arrays.asList("병무청", "가나전자", "다라물산"), registry.getCompanyList());
+        assertNull(registry.getInfo("다라물산"));
+
+        registry.refreshNow();
+        assertEquals(7, registry.getInfo("다라물산").getChunkCount());
+        assertEquals(3, registry.getCompanyList().size());
+    }
+
+    @Test
+    public void offlineKeepsLastList() throws Exception {
+        server.enqueue(new MockResponse().setBody(LIST).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        CompanyRegistry registry = newRegistry();
+        registry.refreshNow();
+        try {
+            registry.refreshNow();
+            fail("503인데 성공함");
+        } catch (IOException expected) {
+            // 목록은 그대로
+        }
+        assertEquals(Arrays.asList("병무청", "가나전자"), registry.getCompanyList());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ConnectionWarmerTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private Gson gson;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        gson = new Gson();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient())
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void prepareSendsNothing() {
+        ConnectionWarmer warmer = new ConnectionWarmer(apiService, gson);
+        warmer.prepare();
+        warmer.prepare();
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void firstChatReusesWarmedConnection() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(204));
+        server.enqueue(new MockResponse().setBody("{\"answer\": \"안녕하세요\"}"));
+
+        assertTrue(new ConnectionWarmer(apiService, gson).warmConnection());
+        apiService.sendChat(new ChatRequest("질문", null)).execute();
+
+        RecordedRequest ping = server.takeRequest();
+        assertEquals("/ping", ping.getPath());
+        assertEquals(0, ping.getSequenceNumber());
+        // 같은 연결의 두 번째 요청 = 새로 연결하지 않음
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    public void recentlyWarmedConnectionIsNotPingedAgain() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(204));
+        }
+
+        ConnectionWarmer warmer = new ConnectionWarmer(apiService, gson);
+        assertTrue(warmer.warmConnection());
+        assertFalse(warmer.warmConnection());
+        assertEquals(1, server.getRequestCount());
+
+        ConnectionWarmer always = new ConnectionWarmer(apiService, gson, 0);
+        assertTrue(always.warmConnection());
+        assertTrue(always.warmConnection());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void unreachableServerIsIgnored() throws Exception {
+        server.shutdown();
+        ConnectionWarmer warmer = new ConnectionWarmer(apiService, gson);
+        assertFalse(warmer.warmConnection());
+        // 실패하면 다음 기회에 다시 시도
+        assertFalse(warmer.warmConnection());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConversationContextTest {
+
+    @Test
+    public void sendsDigestOnlyWhileServerHoldsWindow() {
+        ConversationContext context = new ConversationContext("세션");
+        ChatRequest first = context.newRequest("질문1", "병무청");
+        assertEquals("세션", first.getContextId());
+        assertTrue(first.getContext().isEmpty()); // 첫 질문: 빈 창을 그대로 (409 없이)
+        assertNull(first.getContextDigest());
+
+        context.onAnswered("질문1", "답변1");
+        ChatRequest second = context.newRequest("질문2", "병무청");
+        assertNull(second.getContext());
+        assertEquals(ConversationContext.digest(context.getTurns()), second.getContextDigest());
+
+        context.onServerMiss();
+        ChatRequest resent = context.newRequest("질문2", "병무청");
+        assertEquals(1, resent.getContext().size());
+        assertEquals("답변1", resent.getContext().get(0).getAnswer());
+
+        // 기기에서 답한 질문은 서버가 모르므로 다음에는 전체 창
+        context.onAnswered("질문2", "답변2");
+        context.addLocalTurn("질문3", "FAQ 답변");
+        assertEquals(3, context.newRequest("질문4", null).getContext().size());
+    }
+
+    @Test
+    public void windowStaysWithinTurnAndByteBudget() {
+        ConversationContext context = new ConversationContext("세션");
+        StringBuilder longAnswer = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            longAnswer.append('가');
+        }
+        for (int i = 0; i < 20; i++) {
+            context.onAnswered("질문" + i, longAnswer.toString());
+        }
+        List<ConversationContext.Turn> turns = context.getTurns();
+        int bytes = 0;
+        for (ConversationContext.Turn turn : turns) {
+            assertEquals(ConversationContext.MAX_TEXT_CODE_POINTS, turn.getAnswer().length());
+            bytes += turn.byteSize();
+        }
+        assertTrue(bytes <= ConversationContext.MAX_BYTES);
+        assertTrue(turns.size() <= ConversationContext.MAX_TURNS);
+        assertEquals("질문19", turns.get(turns.size() - 1).getQuery()); // 최근 것이 남음
+
+        context.onServerMiss();
+        ChatRequest request = context.newRequest("질문", null);
+        assertTrue(RetrofitClient.getGson().toJson(request).getBytes().length < ConversationContext.MAX_BYTES * 2);
+    }
+
+    @Test
+    public void clipAndDigestMatchServer() {
+        ConversationContext context = new ConversationContext("세션");
+        StringBuilder longAnswer = new StringBuilder();
+        for (int i = 0; i < 700; i++) {
+            longAnswer.append(i % 7 == 0 ? "😀" : "가"); // 서로게이트 쌍을 자르지 않음
+        }
+        for (int i = 0; i < 9; i++) {
+            context.onAnswered("질문 " + i, i == 8 ? longAnswer.toString() : "답변 " + i + " é");
+        }
+        // app.py의 trim_context / context_digest로 같은 대화를 계산한 값
+        assertEquals(6, context.getTurns().size());
+        assertEquals("59545e5300e6e176", ConversationContext.digest(context.getTurns()));
+    }
+
+    @Test
+    public void contextFieldsSurviveCborAndJson() throws IOException {
+        ConversationContext context = new ConversationContext("세션");
+        context.onAnswered("편성기간은?", "3월입니다.");
+        context.onServerMiss();
+        ChatRequest request = context.newRequest("그럼 장소는?", "병무청");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireAdapters.CHAT_REQUEST_CBOR.write(new CborWriter(out), request);
+        ChatRequest fromCbor = WireAdapters.CHAT_REQUEST_CBOR.read(
+                new CborReader(new ByteArrayInputStream(out.toByteArray())));
+        ChatRequest fromJson = RetrofitClient.getGson().fromJson(
+                RetrofitClient.getGson().toJson(request), ChatRequest.class);
+
+        for (ChatRequest read : new ChatRequest[]{fromCbor, fromJson}) {
+            assertEquals("그럼 장소는?", read.getQuery());
+            assertEquals("세션", read.getContextId());
+            assertNull(read.getContextDigest());
+            assertEquals(1, read.getContext().size());
+            assertEquals("편성기간은?", read.getContext().get(0).getQuery());
+            assertEquals("3월입니다.", read.getContext().get(0).getAnswer());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class EndpointPoolTest {
+
+    private MockWebServer first;
+    private MockWebServer second;
+    private EndpointPool pool;
+    private OkHttpClient client;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        first = new MockWebServer();
+        second = new MockWebServer();
+        first.start();
+        second.start();
+        pool = new EndpointPool(Arrays.asList(first.url("/").toString(), second.url("/").toString()), new Gson());
+        EndpointRoutingInterceptor routing = new EndpointRoutingInterceptor(pool, first.url("/"));
+        client = new OkHttpClient.Builder()
+                .addInterceptor(routing)
+                .addInterceptor(new TimeoutProfileInterceptor())
+                .build();
+        routing.attach(client);
+        apiService = new Retrofit.Builder()
+                .baseUrl(first.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    public void fastestHealthyEndpointComesFirst() {
+        List<EndpointPool.Endpoint> endpoints = pool.getEndpoints();
+        pool.recordProbe(endpoints.get(0), 80);
+        pool.recordProbe(endpoints.get(1), 20);
+        assertSame(endpoints.get(1), pool.candidates().get(0));
+
+        pool.markDown(endpoints.get(1));
+        List<EndpointPool.Endpoint> candidates = pool.candidates();
+        assertSame(endpoints.get(0), candidates.get(0));
+        assertSame(endpoints.get(1), candidates.get(1)); // 실패한 서버도 마지막에는 시도
+    }
+
+    @Test
+    public void connectFailureFailsOverToNextEndpoint() throws Exception {
+        first.shutdown();
+        second.enqueue(new MockResponse().setBody("{\"answer\":\"두 번째 서버\"}"));
+
+        Response<ChatResponse> response = apiService.sendChat(new ChatRequest("질문", null)).execute();
+        assertEquals("두 번째 서버", response.body().getAnswer());
+        assertFalse(pool.getEndpoints().get(0).isHealthy());
+        assertNull(second.takeRequest().getHeader(EndpointRoutingInterceptor.HEDGE_HEADER));
+    }
+
+    @Test
+    public void slowChatIsHedgedToSecondEndpoint() throws Exception {
+        EndpointPool.Endpoint primary = pool.getEndpoints().get(0);
+        for (int i = 0; i < EndpointPool.MIN_HEDGE_SAMPLES; i++) {
+            pool.recordLatency(primary, "chat", 10);
+        }
+        first.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS).setBody("{\"answer\":\"느린 서버\"}"));
+        second.enqueue(new MockResponse().setBody("{\"answer\":\"빠른 서버\"}"));
+
+        long start = System.nanoTime();
+        Response<ChatResponse> response = apiService.sendChat(new ChatRequest("질문", null)).execute();
+        assertEquals("빠른 서버", response.body().getAnswer());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4000);
+        assertEquals(1, first.getRequestCount());
+        assertEquals(1, second.getRequestCount());
+    }
+
+    @Test
+    public void everyChatCallIsTimedPerPathAndStreamsAreHedged() throws Exception {
+        EndpointPool.Endpoint primary = pool.getEndpoints().get(0);
+        first.enqueue(new MockResponse().setBody("{\"answer\":\"답변\"}"));
+        apiService.sendChat(new ChatRequest("질문", null)).execute();
+        assertEquals(1, primary.getLatency("chat").getCount()); // 헤징 전에도 기록됨
+        assertEquals(0, primary.getLatency("chat_stream").getCount());
+
+        for (int i = 0; i < EndpointPool.MIN_HEDGE_SAMPLES; i++) {
+            pool.recordLatency(primary, "chat_stream", 10);
+        }
+        first.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS).setBody("data: [DONE]\n\n"));
+        second.enqueue(new MockResponse().setBody("data: {\"delta\": \"빠른 서버\"}\n\ndata: [DONE]\n\n"));
+
+        long start = System.nanoTime();
+        try (ResponseBody body = apiService.sendChatStream(new ChatRequest("질문", null)).execute().body()) {
+            assertTrue(body.string().contains("빠른 서버"));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4000);
+        assertEquals(1, second.getRequestCount());
+    }
+
+    @Test
+    public void probesUpdateHealthAndEndpointList() throws Exception {
+        first.enqueue(new MockResponse().setResponseCode(204));
+        second.enqueue(new MockResponse().setResponseCode(503));
+        first.enqueue(new MockResponse().setBody("{\"endpoints\": [\"" + second.url("/") + "\", \"잘못된 주소\"]}"));
+        pool.startProbing(client);
+
+        pool.probeAll();
+        assertEquals("/ping", first.takeRequest().getPath());
+        assertEquals("/endpoints", first.takeRequest().getPath());
+        List<EndpointPool.Endpoint> endpoints = pool.getEndpoints();
+        assertEquals(1, endpoints.size());
+        assertEquals(second.url("/"), endpoints.get(0).getUrl());
+        assertFalse(endpoints.get(0).isHealthy()); // 기록은 그대로 이어짐
+    }
+}
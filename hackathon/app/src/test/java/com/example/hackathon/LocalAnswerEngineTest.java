@@ -0,0 +1,124 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LocalAnswerEngineTest {
+
+    private static final String MANUAL = "예비군편성\n"
+            + "1. 전역·복무만료·소집해제 후 예비군 편성 신고 절차가 있나요?\n"
+            + "A)   전역 등 신고는 하지 않습니다.\n"
+            + "* 예비군 편성은 전역일자로부터 약 1개월 정도 소요됩니다.\n"
+            + "\n"
+            + "2. 전역 후 예비군 연차 계산 방법은 어떻게 되나요?\n"
+            + "A)   현재 연도에서 전역연도를 빼면 됩니다.\n"
+            + "\n"
+            + "3. 예비군 편성기간은 어떻게 되나요?\n"
+            + "A)   (병) 전역 후 8년이 되는 해 12월31일까지 입니다.\n"
+            + "11 예비역 간부입니다. 신분별로 처분기준이 어떻게 다른가요?\n"
+            + "A)   1~9급인 경우 예비역에서 퇴역으로 병역처분이 변경됩니다.목차이동\n"
+            + "기타\n"
+            + "\n"
+            + "------------------------------------------------------------\n"
+            + "\n"
+            + "예비군법 시행규칙\n"
+            + "제1조(목적) 이 규칙은 「예비군법」에서 위임된 사항을 규정함을 목적으로 한다.\n"
+            + "제15조(벌칙) 훈련에 정당한 사유 없이 불참한 사람은 벌금에 처한다.\n"
+            + "  1. 소집 통지서를 받고 훈련에 참석하지 아니한 사람\n";
+
+    @Test
+    public void parserSplitsFaqPairsAndArticles() {
+        List<ManualEntry> entries = ManualParser.parse(MANUAL);
+
+        assertEquals(6, entries.size());
+        ManualEntry first = entries.get(0);
+        assertTrue(first.isFaq());
+        assertEquals("전역·복무만료·소집해제 후 예비군 편성 신고 절차가 있나요?", first.getQuestion());
+        assertEquals("전역 등 신고는 하지 않습니다.\n* 예비군 편성은 전역일자로부터 약 1개월 정도 소요됩니다.",
+                first.getAnswer());
+
+        ManualEntry fourth = entries.get(3);
+        assertEquals("예비역 간부입니다. 신분별로 처분기준이 어떻게 다른가요?", fourth.getQuestion());
+        assertEquals("1~9급인 경우 예비역에서 퇴역으로 병역처분이 변경됩니다.", fourth.getAnswer());
+
+        ManualEntry article = entries.get(5);
+        assertFalse(article.isFaq());
+        assertEquals("예비군법 시행규칙 제15조(벌칙)", article.getQuestion());
+        assertTrue(article.getAnswer().endsWith("참석하지 아니한 사람"));
+    }
+
+    @Test
+    public void tokenizerUsesBigramsPerWord() {
+        assertEquals(Arrays.asList("편성", "성기", "기간", "간은", "암"),
+                KoreanTokenizer.tokenize("편성기간은? 암"));
+    }
+
+    @Test
+    public void paraphrasedFaqQuestionIsAnsweredLocally() {
+        LocalAnswerEngine engine = LocalAnswerEngine.fromManual(MANUAL);
+
+        ManualEntry hit = engine.findConfidentAnswer("예비군 편성기간이 어떻게 되나요");
+        assertNotNull(hit);
+        assertEquals("예비군 편성기간은 어떻게 되나요?", hit.getQuestion());
+    }
+
+    @Test
+    public void unrelatedOrVagueQuestionsGoToServer() {
+        LocalAnswerEngine engine = LocalAnswerEngine.fromManual(MANUAL);
+
+        assertNull(engine.findConfidentAnswer("오늘 날씨 어때"));
+        assertNull(engine.findConfidentAnswer("예비군 훈련 불참하면 벌금 얼마나 내요"));
+    }
+
+    @Test
+    public void closestEntryCoversArticlesForOfflineFallback() {
+        LocalAnswerEngine engine = LocalAnswerEngine.fromManual(MANUAL);
+
+        ManualEntry closest = engine.findClosestEntry("훈련 불참 벌금");
+        assertNotNull(closest);
+        assertEquals("예비군법 시행규칙 제15조(벌칙)", closest.getQuestion());
+        assertNull(engine.findClosestEntry("삼성전자 주가"));
+    }
+
+    @Test
+    public void suggesterCompletesPrefixesAndInfixesOfFaqQuestions() {
+        QuestionSuggester suggester = LocalAnswerEngine.fromManual(MANUAL).getSuggester();
+        assertEquals(4, suggester.size()); // 조문은 제안하지 않음
+
+        // 앞부분 일치 (띄어쓰기 무시) → 짧은 질문 먼저
+        List<ManualEntry> prefix = suggester.suggest("예비군  편", 3);
+        assertEquals("예비군 편성기간은 어떻게 되나요?", prefix.get(0).getQuestion());
+
+        List<ManualEntry> both = suggester.suggest("전역", 3);
+        assertEquals(2, both.size());
+        assertEquals("전역 후 예비군 연차 계산 방법은 어떻게 되나요?", both.get(0).getQuestion());
+        assertEquals("전역·복무만료·소집해제 후 예비군 편성 신고 절차가 있나요?", both.get(1).getQuestion());
+
+        // 중간 일치 (질문 가운데 단어부터 입력해도)
+        List<ManualEntry> infix = suggester.suggest("연차 계산", 3);
+        assertEquals("전역 후 예비군 연차 계산 방법은 어떻게 되나요?", infix.get(0).getQuestion());
+        assertEquals("예비역 간부입니다. 신분별로 처분기준이 어떻게 다른가요?",
+                suggester.suggest("처분기준", 1).get(0).getQuestion());
+
+        assertTrue(suggester.suggest("예", 3).isEmpty()); // 너무 짧음
+        assertTrue(suggester.suggest("삼성전자 주가", 3).isEmpty());
+        assertEquals(1, suggester.suggest("어떻게 되나요", 1).size());
+    }
+
+    @Test
+    public void bm25RanksRarerTermsHigher() {
+        Bm25Index index = new Bm25Index(Arrays.asList(
+                KoreanTokenizer.tokenize("예비군 편성 신고"),
+                KoreanTokenizer.tokenize("예비군 연차 계산"),
+                KoreanTokenizer.tokenize("예비군 편성 기간")));
+
+        List<Bm25Index.Hit> hits = index.search(KoreanTokenizer.tokenize("연차"), 3);
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.get(0).doc);
+        assertEquals(1.0f, index.coverage(KoreanTokenizer.tokenize("예비군 기간"), 2), 1e-6);
+    }
+}
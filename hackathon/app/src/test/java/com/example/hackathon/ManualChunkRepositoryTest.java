@@ -0,0 +1,134 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ManualChunkRepositoryTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private ManualChunkCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        cache = new ManualChunkCache(temp.newFolder("chunks"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    // 서버(jsonify)는 키를 정렬하므로 chunks가 manualVersion보다 먼저 옴
+    private static String page(String version, int total, int offset, String... texts) {
+        StringBuilder json = new StringBuilder("{\"chunks\": [");
+        for (int i = 0; i < texts.length; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"index\": ").append(offset + i).append(", \"text\": \"").append(texts[i]).append("\"}");
+        }
+        return json.append("], \"companyName\": \"가나전자\", \"manualVersion\": \"").append(version)
+                .append("\", \"nextOffset\": null, \"offset\": ").append(offset)
+                .append(", \"total\": ").append(total).append('}').toString();
+    }
+
+    @Test
+    public void readerHandlesAnyKeyOrderAndMissingIndex() throws IOException {
+        List<ManualChunk> chunks = new ArrayList<>();
+        ManualChunkPageReader.PageInfo info = ManualChunkPageReader.read(new StringReader(
+                "{\"chunks\": [{\"text\": \"첫째\", \"index\": \"N/A\", \"extra\": [1, 2]}],"
+                        + " \"unknown\": {\"a\": 1}, \"total\": 1, \"nextOffset\": null, \"manualVersion\": \"v1\"}"),
+                chunks::add);
+
+        assertEquals("v1", info.manualVersion);
+        assertEquals(1, info.total);
+        assertEquals(-1, info.nextOffset);
+        assertEquals(1, info.chunkCount);
+        assertEquals(-1, chunks.get(0).getIndex());
+        assertEquals("첫째", chunks.get(0).getText());
+    }
+
+    @Test
+    public void samePageIsServedFromCacheOnceVersionIsKnown() throws Exception {
+        server.enqueue(new MockResponse().setBody(page("v1", 2, 0, "휴가 규정", "복무 규정")));
+        ManualChunkRepository repository = new ManualChunkRepository(apiService, cache);
+
+        ManualChunkRepository.Page first = repository.loadPageBlocking("가나전자", 0, null);
+        assertFalse(first.fromCache);
+        assertEquals("v1", first.manualVersion);
+        assertEquals(2, first.total);
+        assertEquals("복무 규정", first.chunks.get(1).getText());
+
+        ManualChunkRepository.Page second = repository.loadPageBlocking("가나전자", 0, null);
+        assertTrue(second.fromCache);
+        assertEquals(2, second.chunks.size());
+        assertEquals(1, second.chunks.get(1).getIndex());
+        assertEquals(1, server.getRequestCount());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/manual_indexes?company=%EA%B0%80%EB%82%98%EC%A0%84%EC%9E%90&offset=0&limit="
+                + ManualChunkRepository.PAGE_SIZE, request.getPath());
+    }
+
+    @Test
+    public void newVersionReplacesOldCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(page("v1", 1, 0, "예전 조각")));
+        server.enqueue(new MockResponse().setBody(page("v2", 1, 0, "새 조각")));
+        ManualChunkRepository repository = new ManualChunkRepository(apiService, cache);
+
+        repository.loadPageBlocking("가나전자", 0, null);
+        // 기업 목록이 새 버전을 알려줌 → v2 캐시가 없으므로 다시 받음
+        ManualChunkRepository.Page updated = repository.loadPageBlocking("가나전자", 0, "v2");
+
+        assertFalse(updated.fromCache);
+        assertEquals("새 조각", updated.chunks.get(0).getText());
+        assertNull(cache.readPage("가나전자", "v1", 0));
+        assertEquals("v2", cache.getCachedVersion("가나전자"));
+    }
+
+    @Test
+    public void cachedPageIsShownWhenOffline() throws Exception {
+        server.enqueue(new MockResponse().setBody(page("v1", 1, 0, "휴가 규정")));
+        new ManualChunkRepository(apiService, cache).loadPageBlocking("가나전자", 0, null);
+        server.shutdown();
+
+        // 새로 시작한 앱 (버전을 모름) + 서버에 연결할 수 없음
+        ManualChunkRepository.Page page = new ManualChunkRepository(apiService, cache)
+                .loadPageBlocking("가나전자", 0, null);
+
+        assertTrue(page.fromCache);
+        assertEquals("v1", page.manualVersion);
+        assertEquals("휴가 규정", page.chunks.get(0).getText());
+    }
+
+    @Test(expected = IOException.class)
+    public void uncachedPageFailsWhenOffline() throws Exception {
+        server.shutdown();
+        new ManualChunkRepository(apiService, cache).loadPageBlocking("가나전자", 3, null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ManualDeltaUploaderTest {
+
+    private MockWebServer server;
+    private ApiService apiService;
+    private final Gson gson = new Gson();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void splitterMergesAndOverlapsLikeServer() {
+        // RecursiveCharacterTextSplitter(chunk_size=12, chunk_overlap=5) 결과와 같음
+        assertEquals(Arrays.asList("aa bb cc dd", "dd ee ff"),
+                new ManualChunkSplitter(12, 5).split("aa bb cc dd ee ff"));
+        // 문단("\n\n")이 먼저, 너무 긴 문단은 줄/단어 단위로 다시 나눔
+        assertEquals(Arrays.asList("첫 문단", "둘째 줄", "셋째 줄"),
+                new ManualChunkSplitter(10, 0).split("첫 문단\n\n둘째 줄\n셋째 줄"));
+    }
+
+    @Test
+    public void duplicateChunksGetOccurrenceSuffix() {
+        List<String> ids = ManualChunkSplitter.chunkIds(Arrays.asList("같은 내용", "다른 내용", "같은 내용"));
+        assertTrue(ids.get(0).endsWith("#0"));
+        assertTrue(ids.get(2).endsWith("#1"));
+        assertEquals(ids.get(0).split("#")[0], ids.get(2).split("#")[0]);
+    }
+
+    @Test
+    public void identicalManualIsSkipped() throws Exception {
+        byte[] manual = manual(10, "").getBytes(StandardCharsets.UTF_8);
+        server.enqueue(digestOf(manual));
+
+        ManualDeltaUploader.Result result = new ManualDeltaUploader(apiService).upload("테스트기업", manual);
+
+        assertEquals(ManualDeltaUploader.Outcome.UNCHANGED, result.outcome);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void onlyChangedChunksAreSent() throws Exception {
+        byte[] oldManual = manual(10, "").getBytes(StandardCharsets.UTF_8);
+        byte[] newManual = manual(10, "개정").getBytes(StandardCharsets.UTF_8);
+        server.enqueue(digestOf(oldManual));
+        server.enqueue(new MockResponse().setBody("{\"message\": \"ok\", \"companyName\": \"테스트기업\"}"));
+
+        ManualDeltaUploader.Result result = new ManualDeltaUploader(apiService).upload("테스트기업", newManual);
+
+        assertEquals(ManualDeltaUploader.Outcome.DELTA_UPLOADED, result.outcome);
+        assertEquals("테스트기업", result.response.getCompanyName());
+        assertEquals(1, result.addedChunks);
+        assertEquals(1, result.removedChunks);
+
+        server.takeRequest(); // digest
+        RecordedRequest delta = server.takeRequest();
+        assertEquals("/upload_delta", delta.getPath());
+        JsonObject body = gson.fromJson(delta.getBody().readUtf8(), JsonObject.class);
+        assertEquals(ManualChunkSplitter.sha256Hex(newManual), body.get("manualHash").getAsString());
+        assertEquals(ManualChunkSplitter.sha256Hex(oldManual), body.get("baseManualHash").getAsString());
+        JsonArray added = body.getAsJsonArray("added");
+        assertEquals(1, added.size());
+        assertTrue(added.get(0).getAsJsonObject().get("text").getAsString().contains("개정"));
+        assertEquals(10, body.getAsJsonArray("chunkIds").size());
+    }
+
+    @Test
+    public void unknownCompanyOrConflictFallsBackToFullUpload() throws Exception {
+        byte[] manual = manual(10, "").getBytes(StandardCharsets.UTF_8);
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\": \"없음\"}"));
+        assertEquals(ManualDeltaUploader.Outcome.FULL_UPLOAD_REQUIRED,
+                new ManualDeltaUploader(apiService).upload("새기업", manual).outcome);
+
+        byte[] changed = manual(10, "개정").getBytes(StandardCharsets.UTF_8);
+        server.enqueue(digestOf(manual));
+        server.enqueue(new MockResponse().setResponseCode(409).setBody("{\"error\": \"서버 매뉴얼이 바뀌었습니다.\"}"));
+        assertEquals(ManualDeltaUploader.Outcome.FULL_UPLOAD_REQUIRED,
+                new ManualDeltaUploader(apiService).upload("테스트기업", changed).outcome);
+    }
+
+    @Test
+    public void largeRewriteFallsBackToFullUpload() throws Exception {
+        server.enqueue(digestOf(manual(10, "").getBytes(StandardCharsets.UTF_8)));
+        byte[] rewritten = manual(10, "").replace("조", "항").getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(ManualDeltaUploader.Outcome.FULL_UPLOAD_REQUIRED,
+                new ManualDeltaUploader(apiService).upload("테스트기업", rewritten).outcome);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    // 문단마다 조각 하나가 되도록 400자 남짓한 문단 n개 (3번째 문단에만 suffix를 붙임)
+    private static String manual(int paragraphs, String thirdParagraphSuffix) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            if (i > 0) {
+                sb.append("\n\n");
+            }
+            sb.append("제").append(i + 1).append("조 ");
+            for (int j = 0; j < 40; j++) {
+                sb.append("예비군 편성 ").append(i).append(' ');
+            }
+            if (i == 2) {
+                sb.append(thirdParagraphSuffix);
+            }
+        }
+        return sb.toString();
+    }
+
+    private MockResponse digestOf(byte[] manual) {
+        List<String> chunks = new ManualChunkSplitter().split(new String(manual, StandardCharsets.UTF_8));
+        JsonObject digest = new JsonObject();
+        digest.addProperty("companyName", "테스트기업");
+        digest.addProperty("manualHash", ManualChunkSplitter.sha256Hex(manual));
+        digest.add("chunkIds", gson.toJsonTree(ManualChunkSplitter.chunkIds(chunks)));
+        return new MockResponse().setBody(digest.toString());
+    }
+}
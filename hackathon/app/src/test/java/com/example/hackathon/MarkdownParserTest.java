@@ -0,0 +1,75 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MarkdownParserTest {
+
+    @Test
+    public void inlineMarkersAreRemovedAndStyled() {
+        MarkdownParser.Result result = MarkdownParser.parse("예비군은 **8년차**까지, *동원*은 `4년차`입니다. [안내](https://mma.go.kr)");
+
+        assertEquals("예비군은 8년차까지, 동원은 4년차입니다. 안내", result.text);
+        assertStyle(result, MarkdownParser.BOLD, "8년차");
+        assertStyle(result, MarkdownParser.ITALIC, "동원");
+        assertStyle(result, MarkdownParser.CODE, "4년차");
+    }
+
+    @Test
+    public void blocksAreParsed() {
+        MarkdownParser.Result result = MarkdownParser.parse(
+                "## 훈련 일정\n- 1~4년차: **동원훈련**\n  * 2박 3일\n1. 신고\n> 참고 사항\n---\n```\ncode *x*\n```");
+
+        assertEquals("훈련 일정\n• 1~4년차: 동원훈련\n• 2박 3일\n1. 신고\n참고 사항\n\n\ncode *x*\n", result.text);
+        MarkdownParser.Style heading = assertStyle(result, MarkdownParser.HEADING, "훈련 일정");
+        assertEquals(2, heading.level);
+        assertStyle(result, MarkdownParser.BOLD, "동원훈련");
+        assertEquals(1, assertStyle(result, MarkdownParser.LIST_ITEM, "• 2박 3일").level);
+        assertStyle(result, MarkdownParser.LIST_ITEM, "1. 신고");
+        assertStyle(result, MarkdownParser.QUOTE, "참고 사항");
+        // 코드 블록 안의 기호는 그대로
+        assertTrue(styled(result, MarkdownParser.CODE_BLOCK).endsWith("code *x*"));
+    }
+
+    @Test
+    public void unmatchedMarkersStayAsText() {
+        assertEquals("2 * 3 = 6, **끝", MarkdownParser.parse("2 * 3 = 6, **끝").text);
+        assertEquals("*별표*", MarkdownParser.parse("\\*별표\\*").text);
+        assertTrue(MarkdownParser.parse("").styles.isEmpty());
+    }
+
+    @Test
+    public void paragraphsAreGroupedWithoutSplittingCodeBlocks() {
+        String markdown = "첫 문단\n\n둘째 문단\n\n```\n코드 1\n\n코드 2\n```\n\n마지막";
+
+        List<String> parts = MarkdownParser.splitParagraphs(markdown, 15);
+
+        assertEquals(3, parts.size());
+        assertEquals("첫 문단\n\n둘째 문단", parts.get(0));
+        assertEquals("```\n코드 1\n\n코드 2\n```", parts.get(1)); // 15자를 넘어도 나누지 않음
+        assertEquals("마지막", parts.get(2));
+        assertEquals(1, MarkdownParser.splitParagraphs("", 15).size());
+    }
+
+    private static MarkdownParser.Style assertStyle(MarkdownParser.Result result, int type, String text) {
+        for (MarkdownParser.Style style : result.styles) {
+            if (style.type == type && result.text.substring(style.start, style.end).equals(text)) {
+                return style;
+            }
+        }
+        fail("스타일 없음: " + type + " " + text);
+        return null;
+    }
+
+    private static String styled(MarkdownParser.Result result, int type) {
+        for (MarkdownParser.Style style : result.styles) {
+            if (style.type == type) {
+                return result.text.substring(style.start, style.end);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.hackathon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class OutboxTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private MockWebServer server;
+    private OutboxDeliverer deliverer;
+    private ScheduledExecutorService executor;
+    private File file;
+    private RecordingListener listener;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+        deliverer = new OutboxDeliverer(apiService);
+        executor = Executors.newSingleThreadScheduledExecutor();
+        file = new File(temp.getRoot(), "outbox.json");
+        listener = new RecordingListener();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    private Outbox newOutbox() {
+        // 테스트에서는 10ms부터 시작하는 짧은 백오프
+        Outbox outbox = new Outbox(file, deliverer, executor, new Random(1), 10, 100, 4);
+        outbox.setListener(listener);
+        return outbox;
+    }
+
+    private static MockResponse answer(String text) {
+        return new MockResponse().setBody("{\"answer\": \"" + text + "\"}");
+    }
+
+    @Test
+    public void retriesServerErrorsWithBackoffUntilDelivered() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(answer("편성 기간은 8년입니다."));
+
+        newOutbox().enqueue(OutboxItem.chat("병무청", "company:병무청", "편성 기간은?", 42));
+
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(3, server.getRequestCount());
+        assertEquals("편성 기간은 8년입니다.", listener.results.get(0));
+        assertEquals(2, listener.items.get(0).getAttempts());
+        assertEquals(42L, (long) listener.items.get(0).getMessageIds().get(0));
+    }
+
+    @Test
+    public void rejectedRequestIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\": \"질문이 없습니다.\"}"));
+
+        newOutbox().enqueue(OutboxItem.chat(null, "general", "?", 1));
+
+        assertTrue(listener.gaveUp.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("질문이 없습니다.", listener.error.getMessage());
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        newOutbox().enqueue(OutboxItem.chat(null, "general", "질문", 1));
+
+        assertTrue(listener.gaveUp.await(5, TimeUnit.SECONDS));
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void duplicatesAreCoalescedAndSurviveRestart() throws Exception {
+        Outbox offline = newOutbox();
+        offline.setOnline(false);
+        offline.enqueue(OutboxItem.chat("병무청", "company:병무청", "예비군 편성기간은?", 1));
+        offline.enqueue(OutboxItem.chat("병무청", "company:병무청", "예비군  편성기간은", 2));
+        offline.enqueue(OutboxItem.chat("병무청", "general", "예비군 편성기간은?", 3)); // 다른 세션
+        executor.submit(() -> null).get(); // 저장이 끝날 때까지
+        assertEquals(2, offline.getPendingCount());
+        assertEquals(0, server.getRequestCount());
+
+        // 앱을 다시 켠 것처럼 같은 파일로 새 보관함 → 남은 질문 두 개는 /chat_batch 한 번으로 (답은 순서가 바뀌어 옴)
+        server.enqueue(new MockResponse().setBody(
+                "{\"id\": \"2\", \"status\": 200, \"answer\": \"8년\"}\n"
+                        + "{\"id\": \"1\", \"status\": 200, \"answer\": \"8년\"}\n"));
+        listener = new RecordingListener(2);
+        newOutbox().start();
+
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/chat_batch", server.takeRequest().getPath());
+        List<Long> coalesced = listener.items.get(0).getMessageIds();
+        assertEquals(2, coalesced.size());
+        assertTrue(coalesced.contains(1L) && coalesced.contains(2L));
+    }
+
+    @Test
+    public void serverWithoutBatchEndpointFallsBackToSingleChats() throws Exception {
+        Outbox offline = newOutbox();
+        offline.setOnline(false);
+        offline.enqueue(OutboxItem.chat(null, "general", "첫 질문", 1));
+        offline.enqueue(OutboxItem.chat(null, "general", "둘째 질문", 2));
+        executor.submit(() -> null).get();
+
+        server.enqueue(new MockResponse().setResponseCode(404)); // /chat_batch가 없는 서버
+        server.enqueue(answer("첫 답"));
+        server.enqueue(answer("둘째 답"));
+        listener = new RecordingListener(2);
+        offline.setListener(listener);
+        offline.setOnline(true);
+
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals("/chat_batch", server.takeRequest().getPath());
+        assertEquals("/chat", server.takeRequest().getPath());
+        assertEquals("/chat", server.takeRequest().getPath());
+        assertEquals(0, listener.items.get(0).getAttempts());
+    }
+
+    @Test
+    public void followUpIsSentWithItsConversationWindow() throws Exception {
+        List<ConversationContext.Turn> window = new ArrayList<>();
+        window.add(new ConversationContext.Turn("예비군 편성기간은?", "8년입니다."));
+        Outbox offline = newOutbox();
+        offline.setOnline(false);
+        offline.enqueue(OutboxItem.chat("병무청", "company:병무청", "그럼 훈련은?", 1, "대화1", window));
+        executor.submit(() -> null).get();
+
+        // 다시 켠 뒤에도 창이 남아 있고, digest가 아닌 전체 창을 보냄 (서버가 잊었어도 409 없음)
+        server.enqueue(answer("연 1회입니다."));
+        Outbox restarted = newOutbox();
+        restarted.start();
+
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        String body = server.takeRequest().getBody().readUtf8();
+        assertTrue(body.contains("\"contextId\":\"대화1\""));
+        assertTrue(body.contains("\"q\":\"예비군 편성기간은?\""));
+        assertFalse(body.contains("contextDigest"));
+        assertEquals("대화1", listener.items.get(0).getContextId());
+    }
+
+    @Test
+    public void reconnectingSendsWaitingItemsImmediately() throws Exception {
+        Outbox outbox = new Outbox(file, deliverer, executor, new Random(1), 60_000, 60_000, 4);
+        outbox.setListener(listener);
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(answer("답변"));
+
+        outbox.enqueue(OutboxItem.chat(null, "general", "질문", 1));
+        executor.submit(() -> null).get();
+        assertEquals(1, server.getRequestCount()); // 다음 시도는 30초 이후
+
+        outbox.setOnline(false);
+        outbox.setOnline(true);
+        assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void backoffGrowsWithJitterUpToMax() {
+        Random random = new Random(3);
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long cap = Math.min(1000L << (attempt - 1), 30_000);
+            long delay = Outbox.backoffDelay(attempt, 1000, 30_000, random);
+            assertTrue(delay >= cap / 2);
+            assertTrue(delay <= cap);
+        }
+    }
+
+    private static class RecordingListener implements Outbox.Listener {
+        final CountDownLatch delivered;
+        final CountDownLatch gaveUp = new CountDownLatch(1);
+        final List<OutboxItem> items = new ArrayList<>();
+        final List<String> results = new ArrayList<>();
+        volatile IOException error;
+
+        RecordingListener() {
+            this(1);
+        }
+
+        RecordingListener(int expected) {
+            delivered = new CountDownLatch(expected);
+        }
+
+        @Override
+        public synchronized void onDelivered(OutboxItem item, String result) {
+            items.add(item);
+            results.add(result);
+            delivered.countDown();
+        }
+
+        @Override
+        public void onGaveUp(OutboxItem item, IOException e) {
+            error = e;
+            gaveUp.countDown();
+        }
+    }
+}
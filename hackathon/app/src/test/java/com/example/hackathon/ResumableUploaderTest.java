@@ -0,0 +1,234 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class ResumableUploaderTest {
+
+    private static final int PART_SIZE = 1000;
+
+    private MockWebServer server;
+    private FakeUploadServer fake;
+    private ApiService apiService;
+    private byte[] file;
+
+    @Before
+    public void setUp() throws Exception {
+        fake = new FakeUploadServer();
+        server = new MockWebServer();
+        server.setDispatcher(fake);
+        server.start();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(ApiService.class);
+
+        file = new byte[4500]; // 조각 5개 (마지막은 500바이트)
+        new Random(7).nextBytes(file);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void allPartsAreUploadedAndAssembled() throws Exception {
+        List<Long> progress = new ArrayList<>();
+        UploadResponse response = new ResumableUploader(apiService, PART_SIZE).upload(
+                "테스트기업", "manual.txt", () -> new ByteArrayInputStream(file), file.length,
+                (uploaded, total) -> {
+                    synchronized (progress) {
+                        progress.add(uploaded);
+                    }
+                });
+
+        assertEquals("테스트기업", response.getCompanyName());
+        assertArrayEquals(file, fake.assembled);
+        assertEquals(5, fake.partPuts.get());
+        assertEquals(Long.valueOf(file.length), progress.get(progress.size() - 1));
+    }
+
+    @Test
+    public void retryAfterFailureSendsOnlyMissingParts() throws Exception {
+        fake.rejectPartOnce = 3; // 400 → 재시도하지 않고 실패
+
+        try {
+            new ResumableUploader(apiService, PART_SIZE).upload(
+                    "테스트기업", "manual.txt", () -> new ByteArrayInputStream(file), file.length, null);
+            fail("조각 3이 거절되었으므로 실패해야 함");
+        } catch (UploadException e) {
+            assertEquals(400, e.getCode());
+            assertEquals("조각 해시가 일치하지 않습니다.", e.getMessage());
+        }
+        assertNull(fake.assembled);
+        int storedBeforeRetry = fake.parts.size();
+        int putsBeforeRetry = fake.partPuts.get();
+
+        new ResumableUploader(apiService, PART_SIZE).upload(
+                "테스트기업", "manual.txt", () -> new ByteArrayInputStream(file), file.length, null);
+
+        assertArrayEquals(file, fake.assembled);
+        assertEquals(5 - storedBeforeRetry, fake.partPuts.get() - putsBeforeRetry);
+    }
+
+    @Test
+    public void sourceIsOpenedOnceForHashingAndOnceForParts() throws Exception {
+        AtomicInteger opens = new AtomicInteger();
+        fake.rejectPartOnce = 1;
+        try {
+            new ResumableUploader(apiService, PART_SIZE).upload("테스트기업", "manual.txt", () -> {
+                opens.incrementAndGet();
+                return new ByteArrayInputStream(file);
+            }, file.length, null);
+            fail("조각 1이 거절되었으므로 실패해야 함");
+        } catch (UploadException expected) {
+        }
+        assertEquals(2, opens.get());
+
+        // 이어 올릴 때도 받은 조각은 건너뛰며 한 스트림에서 읽음
+        opens.set(0);
+        new ResumableUploader(apiService, PART_SIZE).upload("테스트기업", "manual.txt", () -> {
+            opens.incrementAndGet();
+            return new ByteArrayInputStream(file);
+        }, file.length, null);
+        assertEquals(2, opens.get());
+        assertArrayEquals(file, fake.assembled);
+    }
+
+    @Test
+    public void transientServerErrorIsRetried() throws Exception {
+        fake.failPartWith503Once = 1;
+
+        new ResumableUploader(apiService, PART_SIZE).upload(
+                "테스트기업", "manual.txt", () -> new ByteArrayInputStream(file), file.length, null);
+
+        assertArrayEquals(file, fake.assembled);
+        assertEquals(6, fake.partPuts.get());
+    }
+
+    @Test
+    public void partHashesSplitAtPartBoundaries() throws Exception {
+        List<String> partHashes = new ArrayList<>();
+        String whole = ResumableUploader.hashFile(() -> new ByteArrayInputStream(file), PART_SIZE, partHashes);
+
+        assertEquals(ResumableUploader.sha256Hex(file), whole);
+        assertEquals(5, partHashes.size());
+        byte[] last = new byte[500];
+        System.arraycopy(file, 4000, last, 0, 500);
+        assertEquals(ResumableUploader.sha256Hex(last), partHashes.get(4));
+    }
+
+    /**
+     * app.py의 /upload/sessions 엔드포인트를 흉내 내는 가짜 서버 (세션 하나만 다룸)
+     */
+    private static class FakeUploadServer extends Dispatcher {
+        private static final Pattern PART_PATH = Pattern.compile("/upload/sessions/([0-9a-f]+)/parts/(\\d+)");
+        private static final String UPLOAD_ID = "0123456789abcdef0123456789abcdef";
+
+        final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+        final AtomicInteger partPuts = new AtomicInteger();
+        final Set<Integer> failedOnce = ConcurrentHashMap.newKeySet();
+        volatile int rejectPartOnce = -1;
+        volatile int failPartWith503Once = -1;
+        volatile byte[] assembled;
+
+        private final Gson gson = new Gson();
+        private JsonObject session;
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            if ("POST".equals(request.getMethod()) && path.equals("/upload/sessions")) {
+                synchronized (this) {
+                    session = gson.fromJson(request.getBody().readUtf8(), JsonObject.class);
+                }
+                return json(200, sessionJson());
+            }
+            Matcher m = PART_PATH.matcher(path);
+            if ("PUT".equals(request.getMethod()) && m.matches()) {
+                int partNumber = Integer.parseInt(m.group(2));
+                partPuts.incrementAndGet();
+                if (partNumber == rejectPartOnce && failedOnce.add(partNumber)) {
+                    return json(400, error("조각 해시가 일치하지 않습니다."));
+                }
+                if (partNumber == failPartWith503Once && failedOnce.add(partNumber)) {
+                    return json(503, error("잠시 후 다시 시도하세요."));
+                }
+                byte[] data = request.getBody().readByteArray();
+                if (!ResumableUploader.sha256Hex(data).equals(request.getHeader("X-Part-Sha256"))) {
+                    return json(400, error("조각 해시가 일치하지 않습니다."));
+                }
+                parts.put(partNumber, data);
+                return json(200, "{\"partNumber\": " + partNumber + ", \"received\": true}");
+            }
+            if ("POST".equals(request.getMethod()) && path.equals("/upload/sessions/" + UPLOAD_ID + "/complete")) {
+                int partCount = partCount();
+                if (parts.size() != partCount) {
+                    return json(409, error("아직 받지 못한 조각이 있습니다."));
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                for (byte[] part : new TreeMap<>(parts).values()) {
+                    out.write(part, 0, part.length);
+                }
+                assembled = out.toByteArray();
+                String company = session.get("companyName").getAsString();
+                return json(200, "{\"message\": \"ok\", \"companyName\": \"" + company + "\"}");
+            }
+            return json(404, error("업로드 세션이 없습니다."));
+        }
+
+        private synchronized int partCount() {
+            long total = session.get("totalSize").getAsLong();
+            int partSize = session.get("partSize").getAsInt();
+            return (int) ((total + partSize - 1) / partSize);
+        }
+
+        private synchronized String sessionJson() {
+            Map<String, Object> body = new HashMap<>();
+            body.put("uploadId", UPLOAD_ID);
+            body.put("partCount", partCount());
+            body.put("partSize", session.get("partSize").getAsInt());
+            body.put("receivedParts", new ArrayList<>(new TreeMap<>(parts).keySet()));
+            return gson.toJson(body);
+        }
+
+        private static String error(String message) {
+            return "{\"error\": \"" + message + "\"}";
+        }
+
+        private static MockResponse json(int code, String body) {
+            return new MockResponse().setResponseCode(code)
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(body);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SimilarQuestionIndexTest {
+
+    private static String norm(String query) {
+        return AnswerCache.normalizeQuery(query);
+    }
+
+    @Test
+    public void paraphraseWithDifferentParticlesAndEndingsMatches() {
+        SimilarQuestionIndex index = new SimilarQuestionIndex(10);
+        index.add(norm("예비군 연차 계산 어떻게 해요"));
+        index.add(norm("예비군 훈련 장소는 어디인가요"));
+
+        SimilarQuestionIndex.Match match = index.findBest(norm("예비군 연차는 어떻게 계산하나요?"), 0.8);
+        assertNotNull(match);
+        assertEquals("예비군 연차 계산 어떻게 해요", match.getQuery());
+        assertEquals(1.0, match.getSimilarity(), 1e-9);
+    }
+
+    @Test
+    public void differentQuestionsAndNumbersDoNotMatch() {
+        SimilarQuestionIndex index = new SimilarQuestionIndex(10);
+        index.add(norm("예비군 1년차 훈련 시간"));
+
+        assertNull(index.findBest(norm("예비군 2년차 훈련 시간"), 0.8)); // 숫자가 다름
+        assertNull(index.findBest(norm("예비군 훈련 장소는 어디인가요"), 0.8));
+        assertNotNull(index.findBest(norm("예비군 1년차는 훈련 시간"), 0.8));
+
+        index.add(norm("휴가"));
+        assertEquals(1, index.size()); // 너무 짧은 질문은 정확히 같을 때만 (색인에 넣지 않음)
+    }
+
+    @Test
+    public void boundedLruEvictsOldestQuestion() {
+        SimilarQuestionIndex index = new SimilarQuestionIndex(2);
+        index.add(norm("예비군 편성기간 알려줘"));
+        index.add(norm("예비군 연차 계산 방법"));
+        assertNotNull(index.findBest(norm("예비군 편성기간을 알려줘"), 0.8)); // 최근 사용으로
+        index.add(norm("동원훈련 연기 신청 방법"));
+
+        assertEquals(2, index.size());
+        assertNull(index.findBest(norm("예비군 연차 계산 방법은"), 0.8));
+        assertNotNull(index.findBest(norm("예비군 편성기간 알려줘"), 0.8));
+
+        index.remove(norm("동원훈련 연기 신청 방법"));
+        assertNull(index.findBest(norm("동원훈련 연기를 신청하는 방법"), 0.8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hackathon;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+
+import static org.junit.Assert.*;
+
+public class StreamingUploadBodyTest {
+
+    private static final MediaType TEXT = MediaType.parse("text/plain");
+
+    private static byte[] manual() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sb.append(i).append(". 예비군 편성기간은 어떻게 되나요?\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void plainBodyStreamsSourceAndReportsProgress() throws Exception {
+        byte[] data = manual();
+        List<long[]> progress = new ArrayList<>();
+        StreamingUploadBody body = new StreamingUploadBody(() -> new ByteArrayInputStream(data), TEXT,
+                data.length, false, (written, total) -> progress.add(new long[]{written, total}));
+
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+
+        assertEquals(data.length, body.contentLength());
+        assertArrayEquals(data, sink.readByteArray());
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(data.length, last[0]);
+        assertEquals(data.length, last[1]);
+    }
+
+    @Test
+    public void gzipPartKeepsMultipartIntact() throws Exception {
+        byte[] data = manual();
+        StreamingUploadBody body = new StreamingUploadBody(() -> new ByteArrayInputStream(data), TEXT,
+                data.length, true, null);
+        MultipartBody multipart = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("companyName", "삼성")
+                .addPart(body.toFormDataPart("file", "매뉴얼.txt"))
+                .build();
+
+        Buffer wire = new Buffer();
+        multipart.writeTo(wire);
+        byte[] bytes = wire.readByteArray();
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+
+        assertEquals(-1, body.contentLength());
+        assertTrue(text.contains("Content-Encoding: gzip"));
+        assertTrue("closing boundary must follow the gzip part", text.endsWith("--" + multipart.boundary() + "--\r\n"));
+        assertTrue(bytes.length < data.length / 4);
+
+        // 파트 본문을 잘라서 압축을 풀면 원본과 같아야 함
+        int start = text.indexOf("\r\n\r\n", text.indexOf("Content-Encoding: gzip")) + 4;
+        int end = text.lastIndexOf("\r\n--" + multipart.boundary() + "--");
+        Buffer part = new Buffer().write(bytes, start, end - start);
+        byte[] inflated = Okio.buffer(new GzipSource(part)).readByteArray();
+        assertArrayEquals(data, inflated);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+public class WireCodecTest {
+
+    private MockWebServer server;
+    private WireCodecInterceptor negotiation;
+    private ApiService apiService;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        negotiation = new WireCodecInterceptor();
+        Gson gson = RetrofitClient.getGson();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(new OkHttpClient.Builder().addInterceptor(negotiation).build())
+                .addConverterFactory(new WireCodecConverterFactory(gson, negotiation))
+                .build()
+                .create(ApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void cborRoundTripKeepsKoreanText() throws IOException {
+        ChatRequest request = new ChatRequest("예비군 편성기간은?", "병무청");
+        byte[] bytes = cbor(request);
+        ChatRequest read = WireAdapters.CHAT_REQUEST_CBOR.read(new CborReader(new ByteArrayInputStream(bytes)));
+        assertEquals("예비군 편성기간은?", read.getQuery());
+        assertEquals("병무청", read.getCompanyName());
+
+        // 키/값 구분 기호와 따옴표가 없어 JSON보다 작음
+        assertTrue(bytes.length < RetrofitClient.getGson().toJson(request).getBytes("UTF-8").length);
+    }
+
+    @Test
+    public void cborReaderSkipsUnknownAndIndefiniteItems() throws IOException {
+        // {_ "extra": [1, -2, {"a": true}], "answer": (_ "안녕", "하세요"), "n": null }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xbf);
+        CborWriter writer = new CborWriter(out);
+        writer.writeString("extra").writeArrayHeader(3).writeLong(1).writeLong(-2)
+                .writeMapHeader(1).writeString("a").writeBoolean(true);
+        writer.writeString("answer");
+        out.write(0x7f);
+        writer.writeString("안녕").writeString("하세요");
+        out.write(0xff);
+        writer.writeString("n").writeNull();
+        out.write(0xff);
+
+        ChatResponse response = WireAdapters.CHAT_RESPONSE_CBOR.read(
+                new CborReader(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals("안녕하세요", response.getAnswer());
+    }
+
+    @Test
+    public void hugeLengthsAreIOExceptionsAndNullQueryIsSkipped() throws IOException {
+        // 0x7b / 0x9b: 8바이트 길이 2^63 (long으로 읽으면 음수)
+        for (int header : new int[]{0x7b, 0x9b}) {
+            byte[] bytes = {(byte) header, (byte) 0x80, 0, 0, 0, 0, 0, 0, 0};
+            CborReader reader = new CborReader(new ByteArrayInputStream(bytes));
+            try {
+                if (header == 0x7b) {
+                    reader.readString();
+                } else {
+                    reader.readArrayHeader();
+                }
+                fail("음수 길이는 IOException");
+            } catch (IOException expected) {
+                // JSON으로 다시 보내는 경로를 탈 수 있음
+            }
+        }
+
+        ChatRequest read = WireAdapters.CHAT_REQUEST_CBOR.read(
+                new CborReader(new ByteArrayInputStream(cbor(new ChatRequest(null, "병무청")))));
+        assertNull(read.getQuery());
+        assertEquals("병무청", read.getCompanyName());
+    }
+
+    @Test
+    public void switchesToCborAfterServerAnswersInCbor() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(cbor(new ChatResponse("첫 답변")))));
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(cbor(new ChatResponse("두 번째 답변")))));
+
+        Response<ChatResponse> first = apiService.sendChat(new ChatRequest("질문1", "병무청")).execute();
+        assertEquals("첫 답변", first.body().getAnswer());
+        RecordedRequest firstRequest = server.takeRequest();
+        assertEquals(WireCodecInterceptor.ACCEPT, firstRequest.getHeader("Accept"));
+        assertTrue(firstRequest.getHeader("Content-Type").startsWith("application/json"));
+        assertTrue(negotiation.isCborAccepted());
+
+        Response<ChatResponse> second = apiService.sendChat(new ChatRequest("질문2", "병무청")).execute();
+        assertEquals("두 번째 답변", second.body().getAnswer());
+        RecordedRequest secondRequest = server.takeRequest();
+        assertEquals("application/cbor", secondRequest.getHeader("Content-Type"));
+        ChatRequest sent = WireAdapters.CHAT_REQUEST_CBOR.read(new CborReader(secondRequest.getBody().inputStream()));
+        assertEquals("질문2", sent.getQuery());
+    }
+
+    @Test
+    public void jsonServerKeepsJson() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"answer\":\"JSON 답변\",\"extra\":1}"));
+
+        Response<ChatResponse> response = apiService.sendChat(new ChatRequest("질문", null)).execute();
+        assertEquals("JSON 답변", response.body().getAnswer());
+        assertFalse(negotiation.isCborAccepted());
+        assertEquals("{\"query\":\"질문\"}", server.takeRequest().getBody().readUtf8());
+    }
+
+    @Test
+    public void rejectedCborIsResentAsJson() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(cbor(new ChatResponse("CBOR 답변")))));
+        server.enqueue(new MockResponse().setResponseCode(415));
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"answer\":\"JSON 답변\"}"));
+
+        apiService.sendChat(new ChatRequest("질문1", null)).execute();
+        server.takeRequest();
+
+        Response<ChatResponse> response = apiService.sendChat(new ChatRequest("질문2", null)).execute();
+        assertEquals("JSON 답변", response.body().getAnswer());
+        assertEquals("application/cbor", server.takeRequest().getHeader("Content-Type"));
+        RecordedRequest resent = server.takeRequest();
+        assertTrue(resent.getHeader("Content-Type").startsWith("application/json"));
+        assertEquals("{\"query\":\"질문2\"}", resent.getBody().readUtf8());
+        assertFalse(negotiation.isCborAccepted());
+    }
+
+    private static byte[] cbor(ChatRequest request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireAdapters.CHAT_REQUEST_CBOR.write(new CborWriter(out), request);
+        return out.toByteArray();
+    }
+
+    private static byte[] cbor(ChatResponse response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireAdapters.CHAT_RESPONSE_CBOR.write(new CborWriter(out), response);
+        return out.toByteArray();
+    }
+}
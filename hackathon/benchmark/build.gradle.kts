@@ -0,0 +1,138 @@
+import groovy.json.JsonSlurper
+
+// 앱의 순수 자바 코드(직렬화, 매뉴얼 파싱/분할, 메시지 목록, 캐시/색인)를 JVM에서 측정하는 JMH 모듈
+//   실행: ./gradlew :benchmark:jmh          → results/latest.json
+//   비교: ./gradlew :benchmark:jmhCompare   → results/baseline.json보다 느려진 벤치마크가 있으면 실패
+//   기준: ./gradlew :benchmark:jmhBaseline  → results/latest.json을 results/baseline.json으로 (커밋해서 공유)
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// app은 안드로이드 모듈이라 JVM 모듈에서 의존할 수 없으므로, 안드로이드 의존성이 없는 소스 파일만 직접 컴파일
+val measuredSources = listOf(
+    "AnswerCache",
+    "ApiMetrics",
+    "Bm25Index",
+    "CborReader",
+    "CborWriter",
+    "ChatMessage",
+    "ChatMessageLists",
+    "ChatRequest",
+    "ChatResponse",
+    "ChatRow",
+    "ConversationContext",
+    "KoreanTokenizer",
+    "LatencyHistogram",
+    "LocalAnswerEngine",
+    "ManualChunk",
+    "ManualChunkCache",
+    "ManualChunkPageReader",
+    "ManualChunkSplitter",
+    "ManualEntry",
+    "ManualParser",
+    "MarkdownParser",
+    "QuestionSuggester",
+    "SimilarQuestionIndex",
+    "UploadResponse",
+    "WireAdapters",
+)
+
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java"))
+            setIncludes(measuredSources.map { "com/example/hackathon/$it.java" })
+        }
+        resources.setSrcDirs(emptyList<String>())
+    }
+    named("jmh") {
+        // 앱에 포함된 실제 매뉴얼(manuals/reserve_forces.txt)을 입력으로 사용
+        resources.srcDir("../app/src/main/assets")
+    }
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// 소스에 한국어 주석/문자열이 있으므로 플랫폼 기본 인코딩에 맡기지 않음
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    implementation("com.google.code.gson:gson:2.8.5")
+    compileOnly("androidx.annotation:annotation:1.7.0")
+    // AnswerCache.getInstance(Context) 시그니처용 (벤치마크에서는 호출하지 않음)
+    compileOnly("com.google.android:android:4.1.1.4")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.projectDirectory.file("results/latest.json"))
+    // 특정 벤치마크만: ./gradlew :benchmark:jmh -Pjmh.includes=ChatJson
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// 이보다 많이 느려지면 회귀로 봄 (모든 벤치마크는 평균 시간 → 점수가 클수록 느림)
+val regressionThreshold = 0.10
+
+tasks.register("jmhCompare") {
+    group = "verification"
+    description = "results/latest.json을 results/baseline.json과 비교합니다."
+    val baselineFile = layout.projectDirectory.file("results/baseline.json").asFile
+    val latestFile = layout.projectDirectory.file("results/latest.json").asFile
+    doLast {
+        if (!latestFile.exists()) {
+            throw GradleException("측정 결과가 없습니다. 먼저 ./gradlew :benchmark:jmh 를 실행하세요.")
+        }
+        if (!baselineFile.exists()) {
+            throw GradleException("기준 결과(results/baseline.json)가 없습니다. "
+                    + "기준이 될 커밋에서 ./gradlew :benchmark:jmh 와 ./gradlew :benchmark:jmhBaseline 을 실행하고 "
+                    + "results/baseline.json을 커밋하세요.")
+        }
+        val baseline = readScores(baselineFile)
+        val regressions = readScores(latestFile).mapNotNull { (name, score) ->
+            val before = baseline[name] ?: return@mapNotNull null
+            val change = (score - before) / before
+            logger.lifecycle(String.format("%-90s %12.3f → %12.3f  (%+.1f%%)", name, before, score, change * 100))
+            if (change > regressionThreshold) name else null
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("느려진 벤치마크: " + regressions.joinToString())
+        }
+    }
+}
+
+tasks.register<Copy>("jmhBaseline") {
+    group = "verification"
+    description = "results/latest.json을 비교 기준(results/baseline.json)으로 저장합니다."
+    from(layout.projectDirectory.file("results/latest.json"))
+    into(layout.projectDirectory.dir("results"))
+    rename { "baseline.json" }
+    doFirst {
+        if (!layout.projectDirectory.file("results/latest.json").asFile.exists()) {
+            throw GradleException("측정 결과가 없습니다. 먼저 ./gradlew :benchmark:jmh 를 실행하세요.")
+        }
+    }
+}
+
+// 벤치마크 이름(파라미터 포함) → 점수
+fun readScores(file: File): Map<String, Double> {
+    @Suppress("UNCHECKED_CAST")
+    val results = JsonSlurper().parse(file) as List<Map<String, Any?>>
+    return results.associate { result ->
+        @Suppress("UNCHECKED_CAST")
+        val params = (result["params"] as Map<String, Any?>?)
+            ?.entries?.joinToString(",", "(", ")") { "${it.key}=${it.value}" } ?: ""
+        @Suppress("UNCHECKED_CAST")
+        val metric = result["primaryMetric"] as Map<String, Any?>
+        "${result["benchmark"]}$params" to (metric["score"] as Number).toDouble()
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hackathon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 입력 데이터 (앱에 포함된 실제 매뉴얼 = 한국어 텍스트)
+ */
+final class BenchmarkData {
+
+    private static final String MANUAL_RESOURCE = "manuals/reserve_forces.txt";
+
+    private static String manual;
+
+    private BenchmarkData() {
+    }
+
+    static synchronized String manual() {
+        if (manual == null) {
+            try (InputStream in = BenchmarkData.class.getClassLoader().getResourceAsStream(MANUAL_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException(MANUAL_RESOURCE + " 없음");
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                manual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return manual;
+    }
+
+    /**
+     * 매뉴얼 앞부분으로 만든 chars 글자의 답변 (모자라면 반복)
+     */
+    static String koreanText(int chars) {
+        String source = manual();
+        StringBuilder text = new StringBuilder(chars);
+        while (text.length() < chars) {
+            text.append(source, 0, Math.min(source.length(), chars - text.length()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 사용자/AI가 번갈아 말한 count개 말풍선 (id는 1부터)
+     */
+    static List<ChatMessage> messages(int count) {
+        String answer = koreanText(300);
+        List<ChatMessage> messages = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            boolean isUser = i % 2 == 1;
+            messages.add(new ChatMessage(i, isUser ? "예비군 훈련 " + i + "차 일정은?" : answer, isUser));
+        }
+        return messages;
+    }
+}
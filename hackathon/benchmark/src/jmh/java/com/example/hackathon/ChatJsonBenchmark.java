@@ -0,0 +1,89 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /chat, /upload 요청/응답 (역)직렬화 - 긴 한국어 답변 기준
+ * 앱과 같이 Gson 인스턴스 하나를 재사용 (RetrofitClient.getGson())
+ * - 기본 Gson(리플렉션) / WireAdapters를 등록한 Gson / CBOR(WireCodecConverterFactory가 협상되면 쓰는 형식) 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatJsonBenchmark {
+
+    // 답변 글자 수 (짧은 FAQ 답변 ~ 매뉴얼 조문 여러 개를 인용한 긴 답변)
+    @Param({"200", "4000", "32000"})
+    public int answerChars;
+
+    private final Gson gson = new Gson();
+    private final Gson adapterGson = WireAdapters.registerJson(new GsonBuilder()).create();
+    private ChatRequest request;
+    private String responseJson;
+    private byte[] responseCbor;
+    private String uploadResponseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        String answer = BenchmarkData.koreanText(answerChars);
+        request = new ChatRequest(answer.substring(0, Math.min(answer.length(), 200)), "병무청");
+        responseJson = gson.toJson(new ChatResponse(answer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireAdapters.CHAT_RESPONSE_CBOR.write(new CborWriter(out), new ChatResponse(answer));
+        responseCbor = out.toByteArray();
+        uploadResponseJson = "{\"message\": \"" + answer.substring(0, Math.min(answer.length(), 200)).replace("\n", " ")
+                + "\", \"companyName\": \"가나전자\"}";
+    }
+
+    @Benchmark
+    public String serializeRequest() {
+        return gson.toJson(request);
+    }
+
+    @Benchmark
+    public ChatResponse parseResponse() {
+        return gson.fromJson(responseJson, ChatResponse.class);
+    }
+
+    @Benchmark
+    public UploadResponse parseUploadResponse() {
+        return gson.fromJson(uploadResponseJson, UploadResponse.class);
+    }
+
+    @Benchmark
+    public String serializeRequestAdapter() {
+        return adapterGson.toJson(request);
+    }
+
+    @Benchmark
+    public ChatResponse parseResponseAdapter() {
+        return adapterGson.fromJson(responseJson, ChatResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRequestCbor() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireAdapters.CHAT_REQUEST_CBOR.write(new CborWriter(out), request);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public ChatResponse parseResponseCbor() throws IOException {
+        return WireAdapters.CHAT_RESPONSE_CBOR.read(new CborReader(new ByteArrayInputStream(responseCbor)));
+    }
+}
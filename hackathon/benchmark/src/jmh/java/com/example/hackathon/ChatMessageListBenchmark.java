@@ -0,0 +1,64 @@
+package com.example.hackathon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatAdapter의 목록 연산 (ChatMessageLists) - 말풍선 1만 개 이상
+ * 화면 목록은 ChatHistoryPager.MAX_WINDOW개로 제한되지만, 창 크기를 키웠을 때의 비용을 보기 위해 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatMessageListBenchmark {
+
+    private static final int PAGE_SIZE = 30; // ChatHistoryPager.PAGE_SIZE (안드로이드 클래스라 여기서는 참조 불가)
+
+    @Param({"120", "10000", "50000"})
+    public int messageCount;
+
+    private List<ChatMessage> messages;
+    private List<ChatMessage> page;
+    private long streamingId;
+    private long oldestId;
+
+    @Setup
+    public void setUp() {
+        messages = BenchmarkData.messages(messageCount);
+        page = BenchmarkData.messages(PAGE_SIZE);
+        streamingId = messages.get(messages.size() - 1).getId();
+        oldestId = messages.get(0).getId();
+    }
+
+    // 스트리밍 답변 조각 하나 반영 (맨 뒤 말풍선을 찾아 새 목록으로 교체)
+    @Benchmark
+    public List<ChatMessage> appendStreamingDelta() {
+        int position = ChatMessageLists.indexOf(messages, streamingId);
+        return ChatMessageLists.replaceAt(messages, position, messages.get(position).withAppended("입니다."));
+    }
+
+    // 최악의 경우: 맨 앞 말풍선 찾기
+    @Benchmark
+    public int indexOfOldest() {
+        return ChatMessageLists.indexOf(messages, oldestId);
+    }
+
+    @Benchmark
+    public List<ChatMessage> prependPage() {
+        return ChatMessageLists.prependTrimmed(page, messages, messageCount);
+    }
+
+    @Benchmark
+    public List<ChatMessage> appendPage() {
+        return ChatMessageLists.appendTrimmed(messages, page, messageCount);
+    }
+}
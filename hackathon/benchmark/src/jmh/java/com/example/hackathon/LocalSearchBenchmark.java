@@ -0,0 +1,98 @@
+package com.example.hackathon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기기 안 캐시/색인 (서버에 묻기 전에 거치는 경로)
+ * - LocalAnswerEngine: 기본 매뉴얼 색인 만들기 + FAQ 즉답/가까운 항목 검색 (BM25)
+ * - QuestionSuggester: 입력 중 자동 완성 (글자마다 호출되므로 마이크로초 단위여야 함)
+ * - AnswerCache: 메모리 적중 / 비슷한 질문 적중 / 미적중(디스크 + 비슷한 질문 확인) 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocalSearchBenchmark {
+
+    private static final String FAQ_QUERY = "전역 후 예비군 연차 계산 방법은 어떻게 되나요?";
+    private static final String FREE_QUERY = "훈련에 못 가면 벌금이 얼마나 나오나요";
+    // FAQ_QUERY와 조사만 다름 (정확히 같은 질문은 없음)
+    private static final String SIMILAR_QUERY = "전역 후 예비군 연차 계산 방법이 어떻게 되나요";
+
+    private List<ManualEntry> entries;
+    private LocalAnswerEngine engine;
+    private File cacheDir;
+    private AnswerCache answerCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        entries = ManualParser.parse(BenchmarkData.manual());
+        engine = new LocalAnswerEngine(entries);
+
+        cacheDir = Files.createTempDirectory("answer-cache").toFile();
+        answerCache = new AnswerCache(cacheDir, 200, 4L * 1024 * 1024, TimeUnit.DAYS.toMillis(1));
+        for (int i = 0; i < 200; i++) {
+            answerCache.put("병무청", "질문 " + i, BenchmarkData.koreanText(500));
+        }
+        answerCache.put("병무청", FAQ_QUERY, BenchmarkData.koreanText(500));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        answerCache.invalidateCompany("병무청");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LocalAnswerEngine buildIndex() {
+        return new LocalAnswerEngine(entries);
+    }
+
+    @Benchmark
+    public ManualEntry confidentFaqAnswer() {
+        return engine.findConfidentAnswer(FAQ_QUERY);
+    }
+
+    @Benchmark
+    public ManualEntry closestEntry() {
+        return engine.findClosestEntry(FREE_QUERY);
+    }
+
+    @Benchmark
+    public List<ManualEntry> suggestPrefix() {
+        return engine.getSuggester().suggest("예비군 편", 3);
+    }
+
+    @Benchmark
+    public List<ManualEntry> suggestInfix() {
+        return engine.getSuggester().suggest("연차 계산 방", 3);
+    }
+
+    @Benchmark
+    public String answerCacheMemoryHit() {
+        return answerCache.get("병무청", "  전역 후 예비군 연차 계산 방법은 어떻게 되나요 ");
+    }
+
+    @Benchmark
+    public String answerCacheSimilarHit() {
+        return answerCache.get("병무청", SIMILAR_QUERY);
+    }
+
+    @Benchmark
+    public String answerCacheMiss() {
+        return answerCache.get("병무청", FREE_QUERY);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hackathon;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매뉴얼 처리 경로 (기본 매뉴얼 전체 ≈ 450KB 기준)
+ * - 업로드 전 분할 + 조각 ID (ManualDeltaUploader)
+ * - FAQ/조문 파싱 (ManualIndexRepository)
+ * - /manual_indexes 페이지 읽기 + 디스크 캐시 읽기 (ManualChunkRepository)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ManualBenchmark {
+
+    private static final int PAGE_SIZE = 500; // 서버 최대 페이지 크기
+
+    private String manual;
+    private List<String> chunks;
+    private String pageJson;
+    private File cacheDir;
+    private ManualChunkCache cache;
+
+    @Setup
+    public void setUp() throws IOException {
+        manual = BenchmarkData.manual();
+        chunks = new ManualChunkSplitter().split(manual);
+
+        List<Map<String, Object>> page = new ArrayList<>();
+        for (int i = 0; i < Math.min(PAGE_SIZE, chunks.size()); i++) {
+            Map<String, Object> chunk = new LinkedHashMap<>();
+            chunk.put("index", i);
+            chunk.put("text", chunks.get(i));
+            page.add(chunk);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("chunks", page); // 서버(jsonify)처럼 키 이름 순
+        body.put("companyName", "병무청");
+        body.put("manualVersion", "0f0f0f0f0f0f");
+        body.put("nextOffset", null);
+        body.put("offset", 0);
+        body.put("total", page.size());
+        pageJson = new Gson().toJson(body);
+
+        cacheDir = Files.createTempDirectory("manual-chunks").toFile();
+        cache = new ManualChunkCache(cacheDir);
+        try (ManualChunkCache.PageWriter writer = cache.beginPage("병무청")) {
+            for (Map<String, Object> chunk : page) {
+                writer.write(new ManualChunk((Integer) chunk.get("index"), (String) chunk.get("text")));
+            }
+            writer.commit("0f0f0f0f0f0f", 0, page.size());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.clear("병무청");
+        cacheDir.delete();
+    }
+
+    @Benchmark
+    public List<String> splitManual() {
+        return new ManualChunkSplitter().split(manual);
+    }
+
+    @Benchmark
+    public List<String> chunkIds() {
+        return ManualChunkSplitter.chunkIds(chunks);
+    }
+
+    @Benchmark
+    public List<ManualEntry> parseManual() {
+        return ManualParser.parse(manual);
+    }
+
+    @Benchmark
+    public ManualChunkPageReader.PageInfo readIndexPage(Blackhole blackhole) throws IOException {
+        return ManualChunkPageReader.read(new StringReader(pageJson), blackhole::consume);
+    }
+
+    @Benchmark
+    public List<ManualChunk> readCachedPage() {
+        return cache.readPage("병무청", "0f0f0f0f0f0f", 0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hackathon;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 답변 Markdown 처리 (MarkdownRenderer가 백그라운드에서 하는 파싱 + ChatAdapter의 문단 나누기)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownBenchmark {
+
+    @Param({"500", "4000", "32000"})
+    public int answerChars;
+
+    private String answer;
+    private ChatMessage message;
+
+    @Setup
+    public void setUp() {
+        // Gemini 답변 모양: 제목 + 굵게 + 목록이 섞인 문단
+        StringBuilder markdown = new StringBuilder("## 예비군 훈련 안내\n\n");
+        String body = BenchmarkData.koreanText(answerChars);
+        int paragraph = 0;
+        for (int i = 0; i < body.length(); i += 160) {
+            String line = body.substring(i, Math.min(body.length(), i + 160)).replace('\n', ' ').replace('*', ' ');
+            markdown.append(paragraph % 3 == 0 ? "- **" + (paragraph + 1) + "년차** " : "").append(line).append("\n\n");
+            paragraph++;
+        }
+        answer = markdown.toString();
+        message = new ChatMessage(1, answer, false);
+    }
+
+    @Benchmark
+    public MarkdownParser.Result parse() {
+        return MarkdownParser.parse(answer);
+    }
+
+    @Benchmark
+    public List<String> splitParagraphs() {
+        return MarkdownParser.splitParagraphs(answer, ChatMessageLists.PART_CHARS);
+    }
+
+    @Benchmark
+    public List<ChatRow> toRows() {
+        return ChatMessageLists.toRows(Collections.singletonList(message), new IdentityHashMap<>());
+    }
+}